@@ -0,0 +1,11 @@
+package com.devmaster.application.api;
+
+/**
+ * Alvo do {@code LoggingAspectBenchmark}: está no pacote interceptado pelo pointcut de controllers.
+ */
+public class BenchmarkController {
+
+    public Object buscar(Object request, String id) {
+        return id;
+    }
+}
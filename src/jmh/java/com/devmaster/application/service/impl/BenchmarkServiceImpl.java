@@ -0,0 +1,11 @@
+package com.devmaster.application.service.impl;
+
+/**
+ * Alvo do {@code LoggingAspectBenchmark}: está no pacote interceptado pelo pointcut de services.
+ */
+public class BenchmarkServiceImpl {
+
+    public Object salvar(Object request, String id) {
+        return id;
+    }
+}
@@ -0,0 +1,73 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.handler.APIException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de lançamento/captura de um erro esperado (404) a partir de uma pilha com
+ * {@code depth} frames, próxima da profundidade de uma requisição Spring MVC.
+ *
+ * Compara a {@link APIException} atual (sem stack trace para 4xx) com a versão
+ * anterior ({@link BaselineAPIException}).
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="APIExceptionBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class APIExceptionBenchmark {
+
+    private static final String MESSAGE = "Restaurante não encontrado";
+
+    @Param({"10", "100"})
+    public int depth;
+
+    @Benchmark
+    public Object baseline() {
+        try {
+            return throwBaseline(depth);
+        } catch (BaselineAPIException e) {
+            return e.getBodyException();
+        }
+    }
+
+    @Benchmark
+    public Object expected() {
+        try {
+            return throwExpected(depth);
+        } catch (APIException e) {
+            return e.getBodyException();
+        }
+    }
+
+    private static Object throwBaseline(int remaining) {
+        if (remaining == 0) {
+            throw BaselineAPIException.build(HttpStatus.NOT_FOUND, MESSAGE);
+        }
+        return throwBaseline(remaining - 1);
+    }
+
+    private static Object throwExpected(int remaining) {
+        if (remaining == 0) {
+            throw APIException.build(HttpStatus.NOT_FOUND, MESSAGE);
+        }
+        return throwExpected(remaining - 1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.handler.ErrorApiResponse;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.Serial;
+import java.util.Optional;
+
+/**
+ * Cópia da {@code APIException} anterior ao modo de erro esperado (stack trace sempre capturado),
+ * mantida apenas como linha de base do {@link APIExceptionBenchmark}.
+ */
+@Getter
+@Log4j2
+class BaselineAPIException extends RuntimeException {
+	private final HttpStatus statusException;
+	private final ErrorApiResponse bodyException;
+	
+	private BaselineAPIException(HttpStatus statusException, String message, Exception e) {
+		super(message, e);
+		this.statusException = statusException;
+		this.bodyException = ErrorApiResponse.builder()
+				.message(message)
+				.description(getDescription(e))
+				.build();
+	}
+	
+	public static BaselineAPIException build(HttpStatus statusException, String message) {
+		return new BaselineAPIException(statusException, message, null);
+	}
+	
+	public static BaselineAPIException build(HttpStatus statusException, String message, Exception e) {
+		log.error("Exception: ", e);
+		return new BaselineAPIException(statusException, message, e);
+	}
+
+	private String getDescription(Exception e) {
+		return Optional.ofNullable(e)
+				.map(BaselineAPIException::getMessageCause).orElse(null);
+	}
+
+	private static String getMessageCause(Exception e) {
+		return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+	}
+
+	public ResponseEntity<ErrorApiResponse> buildErrorResponseEntity() {
+		return ResponseEntity
+				.status(statusException)
+				.body(bodyException);
+	}
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,33 @@
+package com.devmaster.benchmark;
+
+/**
+ * Cópia dos métodos do {@code CNPJUtil} anteriores à implementação sobre {@code char[]}
+ * ({@code replaceAll} e {@code String.format} com {@code substring}), mantida apenas como linha de
+ * base do {@link CNPJUtilBenchmark}.
+ */
+final class BaselineCNPJUtil {
+
+    private BaselineCNPJUtil() {
+    }
+
+    static String removerMascara(String cnpjComMascara) {
+        if (cnpjComMascara == null) {
+            return null;
+        }
+        return cnpjComMascara.replaceAll("[^a-zA-Z0-9]", "");
+    }
+
+    static String aplicarMascara(String cnpjSemMascara) {
+        if (cnpjSemMascara == null || cnpjSemMascara.length() != 14) {
+            return cnpjSemMascara;
+        }
+
+        return String.format("%s.%s.%s/%s-%s",
+            cnpjSemMascara.substring(0, 2),
+            cnpjSemMascara.substring(2, 5),
+            cnpjSemMascara.substring(5, 8),
+            cnpjSemMascara.substring(8, 12),
+            cnpjSemMascara.substring(12, 14)
+        );
+    }
+}
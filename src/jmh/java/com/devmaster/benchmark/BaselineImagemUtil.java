@@ -0,0 +1,34 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.util.ImagemUtil;
+import com.devmaster.util.ImagemUtil.DimensoesImagem;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Cópia dos métodos do {@code ImagemUtil} anteriores ao recebimento em streaming
+ * ({@code getBytes()} + {@code ImageIO.read}), mantida apenas como linha de base do
+ * {@link ImagemIngestaoBenchmark}.
+ */
+final class BaselineImagemUtil {
+
+    private BaselineImagemUtil() {
+    }
+
+    static String converterParaBase64(MultipartFile arquivo) throws IOException {
+        ImagemUtil.validarArquivo(arquivo);
+        byte[] bytes = arquivo.getBytes();
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    static DimensoesImagem obterDimensoes(MultipartFile arquivo) throws IOException {
+        byte[] bytes = arquivo.getBytes();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        return new DimensoesImagem(image.getWidth(), image.getHeight());
+    }
+}
@@ -0,0 +1,53 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.handler.APIException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cópia do {@code SecurityService} anterior ao {@code UserContext} (roles copiadas das authorities
+ * para um {@code Set} e {@code UUID} convertido a cada chamada), mantida apenas como linha de base
+ * do {@link SecurityServiceBenchmark}.
+ */
+final class BaselineSecurityService {
+
+    UUID getUsuarioAutenticado() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
+            throw APIException.build(HttpStatus.UNAUTHORIZED, "Usuário não autenticado");
+        }
+        return UUID.fromString(auth.getName());
+    }
+
+    Set<String> getRoles() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return Set.of();
+        }
+        return auth.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toSet());
+    }
+
+    boolean hasRole(String role) {
+        return getRoles().contains(role);
+    }
+
+    boolean isSuperAdmin() {
+        return hasRole("ROLE_SUPER_ADMIN");
+    }
+
+    boolean isAdmin() {
+        return hasRole("ROLE_ADMIN");
+    }
+
+    boolean isGerente() {
+        return hasRole("ROLE_GERENTE");
+    }
+}
@@ -0,0 +1,152 @@
+package com.devmaster.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara dois resultados do JMH em JSON ({@code -rf json}), por exemplo de dois commits.
+ *
+ * Para cada benchmark presente nos dois arquivos (mesmo nome, modo e {@code @Param}), mostra o
+ * score e os bytes alocados por operação ({@code gc.alloc.rate.norm}, com {@code -prof gc}) e a
+ * variação. É <b>regressão</b>:
+ * <ul>
+ *     <li>score pior que o limiar (menor em {@code thrpt}, maior nos outros modos) e com os
+ *     intervalos de erro sem sobreposição, para não acusar ruído;</li>
+ *     <li>alocação maior que o limiar e com pelo menos {@value #MIN_BYTES_ALOCACAO} bytes a mais.</li>
+ * </ul>
+ * O processo termina com código {@value #CODIGO_REGRESSAO} se houver regressões, para uso em CI.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark exec:exec@comparar -Dbase=benchmarks/abc123.json -Datual=target/jmh-result.json [-Dlimiar=10]
+ * </pre>
+ */
+public final class BenchmarkComparator {
+
+    static final String ALOCACAO = "gc.alloc.rate.norm";
+    static final int MIN_BYTES_ALOCACAO = 8;
+    static final int CODIGO_REGRESSAO = 2;
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BenchmarkComparator <base.json> <atual.json> [limiar-%]");
+            System.exit(1);
+        }
+        for (int i = 0; i < 2; i++) {
+            if (!Files.isRegularFile(Path.of(args[i]))) {
+                System.err.println("Resultado não encontrado: " + args[i] + " - gere com"
+                        + " ./mvnw -Pbenchmark test-compile exec:exec -Djmh.result=" + args[i]
+                        + " (ver BENCHMARK_GUIDE.md)");
+                System.exit(1);
+            }
+        }
+        double limiar = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        Map<String, Resultado> base = ler(Path.of(args[0]));
+        Map<String, Resultado> atual = ler(Path.of(args[1]));
+
+        List<String> regressoes = new ArrayList<>();
+        System.out.printf(Locale.ROOT, "%-70s %14s %14s %8s   %10s %10s %8s%n",
+                "Benchmark", "Base", "Atual", "Δ", "B/op base", "B/op atual", "Δ");
+        for (Map.Entry<String, Resultado> entrada : atual.entrySet()) {
+            Resultado antes = base.get(entrada.getKey());
+            Resultado depois = entrada.getValue();
+            if (antes == null) {
+                System.out.printf(Locale.ROOT, "%-70s %14s %14s %8s%n", entrada.getKey(), "-",
+                        formatar(depois.score, depois.unidade), "novo");
+                continue;
+            }
+            double variacao = variacao(antes.score, depois.score);
+            boolean piorScore = depois.maiorMelhor ? variacao < -limiar : variacao > limiar;
+            boolean foraDoErro = Math.abs(depois.score - antes.score) > antes.erro + depois.erro;
+            boolean regressaoScore = piorScore && foraDoErro;
+
+            boolean regressaoAlocacao = false;
+            String alocacao = "";
+            if (antes.alocacao >= 0 && depois.alocacao >= 0) {
+                double variacaoAlocacao = variacao(antes.alocacao, depois.alocacao);
+                regressaoAlocacao = depois.alocacao - antes.alocacao >= MIN_BYTES_ALOCACAO
+                        && (antes.alocacao == 0 || variacaoAlocacao > limiar);
+                alocacao = String.format(Locale.ROOT, "   %10.0f %10.0f %8s", antes.alocacao, depois.alocacao,
+                        percentual(variacaoAlocacao));
+            }
+
+            System.out.printf(Locale.ROOT, "%-70s %14s %14s %8s%s%s%n", entrada.getKey(),
+                    formatar(antes.score, antes.unidade), formatar(depois.score, depois.unidade),
+                    percentual(variacao), alocacao, regressaoScore || regressaoAlocacao ? "  ⚠" : "");
+            if (regressaoScore) {
+                regressoes.add(entrada.getKey() + ": score " + percentual(variacao));
+            }
+            if (regressaoAlocacao) {
+                regressoes.add(String.format(Locale.ROOT, "%s: alocação %.0f -> %.0f B/op", entrada.getKey(),
+                        antes.alocacao, depois.alocacao));
+            }
+        }
+        for (String chave : base.keySet()) {
+            if (!atual.containsKey(chave)) {
+                System.out.printf(Locale.ROOT, "%-70s %14s %14s %8s%n", chave, "", "-", "removido");
+            }
+        }
+
+        if (regressoes.isEmpty()) {
+            System.out.printf(Locale.ROOT, "%nNenhuma regressão acima de %.0f%%.%n", limiar * 100);
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%n%d regressão(ões) acima de %.0f%%:%n", regressoes.size(), limiar * 100);
+        regressoes.forEach(r -> System.out.println("  - " + r));
+        System.exit(CODIGO_REGRESSAO);
+    }
+
+    static Map<String, Resultado> ler(Path arquivo) throws IOException {
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(arquivo.toFile())) {
+            StringBuilder chave = new StringBuilder(benchmark.path("benchmark").asText()
+                    .replace("com.devmaster.benchmark.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = benchmark.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                chave.append(chave.indexOf(":") < 0 ? ":" : ",").append(param.getKey()).append('=')
+                        .append(param.getValue().asText());
+            }
+            String modo = benchmark.path("mode").asText();
+            chave.append(" [").append(modo).append(']');
+
+            JsonNode primaria = benchmark.path("primaryMetric");
+            JsonNode alocacao = benchmark.path("secondaryMetrics").path(ALOCACAO);
+            double erro = primaria.path("scoreError").asDouble(0);
+            resultados.put(chave.toString(), new Resultado(
+                    primaria.path("score").asDouble(),
+                    Double.isNaN(erro) ? 0 : erro,
+                    primaria.path("scoreUnit").asText(),
+                    "thrpt".equals(modo),
+                    alocacao.isMissingNode() ? -1 : alocacao.path("score").asDouble()));
+        }
+        return resultados;
+    }
+
+    private static double variacao(double antes, double depois) {
+        return antes == 0 ? (depois == 0 ? 0 : Double.POSITIVE_INFINITY) : (depois - antes) / antes;
+    }
+
+    private static String percentual(double variacao) {
+        return Double.isInfinite(variacao) ? "+∞" : String.format(Locale.ROOT, "%+.1f%%", variacao * 100);
+    }
+
+    private static String formatar(double score, String unidade) {
+        return String.format(Locale.ROOT, "%.3f %s", score, unidade);
+    }
+
+    record Resultado(double score, double erro, String unidade, boolean maiorMelhor, double alocacao) {
+    }
+}
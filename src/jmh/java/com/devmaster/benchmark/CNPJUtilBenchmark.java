@@ -0,0 +1,115 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.util.CNPJUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação de um cadastro de parceiros: {@value #LOTE} CNPJs, metade com máscara, um quarto
+ * alfanuméricos e ~10% com dígitos verificadores errados. Os resultados são por CNPJ.
+ *
+ * <ul>
+ *     <li>{@code baseline*}: {@code replaceAll} / {@code String.format} ({@link BaselineCNPJUtil});</li>
+ *     <li>{@code removerMascara} / {@code aplicarMascara}: {@link CNPJUtil} sobre {@code char[]};</li>
+ *     <li>{@code normalizar}: remoção da máscara + validação dos dígitos em uma passada;</li>
+ *     <li>{@code normalizarLote}: o mesmo pelo método de lote (paralelo).</li>
+ * </ul>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="CNPJUtilBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class CNPJUtilBenchmark {
+
+    static final int LOTE = 100_000;
+
+    private String[] cnpjs;
+    private String[] semMascara;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String alfanumerico = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        cnpjs = new String[LOTE];
+        semMascara = new String[LOTE];
+        for (int i = 0; i < LOTE; i++) {
+            StringBuilder base = new StringBuilder(14);
+            String alfabeto = i % 4 == 0 ? alfanumerico : alfanumerico.substring(0, 10);
+            for (int j = 0; j < 12; j++) {
+                base.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+            }
+            int digitos = CNPJUtil.calcularDigitosVerificadores(base);
+            if (i % 10 == 9) {
+                digitos = (digitos + 1) % 100;
+            }
+            String cnpj = base.append((char) ('0' + digitos / 10)).append((char) ('0' + digitos % 10)).toString();
+            semMascara[i] = cnpj;
+            cnpjs[i] = i % 2 == 0 ? CNPJUtil.aplicarMascara(cnpj) : cnpj;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void baselineRemoverMascara(Blackhole bh) {
+        for (String cnpj : cnpjs) {
+            bh.consume(BaselineCNPJUtil.removerMascara(cnpj));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void removerMascara(Blackhole bh) {
+        for (String cnpj : cnpjs) {
+            bh.consume(CNPJUtil.removerMascara(cnpj));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void baselineAplicarMascara(Blackhole bh) {
+        for (String cnpj : semMascara) {
+            bh.consume(BaselineCNPJUtil.aplicarMascara(cnpj));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void aplicarMascara(Blackhole bh) {
+        for (String cnpj : semMascara) {
+            bh.consume(CNPJUtil.aplicarMascara(cnpj));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void normalizar(Blackhole bh) {
+        for (String cnpj : cnpjs) {
+            bh.consume(CNPJUtil.normalizar(cnpj));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public Object normalizarLote() {
+        return CNPJUtil.normalizarLote(cnpjs);
+    }
+}
@@ -0,0 +1,169 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.util.ImagemIngestao;
+import com.devmaster.util.ImagemRecebida;
+import com.devmaster.util.ImagemUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload de uma foto JPEG de ~3 MB (3000x2000): conversão para Base64 e leitura das dimensões.
+ *
+ * O {@link MultipartFile} lê de um arquivo em disco, como as partes que o Tomcat grava durante o
+ * upload. Compara o {@link ImagemUtil} atual ({@link ImagemIngestao} em streaming) com a versão
+ * anterior ({@link BaselineImagemUtil}); com {@code -prof gc}, {@code gc.alloc.rate.norm} mostra
+ * os bytes alocados por upload.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="ImagemIngestaoBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class ImagemIngestaoBenchmark {
+
+    private Path foto;
+    private MultipartFile upload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        foto = Files.createTempFile("benchmark-foto-", ".jpg");
+        escreverFoto(foto, 3000, 2000);
+        upload = new ArquivoMultipart(foto);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(foto);
+    }
+
+    @Benchmark
+    public Object base64Baseline() throws IOException {
+        return BaselineImagemUtil.converterParaBase64(upload);
+    }
+
+    @Benchmark
+    public Object base64Streaming() {
+        return ImagemUtil.converterParaBase64(upload);
+    }
+
+    @Benchmark
+    public Object dimensoesBaseline() throws IOException {
+        return BaselineImagemUtil.obterDimensoes(upload);
+    }
+
+    @Benchmark
+    public Object dimensoesStreaming() {
+        return ImagemUtil.obterDimensoes(upload);
+    }
+
+    @Benchmark
+    public Object ingestaoParaArquivo() throws IOException {
+        Path destino = Files.createTempFile("benchmark-destino-", ".jpg");
+        try (ImagemRecebida imagem = ImagemIngestao.receber(upload)) {
+            imagem.salvarEm(destino);
+            return imagem.dimensoes();
+        } finally {
+            Files.deleteIfExists(destino);
+        }
+    }
+
+    /**
+     * Foto com ruído, para que o JPEG tenha o tamanho de uma foto real de celular.
+     */
+    static void escreverFoto(Path destino, int largura, int altura) throws IOException {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < altura; y++) {
+            for (int x = 0; x < largura; x++) {
+                int base = (x * 255 / largura) << 16 | (y * 255 / altura) << 8;
+                imagem.setRGB(x, y, base | random.nextInt(64) << 8 | random.nextInt(64));
+            }
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(0.9f);
+        try (ImageOutputStream saida = ImageIO.createImageOutputStream(destino.toFile())) {
+            writer.setOutput(saida);
+            writer.write(null, new IIOImage(imagem, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Upload já gravado em disco, como o {@code StandardMultipartFile} do Tomcat.
+     */
+    private record ArquivoMultipart(Path arquivo) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "arquivo";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return arquivo.getFileName().toString();
+        }
+
+        @Override
+        public String getContentType() {
+            return "image/jpeg";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return arquivo.toFile().length();
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(arquivo);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(arquivo);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.copy(arquivo, dest.toPath());
+        }
+    }
+}
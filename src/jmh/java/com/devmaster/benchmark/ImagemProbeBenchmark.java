@@ -0,0 +1,150 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.util.ImagemProbe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura de dimensões em um conjunto de imagens com as características das enviadas pelos usuários:
+ * foto de celular (JPEG com ~60 KB de EXIF), JPEG progressivo, screenshot PNG e GIF.
+ *
+ * Compara o {@link ImagemProbe} (só cabeçalhos) com {@code ImageIO.read} (decodificação completa,
+ * usado antes) e com os metadados do {@code ImageReader}. As imagens são geradas no setup com
+ * ruído, para ter o tamanho de arquivos reais.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="ImagemProbeBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class ImagemProbeBenchmark {
+
+    @Param({"foto-exif.jpg", "progressivo.jpg", "screenshot.png", "animacao.gif"})
+    public String imagem;
+
+    private byte[] conteudo;
+
+    @Setup
+    public void setUp() throws IOException {
+        conteudo = switch (imagem) {
+            case "foto-exif.jpg" -> comExif(foto(3000, 2000));
+            case "progressivo.jpg" -> jpegProgressivo(ruido(1600, 1200));
+            case "screenshot.png" -> codificar(ruido(1920, 1080), "png");
+            case "animacao.gif" -> codificar(ruido(800, 600), "gif");
+            default -> throw new IllegalArgumentException(imagem);
+        };
+    }
+
+    @Benchmark
+    public Object imageIoRead() throws IOException {
+        BufferedImage imagemLida = ImageIO.read(new ByteArrayInputStream(conteudo));
+        return imagemLida.getWidth() + imagemLida.getHeight();
+    }
+
+    @Benchmark
+    public Object imageReaderMetadata() throws IOException {
+        // Mesmo caminho do fallback do ImagemProbe
+        try (ImageInputStream entrada = new MemoryCacheImageInputStream(new ByteArrayInputStream(conteudo))) {
+            ImageReader leitor = ImageIO.getImageReaders(entrada).next();
+            try {
+                leitor.setInput(entrada, true, true);
+                return leitor.getWidth(0) + leitor.getHeight(0);
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    @Benchmark
+    public Object probe() throws IOException {
+        return ImagemProbe.analisarCabecalho(new ByteArrayInputStream(conteudo));
+    }
+
+    private static byte[] foto(int largura, int altura) throws IOException {
+        Path arquivo = Files.createTempFile("benchmark-foto-", ".jpg");
+        try {
+            ImagemIngestaoBenchmark.escreverFoto(arquivo, largura, altura);
+            return Files.readAllBytes(arquivo);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /**
+     * Insere um segmento APP1 de ~60 KB (tamanho típico de EXIF com miniatura) logo após o SOI.
+     */
+    private static byte[] comExif(byte[] jpeg) {
+        int tamanhoSegmento = 60_000;
+        byte[] resultado = new byte[jpeg.length + tamanhoSegmento];
+        resultado[0] = (byte) 0xFF;
+        resultado[1] = (byte) 0xD8;
+        resultado[2] = (byte) 0xFF;
+        resultado[3] = (byte) 0xE1;
+        resultado[4] = (byte) ((tamanhoSegmento - 2) >> 8);
+        resultado[5] = (byte) (tamanhoSegmento - 2);
+        System.arraycopy(jpeg, 2, resultado, 2 + tamanhoSegmento, jpeg.length - 2);
+        return resultado;
+    }
+
+    private static BufferedImage ruido(int largura, int altura) {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < altura; y++) {
+            for (int x = 0; x < largura; x++) {
+                imagem.setRGB(x, y, (x * 255 / largura) << 16 | random.nextInt(32) << 8 | (y * 255 / altura));
+            }
+        }
+        return imagem;
+    }
+
+    private static byte[] codificar(BufferedImage imagem, String formato) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, formato, saida);
+        return saida.toByteArray();
+    }
+
+    private static byte[] jpegProgressivo(BufferedImage imagem) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream destino = new MemoryCacheImageOutputStream(saida)) {
+            writer.setOutput(destino);
+            writer.write(null, new IIOImage(imagem, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return saida.toByteArray();
+    }
+}
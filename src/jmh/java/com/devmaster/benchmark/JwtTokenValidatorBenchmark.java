@@ -0,0 +1,116 @@
+package com.devmaster.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.devmaster.security.JwtTokenValidator;
+import com.devmaster.security.JwtVerificationMode;
+import com.devmaster.security.LocalJwtVerifier;
+import com.devmaster.security.TokenClaims;
+import com.devmaster.security.TokenRevocationList;
+import com.devmaster.security.TokenValidationCache;
+import com.devmaster.security.TokenValidationCoalescer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link JwtTokenValidator} por token, com um JWT HS256 de tamanho realista.
+ *
+ * <ul>
+ *     <li>{@code extractTokenInfo}: decodificação do payload, sem verificação;</li>
+ *     <li>{@code validateTokenCached}: token já validado (caminho de toda requisição autenticada);</li>
+ *     <li>{@code validateTokenLocal}: cache desabilitado, assinatura e claims verificadas pelo
+ *     {@link LocalJwtVerifier} a cada chamada (custo de um token novo).</li>
+ * </ul>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="JwtTokenValidatorBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenValidatorBenchmark {
+
+    private static final String SECRET = "benchmark-secret-0123456789abcdef0123456789";
+
+    private String token;
+    private JwtTokenValidator cached;
+    private JwtTokenValidator local;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("usuario.benchmark")
+                .claim("userId", "3f1c2a7e-1111-4222-8333-444455556666")
+                .claim("roles", List.of("ADMIN", "RESTAURANTE"))
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET));
+        token = jwt.serialize();
+
+        LocalJwtVerifier verifier = new LocalJwtVerifier(null, JwtVerificationMode.LOCAL, "", SECRET, "", "",
+                Duration.ofSeconds(30), Duration.ofMinutes(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TokenValidationCache cache = new TokenValidationCache(true, 1_000, Duration.ofHours(1), Duration.ofHours(1), registry);
+        cache.put(token, TokenClaims.from(Map.of(
+                "valid", true,
+                "username", "usuario.benchmark",
+                "userId", "3f1c2a7e-1111-4222-8333-444455556666",
+                "roles", List.of("ADMIN", "RESTAURANTE"))), null);
+        TokenValidationCoalescer coalescer = new TokenValidationCoalescer(false, Duration.ofSeconds(10), registry);
+        cached = new JwtTokenValidator(null, cache, coalescer, verifier,
+                new TokenRevocationList(cache, Duration.ofHours(24), 100_000, registry), new ObjectMapper(),
+                "http://auth-service", true);
+        TokenValidationCache semCache = new TokenValidationCache(false, 1_000, Duration.ofHours(1), Duration.ofHours(1), registry);
+        local = new JwtTokenValidator(null, semCache, coalescer, verifier,
+                new TokenRevocationList(semCache, Duration.ofHours(24), 100_000, registry), new ObjectMapper(),
+                "http://auth-service", true);
+    }
+
+    @Benchmark
+    public Object extractTokenInfo() {
+        return cached.extractTokenInfo(token);
+    }
+
+    @Benchmark
+    public Object validateTokenCached() {
+        return cached.validateToken(token);
+    }
+
+    @Benchmark
+    public Object validateTokenLocal() {
+        return local.validateToken(token);
+    }
+}
@@ -0,0 +1,111 @@
+package com.devmaster.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.devmaster.application.api.BenchmarkController;
+import com.devmaster.application.service.impl.BenchmarkServiceImpl;
+import com.devmaster.config.LoggingAspect;
+import com.devmaster.config.MethodExecutionMetrics;
+import com.devmaster.util.LogSanitizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por chamada do {@link LoggingAspect} comparado à versão anterior ({@link BaselineLoggingAspect}).
+ *
+ * O log fica em INFO (nível padrão), sem appenders: o log de controller está habilitado
+ * e o de service (DEBUG) não. A versão atual também registra os timers em um {@link SimpleMeterRegistry}. O argumento simula um DTO com campos sensíveis no {@code toString()}.
+ * {@code sanitizeArgs*} medem só a sanitização dos argumentos ({@link LogSanitizer#sanitizeArgs(Object[])}).
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="LoggingAspectBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingAspectBenchmark {
+
+    private static final String ID = "3f1c2a7e-1111-4222-8333-444455556666";
+
+    private final Object request = new Object() {
+        @Override
+        public String toString() {
+            return "UsuarioRequest(nome=Maria Silva, email=maria@devmaster.com, senha=Segredo123, cpf=12345678909, "
+                    + "telefone=11999998888, endereco=Rua das Flores 100)";
+        }
+    };
+
+    private BaselineLoggingAspect baselineAspect;
+    private BenchmarkController baselineController;
+    private BenchmarkController optimizedController;
+    private BenchmarkServiceImpl baselineService;
+    private BenchmarkServiceImpl optimizedService;
+
+    @Setup
+    public void setUp() {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        baselineAspect = new BaselineLoggingAspect();
+        baselineController = proxy(new BenchmarkController(), baselineAspect);
+        LoggingAspect aspect = new LoggingAspect(new MethodExecutionMetrics(new SimpleMeterRegistry()));
+        optimizedController = proxy(new BenchmarkController(), aspect);
+        baselineService = proxy(new BenchmarkServiceImpl(), new BaselineLoggingAspect());
+        optimizedService = proxy(new BenchmarkServiceImpl(), aspect);
+    }
+
+    @Benchmark
+    public Object controllerBaseline() {
+        return baselineController.buscar(request, ID);
+    }
+
+    @Benchmark
+    public Object controllerOptimized() {
+        return optimizedController.buscar(request, ID);
+    }
+
+    @Benchmark
+    public Object serviceBaseline() {
+        return baselineService.salvar(request, ID);
+    }
+
+    @Benchmark
+    public Object serviceOptimized() {
+        return optimizedService.salvar(request, ID);
+    }
+
+    @Benchmark
+    public Object sanitizeArgsBaseline() {
+        return baselineAspect.sanitizeArgs(new Object[]{request, ID});
+    }
+
+    @Benchmark
+    public Object sanitizeArgsOptimized() {
+        return LogSanitizer.sanitizeArgs(new Object[]{request, ID});
+    }
+
+    private static <T> T proxy(T target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,107 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.security.CompiledPreAuthorizeAuthorizationManager;
+import com.devmaster.security.TokenClaims;
+import com.devmaster.security.UserContext;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Custo da decisão do {@code @PreAuthorize} por chamada.
+ *
+ * Compara o {@link PreAuthorizeAuthorizationManager} do Spring (avaliação da expressão SpEL) com o
+ * {@link CompiledPreAuthorizeAuthorizationManager}, para uma expressão simples e uma com várias
+ * roles, e para uma expressão que o compilado repassa ao SpEL (o custo extra do desvio).
+ * O principal é um {@link UserContext}, como nas requisições autenticadas pelo filtro JWT.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="PreAuthorizeBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PreAuthorizeBenchmark {
+
+    public static class Pedidos {
+
+        @PreAuthorize("hasRole('GERENTE')")
+        public void hasRole() {
+        }
+
+        @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN') or hasAuthority('pedidos:ler') or hasRole('GERENTE')")
+        public void anyRole() {
+        }
+
+        @PreAuthorize("#restauranteId == 42 and hasRole('GERENTE')")
+        public void spel(long restauranteId) {
+        }
+    }
+
+    @Param({"hasRole", "anyRole", "spel"})
+    public String expression;
+
+    private PreAuthorizeAuthorizationManager spel;
+    private CompiledPreAuthorizeAuthorizationManager compiled;
+    private MethodInvocation invocation;
+    private Supplier<Authentication> authentication;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        spel = new PreAuthorizeAuthorizationManager();
+        spel.setExpressionHandler(new DefaultMethodSecurityExpressionHandler());
+        compiled = new CompiledPreAuthorizeAuthorizationManager(spel);
+
+        Pedidos target = new Pedidos();
+        invocation = expression.equals("spel")
+                ? new SimpleMethodInvocation(target, Pedidos.class.getMethod("spel", long.class), 42L)
+                : new SimpleMethodInvocation(target, Pedidos.class.getMethod(expression));
+
+        UserContext userContext = UserContext.from(TokenClaims.from(Map.of(
+                "username", "usuario.benchmark",
+                "roles", List.of("GERENTE", "RESTAURANTE"))));
+        Authentication token = new UsernamePasswordAuthenticationToken(userContext, null,
+                AuthorityUtils.createAuthorityList("ROLE_GERENTE", "ROLE_RESTAURANTE"));
+        authentication = () -> token;
+
+        if (!spel.authorize(authentication, invocation).isGranted()
+                || !compiled.authorize(authentication, invocation).isGranted()) {
+            throw new IllegalStateException("A chamada deveria ser autorizada: " + expression);
+        }
+    }
+
+    @Benchmark
+    public Object spelManager() {
+        return spel.authorize(authentication, invocation);
+    }
+
+    @Benchmark
+    public Object compiledManager() {
+        return compiled.authorize(authentication, invocation);
+    }
+}
@@ -0,0 +1,98 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.security.PublicRouteRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação de rota pública com uma tabela de centenas de rotas.
+ *
+ * Compara o {@link PublicRouteRegistry} com a alternativa direta: testar cada
+ * {@link PathPattern} do Spring em sequência. Os caminhos incluem o context path
+ * ({@code /api}), como em {@code request.getRequestURI()}, e misturam rotas públicas e protegidas.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="PublicRouteRegistryBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PublicRouteRegistryBenchmark {
+
+    private static final String CONTEXT_PATH = "/api";
+
+    private static final String[] PATHS = {
+            "/api/v1/restaurantes/42/pedidos/1001",
+            "/api/public/auth/login",
+            "/api/v1/cupons/public/BEMVINDO10",
+            "/api/v1/entregadores/7/localizacao",
+            "/api/swagger-ui/index.html",
+            "/api/v1/recurso-150/public/catalogo/itens",
+            "/api/v1/recurso-299/123/detalhes",
+            "/api/actuator/health"
+    };
+
+    @Param({"300"})
+    public int routes;
+
+    private PublicRouteRegistry registry;
+    private List<PathPattern> pathPatterns;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<String> table = new ArrayList<>(PublicRouteRegistry.PUBLIC_ROUTES);
+        for (int i = 0; table.size() < routes; i++) {
+            String resource = "/v1/recurso-" + i;
+            table.add(resource + "/public/**");
+            table.add(resource + "/*/imagens/**");
+            table.add(resource + "/catalogo");
+        }
+        registry = new PublicRouteRegistry(table);
+
+        PathPatternParser parser = new PathPatternParser();
+        pathPatterns = table.stream().map(parser::parse).toList();
+    }
+
+    @Benchmark
+    public boolean registry() {
+        return registry.matches(nextPath(), CONTEXT_PATH.length());
+    }
+
+    @Benchmark
+    public boolean pathPatternScan() {
+        PathContainer path = PathContainer.parsePath(nextPath().substring(CONTEXT_PATH.length()));
+        for (PathPattern pattern : pathPatterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String nextPath() {
+        String path = PATHS[next];
+        next = (next + 1) & (PATHS.length - 1);
+        return path;
+    }
+}
@@ -0,0 +1,138 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.imagem.ImagemRedimensionador;
+import com.devmaster.imagem.ImagemVariante;
+import com.devmaster.imagem.VarianteCache;
+import com.devmaster.imagem.VarianteImagem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e entrega de uma variante a partir de uma foto de celular (4000x3000, ~5 MB).
+ *
+ * <ul>
+ *     <li>{@code decodificacaoCompleta}: abordagem ingênua, {@code ImageIO.read} da foto inteira e uma
+ *     única redução com {@code drawImage};</li>
+ *     <li>{@code redimensionador}: {@link ImagemRedimensionador}, com subamostragem no decoder;</li>
+ *     <li>{@code cacheMemoria} / {@code cacheDisco}: variante já gerada, servida pelo {@link VarianteCache}
+ *     (array em memória ou {@code transferTo} do arquivo) para um canal descartável.</li>
+ * </ul>
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="RedimensionamentoBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class RedimensionamentoBenchmark {
+
+    @Param({"64", "1024"})
+    public int lado;
+
+    private byte[] foto;
+    private ImagemVariante variante;
+    private Path diretorio;
+    private VarianteCache cache;
+    private String chaveMemoria;
+    private String chaveDisco;
+    private final WritableByteChannel descarte = Channels.newChannel(OutputStream.nullOutputStream());
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path arquivo = Files.createTempFile("benchmark-foto-", ".jpg");
+        try {
+            ImagemIngestaoBenchmark.escreverFoto(arquivo, 4000, 3000);
+            foto = Files.readAllBytes(arquivo);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+        variante = new ImagemVariante("v" + lado, lado, ImagemVariante.JPEG, 0.8f);
+
+        ByteArrayOutputStream gerada = new ByteArrayOutputStream();
+        ImagemRedimensionador.redimensionar(new ByteArrayInputStream(foto), variante, Long.MAX_VALUE, gerada);
+        diretorio = Files.createTempDirectory("benchmark-variantes-");
+        cache = new VarianteCache(diretorio, DataSize.ofMegabytes(64), DataSize.ofMegabytes(16),
+                DataSize.ofKilobytes(256), Duration.ZERO, new SimpleMeterRegistry());
+        chaveMemoria = variante.chave("a".repeat(64));
+        cache.armazenar(chaveMemoria, variante.tipo(), variante.extensao(), ByteBuffer.wrap(gerada.toByteArray()));
+        // Mesmo conteúdo, mas acima do limite de memória: servido só do disco
+        chaveDisco = variante.chave("b".repeat(64));
+        ByteBuffer grande = ByteBuffer.allocate(Math.max(gerada.size(), 300 * 1024));
+        grande.put(gerada.toByteArray()).rewind();
+        cache.armazenar(chaveDisco, variante.tipo(), variante.extensao(), grande);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(diretorio);
+    }
+
+    @Benchmark
+    public Object decodificacaoCompleta() throws IOException {
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(foto));
+        double escala = (double) lado / Math.max(original.getWidth(), original.getHeight());
+        int largura = (int) Math.round(original.getWidth() * escala);
+        int altura = (int) Math.round(original.getHeight() * escala);
+        BufferedImage reduzida = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = reduzida.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(original, 0, 0, largura, altura, null);
+        g.dispose();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(reduzida, "jpeg", saida);
+        return saida.size();
+    }
+
+    @Benchmark
+    public Object redimensionador() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImagemRedimensionador.redimensionar(new ByteArrayInputStream(foto), variante, Long.MAX_VALUE, saida);
+        return saida.size();
+    }
+
+    @Benchmark
+    public long cacheMemoria() throws IOException {
+        VarianteImagem servida = cache.obter(chaveMemoria);
+        return servida.transferirPara(descarte);
+    }
+
+    @Benchmark
+    public long cacheDisco() throws IOException {
+        VarianteImagem servida = cache.obter(chaveDisco);
+        return servida.transferirPara(descarte);
+    }
+}
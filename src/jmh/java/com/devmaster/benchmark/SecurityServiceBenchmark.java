@@ -0,0 +1,92 @@
+package com.devmaster.benchmark;
+
+import com.devmaster.security.SecurityService;
+import com.devmaster.security.TokenClaims;
+import com.devmaster.security.UserContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificações de role e leitura do usuário autenticado, como em um service que checa permissões.
+ *
+ * Compara o {@link SecurityService} (lê o {@link UserContext} montado pelo filtro: máscara de roles
+ * e {@code UUID} já convertido) com o {@link BaselineSecurityService} (copia as authorities para um
+ * {@code Set} a cada verificação). O principal é o mesmo nos dois casos.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="SecurityServiceBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SecurityServiceBenchmark {
+
+    private static final String USER_ID = "3f1c2a7e-1111-4222-8333-444455556666";
+
+    private final SecurityService optimized = new SecurityService();
+    private final BaselineSecurityService baseline = new BaselineSecurityService();
+
+    @Setup
+    public void setUp() {
+        // username igual ao userId: o baseline converte auth.getName() para UUID
+        UserContext userContext = UserContext.from(TokenClaims.from(Map.of(
+                "username", USER_ID,
+                "userId", USER_ID,
+                "restauranteId", 42,
+                "roles", List.of("GERENTE", "RESTAURANTE"))));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userContext, null, AuthorityUtils.createAuthorityList("ROLE_GERENTE", "ROLE_RESTAURANTE")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void rolesBaseline(Blackhole blackhole) {
+        blackhole.consume(baseline.isSuperAdmin());
+        blackhole.consume(baseline.isAdmin());
+        blackhole.consume(baseline.isGerente());
+        blackhole.consume(baseline.hasRole("ROLE_RESTAURANTE"));
+    }
+
+    @Benchmark
+    public void rolesOptimized(Blackhole blackhole) {
+        blackhole.consume(optimized.isSuperAdmin());
+        blackhole.consume(optimized.isAdmin());
+        blackhole.consume(optimized.isGerente());
+        blackhole.consume(optimized.hasRole("ROLE_RESTAURANTE"));
+    }
+
+    @Benchmark
+    public Object usuarioBaseline() {
+        return baseline.getUsuarioAutenticado();
+    }
+
+    @Benchmark
+    public Object usuarioOptimized() {
+        return optimized.getUsuarioAutenticado();
+    }
+}
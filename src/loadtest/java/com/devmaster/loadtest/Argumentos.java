@@ -0,0 +1,51 @@
+package com.devmaster.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Argumentos de linha de comando no formato {@code --chave valor} (ou {@code --chave=valor}).
+ */
+final class Argumentos {
+
+    private final Map<String, String> valores = new HashMap<>();
+
+    Argumentos(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argumento inesperado: " + arg);
+            }
+            int igual = arg.indexOf('=');
+            if (igual > 0) {
+                valores.put(arg.substring(2, igual), arg.substring(igual + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                valores.put(arg.substring(2), args[++i]);
+            } else {
+                valores.put(arg.substring(2), "true");
+            }
+        }
+    }
+
+    String texto(String chave, String padrao) {
+        return valores.getOrDefault(chave, padrao);
+    }
+
+    int inteiro(String chave, int padrao) {
+        String valor = valores.get(chave);
+        return valor == null ? padrao : Integer.parseInt(valor);
+    }
+
+    double decimal(String chave, double padrao) {
+        String valor = valores.get(chave);
+        return valor == null ? padrao : Double.parseDouble(valor);
+    }
+
+    long nanos(String chave, String padrao) {
+        return DistribuicaoLatencia.duracao(valores.getOrDefault(chave, padrao));
+    }
+
+    boolean contem(String chave) {
+        return valores.containsKey(chave);
+    }
+}
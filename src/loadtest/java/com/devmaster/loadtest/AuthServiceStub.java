@@ -0,0 +1,225 @@
+package com.devmaster.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Substituto local do serviço de autenticação para testes de carga: responde
+ * {@code POST /api/auth/validate-token} como o serviço real (ver {@code AuthServiceClient}),
+ * com latência, erros e travamentos configuráveis.
+ *
+ * <pre>
+ * --porta 18080                     porta HTTP
+ * --latencia lognormal:5ms:50ms     ver {@link DistribuicaoLatencia}
+ * --erros 0.01                      fração das chamadas respondidas com 500
+ * --invalidos 0                     fração respondida com {@code valid: false}
+ * --travamentos 0.001:5s            fração das chamadas que ficam paradas pela duração indicada
+ * --intervalo 10s                   intervalo do resumo no console
+ * </pre>
+ *
+ * Qualquer token é aceito; o {@code userId} é derivado do token, então tokens iguais têm as mesmas
+ * claims. Cada chamada roda em uma virtual thread, então a latência injetada não limita a vazão.
+ *
+ * A configuração pode ser trocada durante o teste, para simular degradação ou queda do serviço:
+ * <pre>
+ * curl -X POST 'http://localhost:18080/stub/config?latencia=fixa:2s&amp;erros=0.5'
+ * curl http://localhost:18080/stub/estatisticas
+ * </pre>
+ */
+public final class AuthServiceStub {
+
+    static final String CAMINHO_VALIDACAO = "/api/auth/validate-token";
+
+    private final HttpServer servidor;
+    private volatile Comportamento comportamento;
+
+    private final AtomicLong chamadas = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private final AtomicLong invalidos = new AtomicLong();
+    private final AtomicLong travamentos = new AtomicLong();
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicInteger picoEmAndamento = new AtomicInteger();
+
+    /**
+     * Latência, erros e travamentos injetados em cada chamada.
+     */
+    record Comportamento(DistribuicaoLatencia latencia, double erros, double invalidos,
+                         double travamentos, long travamentoNanos) {
+
+        Comportamento com(Map<String, String> parametros) {
+            DistribuicaoLatencia novaLatencia = parametros.containsKey("latencia")
+                    ? DistribuicaoLatencia.parse(parametros.get("latencia")) : latencia;
+            double novosErros = parametros.containsKey("erros") ? Double.parseDouble(parametros.get("erros")) : erros;
+            double novosInvalidos = parametros.containsKey("invalidos")
+                    ? Double.parseDouble(parametros.get("invalidos")) : invalidos;
+            double novosTravamentos = travamentos;
+            long novaDuracao = travamentoNanos;
+            if (parametros.containsKey("travamentos")) {
+                String[] partes = parametros.get("travamentos").split(":");
+                novosTravamentos = Double.parseDouble(partes[0]);
+                novaDuracao = partes.length > 1 ? DistribuicaoLatencia.duracao(partes[1]) : novaDuracao;
+            }
+            return new Comportamento(novaLatencia, novosErros, novosInvalidos, novosTravamentos, novaDuracao);
+        }
+
+        @Override
+        public String toString() {
+            return "latencia=" + latencia + ", erros=" + erros + ", invalidos=" + invalidos
+                    + ", travamentos=" + travamentos + ":" + TimeUnit.NANOSECONDS.toMillis(travamentoNanos) + "ms";
+        }
+    }
+
+    AuthServiceStub(int porta, Comportamento comportamento) throws IOException {
+        this.comportamento = comportamento;
+        this.servidor = HttpServer.create(new InetSocketAddress(porta), 1024);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext(CAMINHO_VALIDACAO, this::validar);
+        servidor.createContext("/stub/config", this::configurar);
+        servidor.createContext("/stub/estatisticas", troca -> responder(troca, 200, estatisticas()));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Argumentos argumentos = new Argumentos(args);
+        Comportamento comportamento = new Comportamento(DistribuicaoLatencia.parse("fixa:0ms"), 0, 0, 0, 0)
+                .com(Map.of(
+                        "latencia", argumentos.texto("latencia", "lognormal:5ms:50ms"),
+                        "erros", argumentos.texto("erros", "0"),
+                        "invalidos", argumentos.texto("invalidos", "0"),
+                        "travamentos", argumentos.texto("travamentos", "0:5s")));
+        AuthServiceStub stub = new AuthServiceStub(argumentos.inteiro("porta", 18080), comportamento);
+        stub.iniciar();
+        System.out.printf("AuthServiceStub em http://localhost:%d%s - %s%n",
+                stub.porta(), CAMINHO_VALIDACAO, comportamento);
+
+        long intervalo = argumentos.nanos("intervalo", "10s");
+        Thread resumo = Thread.ofPlatform().daemon().name("stub-resumo").start(() -> {
+            while (true) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(intervalo);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                System.out.println(Instant.now() + " " + stub.estatisticas());
+                stub.picoEmAndamento.set(stub.emAndamento.get());
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            resumo.interrupt();
+            stub.parar();
+        }));
+    }
+
+    void iniciar() {
+        servidor.start();
+    }
+
+    void parar() {
+        servidor.stop(0);
+    }
+
+    int porta() {
+        return servidor.getAddress().getPort();
+    }
+
+    private void validar(HttpExchange troca) throws IOException {
+        if (!"POST".equals(troca.getRequestMethod())) {
+            responder(troca, 405, "{\"error\":\"Method Not Allowed\"}");
+            return;
+        }
+        chamadas.incrementAndGet();
+        int atual = emAndamento.incrementAndGet();
+        picoEmAndamento.accumulateAndGet(atual, Math::max);
+        try {
+            Comportamento c = comportamento;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long espera = c.latencia().amostrarNanos(random);
+            if (random.nextDouble() < c.travamentos()) {
+                travamentos.incrementAndGet();
+                espera += c.travamentoNanos();
+            }
+            TimeUnit.NANOSECONDS.sleep(espera);
+
+            if (random.nextDouble() < c.erros()) {
+                erros.incrementAndGet();
+                responder(troca, 500, "{\"error\":\"Erro injetado pelo stub\"}");
+            } else if (random.nextDouble() < c.invalidos()) {
+                invalidos.incrementAndGet();
+                responder(troca, 200, "{\"valid\":false}");
+            } else {
+                responder(troca, 200, claims(troca.getRequestHeaders().getFirst("Authorization")));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            troca.close();
+        } finally {
+            emAndamento.decrementAndGet();
+        }
+    }
+
+    private void configurar(HttpExchange troca) throws IOException {
+        if ("POST".equals(troca.getRequestMethod())) {
+            try {
+                comportamento = comportamento.com(parametros(troca.getRequestURI().getRawQuery()));
+            } catch (RuntimeException e) {
+                responder(troca, 400, e.getMessage());
+                return;
+            }
+            System.out.println(Instant.now() + " Comportamento alterado: " + comportamento);
+        }
+        responder(troca, 200, comportamento.toString());
+    }
+
+    private String estatisticas() {
+        return "chamadas=" + chamadas.get() + " erros=" + erros.get() + " invalidos=" + invalidos.get()
+                + " travamentos=" + travamentos.get() + " emAndamento=" + emAndamento.get()
+                + " picoEmAndamento=" + picoEmAndamento.get();
+    }
+
+    private static String claims(String autorizacao) {
+        String token = autorizacao == null ? "" : autorizacao.replaceFirst("^Bearer ", "");
+        UUID userId = UUID.nameUUIDFromBytes(token.getBytes(StandardCharsets.UTF_8));
+        long exp = Instant.now().plusSeconds(3600).getEpochSecond();
+        return "{\"valid\":true,\"username\":\"carga-" + userId.toString().substring(0, 8) + "\",\"userId\":\""
+                + userId + "\",\"roles\":[\"USER\"],\"exp\":" + exp + "}";
+    }
+
+    private static Map<String, String> parametros(String query) {
+        Map<String, String> parametros = new HashMap<>();
+        if (query == null) {
+            return parametros;
+        }
+        for (String par : query.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametros;
+    }
+
+    private static void responder(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type",
+                corpo.startsWith("{") ? "application/json" : "text/plain; charset=utf-8");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.devmaster.loadtest;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Distribuição de latência injetada pelo {@link AuthServiceStub}.
+ *
+ * <pre>
+ * fixa:20ms                 sempre 20 ms
+ * uniforme:5ms:50ms         uniforme entre 5 e 50 ms
+ * exponencial:20ms          exponencial com média 20 ms
+ * lognormal:20ms:200ms      log-normal com p50 = 20 ms e p99 = 200 ms (cauda longa, como serviços reais)
+ * </pre>
+ *
+ * Durações aceitam os sufixos {@code ms} e {@code s} (ou o formato ISO-8601 do {@link Duration}).
+ */
+public sealed interface DistribuicaoLatencia {
+
+    /** Quantil da normal padrão para p99, usado para derivar o sigma da log-normal. */
+    double Z_P99 = 2.3263478740;
+
+    /**
+     * @return uma latência, em nanossegundos
+     */
+    long amostrarNanos(Random random);
+
+    static DistribuicaoLatencia parse(String especificacao) {
+        String[] partes = especificacao.trim().split(":");
+        try {
+            return switch (partes[0]) {
+                case "fixa" -> new Fixa(duracao(partes[1]));
+                case "uniforme" -> new Uniforme(duracao(partes[1]), duracao(partes[2]));
+                case "exponencial" -> new Exponencial(duracao(partes[1]));
+                case "lognormal" -> LogNormal.de(duracao(partes[1]), duracao(partes[2]));
+                default -> throw new IllegalArgumentException("Distribuição desconhecida: " + partes[0]);
+            };
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Distribuição incompleta: " + especificacao, e);
+        }
+    }
+
+    static long duracao(String valor) {
+        String texto = valor.trim().toLowerCase();
+        if (texto.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(texto.substring(0, texto.length() - 2))).toNanos();
+        }
+        if (texto.endsWith("s") && !texto.startsWith("pt")) {
+            return Duration.ofMillis(Math.round(Double.parseDouble(texto.substring(0, texto.length() - 1)) * 1000)).toNanos();
+        }
+        return Duration.parse(valor.trim().toUpperCase()).toNanos();
+    }
+
+    record Fixa(long nanos) implements DistribuicaoLatencia {
+        @Override
+        public long amostrarNanos(Random random) {
+            return nanos;
+        }
+    }
+
+    record Uniforme(long minimoNanos, long maximoNanos) implements DistribuicaoLatencia {
+        public Uniforme {
+            if (maximoNanos < minimoNanos) {
+                throw new IllegalArgumentException("Máximo menor que o mínimo");
+            }
+        }
+
+        @Override
+        public long amostrarNanos(Random random) {
+            return minimoNanos + (long) (random.nextDouble() * (maximoNanos - minimoNanos));
+        }
+    }
+
+    record Exponencial(long mediaNanos) implements DistribuicaoLatencia {
+        @Override
+        public long amostrarNanos(Random random) {
+            return (long) (-Math.log(1 - random.nextDouble()) * mediaNanos);
+        }
+    }
+
+    record LogNormal(double mu, double sigma) implements DistribuicaoLatencia {
+
+        static LogNormal de(long p50Nanos, long p99Nanos) {
+            if (p50Nanos <= 0 || p99Nanos < p50Nanos) {
+                throw new IllegalArgumentException("A log-normal requer 0 < p50 <= p99");
+            }
+            double mu = Math.log(p50Nanos);
+            return new LogNormal(mu, (Math.log(p99Nanos) - mu) / Z_P99);
+        }
+
+        @Override
+        public long amostrarNanos(Random random) {
+            return (long) Math.exp(mu + sigma * random.nextGaussian());
+        }
+    }
+}
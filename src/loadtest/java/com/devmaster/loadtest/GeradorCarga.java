@@ -0,0 +1,306 @@
+package com.devmaster.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em modelo aberto: as requisições saem em uma taxa constante, independente do
+ * tempo de resposta (como usuários reais, que não esperam a resposta dos outros). Quando a aplicação
+ * fica lenta, as requisições se acumulam em vez de a carga diminuir, e a latência de cada uma é
+ * medida a partir do instante em que <b>deveria</b> ter saído. Toda requisição concluída entra nos
+ * percentis, inclusive erros, status fora de {@code --status-ok} e timeouts: uma falha lenta é
+ * exatamente o que o teste precisa enxergar. As falhas também têm percentis próprios.
+ *
+ * <pre>
+ * --url http://localhost:8081/api/v1/entregadores    alvo (obrigatório)
+ * --metodo GET
+ * --fases 30s@100,60s@400,30s@100                     duração@requisições por segundo, em sequência
+ * --aquecimento 10s                                   na taxa da primeira fase, fora das medições
+ * --tokens 1000                                       tokens distintos em rodízio (0 = um novo por requisição)
+ * --status-ok 200-399                                 status considerados sucesso (ex.: 200-399,404)
+ * --timeout 10s
+ * --max-em-andamento 20000                            acima disso as requisições são descartadas
+ * --cenario nome                                      identificação no resultado
+ * --resultado target/carga/resultado.json
+ * --base resultado-anterior.json --limiar 10          compara com uma execução anterior
+ * </pre>
+ *
+ * Termina com código {@value #CODIGO_REGRESSAO} se a comparação encontrar regressões.
+ */
+public final class GeradorCarga {
+
+    static final int CODIGO_REGRESSAO = 2;
+
+    private final HttpClient cliente;
+    private final ExecutorService executor;
+    private final URI url;
+    private final String metodo;
+    private final int tokens;
+    private final Duration timeout;
+    private final int maxEmAndamento;
+    private final StatusOk statusOk;
+
+    private final Recorder latencias = new Recorder(3);
+    private final Recorder latenciasFalhas = new Recorder(3);
+    private final Map<String, LongAdder> status = new ConcurrentHashMap<>();
+    private final LongAdder enviadas = new LongAdder();
+    private final LongAdder sucesso = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicLong atrasoMaximo = new AtomicLong();
+    private final AtomicLong sequencia = new AtomicLong();
+    private volatile boolean medindo;
+
+    /**
+     * Trecho do teste com taxa constante.
+     */
+    record Fase(long duracaoNanos, double taxa) {
+
+        static List<Fase> parse(String especificacao) {
+            List<Fase> fases = new ArrayList<>();
+            for (String fase : especificacao.split(",")) {
+                String[] partes = fase.trim().split("@");
+                if (partes.length != 2) {
+                    throw new IllegalArgumentException("Fase inválida (use duração@taxa): " + fase);
+                }
+                fases.add(new Fase(DistribuicaoLatencia.duracao(partes[0]), Double.parseDouble(partes[1])));
+            }
+            return fases;
+        }
+    }
+
+    /**
+     * Faixas de status HTTP consideradas sucesso, ex.: {@code 200-399,404}.
+     */
+    record StatusOk(int[] minimos, int[] maximos) {
+
+        static StatusOk parse(String especificacao) {
+            String[] faixas = especificacao.split(",");
+            int[] minimos = new int[faixas.length];
+            int[] maximos = new int[faixas.length];
+            for (int i = 0; i < faixas.length; i++) {
+                String[] partes = faixas[i].trim().split("-");
+                minimos[i] = Integer.parseInt(partes[0]);
+                maximos[i] = Integer.parseInt(partes[partes.length - 1]);
+            }
+            return new StatusOk(minimos, maximos);
+        }
+
+        boolean contem(int codigo) {
+            for (int i = 0; i < minimos.length; i++) {
+                if (codigo >= minimos[i] && codigo <= maximos[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    GeradorCarga(URI url, String metodo, int tokens, Duration timeout, int maxEmAndamento, StatusOk statusOk) {
+        this.url = url;
+        this.metodo = metodo;
+        this.tokens = tokens;
+        this.timeout = timeout;
+        this.maxEmAndamento = maxEmAndamento;
+        this.statusOk = statusOk;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Argumentos argumentos = new Argumentos(args);
+        if (!argumentos.contem("url")) {
+            System.err.println("Uso: GeradorCarga --url <url> [--fases 60s@100] [--resultado arquivo.json] [--base anterior.json]");
+            System.exit(1);
+        }
+        String especificacaoFases = argumentos.texto("fases", "60s@100");
+        List<Fase> fases = Fase.parse(especificacaoFases);
+        GeradorCarga gerador = new GeradorCarga(
+                URI.create(argumentos.texto("url", null)),
+                argumentos.texto("metodo", "GET"),
+                argumentos.inteiro("tokens", 1000),
+                Duration.ofNanos(argumentos.nanos("timeout", "10s")),
+                argumentos.inteiro("max-em-andamento", 20_000),
+                StatusOk.parse(argumentos.texto("status-ok", "200-399")));
+
+        ResultadoCarga resultado = gerador.executar(argumentos.texto("cenario", "carga"), especificacaoFases, fases,
+                argumentos.nanos("aquecimento", "10s"));
+        System.out.println();
+        System.out.println(resultado.resumo());
+
+        Path arquivo = Path.of(argumentos.texto("resultado", "target/carga/resultado.json"));
+        resultado.gravar(arquivo);
+        System.out.println("Resultado gravado em " + arquivo.toAbsolutePath());
+
+        if (argumentos.contem("base")) {
+            ResultadoCarga base = ResultadoCarga.ler(Path.of(argumentos.texto("base", null)));
+            if (!resultado.imprimirComparacao(base, argumentos.decimal("limiar", 10) / 100)) {
+                System.exit(CODIGO_REGRESSAO);
+            }
+        }
+        System.exit(0);
+    }
+
+    ResultadoCarga executar(String cenario, String especificacaoFases, List<Fase> fases, long aquecimentoNanos)
+            throws InterruptedException {
+        String inicio = Instant.now().toString();
+        if (aquecimentoNanos > 0) {
+            System.out.printf("Aquecimento: %d s a %.0f req/s%n", TimeUnit.NANOSECONDS.toSeconds(aquecimentoNanos),
+                    fases.get(0).taxa());
+            disparar(new Fase(aquecimentoNanos, fases.get(0).taxa()));
+            aguardarEmAndamento();
+        }
+
+        latencias.reset();
+        latenciasFalhas.reset();
+        status.clear();
+        medindo = true;
+        Histogram total = new Histogram(3);
+        Thread progresso = Thread.ofPlatform().daemon().name("carga-progresso").start(() -> progresso(total));
+        long comeco = System.nanoTime();
+        for (Fase fase : fases) {
+            System.out.printf("Fase: %d s a %.0f req/s%n", TimeUnit.NANOSECONDS.toSeconds(fase.duracaoNanos()), fase.taxa());
+            disparar(fase);
+        }
+        aguardarEmAndamento();
+        double duracao = (System.nanoTime() - comeco) / 1e9;
+        medindo = false;
+        progresso.interrupt();
+        progresso.join();
+        synchronized (total) {
+            total.add(latencias.getIntervalHistogram());
+        }
+        Histogram totalFalhas = latenciasFalhas.getIntervalHistogram();
+
+        Map<String, Long> porStatus = new TreeMap<>();
+        status.forEach((codigo, contador) -> porStatus.put(codigo, contador.sum()));
+        executor.shutdownNow();
+        return new ResultadoCarga(cenario, url.toString(), especificacaoFases, inicio, duracao,
+                enviadas.sum(), sucesso.sum(), falhas.sum(), descartadas.sum(), porStatus,
+                sucesso.sum() / duracao, ResultadoCarga.Latencias.de(total), ResultadoCarga.Latencias.de(totalFalhas),
+                atrasoMaximo.get() / 1e6);
+    }
+
+    /**
+     * Envia as requisições da fase nos instantes planejados. O laço só espera e dispara: o envio e
+     * a leitura das respostas acontecem no cliente HTTP (virtual threads).
+     */
+    private void disparar(Fase fase) {
+        long inicio = System.nanoTime();
+        double intervalo = 1e9 / fase.taxa();
+        long total = (long) (fase.duracaoNanos() / intervalo);
+        for (long i = 0; i < total; i++) {
+            long planejado = inicio + (long) (i * intervalo);
+            long espera;
+            while ((espera = planejado - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            long atraso = -espera;
+            if (medindo) {
+                atrasoMaximo.accumulateAndGet(atraso, Math::max);
+            }
+            enviar(planejado);
+        }
+    }
+
+    private void enviar(long planejado) {
+        boolean medir = medindo;
+        if (medir) {
+            enviadas.increment();
+        }
+        if (emAndamento.incrementAndGet() > maxEmAndamento) {
+            emAndamento.decrementAndGet();
+            if (medir) {
+                descartadas.increment();
+            }
+            return;
+        }
+        HttpRequest requisicao = HttpRequest.newBuilder(url)
+                .method(metodo, HttpRequest.BodyPublishers.noBody())
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + token())
+                .build();
+        cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()).whenComplete((resposta, erro) -> {
+            emAndamento.decrementAndGet();
+            if (!medir) {
+                return;
+            }
+            long latencia = Math.max(1, (System.nanoTime() - planejado) / 1000);
+            Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            String codigo = causa != null ? causa.getClass().getSimpleName() : String.valueOf(resposta.statusCode());
+            status.computeIfAbsent(codigo, c -> new LongAdder()).increment();
+            latencias.recordValue(latencia);
+            if (erro == null && statusOk.contem(resposta.statusCode())) {
+                sucesso.increment();
+            } else {
+                falhas.increment();
+                latenciasFalhas.recordValue(latencia);
+            }
+        });
+    }
+
+    private String token() {
+        long numero = sequencia.getAndIncrement();
+        return "carga-" + (tokens > 0 ? numero % tokens : numero);
+    }
+
+    private void aguardarEmAndamento() throws InterruptedException {
+        long limite = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (emAndamento.get() > 0 && System.nanoTime() < limite) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    /**
+     * Imprime a cada 5 s a vazão e os percentis do intervalo, acumulando o histograma total.
+     */
+    private void progresso(Histogram total) {
+        Histogram intervalo = null;
+        long anterior = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                TimeUnit.SECONDS.sleep(5);
+            } catch (InterruptedException e) {
+                return;
+            }
+            intervalo = latencias.getIntervalHistogram(intervalo);
+            synchronized (total) {
+                total.add(intervalo);
+            }
+            long atual = sucesso.sum();
+            System.out.printf(Locale.ROOT, "  %6.1f req/s | p50 %7.2f ms | p99 %7.2f ms | máx %8.2f ms | em andamento %d | falhas %d%n",
+                    (atual - anterior) / 5.0, intervalo.getValueAtPercentile(50) / 1000.0,
+                    intervalo.getValueAtPercentile(99) / 1000.0, intervalo.getMaxValue() / 1000.0,
+                    emAndamento.get(), falhas.sum() + descartadas.sum());
+            anterior = atual;
+        }
+    }
+}
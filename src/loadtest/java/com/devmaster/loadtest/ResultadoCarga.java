@@ -0,0 +1,174 @@
+package com.devmaster.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de uma execução do {@link GeradorCarga}, gravado em JSON para comparação entre execuções.
+ *
+ * As latências são medidas a partir do instante <b>planejado</b> de envio (modelo aberto), então
+ * incluem o tempo que a requisição esperou porque o sistema ou o gerador estavam atrasados
+ * (sem "coordinated omission").
+ *
+ * @param vazao       respostas com sucesso por segundo
+ * @param latenciaMs  todas as requisições concluídas, com sucesso ou não (timeouts entram com o tempo até o timeout)
+ * @param latenciaFalhasMs só as falhas (erro, timeout ou status fora de {@code --status-ok});
+ *                    ausente em resultados gravados antes desse campo
+ * @param atrasoMaximoGeradorMs maior atraso do gerador em relação ao planejado; valores altos indicam
+ *                    que o próprio gerador (CPU, GC) limitou a taxa
+ */
+public record ResultadoCarga(
+        String cenario,
+        String url,
+        String fases,
+        String inicio,
+        double duracaoSegundos,
+        long enviadas,
+        long sucesso,
+        long falhas,
+        long descartadas,
+        Map<String, Long> status,
+        double vazao,
+        Latencias latenciaMs,
+        Latencias latenciaFalhasMs,
+        double atrasoMaximoGeradorMs
+) {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Percentis de latência (ms).
+     */
+    public record Latencias(double p50, double p90, double p99, double p999, double max, double media) {
+
+        static Latencias de(Histogram histograma) {
+            if (histograma.getTotalCount() == 0) {
+                return new Latencias(0, 0, 0, 0, 0, 0);
+            }
+            return new Latencias(ms(histograma.getValueAtPercentile(50)), ms(histograma.getValueAtPercentile(90)),
+                    ms(histograma.getValueAtPercentile(99)), ms(histograma.getValueAtPercentile(99.9)),
+                    ms(histograma.getMaxValue()), histograma.getMean() / 1000);
+        }
+
+        private static double ms(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    /**
+     * Fração das requisições enviadas que falharam ou foram descartadas.
+     */
+    public double taxaFalhas() {
+        return enviadas == 0 ? 0 : (double) (falhas + descartadas) / enviadas;
+    }
+
+    void gravar(Path arquivo) throws IOException {
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        JSON.writeValue(arquivo.toFile(), this);
+    }
+
+    static ResultadoCarga ler(Path arquivo) throws IOException {
+        return JSON.readValue(arquivo.toFile(), ResultadoCarga.class);
+    }
+
+    String resumo() {
+        return String.format(Locale.ROOT, """
+                        Cenário %s - %s
+                          enviadas %d | sucesso %d | falhas %d | descartadas %d | status %s
+                          vazão %.1f req/s em %.1f s
+                          latência (ms) p50 %.2f | p90 %.2f | p99 %.2f | p99.9 %.2f | máx %.2f | média %.2f
+                          falhas (ms)   p50 %.2f | p90 %.2f | p99 %.2f | p99.9 %.2f | máx %.2f | média %.2f
+                          atraso máximo do gerador %.2f ms""",
+                cenario, fases, enviadas, sucesso, falhas, descartadas, status, vazao, duracaoSegundos,
+                latenciaMs.p50, latenciaMs.p90, latenciaMs.p99, latenciaMs.p999, latenciaMs.max, latenciaMs.media,
+                latenciaFalhasMs.p50, latenciaFalhasMs.p90, latenciaFalhasMs.p99, latenciaFalhasMs.p999,
+                latenciaFalhasMs.max, latenciaFalhasMs.media, atrasoMaximoGeradorMs);
+    }
+
+    /**
+     * Compara com uma execução anterior. É regressão: vazão menor que o limiar; p50/p99/p99.9
+     * maiores que o limiar e com pelo menos {@code 1 ms} de diferença (abaixo disso é ruído);
+     * taxa de falhas com mais de 0,5 ponto percentual de aumento.
+     *
+     * @return regressões encontradas (vazia se nenhuma)
+     */
+    List<String> comparar(ResultadoCarga base, double limiar, StringBuilder relatorio) {
+        List<String> regressoes = new ArrayList<>();
+        relatorio.append(String.format(Locale.ROOT, "%-14s %12s %12s %9s%n", "Métrica", "Base", "Atual", "Δ"));
+        linha(relatorio, regressoes, "vazão (req/s)", base.vazao, vazao, -limiar, 0);
+        linha(relatorio, regressoes, "p50 (ms)", base.latenciaMs.p50, latenciaMs.p50, limiar, 1);
+        linha(relatorio, regressoes, "p99 (ms)", base.latenciaMs.p99, latenciaMs.p99, limiar, 1);
+        linha(relatorio, regressoes, "p99.9 (ms)", base.latenciaMs.p999, latenciaMs.p999, limiar, 1);
+        linha(relatorio, regressoes, "máx (ms)", base.latenciaMs.max, latenciaMs.max, Double.NaN, 0);
+
+        double falhasAntes = base.taxaFalhas() * 100;
+        double falhasDepois = taxaFalhas() * 100;
+        boolean regressaoFalhas = falhasDepois - falhasAntes > 0.5;
+        relatorio.append(String.format(Locale.ROOT, "%-14s %11.2f%% %11.2f%% %+8.2fpp%s%n", "falhas",
+                falhasAntes, falhasDepois, falhasDepois - falhasAntes, regressaoFalhas ? "  ⚠" : ""));
+        if (regressaoFalhas) {
+            regressoes.add(String.format(Locale.ROOT, "falhas %.2f%% -> %.2f%%", falhasAntes, falhasDepois));
+        }
+        return regressoes;
+    }
+
+    /**
+     * @param limiar variação relativa que é regressão (negativa quando menor é pior; NaN: só informativa)
+     */
+    private static void linha(StringBuilder relatorio, List<String> regressoes, String metrica,
+                              double antes, double depois, double limiar, double minimoAbsoluto) {
+        double variacao = antes == 0 ? 0 : (depois - antes) / antes;
+        boolean regressao = !Double.isNaN(limiar)
+                && (limiar < 0 ? variacao < limiar : variacao > limiar)
+                && Math.abs(depois - antes) >= minimoAbsoluto;
+        relatorio.append(String.format(Locale.ROOT, "%-14s %12.2f %12.2f %+8.1f%%%s%n", metrica, antes, depois,
+                variacao * 100, regressao ? "  ⚠" : ""));
+        if (regressao) {
+            regressoes.add(String.format(Locale.ROOT, "%s %.2f -> %.2f (%+.1f%%)", metrica, antes, depois, variacao * 100));
+        }
+    }
+
+    /**
+     * Compara dois resultados gravados: {@code ResultadoCarga <base.json> <atual.json> [limiar-%]}.
+     * Termina com código 2 se houver regressões.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: ResultadoCarga <base.json> <atual.json> [limiar-%]");
+            System.exit(1);
+        }
+        ResultadoCarga base = ler(Path.of(args[0]));
+        ResultadoCarga atual = ler(Path.of(args[1]));
+        double limiar = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        if (!atual.imprimirComparacao(base, limiar)) {
+            System.exit(GeradorCarga.CODIGO_REGRESSAO);
+        }
+    }
+
+    /**
+     * @return {@code true} se não houver regressões
+     */
+    boolean imprimirComparacao(ResultadoCarga base, double limiar) {
+        StringBuilder relatorio = new StringBuilder();
+        List<String> regressoes = comparar(base, limiar, relatorio);
+        System.out.printf("%nComparação com %s (%s):%n%s", base.cenario, base.inicio, relatorio);
+        if (regressoes.isEmpty()) {
+            System.out.printf(Locale.ROOT, "%nNenhuma regressão acima de %.0f%%.%n", limiar * 100);
+            return true;
+        }
+        System.out.printf(Locale.ROOT, "%n%d regressão(ões) acima de %.0f%%:%n", regressoes.size(), limiar * 100);
+        regressoes.forEach(r -> System.out.println("  - " + r));
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.devmaster.application.api;
+
+import com.devmaster.application.api.response.ImagemResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.multipart.MultipartFile;
+
+@Tag(name = "Imagens")
+@RequestMapping("/v1/imagens")
+public interface ImagemAPI {
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Enviar imagem",
+            description = "Armazena a imagem (JPEG, PNG, GIF ou WebP, até 5 MB) e retorna as URLs binárias da original e das variantes")
+    @ApiResponse(responseCode = "201", description = "Imagem armazenada (o mesmo conteúdo enviado de novo retorna o mesmo id)")
+    @ApiResponse(responseCode = "400", description = "Arquivo ausente, inválido ou com tipo diferente do declarado")
+    ResponseEntity<ImagemResponse> enviar(@RequestPart("arquivo") MultipartFile arquivo);
+}
@@ -0,0 +1,30 @@
+package com.devmaster.application.api;
+
+import com.devmaster.application.api.response.ImagemResponse;
+import com.devmaster.application.service.ImagemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequiredArgsConstructor
+public class ImagemRestController implements ImagemAPI {
+
+    private final ImagemService imagemService;
+
+    @Override
+    public ResponseEntity<ImagemResponse> enviar(MultipartFile arquivo) {
+        ImagemResponse response = imagemService.enviar(arquivo);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(response.url())
+                .build()
+                .toUri();
+
+        return ResponseEntity.created(location).body(response);
+    }
+}
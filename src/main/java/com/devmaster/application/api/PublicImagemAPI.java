@@ -0,0 +1,46 @@
+package com.devmaster.application.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.IOException;
+
+/**
+ * Entrega binária das imagens. Públicas: as URLs são endereçadas por conteúdo (SHA-256), não
+ * enumeráveis, e precisam ser cacheáveis por CDNs e pelo navegador.
+ */
+@Tag(name = "Imagens")
+@RequestMapping("/public/v1/imagens")
+public interface PublicImagemAPI {
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Baixar imagem original",
+            description = "Conteúdo binário com ETag forte, Cache-Control immutable e suporte a Range/If-None-Match")
+    @ApiResponse(responseCode = "200", description = "Imagem")
+    @ApiResponse(responseCode = "206", description = "Trecho pedido no cabeçalho Range")
+    @ApiResponse(responseCode = "304", description = "Não modificada (If-None-Match)")
+    @ApiResponse(responseCode = "404", description = "Imagem não encontrada")
+    @ApiResponse(responseCode = "416", description = "Range fora do conteúdo")
+    void baixarOriginal(@Parameter(description = "SHA-256 do conteúdo") @PathVariable String id,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+    @GetMapping("/{id}/{variante}")
+    @Operation(summary = "Baixar variante da imagem",
+            description = "Versão redimensionada (ex.: thumb, pequena, media), gerada na primeira requisição e servida do cache nas seguintes")
+    @ApiResponse(responseCode = "200", description = "Variante")
+    @ApiResponse(responseCode = "206", description = "Trecho pedido no cabeçalho Range")
+    @ApiResponse(responseCode = "304", description = "Não modificada (If-None-Match)")
+    @ApiResponse(responseCode = "404", description = "Imagem ou variante não encontrada")
+    @ApiResponse(responseCode = "415", description = "Formato sem suporte para redimensionamento (WebP)")
+    @ApiResponse(responseCode = "503", description = "Fila de redimensionamento cheia, tente novamente")
+    void baixarVariante(@Parameter(description = "SHA-256 do conteúdo") @PathVariable String id,
+                        @PathVariable String variante,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.devmaster.application.api;
+
+import com.devmaster.application.service.ImagemService;
+import com.devmaster.imagem.EntregaImagem;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+public class PublicImagemRestController implements PublicImagemAPI {
+
+    private final ImagemService imagemService;
+    private final EntregaImagem entregaImagem;
+
+    @Override
+    public void baixarOriginal(String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        entregaImagem.entregar(imagemService.original(id), request, response);
+    }
+
+    @Override
+    public void baixarVariante(String id, String variante, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        entregaImagem.entregar(imagemService.variante(id, variante), request, response);
+    }
+}
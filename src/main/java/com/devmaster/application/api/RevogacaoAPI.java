@@ -0,0 +1,39 @@
+package com.devmaster.application.api;
+
+import com.devmaster.application.api.request.RevogarTokenRequest;
+import com.devmaster.application.api.response.RevogacaoResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Tag(name = "Revogações")
+@RequestMapping("/v1/seguranca/revogacoes")
+public interface RevogacaoAPI {
+
+    @PostMapping("/tokens")
+    @Operation(summary = "Revogar token",
+            description = "Recusa o token em todas as instâncias até ele expirar (logout)")
+    @ApiResponse(responseCode = "200", description = "Token revogado")
+    @ApiResponse(responseCode = "503", description = "Revogado apenas nesta instância: o barramento está indisponível")
+    RevogacaoResponse revogarToken(@Valid @RequestBody RevogarTokenRequest request);
+
+    @PostMapping("/usuarios/{userId}")
+    @Operation(summary = "Revogar usuário",
+            description = "Recusa, em todas as instâncias, os tokens do usuário emitidos até agora")
+    @ApiResponse(responseCode = "200", description = "Tokens do usuário revogados")
+    @ApiResponse(responseCode = "503", description = "Revogado apenas nesta instância: o barramento está indisponível")
+    RevogacaoResponse revogarUsuario(@PathVariable String userId);
+
+    @PostMapping("/cache")
+    @Operation(summary = "Invalidar cache de validações",
+            description = "Descarta as validações em cache do usuário (ex.: após troca de roles), ou todas sem userId")
+    @ApiResponse(responseCode = "200", description = "Cache invalidado")
+    @ApiResponse(responseCode = "503", description = "Invalidado apenas nesta instância: o barramento está indisponível")
+    RevogacaoResponse invalidarCache(@RequestParam(required = false) String userId);
+}
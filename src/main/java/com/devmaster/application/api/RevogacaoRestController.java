@@ -0,0 +1,29 @@
+package com.devmaster.application.api;
+
+import com.devmaster.application.api.request.RevogarTokenRequest;
+import com.devmaster.application.api.response.RevogacaoResponse;
+import com.devmaster.application.service.RevogacaoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class RevogacaoRestController implements RevogacaoAPI {
+
+    private final RevogacaoService revogacaoService;
+
+    @Override
+    public RevogacaoResponse revogarToken(RevogarTokenRequest request) {
+        return revogacaoService.revogarToken(request.token());
+    }
+
+    @Override
+    public RevogacaoResponse revogarUsuario(String userId) {
+        return revogacaoService.revogarUsuario(userId);
+    }
+
+    @Override
+    public RevogacaoResponse invalidarCache(String userId) {
+        return revogacaoService.invalidarCache(userId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.devmaster.application.api.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * @param token JWT a revogar, sem o prefixo {@code Bearer}
+ */
+public record RevogarTokenRequest(@NotBlank String token) {
+}
@@ -0,0 +1,41 @@
+package com.devmaster.application.api.response;
+
+import com.devmaster.util.ImagemUtil.DimensoesImagem;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Imagem armazenada. As URLs são relativas ao context path e endereçadas por conteúdo:
+ * o conteúdo de uma URL nunca muda e pode ser cacheado indefinidamente.
+ *
+ * @param id        SHA-256 do conteúdo
+ * @param url       URL da imagem original
+ * @param variantes URL de cada variante, por nome (ex.: {@code thumb})
+ */
+public record ImagemResponse(
+        String id,
+        String tipo,
+        long tamanho,
+        Integer largura,
+        Integer altura,
+        String url,
+        Map<String, String> variantes
+) {
+
+    public static final String CAMINHO_PUBLICO = "/public/v1/imagens/";
+
+    public static ImagemResponse from(String id, String tipo, long tamanho, DimensoesImagem dimensoes,
+                                      Collection<String> nomesVariantes) {
+        String url = CAMINHO_PUBLICO + id;
+        Map<String, String> variantes = new LinkedHashMap<>();
+        for (String nome : nomesVariantes) {
+            variantes.put(nome, url + "/" + nome);
+        }
+        return new ImagemResponse(id, tipo, tamanho,
+                dimensoes == null ? null : dimensoes.largura(),
+                dimensoes == null ? null : dimensoes.altura(),
+                url, variantes);
+    }
+}
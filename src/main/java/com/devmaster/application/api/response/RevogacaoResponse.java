@@ -0,0 +1,13 @@
+package com.devmaster.application.api.response;
+
+import java.time.Instant;
+
+/**
+ * Revogação aplicada.
+ *
+ * @param tipo      {@code TOKEN}, {@code USER} ou {@code CACHE}
+ * @param propagada se foi publicada às demais instâncias (barramento habilitado)
+ * @param id        id do evento publicado, {@code null} se não propagada
+ */
+public record RevogacaoResponse(String tipo, boolean propagada, Long id, Instant revogadaEm) {
+}
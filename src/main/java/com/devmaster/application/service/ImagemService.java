@@ -0,0 +1,25 @@
+package com.devmaster.application.service;
+
+import com.devmaster.application.api.response.ImagemResponse;
+import com.devmaster.imagem.VarianteImagem;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImagemService {
+
+    /**
+     * Valida e armazena a imagem (endereçada por conteúdo) e agenda a geração das variantes.
+     */
+    ImagemResponse enviar(MultipartFile arquivo);
+
+    /**
+     * @throws com.devmaster.handler.APIException 404 se a imagem não existir
+     */
+    VarianteImagem original(String id);
+
+    /**
+     * Variante do cache ou gerada na hora a partir da original.
+     *
+     * @throws com.devmaster.handler.APIException 404 se a imagem ou a variante não existirem
+     */
+    VarianteImagem variante(String id, String variante);
+}
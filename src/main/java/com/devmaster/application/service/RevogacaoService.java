@@ -0,0 +1,26 @@
+package com.devmaster.application.service;
+
+import com.devmaster.application.api.response.RevogacaoResponse;
+
+/**
+ * Revogações aplicadas nesta instância e propagadas às demais pelo barramento, quando habilitado.
+ * Todas as operações são idempotentes.
+ */
+public interface RevogacaoService {
+
+    /**
+     * @throws com.devmaster.handler.APIException 503 se não for possível propagar (aplicada localmente)
+     */
+    RevogacaoResponse revogarToken(String token);
+
+    /**
+     * @throws com.devmaster.handler.APIException 503 se não for possível propagar (aplicada localmente)
+     */
+    RevogacaoResponse revogarUsuario(String userId);
+
+    /**
+     * @param userId usuário, ou {@code null} para descartar todas as validações em cache
+     * @throws com.devmaster.handler.APIException 503 se não for possível propagar (aplicada localmente)
+     */
+    RevogacaoResponse invalidarCache(String userId);
+}
@@ -0,0 +1,68 @@
+package com.devmaster.application.service.impl;
+
+import com.devmaster.application.api.response.ImagemResponse;
+import com.devmaster.application.service.ImagemService;
+import com.devmaster.handler.APIException;
+import com.devmaster.imagem.GeradorVariantes;
+import com.devmaster.imagem.ImagemArmazenamento;
+import com.devmaster.imagem.VarianteImagem;
+import com.devmaster.util.ImagemIngestao;
+import com.devmaster.util.ImagemRecebida;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImagemApplicationService implements ImagemService {
+
+    private final ImagemArmazenamento armazenamento;
+    private final GeradorVariantes geradorVariantes;
+
+    @Override
+    public ImagemResponse enviar(MultipartFile arquivo) {
+        try (ImagemRecebida imagem = ImagemIngestao.receber(arquivo)) {
+            VarianteImagem original = armazenamento.armazenar(imagem);
+            pregerarVariantes(original);
+            return ImagemResponse.from(original.chave(), imagem.tipo(), imagem.tamanho(), imagem.dimensoes(),
+                    geradorVariantes.variantes());
+        } catch (IOException e) {
+            log.error("Erro ao armazenar imagem", e);
+            throw APIException.build(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao armazenar imagem", e);
+        }
+    }
+
+    @Override
+    public VarianteImagem original(String id) {
+        VarianteImagem original = armazenamento.obter(id);
+        if (original == null) {
+            throw APIException.build(HttpStatus.NOT_FOUND, "Imagem não encontrada");
+        }
+        return original;
+    }
+
+    @Override
+    public VarianteImagem variante(String id, String variante) {
+        VarianteImagem original = original(id);
+        return geradorVariantes.gerar(original.chave(), original::abrirStream, variante);
+    }
+
+    /**
+     * Agenda as variantes no pool sem esperar: o primeiro GET de cada uma já encontra o cache pronto.
+     * Com o pool cheio a geração fica para o primeiro GET.
+     */
+    private void pregerarVariantes(VarianteImagem original) {
+        for (String variante : geradorVariantes.variantes()) {
+            geradorVariantes.gerarAsync(original.chave(), original::abrirStream, variante)
+                    .exceptionally(erro -> {
+                        log.debug("Variante {} da imagem {} não pré-gerada: {}", variante, original.chave(), erro.getMessage());
+                        return null;
+                    });
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.devmaster.application.service.impl;
+
+import com.devmaster.application.api.response.RevogacaoResponse;
+import com.devmaster.application.service.RevogacaoService;
+import com.devmaster.handler.APIException;
+import com.devmaster.security.PostgresRevocationBus;
+import com.devmaster.security.RevocationEvent;
+import com.devmaster.security.TokenRevocationList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+public class RevogacaoApplicationService implements RevogacaoService {
+
+    private final TokenRevocationList tokenRevocationList;
+    private final ObjectProvider<PostgresRevocationBus> revocationBus;
+
+    @Override
+    public RevogacaoResponse revogarToken(String token) {
+        return propagar(tokenRevocationList.revokeToken(token));
+    }
+
+    @Override
+    public RevogacaoResponse revogarUsuario(String userId) {
+        return propagar(tokenRevocationList.revokeUser(userId));
+    }
+
+    @Override
+    public RevogacaoResponse invalidarCache(String userId) {
+        return propagar(tokenRevocationList.invalidateCache(userId));
+    }
+
+    /**
+     * A revogação já vale nesta instância; com o barramento habilitado, é publicada às demais.
+     */
+    private RevogacaoResponse propagar(RevocationEvent local) {
+        PostgresRevocationBus bus = revocationBus.getIfAvailable();
+        if (bus == null) {
+            return new RevogacaoResponse(local.type().name(), false, null, local.createdAt());
+        }
+        try {
+            RevocationEvent publicado = bus.publish(local.type(), local.subject());
+            return new RevogacaoResponse(publicado.type().name(), true, publicado.id(), publicado.createdAt());
+        } catch (SQLException e) {
+            log.error("Erro ao publicar revogação {}: {}", local.type(), e.getMessage());
+            throw APIException.build(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Revogação aplicada apenas nesta instância: barramento indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.devmaster.cache;
+
+import org.springframework.util.unit.DataSize;
+
+import java.io.ObjectInputFilter;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Política de um cache. Campos {@code null} herdam de {@code cache.defaults}.
+ *
+ * @param maximumSize       número máximo de entradas no L1 (ignorado com {@code maximumWeight})
+ * @param maximumWeight     tamanho máximo do L1, pelo tamanho serializado dos valores
+ * @param expireAfterWrite  validade de uma entrada no L1
+ * @param expireAfterAccess remove do L1 entradas sem leitura nesse intervalo
+ * @param refreshAfterWrite idade a partir da qual uma leitura recarrega o valor em segundo plano
+ *                          (refresh-ahead; requer {@code @Cacheable(sync = true)})
+ * @param l2                grava e lê também no L2 (requer {@code cache.l2.enabled})
+ * @param l2TimeToLive      validade no L2 (padrão: {@code expireAfterWrite})
+ * @param l2AllowedClasses  classes aceitas ao ler o L2, em padrões do {@link java.io.ObjectInputFilter}
+ *                          ({@code java.util.*}, {@code com.devmaster.**}); as demais são rejeitadas
+ * @param allowNullValues   guarda resultados {@code null}
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public record CachePolicy(
+        Long maximumSize,
+        DataSize maximumWeight,
+        Duration expireAfterWrite,
+        Duration expireAfterAccess,
+        Duration refreshAfterWrite,
+        Boolean l2,
+        Duration l2TimeToLive,
+        List<String> l2AllowedClasses,
+        Boolean allowNullValues
+) {
+
+    static final CachePolicy EMPTY = new CachePolicy(null, null, null, null, null, null, null, null, null);
+
+    /** Usada quando {@code cache.defaults} não define um campo. */
+    static final CachePolicy BUILT_IN = new CachePolicy(10_000L, null, Duration.ofMinutes(10), null, null,
+            false, null, List.of("java.lang.*", "java.util.*", "java.time.*", "java.math.*", "com.devmaster.**",
+            "org.springframework.cache.support.NullValue"), false);
+
+    /** Profundidade máxima de um grafo lido do L2. */
+    private static final int L2_MAX_DEPTH = 20;
+
+    /**
+     * Completa os campos ausentes com os de {@code defaults}.
+     */
+    CachePolicy withDefaults(CachePolicy defaults) {
+        return new CachePolicy(
+                maximumSize != null ? maximumSize : defaults.maximumSize,
+                maximumWeight != null ? maximumWeight : defaults.maximumWeight,
+                expireAfterWrite != null ? expireAfterWrite : defaults.expireAfterWrite,
+                expireAfterAccess != null ? expireAfterAccess : defaults.expireAfterAccess,
+                refreshAfterWrite != null ? refreshAfterWrite : defaults.refreshAfterWrite,
+                l2 != null ? l2 : defaults.l2,
+                l2TimeToLive != null ? l2TimeToLive : defaults.l2TimeToLive,
+                l2AllowedClasses != null ? l2AllowedClasses : defaults.l2AllowedClasses,
+                allowNullValues != null ? allowNullValues : defaults.allowNullValues);
+    }
+
+    /**
+     * Validade no L2: {@code l2TimeToLive} ou, na ausência, {@code expireAfterWrite}.
+     */
+    Duration effectiveL2TimeToLive() {
+        if (l2TimeToLive != null) {
+            return l2TimeToLive;
+        }
+        return expireAfterWrite != null ? expireAfterWrite : Duration.ofHours(1);
+    }
+
+    /**
+     * Filtro da leitura do L2: aceita apenas {@code l2AllowedClasses} e rejeita qualquer outra classe.
+     */
+    ObjectInputFilter l2Filter() {
+        StringBuilder pattern = new StringBuilder("maxdepth=").append(L2_MAX_DEPTH);
+        if (l2AllowedClasses != null) {
+            l2AllowedClasses.forEach(allowed -> pattern.append(';').append(allowed.trim()));
+        }
+        return ObjectInputFilter.Config.createFilter(pattern.append(";!*").toString());
+    }
+
+    void validate(String cacheName) {
+        if (refreshAfterWrite != null && expireAfterWrite != null && refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+            throw new IllegalStateException("Cache " + cacheName + ": refresh-after-write (" + refreshAfterWrite
+                    + ") deve ser menor que expire-after-write (" + expireAfterWrite + ")");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.devmaster.cache;
+
+import java.time.Duration;
+
+/**
+ * Segundo nível (L2) do {@link MultiLevelCache}: valores já serializados, compartilhados entre
+ * as instâncias.
+ *
+ * Implementações não devem lançar exceções de infraestrutura: um L2 indisponível responde como
+ * ausência ({@code null}) e descarta escritas, e o cache segue apenas com o L1.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public interface CacheStore {
+
+    /**
+     * @return o valor serializado, ou {@code null} se ausente, expirado ou com o L2 indisponível
+     */
+    byte[] get(String cacheName, String key);
+
+    void put(String cacheName, String key, byte[] value, Duration timeToLive);
+
+    void evict(String cacheName, String key);
+
+    void clear(String cacheName);
+
+    /**
+     * Registra o aviso de remoções feitas por outras instâncias, para descartar o L1 local.
+     * Implementações sem aviso entre instâncias ignoram o registro.
+     */
+    default void addInvalidationListener(InvalidationListener listener) {
+    }
+
+    @FunctionalInterface
+    interface InvalidationListener {
+
+        /**
+         * @param cacheName cache afetado, ou {@code null} para todos (avisos possivelmente perdidos)
+         * @param key       chave removida ({@code toString()} da chave do cache), ou {@code null} para o cache inteiro
+         */
+        void invalidated(String cacheName, String key);
+    }
+}
@@ -0,0 +1,394 @@
+package com.devmaster.cache;
+
+import com.devmaster.util.RateLimitedLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache em dois níveis: L1 em memória (Caffeine, W-TinyLFU) e L2 opcional compartilhado
+ * ({@link CacheStore}).
+ *
+ * <ul>
+ *     <li><b>Leitura</b>: L1; na ausência, L2 (o valor encontrado volta ao L1); na ausência, o método;</li>
+ *     <li><b>Stampede</b>: com {@code @Cacheable(sync = true)}, leituras concorrentes da mesma chave
+ *     ausente esperam uma única carga (L2 e método) por instância;</li>
+ *     <li><b>Refresh-ahead</b>: com {@code refreshAfterWrite}, a leitura de uma entrada mais antiga
+ *     retorna o valor atual e recarrega em segundo plano, uma carga por chave. Se a recarga falhar,
+ *     o valor atual segue até expirar;</li>
+ *     <li><b>Peso</b>: com {@code maximumWeight}, o L1 é limitado pelo tamanho serializado dos valores.</li>
+ * </ul>
+ * Valores vão ao L2 serializados (Java); valores não serializáveis ficam só no L1. A chave do L2 é
+ * o {@code toString()} da chave do cache ({@code SimpleKey [a,b]} para várias).
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class MultiLevelCache extends AbstractValueAdaptingCache {
+
+    /** Peso de valores que não puderam ser serializados. */
+    private static final int DEFAULT_WEIGHT = 1024;
+
+    private static final RateLimitedLogger RATE_LIMITED_LOG = new RateLimitedLogger(log, 5, Duration.ofMinutes(1));
+
+    private final String name;
+    private final CachePolicy policy;
+    private final Cache<Object, Entry> l1;
+    private final CacheStore l2;
+    private final Duration l2TimeToLive;
+    private final boolean weighted;
+    private final long refreshNanos;
+    private final Executor refreshExecutor;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    private final DefaultSerializer serializer = new DefaultSerializer();
+    private final ObjectInputFilter l2Filter;
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Puts;
+    private final Counter refreshSuccess;
+    private final Counter refreshFailure;
+    private final Counter refreshDiscarded;
+
+    /**
+     * Entrada do L1.
+     *
+     * @param storeValue valor (ou {@code NullValue})
+     * @param loadedAt   {@link System#nanoTime()} da carga, para o refresh-ahead
+     * @param weight     tamanho serializado, quando conhecido
+     */
+    private record Entry(Object storeValue, long loadedAt, int weight) {
+
+        // Identidade: a recarga só substitui a mesma entrada que a disparou
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    private record Prepared(Entry entry, byte[] serialized) {
+    }
+
+    /**
+     * @param policy          política completa (já com os padrões)
+     * @param l2              segundo nível, ou {@code null} para usar apenas o L1
+     * @param refreshExecutor executa as recargas do refresh-ahead
+     */
+    public MultiLevelCache(String name, CachePolicy policy, CacheStore l2, Executor refreshExecutor,
+                           MeterRegistry meterRegistry) {
+        super(Boolean.TRUE.equals(policy.allowNullValues()));
+        this.name = name;
+        this.policy = policy;
+        this.l2 = l2;
+        this.l2TimeToLive = policy.effectiveL2TimeToLive();
+        this.weighted = policy.maximumWeight() != null;
+        this.refreshNanos = policy.refreshAfterWrite() != null ? policy.refreshAfterWrite().toNanos() : 0L;
+        this.refreshExecutor = refreshExecutor;
+        this.l2Filter = policy.l2Filter();
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (weighted) {
+            builder.maximumWeight(policy.maximumWeight().toBytes())
+                    .weigher((Object key, Object entry) -> ((Entry) entry).weight());
+        } else {
+            builder.maximumSize(policy.maximumSize());
+        }
+        if (policy.expireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.expireAfterWrite());
+        }
+        if (policy.expireAfterAccess() != null) {
+            builder.expireAfterAccess(policy.expireAfterAccess());
+        }
+        this.l1 = builder.build();
+
+        Tags tags = Tags.of("cache", name);
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, name);
+        this.l2Hits = Counter.builder("cache.l2.gets").tags(tags).tag("result", "hit")
+                .description("Leituras do L2 após ausência no L1").register(meterRegistry);
+        this.l2Misses = Counter.builder("cache.l2.gets").tags(tags).tag("result", "miss")
+                .description("Leituras do L2 após ausência no L1").register(meterRegistry);
+        this.l2Puts = Counter.builder("cache.l2.puts").tags(tags)
+                .description("Valores enviados ao L2").register(meterRegistry);
+        this.refreshSuccess = Counter.builder("cache.refreshes").tags(tags).tag("result", "success")
+                .description("Recargas em segundo plano (refresh-ahead)").register(meterRegistry);
+        this.refreshFailure = Counter.builder("cache.refreshes").tags(tags).tag("result", "failure")
+                .description("Recargas em segundo plano (refresh-ahead)").register(meterRegistry);
+        this.refreshDiscarded = Counter.builder("cache.refreshes").tags(tags).tag("result", "discarded")
+                .description("Recargas em segundo plano (refresh-ahead)").register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, MultiLevelCache::hitRatio).tags(tags)
+                .description("Leituras atendidas pelo L1 ou pelo L2, sobre o total de leituras")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, ?> getNativeCache() {
+        return l1;
+    }
+
+    public CachePolicy getPolicy() {
+        return policy;
+    }
+
+    public boolean isL2Enabled() {
+        return l2 != null;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry = l1.getIfPresent(key);
+        if (entry != null) {
+            return entry.storeValue();
+        }
+        entry = readL2(key);
+        if (entry == null) {
+            return null;
+        }
+        l1.put(key, entry);
+        return entry.storeValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Entry entry = l1.get(key, k -> load(k, valueLoader));
+        if (entry == null) {
+            return null;
+        }
+        if (refreshNanos > 0 && System.nanoTime() - entry.loadedAt() >= refreshNanos) {
+            refresh(key, entry, valueLoader);
+        }
+        return (T) fromStoreValue(entry.storeValue());
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Prepared prepared = prepare(value);
+        l1.put(key, prepared.entry());
+        writeL2(key, prepared.serialized());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object existing = lookup(key);
+        if (existing != null) {
+            return toValueWrapper(existing);
+        }
+        Prepared prepared = prepare(value);
+        Entry current = l1.asMap().putIfAbsent(key, prepared.entry());
+        if (current != null) {
+            return toValueWrapper(current.storeValue());
+        }
+        writeL2(key, prepared.serialized());
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        // L2 antes do L1: uma leitura concorrente não reabastece o L1 com o valor do L2
+        if (l2 != null) {
+            l2.evict(name, key.toString());
+        }
+        l1.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (l2 != null) {
+            l2.evict(name, key.toString());
+        }
+        return l1.asMap().remove(key) != null;
+    }
+
+    @Override
+    public void clear() {
+        if (l2 != null) {
+            l2.clear(name);
+        }
+        l1.invalidateAll();
+    }
+
+    /**
+     * Descarta do L1 uma chave removida por outra instância, comparando pelo {@code toString()},
+     * ou todo o L1 com {@code key == null}. O L2 já foi atualizado por quem removeu.
+     */
+    void invalidateLocal(String key) {
+        if (key == null) {
+            l1.invalidateAll();
+            return;
+        }
+        l1.asMap().keySet().removeIf(candidate -> key.equals(candidate.toString()));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = l1.estimatedSize() > 0;
+        clear();
+        return notEmpty;
+    }
+
+    /**
+     * Carga de uma chave ausente no L1, executada uma vez por chave (o Caffeine bloqueia as
+     * leituras concorrentes da mesma chave).
+     */
+    private Entry load(Object key, Callable<?> valueLoader) {
+        Entry fromL2 = readL2(key);
+        if (fromL2 != null) {
+            return fromL2;
+        }
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value == null && !isAllowNullValues()) {
+            return null;
+        }
+        Prepared prepared = prepare(value);
+        writeL2(key, prepared.serialized());
+        return prepared.entry();
+    }
+
+    /**
+     * Recarrega em segundo plano. O resultado só é gravado se a entrada que disparou a recarga
+     * ainda estiver no L1: um {@code evict}/{@code put} feito durante a recarga prevalece, e o
+     * valor recarregado (lido antes dele) é descartado, no L1 e no L2.
+     */
+    private void refresh(Object key, Entry stale, Callable<?> valueLoader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        Runnable reload = new DelegatingSecurityContextRunnable(() -> {
+            try {
+                Object value = valueLoader.call();
+                boolean applied;
+                if (value == null && !isAllowNullValues()) {
+                    applied = l1.asMap().remove(key, stale);
+                    if (applied && l2 != null) {
+                        l2.evict(name, key.toString());
+                    }
+                } else {
+                    Prepared prepared = prepare(value);
+                    applied = l1.asMap().replace(key, stale, prepared.entry());
+                    if (applied) {
+                        writeL2(key, prepared.serialized());
+                    }
+                }
+                (applied ? refreshSuccess : refreshDiscarded).increment();
+            } catch (Exception e) {
+                refreshFailure.increment();
+                RATE_LIMITED_LOG.warn("Falha ao recarregar {} no cache {}: {}", key, name, e.getMessage());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+        try {
+            refreshExecutor.execute(reload);
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private Prepared prepare(Object value) {
+        Object storeValue = toStoreValue(value);
+        byte[] serialized = l2 != null || weighted ? serialize(storeValue) : null;
+        int weight = serialized != null ? Math.max(1, serialized.length) : DEFAULT_WEIGHT;
+        return new Prepared(new Entry(storeValue, System.nanoTime(), weight), serialized);
+    }
+
+    private Entry readL2(Object key) {
+        if (l2 == null) {
+            return null;
+        }
+        byte[] serialized = l2.get(name, key.toString());
+        if (serialized == null) {
+            l2Misses.increment();
+            return null;
+        }
+        Object storeValue;
+        try {
+            storeValue = deserialize(serialized);
+        } catch (IOException | ClassNotFoundException e) {
+            // Classe alterada entre versões ou fora de l2AllowedClasses: o valor do L2 é descartado
+            RATE_LIMITED_LOG.warn("Valor do L2 ilegível para {} no cache {}: {}", key, name, e.getMessage());
+            l2Misses.increment();
+            l2.evict(name, key.toString());
+            return null;
+        }
+        l2Hits.increment();
+        return new Entry(storeValue, System.nanoTime(), Math.max(1, serialized.length));
+    }
+
+    private Object deserialize(byte[] serialized) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(new ByteArrayInputStream(serialized),
+                ClassUtils.getDefaultClassLoader())) {
+            in.setObjectInputFilter(l2Filter);
+            return in.readObject();
+        }
+    }
+
+    private void writeL2(Object key, byte[] serialized) {
+        if (l2 != null && serialized != null) {
+            l2.put(name, key.toString(), serialized, l2TimeToLive);
+            l2Puts.increment();
+        }
+    }
+
+    private byte[] serialize(Object storeValue) {
+        if (!(storeValue instanceof Serializable)) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+            serializer.serialize(storeValue, output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            RATE_LIMITED_LOG.warn("Valor não serializável no cache {} ({}): mantido apenas no L1", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private double hitRatio() {
+        CacheStats stats = l1.stats();
+        long requests = stats.requestCount();
+        if (requests == 0) {
+            return Double.NaN;
+        }
+        return Math.min(1.0, (stats.hitCount() + l2Hits.count()) / requests);
+    }
+}
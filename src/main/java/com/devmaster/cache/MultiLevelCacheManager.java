@@ -0,0 +1,97 @@
+package com.devmaster.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link CacheManager} dos {@link MultiLevelCache}, com política por cache ({@code cache.caches.*}).
+ *
+ * Os caches declarados são criados na inicialização (políticas inválidas falham a subida e as
+ * métricas aparecem antes do primeiro uso); os demais, no primeiro uso, com {@code cache.defaults},
+ * se {@code cache.allow-undeclared} permitir. As recargas do refresh-ahead rodam em virtual threads.
+ *
+ * Remoções feitas por outras instâncias, avisadas pelo {@link CacheStore}, descartam o L1 local dos
+ * caches com L2.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class MultiLevelCacheManager implements CacheManager, DisposableBean {
+
+    private final MultiLevelCacheProperties properties;
+    private final CacheStore l2;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService refreshExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory());
+    private final ConcurrentHashMap<String, MultiLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param l2 segundo nível, ou {@code null} se {@code cache.l2.enabled} estiver desligado
+     */
+    public MultiLevelCacheManager(MultiLevelCacheProperties properties, CacheStore l2, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.l2 = l2;
+        this.meterRegistry = meterRegistry;
+        properties.caches().keySet().forEach(this::getCache);
+        if (l2 != null) {
+            l2.addInvalidationListener(this::invalidateLocal);
+        }
+        log.info("MultiLevelCacheManager inicializado - Caches: {}, L2: {}", caches.keySet(),
+                l2 != null ? l2.getClass().getSimpleName() : "desabilitado");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        MultiLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        return caches.computeIfAbsent(name, this::create);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private MultiLevelCache create(String name) {
+        CachePolicy policy = properties.policy(name);
+        if (policy == null) {
+            log.warn("Cache {} não declarado em cache.caches (cache.allow-undeclared=false)", name);
+            return null;
+        }
+        policy.validate(name);
+        boolean useL2 = Boolean.TRUE.equals(policy.l2());
+        if (useL2 && l2 == null) {
+            log.warn("Cache {} configurado com L2, mas cache.l2.enabled está desligado: usando apenas o L1", name);
+        }
+        log.debug("Cache {} criado - Política: {}", name, policy);
+        return new MultiLevelCache(name, policy, useL2 ? l2 : null, refreshExecutor, meterRegistry);
+    }
+
+    private void invalidateLocal(String cacheName, String key) {
+        if (cacheName == null) {
+            caches.values().stream().filter(MultiLevelCache::isL2Enabled).forEach(cache -> cache.invalidateLocal(null));
+            return;
+        }
+        MultiLevelCache cache = caches.get(cacheName);
+        if (cache != null && cache.isL2Enabled()) {
+            cache.invalidateLocal(key);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
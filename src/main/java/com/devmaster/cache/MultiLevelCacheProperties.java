@@ -0,0 +1,41 @@
+package com.devmaster.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Configuração do {@link MultiLevelCacheManager} ({@code cache.*} no {@code application.yaml}).
+ *
+ * @param defaults         política herdada por todos os caches
+ * @param caches           política por nome de cache
+ * @param allowUndeclared  cria com {@code defaults} caches usados nas anotações e não declarados em {@code caches}
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "cache")
+public record MultiLevelCacheProperties(
+        CachePolicy defaults,
+        Map<String, CachePolicy> caches,
+        Boolean allowUndeclared
+) {
+
+    public MultiLevelCacheProperties {
+        defaults = (defaults != null ? defaults : CachePolicy.EMPTY).withDefaults(CachePolicy.BUILT_IN);
+        caches = caches != null ? Map.copyOf(caches) : Map.of();
+        allowUndeclared = allowUndeclared == null || allowUndeclared;
+    }
+
+    /**
+     * Política completa do cache, ou {@code null} se ele não for declarado e não forem permitidos
+     * caches não declarados.
+     */
+    public CachePolicy policy(String cacheName) {
+        CachePolicy policy = caches.get(cacheName);
+        if (policy == null) {
+            return allowUndeclared ? defaults : null;
+        }
+        return policy.withDefaults(defaults);
+    }
+}
@@ -0,0 +1,414 @@
+package com.devmaster.cache;
+
+import com.devmaster.util.RateLimitedLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * L2 em uma tabela {@code UNLOGGED} do PostgreSQL.
+ *
+ * A tabela não passa pelo WAL (escritas baratas, não replicada e esvaziada após uma queda do
+ * banco), o que serve para um cache. As escritas são feitas em segundo plano por uma única
+ * thread, em ordem, com limite de escritas pendentes: acima dele a escrita é descartada, nunca a
+ * requisição.
+ *
+ * Remoções ({@code evict}/{@code clear}) entram na mesma fila, atrás das escritas já enfileiradas,
+ * e nunca são descartadas nem executadas fora de ordem: uma escrita anterior não consegue
+ * ressuscitar o valor removido. Quem remove não espera pelo banco; enquanto a remoção está
+ * pendente, leituras da chave (ou do cache, no {@code clear}) respondem como ausência.
+ *
+ * Após uma falha do banco o L2 fica desligado por {@code failure-backoff}: leituras respondem
+ * como ausência e escritas são descartadas, sem esperar pelo pool de conexões.
+ *
+ * Com {@code cache.l2.invalidation.enabled}, cada remoção aplicada é anunciada com {@code pg_notify}
+ * e as outras instâncias descartam a chave (ou o cache) do L1 ao receber o aviso. Elas escutam em
+ * uma conexão aberta fora do pool; ao reconectar, descartam o L1 dos caches com L2, já que avisos
+ * podem ter sido perdidos.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.l2.enabled", havingValue = "true")
+public class PostgresCacheStore implements CacheStore, SmartLifecycle {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    /** Chaves maiores são gravadas pelo SHA-256 (limite do índice B-tree). */
+    private static final int MAX_KEY_LENGTH = 512;
+    private static final int NOTIFICATION_WAIT_MILLIS = 500;
+    private static final long MAX_RECONNECT_BACKOFF_MILLIS = 30_000;
+
+    private static final RateLimitedLogger RATE_LIMITED_LOG = new RateLimitedLogger(log, 5, Duration.ofMinutes(1));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final boolean initializeSchema;
+    private final Duration cleanupInterval;
+    private final long failureBackoffNanos;
+    private final int writeQueueSize;
+    private final ThreadPoolExecutor writer;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    /** Remoções enfileiradas e ainda não aplicadas, por chave ({@code cache + NUL + chave}) e por cache. */
+    private final ConcurrentHashMap<String, Integer> pendingEvictions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> pendingClears = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService cleaner;
+
+    /** Origem da conexão do {@code LISTEN}, sem pool; {@code null} sem aviso entre instâncias. */
+    private final DataSource listenerDataSource;
+    private final String invalidationChannel;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<InvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
+    private final Counter receivedInvalidations;
+    private volatile Thread listener;
+
+    private final String selectSql;
+    private final String upsertSql;
+    private final String deleteSql;
+    private final String clearSql;
+    private final String cleanupSql;
+    private final String notifySql = "SELECT pg_notify(?, ?)";
+
+    private final Counter droppedWrites;
+    private final MeterRegistry meterRegistry;
+
+    private volatile long unavailableUntil;
+    private volatile boolean running;
+
+    public PostgresCacheStore(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry,
+            @Value("${cache.l2.table:cache_entry}") String table,
+            @Value("${cache.l2.initialize-schema:true}") boolean initializeSchema,
+            @Value("${cache.l2.cleanup-interval:10m}") Duration cleanupInterval,
+            @Value("${cache.l2.failure-backoff:30s}") Duration failureBackoff,
+            @Value("${cache.l2.write-queue-size:1000}") int writeQueueSize,
+            @Value("${cache.l2.invalidation.enabled:true}") boolean invalidationEnabled,
+            @Value("${cache.l2.invalidation.channel:cache_invalidation}") String invalidationChannel
+    ) {
+        if (!IDENTIFIER.matcher(table).matches() || !IDENTIFIER.matcher(invalidationChannel).matches()) {
+            throw new IllegalArgumentException("Tabela e canal do L2 devem ser identificadores simples: "
+                    + table + ", " + invalidationChannel);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.table = table;
+        this.initializeSchema = initializeSchema;
+        this.cleanupInterval = cleanupInterval;
+        this.failureBackoffNanos = failureBackoff.toNanos();
+        this.writeQueueSize = writeQueueSize;
+        this.meterRegistry = meterRegistry;
+        this.droppedWrites = Counter.builder("cache.l2.writes.dropped")
+                .description("Escritas no L2 descartadas (fila cheia ou L2 indisponível)")
+                .register(meterRegistry);
+        // Fila sem limite próprio: escritas são limitadas por pendingWrites; remoções sempre entram
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().daemon().name("cache-l2-writer").factory());
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("cache-l2-cleanup").factory());
+        this.listenerDataSource = invalidationEnabled
+                ? dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build()
+                : null;
+        this.invalidationChannel = invalidationChannel;
+        this.receivedInvalidations = Counter.builder("cache.l2.invalidations.received")
+                .description("Remoções de outras instâncias aplicadas no L1")
+                .register(meterRegistry);
+
+        this.selectSql = "SELECT value FROM " + table + " WHERE cache_name = ? AND cache_key = ? AND expires_at > now()";
+        this.upsertSql = "INSERT INTO " + table + " (cache_name, cache_key, value, expires_at)"
+                + " VALUES (?, ?, ?, now() + ? * INTERVAL '1 millisecond')"
+                + " ON CONFLICT (cache_name, cache_key) DO UPDATE SET value = EXCLUDED.value, expires_at = EXCLUDED.expires_at";
+        this.deleteSql = "DELETE FROM " + table + " WHERE cache_name = ? AND cache_key = ?";
+        this.clearSql = "DELETE FROM " + table + " WHERE cache_name = ?";
+        this.cleanupSql = "DELETE FROM " + table + " WHERE expires_at <= now()";
+    }
+
+    @Override
+    public byte[] get(String cacheName, String key) {
+        String storageKey = storageKey(key);
+        if (isUnavailable() || pendingClears.containsKey(cacheName)
+                || pendingEvictions.containsKey(evictionKey(cacheName, storageKey))) {
+            return null;
+        }
+        try {
+            List<byte[]> values = jdbcTemplate.query(selectSql, (rs, row) -> rs.getBytes(1), cacheName, storageKey);
+            return values.isEmpty() ? null : values.get(0);
+        } catch (DataAccessException e) {
+            failed("get", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String cacheName, String key, byte[] value, Duration timeToLive) {
+        if (isUnavailable()) {
+            droppedWrites.increment();
+            return;
+        }
+        if (pendingWrites.incrementAndGet() > writeQueueSize) {
+            pendingWrites.decrementAndGet();
+            droppedWrites.increment();
+            return;
+        }
+        String storageKey = storageKey(key);
+        try {
+            writer.execute(() -> {
+                try {
+                    jdbcTemplate.update(upsertSql, cacheName, storageKey, value, timeToLive.toMillis());
+                } catch (DataAccessException e) {
+                    failed("put", e);
+                } finally {
+                    pendingWrites.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Após o stop
+            pendingWrites.decrementAndGet();
+            droppedWrites.increment();
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        String storageKey = storageKey(key);
+        // Chaves longas não cabem no aviso: as outras instâncias descartam o cache inteiro
+        String notification = key.length() <= MAX_KEY_LENGTH ? notification(cacheName, key) : notification(cacheName, null);
+        remove("evict", pendingEvictions, evictionKey(cacheName, storageKey), notification, deleteSql, cacheName, storageKey);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        remove("clear", pendingClears, cacheName, notification(cacheName, null), clearSql, cacheName);
+    }
+
+    @Override
+    public void addInvalidationListener(InvalidationListener listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * Enfileira a remoção atrás das escritas pendentes, sem esperar por ela. Até ser aplicada,
+     * {@code pending} faz as leituras afetadas responderem como ausência. Depois de aplicada,
+     * é anunciada às outras instâncias ({@code notification}).
+     */
+    private void remove(String operation, ConcurrentHashMap<String, Integer> pending, String pendingKey,
+                        String notification, String sql, Object... arguments) {
+        pending.merge(pendingKey, 1, Integer::sum);
+        Runnable delete = () -> {
+            try {
+                jdbcTemplate.update(sql, arguments);
+                if (notification != null) {
+                    jdbcTemplate.query(notifySql, rs -> null, invalidationChannel, notification);
+                }
+            } catch (DataAccessException e) {
+                failed(operation, e);
+            } finally {
+                pending.computeIfPresent(pendingKey, (k, count) -> count > 1 ? count - 1 : null);
+            }
+        };
+        try {
+            writer.execute(delete);
+        } catch (RejectedExecutionException e) {
+            // Após o stop não há escritas na fila para ultrapassar
+            delete.run();
+        }
+    }
+
+    private static String evictionKey(String cacheName, String storageKey) {
+        return cacheName + '\0' + storageKey;
+    }
+
+    /**
+     * Aviso de remoção: {@code origem:E:tamanhoDoNome:nome+chave} (uma chave) ou
+     * {@code origem:C:tamanhoDoNome:nome} (o cache inteiro).
+     */
+    private String notification(String cacheName, String key) {
+        if (listenerDataSource == null) {
+            return null;
+        }
+        return nodeId + (key != null ? ":E:" : ":C:") + cacheName.length() + ':' + cacheName + (key != null ? key : "");
+    }
+
+    private void receive(String payload) {
+        try {
+            int originEnd = payload.indexOf(':');
+            int lengthEnd = payload.indexOf(':', originEnd + 3);
+            if (payload.substring(0, originEnd).equals(nodeId)) {
+                // Remoção desta instância: o L1 local já foi descartado
+                return;
+            }
+            int nameEnd = lengthEnd + 1 + Integer.parseInt(payload, originEnd + 3, lengthEnd, 10);
+            String cacheName = payload.substring(lengthEnd + 1, nameEnd);
+            String key = payload.charAt(originEnd + 1) == 'E' ? payload.substring(nameEnd) : null;
+            receivedInvalidations.increment();
+            invalidationListeners.forEach(listener -> listener.invalidated(cacheName, key));
+        } catch (RuntimeException e) {
+            RATE_LIMITED_LOG.warn("Aviso de remoção do L2 ignorado ({}): {}", payload, e.getMessage());
+        }
+    }
+
+    /**
+     * Laço do listener: conecta, escuta o canal e aplica os avisos. Qualquer falha de conexão volta
+     * ao início, com backoff; depois dela, o L1 dos caches com L2 é descartado.
+     */
+    private void listen() {
+        long backoffMillis = 500;
+        boolean missedNotifications = false;
+        while (running) {
+            try (Connection connection = listenerDataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + invalidationChannel);
+                }
+                if (missedNotifications) {
+                    invalidationListeners.forEach(listener -> listener.invalidated(null, null));
+                    missedNotifications = false;
+                }
+                backoffMillis = 500;
+                log.info("Escutando remoções do L2 no canal {}", invalidationChannel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_WAIT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                missedNotifications = true;
+                RATE_LIMITED_LOG.warn("Listener de remoções do L2 desconectado: {} - nova tentativa em {} ms",
+                        e.getMessage(), backoffMillis);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RECONNECT_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private boolean isUnavailable() {
+        long until = unavailableUntil;
+        return until != 0 && System.nanoTime() - until < 0;
+    }
+
+    private void failed(String operation, DataAccessException e) {
+        unavailableUntil = System.nanoTime() + failureBackoffNanos;
+        Counter.builder("cache.l2.errors").tag("operation", operation)
+                .description("Falhas de acesso ao L2").register(meterRegistry).increment();
+        RATE_LIMITED_LOG.warn("L2 indisponível ({}): {} - usando apenas o L1 por {} s", operation,
+                e.getMostSpecificCause().getMessage(), TimeUnit.NANOSECONDS.toSeconds(failureBackoffNanos));
+    }
+
+    private static String storageKey(String key) {
+        if (key.length() <= MAX_KEY_LENGTH) {
+            return key;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (initializeSchema) {
+            try {
+                jdbcTemplate.execute("CREATE UNLOGGED TABLE IF NOT EXISTS " + table + " ("
+                        + "cache_name VARCHAR(128) NOT NULL, "
+                        + "cache_key TEXT NOT NULL, "
+                        + "value BYTEA NOT NULL, "
+                        + "expires_at TIMESTAMPTZ NOT NULL, "
+                        + "PRIMARY KEY (cache_name, cache_key))");
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + table + "_expires_at_idx ON " + table + " (expires_at)");
+            } catch (DataAccessException e) {
+                failed("schema", e);
+            }
+        }
+        cleaner.scheduleWithFixedDelay(this::cleanup, cleanupInterval.toMillis(), cleanupInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        running = true;
+        if (listenerDataSource != null) {
+            listener = Thread.ofPlatform().daemon().name("cache-l2-invalidation").start(this::listen);
+        }
+        log.info("PostgresCacheStore iniciado - Tabela: {}, Avisos de remoção: {}", table,
+                listenerDataSource != null ? invalidationChannel : "desabilitados");
+    }
+
+    private void cleanup() {
+        if (isUnavailable()) {
+            return;
+        }
+        try {
+            int removed = jdbcTemplate.update(cleanupSql);
+            if (removed > 0) {
+                log.debug("{} entradas expiradas removidas de {}", removed, table);
+            }
+        } catch (DataAccessException e) {
+            failed("cleanup", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        cleaner.shutdownNow();
+        writer.shutdown();
+        try {
+            // Escritas pendentes são só otimização: não seguram o desligamento
+            writer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,33 @@
+package com.devmaster.config;
+
+import com.devmaster.cache.CacheStore;
+import com.devmaster.cache.MultiLevelCacheManager;
+import com.devmaster.cache.MultiLevelCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Cache ({@code @Cacheable}, {@code @CachePut}, {@code @CacheEvict}) sobre o
+ * {@link MultiLevelCacheManager}: L1 em memória e, com {@code cache.l2.enabled}, L2 no PostgreSQL.
+ *
+ * Use {@code @Cacheable(sync = true)} para a proteção contra stampede e o refresh-ahead.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(MultiLevelCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public MultiLevelCacheManager cacheManager(MultiLevelCacheProperties properties,
+                                               ObjectProvider<CacheStore> cacheStore,
+                                               MeterRegistry meterRegistry) {
+        return new MultiLevelCacheManager(properties, cacheStore.getIfAvailable(), meterRegistry);
+    }
+}
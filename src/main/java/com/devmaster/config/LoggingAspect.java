@@ -1,17 +1,22 @@
 package com.devmaster.config;
 
+import com.devmaster.handler.APIException;
+import com.devmaster.util.LogSanitizer;
+import com.devmaster.util.RequestTiming;
+import com.devmaster.util.RequestTiming.Phase;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
-
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Arrays;
-import java.util.Set;
 
+/**
+ * Log de entrada, duração e erros de controllers e services.
+ *
+ * Os argumentos só são formatados (e mascarados pelo {@link LogSanitizer}) quando o
+ * nível de log correspondente está habilitado. A duração de cada chamada é sempre
+ * registrada nos timers do {@link MethodExecutionMetrics}, independentemente do nível de log,
+ * e marcada nas fases {@link Phase#CONTROLLER}/{@link Phase#SERVICE} do {@link RequestTiming}.
+ */
 @Aspect
 @Component
 @Slf4j
@@ -19,10 +24,12 @@ public class LoggingAspect {
 
     private static final String CONTROLLER_EXECUTION_MESSAGE = "Controller method: {} executed in {} ms";
     private static final String SERVICE_EXECUTION_MESSAGE = "Service method: {} executed in {} ms";
-    private static final Set<String> SENSITIVE_FIELDS = Set.of(
-        "password", "senha", "cpf", "cnpj", "cnh", "token", 
-        "accessToken", "refreshToken", "authorization"
-    );
+
+    private final MethodExecutionMetrics metrics;
+
+    public LoggingAspect(MethodExecutionMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     @Pointcut("execution(* com.devmaster.application.api..*(..))")
     public void controllerMethods() {
@@ -32,105 +39,79 @@ public class LoggingAspect {
     public void serviceMethods() {
     }
 
-    @Before("controllerMethods()")
-    public void logControllerEntry(JoinPoint joinPoint) {
-        var methodName = joinPoint.getSignature().toShortString();
-        var args = sanitizeArgs(joinPoint.getArgs());
-
-        log.info("🎯 Entering controller method: {} with arguments: {}", methodName, args);
-    }
-
     @Around("controllerMethods()")
     public Object logControllerExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        var startTime = Instant.now();
-        var methodName = joinPoint.getSignature().toShortString();
+        if (log.isInfoEnabled()) {
+            log.info("🎯 Entering controller method: {} with arguments: {}",
+                    joinPoint.getSignature().toShortString(), LogSanitizer.sanitizeArgs(joinPoint.getArgs()));
+        }
+        RequestTiming.enter(Phase.CONTROLLER);
+        var startTime = System.nanoTime();
 
         try {
             var result = joinPoint.proceed();
-            var duration = Duration.between(startTime, Instant.now());
+            var elapsedNanos = System.nanoTime() - startTime;
+            metrics.recordSuccess(MethodExecutionMetrics.LAYER_CONTROLLER, joinPoint.getSignature(), elapsedNanos);
 
-            log.info("✅ " + CONTROLLER_EXECUTION_MESSAGE, methodName, duration.toMillis());
+            if (log.isInfoEnabled()) {
+                log.info("✅ " + CONTROLLER_EXECUTION_MESSAGE, joinPoint.getSignature().toShortString(), toMillis(elapsedNanos));
+            }
 
             return result;
-        } catch (Exception ex) {
-            var duration = Duration.between(startTime, Instant.now());
-            log.error("❌ Controller method: {} failed after {} ms with error: {}",
-                    methodName, duration.toMillis(), ex.getMessage());
+        } catch (Throwable ex) {
+            var elapsedNanos = System.nanoTime() - startTime;
+            metrics.recordFailure(MethodExecutionMetrics.LAYER_CONTROLLER, joinPoint.getSignature(), ex, elapsedNanos);
+            logFailure("❌ Controller method: {} failed after {} ms with error: {}", joinPoint, ex, elapsedNanos);
             throw ex;
+        } finally {
+            RequestTiming.exit(Phase.CONTROLLER);
         }
     }
 
-    @Before("serviceMethods()")
-    public void logServiceEntry(JoinPoint joinPoint) {
-        var methodName = joinPoint.getSignature().toShortString();
-        var args = sanitizeArgs(joinPoint.getArgs());
-
-        log.debug("🔧 Entering service method: {} with arguments: {}", methodName, args);
-    }
-
     @Around("serviceMethods()")
     public Object logServiceExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        var stopWatch = new StopWatch(joinPoint.getSignature().toShortString());
-        stopWatch.start();
+        if (log.isDebugEnabled()) {
+            log.debug("🔧 Entering service method: {} with arguments: {}",
+                    joinPoint.getSignature().toShortString(), LogSanitizer.sanitizeArgs(joinPoint.getArgs()));
+        }
+        RequestTiming.enter(Phase.SERVICE);
+        var startTime = System.nanoTime();
 
         try {
             var result = joinPoint.proceed();
-            stopWatch.stop();
+            var elapsedNanos = System.nanoTime() - startTime;
+            metrics.recordSuccess(MethodExecutionMetrics.LAYER_SERVICE, joinPoint.getSignature(), elapsedNanos);
 
-            log.debug("⚙️ " + SERVICE_EXECUTION_MESSAGE,
-                    joinPoint.getSignature().toShortString(),
-                    stopWatch.getTotalTimeMillis());
+            if (log.isDebugEnabled()) {
+                log.debug("⚙️ " + SERVICE_EXECUTION_MESSAGE, joinPoint.getSignature().toShortString(), toMillis(elapsedNanos));
+            }
 
             return result;
-        } catch (Exception ex) {
-            stopWatch.stop();
-            log.error("💥 Service method: {} failed after {} ms with error: {}",
-                    joinPoint.getSignature().toShortString(),
-                    stopWatch.getTotalTimeMillis(),
-                    ex.getMessage());
+        } catch (Throwable ex) {
+            var elapsedNanos = System.nanoTime() - startTime;
+            metrics.recordFailure(MethodExecutionMetrics.LAYER_SERVICE, joinPoint.getSignature(), ex, elapsedNanos);
+            logFailure("💥 Service method: {} failed after {} ms with error: {}", joinPoint, ex, elapsedNanos);
             throw ex;
+        } finally {
+            RequestTiming.exit(Phase.SERVICE);
         }
     }
 
-    @AfterThrowing(pointcut = "controllerMethods() || serviceMethods()", throwing = "exception")
-    public void logException(JoinPoint joinPoint, Throwable exception) {
-        var methodName = joinPoint.getSignature().toShortString();
-        var exceptionType = exception.getClass().getSimpleName();
-        var message = exception.getMessage();
-
-        log.error("🚨 Exception in method: {} - Type: {} - Message: {}",
-                methodName, exceptionType, message);
-
-        log.debug("Stack trace for method: {}", methodName, exception);
-    }
-
-    private String sanitizeArgs(Object[] args) {
-        if (args == null || args.length == 0) {
-            return "[]";
+    /**
+     * Erros esperados (APIException 4xx) são registrados pelo {@code RestResponseEntityExceptionHandler};
+     * aqui só aparecem em DEBUG, para não repetir um ERROR por camada atravessada.
+     */
+    private static void logFailure(String message, ProceedingJoinPoint joinPoint, Throwable ex, long elapsedNanos) {
+        if (ex instanceof APIException apiException && apiException.isExpected()) {
+            if (log.isDebugEnabled()) {
+                log.debug(message, joinPoint.getSignature().toShortString(), toMillis(elapsedNanos), ex.getMessage());
+            }
+            return;
         }
-
-        return Arrays.stream(args)
-            .map(this::sanitizeObject)
-            .toList()
-            .toString();
+        log.error(message, joinPoint.getSignature().toShortString(), toMillis(elapsedNanos), ex.getMessage());
     }
 
-    private Object sanitizeObject(Object obj) {
-        if (obj == null) {
-            return null;
-        }
-
-        String objStr = obj.toString();
-        
-        for (String field : SENSITIVE_FIELDS) {
-            if (objStr.toLowerCase().contains(field.toLowerCase())) {
-                objStr = objStr.replaceAll(
-                    "(?i)(" + field + "[=:]\\s*)([^,\\s}]+)",
-                    "$1***"
-                );
-            }
-        }
-        
-        return objStr;
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package com.devmaster.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers de duração dos métodos interceptados pelo {@link LoggingAspect}.
+ *
+ * Publica {@value #METRIC_NAME} com as tags {@code layer}, {@code class}, {@code method},
+ * {@code outcome} ({@code SUCCESS}/{@code ERROR}) e {@code exception}. Buckets de SLO e
+ * histogramas de percentis são configurados em {@code management.metrics.distribution}
+ * no application.yaml.
+ *
+ * Os timers são resolvidos no registry uma única vez por método e ficam em cache;
+ * nas chamadas seguintes o custo é um lookup em {@link ConcurrentHashMap}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Component
+public class MethodExecutionMetrics {
+
+    public static final String METRIC_NAME = "app.method.execution";
+
+    static final String LAYER_CONTROLLER = "controller";
+    static final String LAYER_SERVICE = "service";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    // O Spring AOP cria uma Signature nova a cada chamada (sem equals/hashCode):
+    // a chave do cache é o Method que ela representa
+    private final ConcurrentHashMap<Object, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public MethodExecutionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra uma execução concluída com sucesso.
+     */
+    public void recordSuccess(String layer, Signature signature, long durationNanos) {
+        timersFor(layer, signature).success.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra uma execução que terminou com a exceção informada.
+     */
+    public void recordFailure(String layer, Signature signature, Throwable exception, long durationNanos) {
+        timersFor(layer, signature).failure(exception.getClass()).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private MethodTimers timersFor(String layer, Signature signature) {
+        Object key = signature instanceof MethodSignature methodSignature
+                ? methodSignature.getMethod()
+                : signature.toLongString();
+        MethodTimers methodTimers = timers.get(key);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(key, k -> new MethodTimers(layer, signature));
+        }
+        return methodTimers;
+    }
+
+    /**
+     * Timers de um método: sucesso e um por tipo de exceção lançada.
+     */
+    private final class MethodTimers {
+
+        private final String layer;
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final ConcurrentHashMap<Class<?>, Timer> failures = new ConcurrentHashMap<>(4);
+
+        MethodTimers(String layer, Signature signature) {
+            this.layer = layer;
+            this.className = signature.getDeclaringType().getSimpleName();
+            this.methodName = signature.getName();
+            this.success = timer("SUCCESS", NO_EXCEPTION);
+        }
+
+        Timer failure(Class<?> exceptionType) {
+            Timer exceptionTimer = failures.get(exceptionType);
+            if (exceptionTimer == null) {
+                exceptionTimer = failures.computeIfAbsent(exceptionType, type -> timer("ERROR", type.getSimpleName()));
+            }
+            return exceptionTimer;
+        }
+
+        private Timer timer(String outcome, String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Duração dos métodos de controllers e services")
+                    .tag("layer", layer)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
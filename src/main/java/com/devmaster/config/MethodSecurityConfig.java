@@ -0,0 +1,89 @@
+package com.devmaster.config;
+
+import com.devmaster.security.CompiledPreAuthorizeAuthorizationManager;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationManagerAfterMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PostAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PostFilterAuthorizationMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PreFilterAuthorizationMethodInterceptor;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+
+/**
+ * Segurança de métodos ({@code @PreAuthorize}, {@code @PostAuthorize}, {@code @PreFilter},
+ * {@code @PostFilter}).
+ *
+ * O {@code @PreAuthorize} usa o {@link CompiledPreAuthorizeAuthorizationManager}: expressões de
+ * role comuns viram verificações diretas, as demais seguem pelo SpEL. Para trocar o
+ * {@code AuthorizationManager} o Spring exige {@code prePostEnabled = false} e os interceptors
+ * publicados como beans, então os quatro são registrados aqui com o mesmo
+ * {@link MethodSecurityExpressionHandler}. Com {@code security.method-security.compiled-pre-authorize=false}
+ * tudo passa pelo SpEL, como no {@code prePostEnabled = true}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Configuration
+@EnableMethodSecurity(prePostEnabled = false)
+public class MethodSecurityConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(ApplicationContext context) {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(context);
+        return expressionHandler;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(
+            MethodSecurityExpressionHandler methodSecurityExpressionHandler,
+            ApplicationContext context,
+            @Value("${security.method-security.compiled-pre-authorize:true}") boolean compiled
+    ) {
+        PreAuthorizeAuthorizationManager spel = new PreAuthorizeAuthorizationManager();
+        spel.setExpressionHandler(methodSecurityExpressionHandler);
+        spel.setApplicationContext(context);
+        return compiled
+                ? AuthorizationManagerBeforeMethodInterceptor.preAuthorize(new CompiledPreAuthorizeAuthorizationManager(spel))
+                : AuthorizationManagerBeforeMethodInterceptor.preAuthorize(spel);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postAuthorizeAuthorizationMethodInterceptor(
+            MethodSecurityExpressionHandler methodSecurityExpressionHandler,
+            ApplicationContext context
+    ) {
+        PostAuthorizeAuthorizationManager manager = new PostAuthorizeAuthorizationManager();
+        manager.setExpressionHandler(methodSecurityExpressionHandler);
+        manager.setApplicationContext(context);
+        return AuthorizationManagerAfterMethodInterceptor.postAuthorize(manager);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preFilterAuthorizationMethodInterceptor(MethodSecurityExpressionHandler methodSecurityExpressionHandler) {
+        PreFilterAuthorizationMethodInterceptor interceptor = new PreFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(methodSecurityExpressionHandler);
+        return interceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postFilterAuthorizationMethodInterceptor(MethodSecurityExpressionHandler methodSecurityExpressionHandler) {
+        PostFilterAuthorizationMethodInterceptor interceptor = new PostFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(methodSecurityExpressionHandler);
+        return interceptor;
+    }
+}
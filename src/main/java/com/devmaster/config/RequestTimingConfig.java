@@ -0,0 +1,25 @@
+package com.devmaster.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra o {@link RequestTimingSessionListener} nas sessões do Hibernate quando a medição
+ * por fase ({@code app.request-timing.enabled}) está habilitada.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.request-timing.enabled", havingValue = "true")
+public class RequestTimingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestTimingSessionListenerCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                RequestTimingSessionListener.class.getName());
+    }
+}
@@ -0,0 +1,177 @@
+package com.devmaster.config;
+
+import com.devmaster.util.RequestTiming;
+import com.devmaster.util.RequestTiming.Phase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ciclo de vida do {@link RequestTiming} de cada requisição e publicação das métricas por fase.
+ *
+ * Com {@code app.request-timing.enabled=true}, o {@code JwtAuthenticationFilter} abre o contexto
+ * no início da requisição e o encerra no final; nesse momento o tempo de cada fase executada é
+ * registrado no timer {@value #PHASE_METRIC_NAME} (tags {@code phase} e {@code uri}) e o número de
+ * comandos JDBC em {@value #DB_STATEMENTS_METRIC_NAME}.
+ *
+ * Com {@code app.request-timing.server-timing-header=true}, a resposta é envolvida por
+ * {@link #wrapResponse(HttpServletResponse, RequestTiming)} para receber o header
+ * {@value #SERVER_TIMING_HEADER} antes do commit.
+ *
+ * Desabilitado, {@link #begin(HttpServletRequest)} retorna {@code null} e nada é alocado.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Component
+public class RequestTimingRecorder {
+
+    public static final String PHASE_METRIC_NAME = "app.request.phase";
+    public static final String DB_STATEMENTS_METRIC_NAME = "app.request.db.statements";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String TIMING_ATTRIBUTE = RequestTimingRecorder.class.getName() + ".TIMING";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private static final Phase[] PHASES = Phase.values();
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean serverTimingHeaderEnabled;
+    private final ConcurrentHashMap<String, UriMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestTimingRecorder(
+            MeterRegistry meterRegistry,
+            @Value("${app.request-timing.enabled:false}") boolean enabled,
+            @Value("${app.request-timing.server-timing-header:false}") boolean serverTimingHeaderEnabled
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.serverTimingHeaderEnabled = serverTimingHeaderEnabled;
+    }
+
+    public boolean isServerTimingHeaderEnabled() {
+        return enabled && serverTimingHeaderEnabled;
+    }
+
+    /**
+     * Abre o contexto da requisição na thread atual. Em um dispatch assíncrono, reassocia o
+     * contexto aberto no dispatch original.
+     *
+     * @return o contexto, ou {@code null} se a medição estiver desabilitada
+     */
+    public RequestTiming begin(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        if (request.getAttribute(TIMING_ATTRIBUTE) instanceof RequestTiming existing) {
+            RequestTiming.attach(existing);
+            return existing;
+        }
+        RequestTiming timing = RequestTiming.start();
+        request.setAttribute(TIMING_ATTRIBUTE, timing);
+        return timing;
+    }
+
+    /**
+     * Envolve a resposta para escrever o header {@value #SERVER_TIMING_HEADER} antes do commit.
+     *
+     * @return a própria resposta se o header estiver desabilitado
+     */
+    public HttpServletResponse wrapResponse(HttpServletResponse response, RequestTiming timing) {
+        if (timing == null || !isServerTimingHeaderEnabled()) {
+            return response;
+        }
+        return new ServerTimingResponseWrapper(response, timing);
+    }
+
+    /**
+     * Desassocia o contexto da thread. Se a requisição continua em modo assíncrono, as métricas
+     * são publicadas quando ela terminar; caso contrário, imediatamente (e o header
+     * {@value #SERVER_TIMING_HEADER} é escrito se a aplicação não tocou no corpo).
+     *
+     * @param response a resposta devolvida por {@link #wrapResponse(HttpServletResponse, RequestTiming)}
+     */
+    public void end(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) {
+        RequestTiming.detach();
+        if (!request.isAsyncStarted()) {
+            if (response instanceof ServerTimingResponseWrapper serverTiming) {
+                serverTiming.writeServerTiming();
+            }
+            finish(request, timing);
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                finish(request, timing);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    private void finish(HttpServletRequest request, RequestTiming timing) {
+        if (!timing.finish()) {
+            return;
+        }
+        request.removeAttribute(TIMING_ATTRIBUTE);
+        UriMeters uriMeters = metersFor(request);
+        for (Phase phase : PHASES) {
+            if (timing.count(phase) > 0) {
+                uriMeters.phases[phase.ordinal()].record(timing.elapsedNanos(phase), TimeUnit.NANOSECONDS);
+            }
+        }
+        uriMeters.dbStatements.record(timing.count(Phase.DB));
+    }
+
+    private UriMeters metersFor(HttpServletRequest request) {
+        // Padrão da rota (/v1/imagens/{id}), não a URI real: cardinalidade limitada
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern : UNKNOWN_URI;
+        UriMeters uriMeters = meters.get(uri);
+        if (uriMeters == null) {
+            uriMeters = meters.computeIfAbsent(uri, UriMeters::new);
+        }
+        return uriMeters;
+    }
+
+    private final class UriMeters {
+
+        private final Timer[] phases = new Timer[PHASES.length];
+        private final DistributionSummary dbStatements;
+
+        UriMeters(String uri) {
+            for (Phase phase : PHASES) {
+                phases[phase.ordinal()] = Timer.builder(PHASE_METRIC_NAME)
+                        .description("Tempo da requisição por fase (auth, controller, service, db-pool, db)")
+                        .tag("phase", phase.metricName())
+                        .tag("uri", uri)
+                        .register(meterRegistry);
+            }
+            this.dbStatements = DistributionSummary.builder(DB_STATEMENTS_METRIC_NAME)
+                    .description("Comandos JDBC executados por requisição")
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.devmaster.config;
+
+import com.devmaster.util.RequestTiming;
+import com.devmaster.util.RequestTiming.Phase;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Marca no {@link RequestTiming} da requisição o tempo de espera por conexão do pool
+ * ({@link Phase#DB_POOL}) e o tempo de execução dos comandos JDBC ({@link Phase#DB}).
+ *
+ * Registrado em toda sessão do Hibernate pelo {@link RequestTimingConfig} quando
+ * {@code app.request-timing.enabled=true}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public class RequestTimingSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        RequestTiming.enter(Phase.DB_POOL);
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTiming.exit(Phase.DB_POOL);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestTiming.enter(Phase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.exit(Phase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestTiming.enter(Phase.DB);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming.exit(Phase.DB);
+    }
+}
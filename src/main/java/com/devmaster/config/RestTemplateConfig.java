@@ -1,14 +1,105 @@
 package com.devmaster.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuração do RestTemplate com pool de conexões (Apache HttpClient 5).
+ *
+ * Conexões keep-alive são reutilizadas entre requisições e todos os tempos de espera
+ * (conexão, leitura e aquisição de conexão do pool) são limitados.
+ * As métricas do pool (leased/pending/available) são publicadas no actuator
+ * com o prefixo {@code httpcomponents.httpclient.pool}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
 @Configuration
 public class RestTemplateConfig {
 
+    private static final String POOL_NAME = "rest-template";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(
+            @Value("${http.client.max-connections:100}") int maxConnections,
+            @Value("${http.client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${http.client.auth-service-max-connections:50}") int authServiceMaxConnections,
+            @Value("${http.client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${http.client.read-timeout:5s}") Duration readTimeout,
+            @Value("${http.client.time-to-live:5m}") Duration timeToLive,
+            @Value("${http.client.validate-after-inactivity:2s}") Duration validateAfterInactivity,
+            @Value("${security.auth-service.url:}") String authServiceUrl,
+            MeterRegistry meterRegistry
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .build())
+                .build();
+
+        // O serviço de autenticação é chamado em toda requisição autenticada: rota com limite próprio
+        if (!authServiceUrl.isBlank()) {
+            URI authServiceUri = URI.create(authServiceUrl);
+            boolean secure = "https".equalsIgnoreCase(authServiceUri.getScheme());
+            int port = authServiceUri.getPort() > 0 ? authServiceUri.getPort() : (secure ? 443 : 80);
+            HttpHost authServiceHost = new HttpHost(authServiceUri.getScheme(), authServiceUri.getHost(), port);
+            connectionManager.setMaxPerRoute(new HttpRoute(authServiceHost, null, secure), authServiceMaxConnections);
+        }
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+
+        log.info("Pool HTTP inicializado - Max: {}, Por rota: {}, Auth service: {}, Connect timeout: {}, Read timeout: {}",
+                maxConnections, maxConnectionsPerRoute, authServiceMaxConnections, connectTimeout, readTimeout);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager httpClientConnectionManager,
+            @Value("${http.client.read-timeout:5s}") Duration readTimeout,
+            @Value("${http.client.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${http.client.keep-alive:30s}") Duration keepAlive,
+            @Value("${http.client.idle-eviction:60s}") Duration idleEviction
+    ) {
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,12 @@
 package com.devmaster.config;
 
+import com.devmaster.security.JwtAccessDeniedHandler;
 import com.devmaster.security.JwtAuthenticationEntryPoint;
 import com.devmaster.security.JwtAuthenticationFilter;
+import com.devmaster.security.PublicRouteRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -15,12 +16,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity(prePostEnabled = true)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
+    private final PublicRouteRegistry publicRouteRegistry;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -32,26 +34,12 @@ public class SecurityConfig {
             )
             .exceptionHandling(exception -> exception
                 .authenticationEntryPoint(jwtAuthenticationEntryPoint)
+                .accessDeniedHandler(jwtAccessDeniedHandler)
             )
             .authorizeHttpRequests(auth -> auth
-                // Endpoints públicos - não requerem autenticação
-                // Inclui: /public/auth/login, /public/auth/logout, /public/health, etc.
-                .requestMatchers("/public/**").permitAll()
-                
-                // Endpoints públicos de cupons
-                .requestMatchers("/v1/cupons/public/**").permitAll()
-                
-                // Swagger e documentação
-                .requestMatchers(
-                    "/api-docs/**",
-                    "/swagger/**",
-                    "/swagger-ui/**",
-                    "/swagger-ui.html",
-                    "/v3/api-docs/**"
-                ).permitAll()
-                
-                // Actuator
-                .requestMatchers("/actuator/**").permitAll()
+                // Endpoints públicos (auth, cupons públicos, Swagger, Actuator) - não requerem autenticação
+                // A mesma lista é usada pelo JwtAuthenticationFilter: ver PublicRouteRegistry
+                .requestMatchers(publicRouteRegistry::matches).permitAll()
                 
                 // Entregadores - qualquer usuário autenticado pode acessar
                 .requestMatchers("/v1/entregadores/**").authenticated()
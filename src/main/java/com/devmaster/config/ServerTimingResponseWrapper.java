@@ -0,0 +1,81 @@
+package com.devmaster.config;
+
+import com.devmaster.util.RequestTiming;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Resposta que escreve o header {@code Server-Timing} antes do commit.
+ *
+ * O header é montado no primeiro acesso ao corpo ({@link #getOutputStream()}, {@link #getWriter()}),
+ * em {@code flushBuffer}, {@code sendError} e {@code sendRedirect}, e no fim do filtro para as
+ * respostas sem corpo escrito pela aplicação (304, sendfile do Tomcat). Assim ele também chega às
+ * respostas escritas diretamente no servlet (entrega de imagens, 401/403 pré-serializados), e não só
+ * às que passam pelos conversores do Spring MVC.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+final class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final RequestTiming timing;
+    private boolean written;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, RequestTiming timing) {
+        super(response);
+        this.timing = timing;
+    }
+
+    /**
+     * Escreve o header, se ainda não foi escrito e a resposta não foi enviada.
+     */
+    void writeServerTiming() {
+        if (written) {
+            return;
+        }
+        written = true;
+        if (!isCommitted()) {
+            setHeader(RequestTimingRecorder.SERVER_TIMING_HEADER, timing.toServerTiming());
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        writeServerTiming();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        writeServerTiming();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeServerTiming();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeServerTiming();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeServerTiming();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeServerTiming();
+        super.sendRedirect(location);
+    }
+}
@@ -0,0 +1,48 @@
+package com.devmaster.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Ajustes aplicados quando {@code spring.threads.virtual.enabled=true}.
+ *
+ * O Spring Boot já executa Tomcat, o {@code applicationTaskExecutor} (@Async) e o
+ * scheduler em virtual threads. Aqui tratamos o que muda com isso: sem o limite de
+ * 200 threads do Tomcat, o pool do Hikari passa a ser o gargalo e não deve segurar
+ * milhares de requisições esperando conexão pelo timeout padrão de 30s.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor hikariVirtualThreadsGuard(
+            @Value("${app.virtual-threads.db-connection-timeout:5s}") Duration dbConnectionTimeout
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getConnectionTimeout() > dbConnectionTimeout.toMillis()) {
+                    log.info("🧵 Virtual threads: connection-timeout do Hikari reduzido de {} ms para {} ms (pool: {})",
+                            dataSource.getConnectionTimeout(), dbConnectionTimeout.toMillis(),
+                            dataSource.getMaximumPoolSize());
+                    dataSource.setConnectionTimeout(dbConnectionTimeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+}
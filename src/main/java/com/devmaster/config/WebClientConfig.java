@@ -1,20 +1,68 @@
 package com.devmaster.config;
 
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.Function;
 
 /**
  * Configuração do WebClient para chamadas HTTP.
- * 
+ *
+ * Usa um pool de conexões próprio do Reactor Netty, com limites de conexões,
+ * de requisições aguardando conexão e de tempo de espera. As métricas do pool
+ * são publicadas no actuator com o prefixo {@code reactor.netty.connection.provider}.
+ *
  * @author DevMaster Team
  * @since 1.0.0
  */
+@Slf4j
 @Configuration
 public class WebClientConfig {
-    
+
+    private static final String POOL_NAME = "web-client";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider webClientConnectionProvider(
+            @Value("${http.webclient.max-connections:100}") int maxConnections,
+            @Value("${http.webclient.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${http.webclient.pending-acquire-timeout:1s}") Duration pendingAcquireTimeout,
+            @Value("${http.webclient.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${http.webclient.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${http.webclient.evict-interval:60s}") Duration evictInterval
+    ) {
+        log.info("Pool WebClient inicializado - Max: {}, Pendentes: {}, Acquire timeout: {}",
+                maxConnections, pendingAcquireMaxCount, pendingAcquireTimeout);
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(
+            ConnectionProvider webClientConnectionProvider,
+            @Value("${http.webclient.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${http.webclient.response-timeout:5s}") Duration responseTimeout
+    ) {
+        HttpClient httpClient = HttpClient.create(webClientConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .keepAlive(true)
+                .metrics(true, Function.identity());
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
     }
 }
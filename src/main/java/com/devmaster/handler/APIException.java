@@ -1,35 +1,83 @@
 package com.devmaster.handler;
 
 import lombok.Getter;
-import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.io.Serial;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Exceção de negócio/API convertida em resposta pelo {@link RestResponseEntityExceptionHandler}.
+ *
+ * Erros esperados (4xx: validação, 401, 404...) fazem parte do fluxo normal e são criados
+ * sem stack trace. Erros 5xx mantêm o stack trace. O log é feito uma única vez, pelo handler,
+ * quando a resposta é emitida.
+ */
 @Getter
-@Log4j2
 public class APIException extends RuntimeException {
+	private static final int MAX_CACHED_BODIES = 256;
+	private static final ConcurrentHashMap<String, ErrorApiResponse> BODIES_BY_MESSAGE = new ConcurrentHashMap<>();
+
 	private final HttpStatus statusException;
 	private final ErrorApiResponse bodyException;
 	
-	private APIException(HttpStatus statusException, String message, Exception e) {
-		super(message, e);
+	private APIException(HttpStatus statusException, String message, Exception e, boolean writableStackTrace) {
+		super(message, e, false, writableStackTrace);
 		this.statusException = statusException;
-		this.bodyException = ErrorApiResponse.builder()
+		this.bodyException = e == null ? bodyFor(message) : ErrorApiResponse.builder()
 				.message(message)
 				.description(getDescription(e))
 				.build();
 	}
 	
+	/**
+	 * Cria a exceção; sem stack trace para status 4xx.
+	 */
 	public static APIException build(HttpStatus statusException, String message) {
-		return new APIException(statusException, message, null);
+		return new APIException(statusException, message, null, !statusException.is4xxClientError());
 	}
 	
+	/**
+	 * Cria a exceção com a causa original; sem stack trace próprio para status 4xx
+	 * (o stack trace da causa é preservado).
+	 */
 	public static APIException build(HttpStatus statusException, String message, Exception e) {
-		log.error("Exception: ", e);
-		return new APIException(statusException, message, e);
+		return new APIException(statusException, message, e, !statusException.is4xxClientError());
+	}
+
+	/**
+	 * Cria uma exceção de erro esperado (sem stack trace), independentemente do status.
+	 */
+	public static APIException expected(HttpStatus statusException, String message) {
+		return new APIException(statusException, message, null, false);
+	}
+
+	/**
+	 * Indica se o erro faz parte do fluxo normal da aplicação (status 4xx).
+	 */
+	public boolean isExpected() {
+		return statusException.is4xxClientError();
+	}
+
+	/**
+	 * Corpo sem descrição, compartilhado entre exceções com a mesma mensagem ({@link ErrorApiResponse} é imutável).
+	 */
+	private static ErrorApiResponse bodyFor(String message) {
+		if (message == null) {
+			return ErrorApiResponse.builder().build();
+		}
+		ErrorApiResponse body = BODIES_BY_MESSAGE.get(message);
+		if (body != null) {
+			return body;
+		}
+		body = ErrorApiResponse.builder().message(message).build();
+		if (BODIES_BY_MESSAGE.size() < MAX_CACHED_BODIES) {
+			ErrorApiResponse existing = BODIES_BY_MESSAGE.putIfAbsent(message, body);
+			return existing != null ? existing : body;
+		}
+		return body;
 	}
 
 	private String getDescription(Exception e) {
@@ -1,6 +1,9 @@
 package com.devmaster.handler;
 
+import com.devmaster.util.RateLimitedLogger;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,47 +16,64 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.time.Duration;
 import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
 @Log4j2
+@RequiredArgsConstructor
 public class RestResponseEntityExceptionHandler {
+	// Falhas de autenticação/autorização chegam em rajadas: log limitado por janela
+	private static final RateLimitedLogger SECURITY_LOG = new RateLimitedLogger(
+			LoggerFactory.getLogger(RestResponseEntityExceptionHandler.class), 20, Duration.ofSeconds(10));
+
+	private final StaticErrorResponses staticErrorResponses;
+
 	@ExceptionHandler(APIException.class)
 	public ResponseEntity<ErrorApiResponse> handlerGenericException(APIException ex) {
+		// Único ponto de log das APIExceptions: erros esperados (4xx) sem stack trace
+		if (!ex.isExpected()) {
+			log.error("Exception: ", ex);
+		} else if (ex.getCause() != null) {
+			log.warn("{} - {}: {}", ex.getStatusException().value(), ex.getMessage(), ex.getCause().getMessage());
+		} else if (log.isDebugEnabled()) {
+			log.debug("{} - {}", ex.getStatusException().value(), ex.getMessage());
+		}
 		return ex.buildErrorResponseEntity();
 	}
 
 	// Handler genérico para exceções de autenticação do Spring Security
 	@ExceptionHandler(AuthenticationException.class)
-	public ResponseEntity<ErrorApiResponse> handleAuthenticationException(AuthenticationException ex) {
-		log.warn("Erro de autenticação: {}", ex.getMessage());
-		return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-				.body(ErrorApiResponse.builder()
-						.description("AUTHENTICATION_ERROR")
-						.message("Falha na autenticação: " + ex.getMessage())
-						.build());
+	public ResponseEntity<byte[]> handleAuthenticationException(AuthenticationException ex) {
+		SECURITY_LOG.warn("Erro de autenticação: {}", ex.getMessage());
+		return staticErrorResponses.unauthorized();
 	}
 
 	// Handler para exceções de acesso negado
 	@ExceptionHandler(AccessDeniedException.class)
-	public ResponseEntity<ErrorApiResponse> handleAccessDeniedException(AccessDeniedException ex) {
-		log.warn("Acesso negado: {}", ex.getMessage());
-		return ResponseEntity.status(HttpStatus.FORBIDDEN)
-				.body(ErrorApiResponse.builder()
-						.description("ACCESS_DENIED")
-						.message("Acesso negado: você não tem permissão para acessar este recurso")
-						.build());
+	public ResponseEntity<byte[]> handleAccessDeniedException(AccessDeniedException ex) {
+		SECURITY_LOG.warn("Acesso negado: {}", ex.getMessage());
+		return staticErrorResponses.forbidden();
+	}
+
+	// Rota inexistente: erro do cliente, sem stack trace (antes caía no handler genérico como 500)
+	@ExceptionHandler({NoResourceFoundException.class, NoHandlerFoundException.class})
+	public ResponseEntity<byte[]> handleNotFound(Exception ex) {
+		if (log.isDebugEnabled()) {
+			log.debug("404 - {}", ex.getMessage());
+		}
+		return staticErrorResponses.notFound();
 	}
 
 	@ExceptionHandler(Exception.class)
-	public ResponseEntity<ErrorApiResponse> handlerGenericException(Exception ex) {
+	public ResponseEntity<byte[]> handlerGenericException(Exception ex) {
 		log.error("Exception: ", ex);
-		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-				.body(ErrorApiResponse.builder().description("INTERNAL SERVER ERROR!")
-						.message("POR FAVOR INFORME AO ADMINISTRADOR DO SISTEMA!").build());
+		return staticErrorResponses.internalServerError();
 	}
 
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,99 @@
+package com.devmaster.handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Corpos de erro fixos (401, 403, 404 e 500), serializados uma única vez na inicialização.
+ *
+ * As respostas são escritas diretamente como bytes, sem criar exceções nem passar
+ * pelo {@link ObjectMapper} a cada requisição.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Component
+public class StaticErrorResponses {
+
+    private final byte[] unauthorized;
+    private final byte[] forbidden;
+    private final byte[] notFound;
+    private final byte[] internalServerError;
+
+    public StaticErrorResponses(ObjectMapper objectMapper) {
+        this.unauthorized = render(objectMapper, ErrorApiResponse.builder()
+                .message("Token inválido ou expirado. Faça login novamente.")
+                .build());
+        this.forbidden = render(objectMapper, ErrorApiResponse.builder()
+                .description("ACCESS_DENIED")
+                .message("Acesso negado: você não tem permissão para acessar este recurso")
+                .build());
+        this.notFound = render(objectMapper, ErrorApiResponse.builder()
+                .description("NOT_FOUND")
+                .message("Recurso não encontrado")
+                .build());
+        this.internalServerError = render(objectMapper, ErrorApiResponse.builder()
+                .description("INTERNAL SERVER ERROR!")
+                .message("POR FAVOR INFORME AO ADMINISTRADOR DO SISTEMA!")
+                .build());
+    }
+
+    /**
+     * Escreve a resposta 401 do entry point de autenticação e dos tokens recusados no filtro JWT.
+     */
+    public void writeUnauthorized(HttpServletResponse response) throws IOException {
+        write(response, HttpStatus.UNAUTHORIZED, unauthorized);
+    }
+
+    /**
+     * Escreve a resposta 403 de acesso negado.
+     */
+    public void writeForbidden(HttpServletResponse response) throws IOException {
+        write(response, HttpStatus.FORBIDDEN, forbidden);
+    }
+
+    public ResponseEntity<byte[]> unauthorized() {
+        return toResponseEntity(HttpStatus.UNAUTHORIZED, unauthorized);
+    }
+
+    public ResponseEntity<byte[]> forbidden() {
+        return toResponseEntity(HttpStatus.FORBIDDEN, forbidden);
+    }
+
+    public ResponseEntity<byte[]> notFound() {
+        return toResponseEntity(HttpStatus.NOT_FOUND, notFound);
+    }
+
+    public ResponseEntity<byte[]> internalServerError() {
+        return toResponseEntity(HttpStatus.INTERNAL_SERVER_ERROR, internalServerError);
+    }
+
+    private static void write(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static ResponseEntity<byte[]> toResponseEntity(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
+
+    private static byte[] render(ObjectMapper objectMapper, ErrorApiResponse body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar corpo de erro", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.devmaster.imagem;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Entrega binária de imagens ({@link VarianteImagem}) com as semânticas de cache do HTTP.
+ *
+ * <ul>
+ *     <li>{@code ETag} forte: a chave endereçada por conteúdo; {@code If-None-Match} responde 304 sem corpo.</li>
+ *     <li>{@code Cache-Control} de longa duração ({@code immutable}): o conteúdo de uma URL nunca muda.</li>
+ *     <li>{@code Range} com um intervalo (206), {@code If-Range} e 416 para intervalos fora do conteúdo.
+ *     Pedidos com vários intervalos recebem o conteúdo inteiro (200), como a RFC 9110 permite.</li>
+ *     <li>Corpo sem passar pelo heap: a partir de {@code sendfile-minimo} bytes, arquivos são entregues
+ *     pelo sendfile do Tomcat (o conector abre o arquivo depois que o controller retorna, por isso o
+ *     {@link VarianteCache} adia a remoção dos arquivos que saem do LRU); nos demais
+ *     casos (HTTPS, conteúdo em memória, arquivos pequenos) o conteúdo é escrito direto do array ou
+ *     com {@code FileChannel.transferTo}.</li>
+ * </ul>
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class EntregaImagem {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final String cacheControl;
+    private final long sendfileMinimo;
+
+    public EntregaImagem(
+            @Value("${app.imagem.entrega.cache-control:public, max-age=31536000, immutable}") String cacheControl,
+            @Value("${app.imagem.entrega.sendfile-minimo:48KB}") DataSize sendfileMinimo
+    ) {
+        this.cacheControl = cacheControl;
+        this.sendfileMinimo = sendfileMinimo.toBytes();
+    }
+
+    /**
+     * Escreve a resposta completa (status, cabeçalhos e corpo) para a imagem.
+     */
+    public void entregar(VarianteImagem conteudo, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String etag = "\"" + conteudo.chave() + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return; // 304 (ou 412 para If-Match), já com ETag
+        }
+
+        long tamanho = conteudo.tamanho();
+        long inicio = 0;
+        long quantidade = tamanho;
+        HttpRange intervalo = intervalo(request, etag);
+        if (intervalo != null) {
+            // getRangeStart/getRangeEnd não validam o início contra o tamanho
+            inicio = intervalo.getRangeStart(tamanho);
+            if (inicio < 0 || inicio >= tamanho) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                return;
+            }
+            quantidade = intervalo.getRangeEnd(tamanho) - inicio + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + inicio + "-" + (inicio + quantidade - 1) + "/" + tamanho);
+        }
+        response.setContentType(conteudo.tipo());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setContentLengthLong(quantidade);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || quantidade == 0) {
+            return;
+        }
+
+        if (!conteudo.emMemoria() && quantidade >= sendfileMinimo
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, conteudo.arquivo().toString());
+            request.setAttribute(SENDFILE_START, inicio);
+            request.setAttribute(SENDFILE_END, inicio + quantidade);
+            return;
+        }
+        conteudo.transferirPara(response.getOutputStream(), inicio, quantidade);
+    }
+
+    /**
+     * Intervalo pedido no {@code Range}, se houver exatamente um e o {@code If-Range} (quando
+     * presente) ainda corresponder ao conteúdo. Cabeçalhos inválidos são ignorados (resposta 200).
+     */
+    private static HttpRange intervalo(HttpServletRequest request, String etag) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null || !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null; // conteúdo diferente do que o cliente tem: envia inteiro
+        }
+        try {
+            List<HttpRange> intervalos = HttpRange.parseRanges(range);
+            return intervalos.size() == 1 ? intervalos.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Cabeçalho Range ignorado: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.devmaster.imagem;
+
+import com.devmaster.handler.APIException;
+import com.devmaster.util.ImagemProbe;
+import com.devmaster.util.ImagemRecebida;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gera as variantes configuradas em {@code app.imagem.variantes} (thumbnails, tamanhos para
+ * mobile) e as publica no {@link VarianteCache}.
+ *
+ * <ul>
+ *     <li>Pool limitado: {@code threads} workers (padrão: núcleos disponíveis) e uma fila de
+ *     {@code fila} tarefas. Redimensionar é CPU e memória; com a fila cheia a requisição falha na
+ *     hora com 503 em vez de acumular imagens decodificadas no heap (backpressure).</li>
+ *     <li>Variantes já geradas saem do cache sem passar pelo pool.</li>
+ *     <li>Pedidos concorrentes da mesma variante compartilham uma única geração.</li>
+ * </ul>
+ *
+ * As threads do pool são de plataforma mesmo com virtual threads habilitadas: o trabalho é
+ * CPU-bound e o limite de threads é justamente o que controla o uso de memória.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class GeradorVariantes {
+
+    public static final String METRIC_NAME = "app.imagem.variantes.geracao";
+
+    private final Map<String, ImagemVariante> variantes;
+    private final VarianteCache cache;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final long maxPixels;
+    private final ConcurrentHashMap<String, CompletableFuture<VarianteImagem>> emAndamento = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final Counter rejeitadas;
+
+    public GeradorVariantes(
+            VarianteCache cache,
+            MeterRegistry meterRegistry,
+            @Value("${app.imagem.variantes:thumb:64:jpeg:0.7,pequena:256:jpeg:0.8,media:1024:jpeg:0.85}") String variantes,
+            @Value("${app.imagem.redimensionamento.threads:0}") int threads,
+            @Value("${app.imagem.redimensionamento.fila:64}") int fila,
+            @Value("${app.imagem.redimensionamento.timeout:10s}") Duration timeout,
+            @Value("${app.imagem.redimensionamento.max-pixels:50000000}") long maxPixels
+    ) {
+        this.variantes = Collections.unmodifiableMap(ImagemVariante.parse(variantes));
+        this.cache = cache;
+        this.timeout = timeout;
+        this.maxPixels = maxPixels;
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fila)),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "imagem-variantes-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        for (ImagemVariante variante : this.variantes.values()) {
+            timers.put(variante.nome(), Timer.builder(METRIC_NAME)
+                    .description("Tempo de geração de uma variante (decodificação, redimensionamento e gravação)")
+                    .tag("variante", variante.nome())
+                    .register(meterRegistry));
+        }
+        this.rejeitadas = Counter.builder("app.imagem.variantes.rejeitadas")
+                .description("Gerações recusadas com a fila de redimensionamento cheia")
+                .register(meterRegistry);
+        Gauge.builder("app.imagem.variantes.fila", executor, pool -> pool.getQueue().size())
+                .description("Gerações aguardando um worker")
+                .register(meterRegistry);
+        Gauge.builder("app.imagem.variantes.ativas", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Gerações em execução")
+                .register(meterRegistry);
+        log.info("GeradorVariantes inicializado - Variantes: {}, Workers: {}, Fila: {}, Max pixels: {}",
+                this.variantes.keySet(), workers, fila, maxPixels);
+    }
+
+    /**
+     * @return nomes das variantes configuradas, na ordem da configuração
+     */
+    public Set<String> variantes() {
+        return variantes.keySet();
+    }
+
+    /**
+     * @throws APIException 404 se a variante não estiver configurada
+     */
+    public ImagemVariante variante(String nome) {
+        ImagemVariante variante = variantes.get(nome);
+        if (variante == null) {
+            throw APIException.build(HttpStatus.NOT_FOUND, "Variante de imagem não encontrada: " + nome);
+        }
+        return variante;
+    }
+
+    /**
+     * Busca uma variante já gerada, sem gerar.
+     *
+     * @param hashOrigem hash da imagem original ({@link #hash(ImagemRecebida)})
+     * @return a variante, ou {@code null} se ainda não foi gerada (ou foi removida do cache)
+     */
+    public VarianteImagem obter(String hashOrigem, String nomeVariante) {
+        return cache.obter(variante(nomeVariante).chave(hashOrigem));
+    }
+
+    /**
+     * Retorna a variante do cache ou a gera, aguardando até {@code timeout}.
+     *
+     * @throws APIException 503 se a fila estiver cheia ou a geração não terminar no prazo
+     */
+    public VarianteImagem gerar(ImagemRecebida origem, String nomeVariante) {
+        return aguardar(gerarAsync(origem, nomeVariante));
+    }
+
+    /**
+     * Gera todas as variantes configuradas, em paralelo no pool.
+     *
+     * @return variantes na ordem da configuração
+     */
+    public Map<String, VarianteImagem> gerarTodas(ImagemRecebida origem) {
+        String hash = hash(origem);
+        Map<String, CompletableFuture<VarianteImagem>> futuros = new LinkedHashMap<>();
+        for (ImagemVariante variante : variantes.values()) {
+            futuros.put(variante.nome(), gerarAsync(origem, hash, variante));
+        }
+        Map<String, VarianteImagem> geradas = new LinkedHashMap<>();
+        futuros.forEach((nome, futuro) -> geradas.put(nome, aguardar(futuro)));
+        return geradas;
+    }
+
+    /**
+     * Versão não bloqueante de {@link #gerar(ImagemRecebida, String)}. A origem precisa continuar
+     * aberta até o futuro completar.
+     */
+    public CompletableFuture<VarianteImagem> gerarAsync(ImagemRecebida origem, String nomeVariante) {
+        return gerarAsync(origem, hash(origem), variante(nomeVariante));
+    }
+
+    /**
+     * Retorna a variante do cache ou a gera a partir de uma origem já armazenada, cujo hash é conhecido
+     * (ex.: {@link ImagemArmazenamento}).
+     *
+     * @throws APIException 503 se a fila estiver cheia ou a geração não terminar no prazo
+     */
+    public VarianteImagem gerar(String hashOrigem, ImagemProbe.Fonte origem, String nomeVariante) {
+        return aguardar(gerarAsync(hashOrigem, origem, nomeVariante));
+    }
+
+    /**
+     * Versão não bloqueante de {@link #gerar(String, ImagemProbe.Fonte, String)}.
+     */
+    public CompletableFuture<VarianteImagem> gerarAsync(String hashOrigem, ImagemProbe.Fonte origem, String nomeVariante) {
+        return gerarAsync(origem, hashOrigem, variante(nomeVariante));
+    }
+
+    private CompletableFuture<VarianteImagem> gerarAsync(ImagemRecebida origem, String hash, ImagemVariante variante) {
+        return gerarAsync(origem::abrirStream, hash, variante);
+    }
+
+    private CompletableFuture<VarianteImagem> gerarAsync(ImagemProbe.Fonte origem, String hash, ImagemVariante variante) {
+        String chave = variante.chave(hash);
+        VarianteImagem existente = cache.obter(chave);
+        if (existente != null) {
+            return CompletableFuture.completedFuture(existente);
+        }
+
+        CompletableFuture<VarianteImagem> futuro = new CompletableFuture<>();
+        CompletableFuture<VarianteImagem> emCurso = emAndamento.putIfAbsent(chave, futuro);
+        if (emCurso != null) {
+            return emCurso.copy();
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    futuro.complete(executar(origem, variante, chave));
+                } catch (Throwable e) {
+                    futuro.completeExceptionally(e);
+                } finally {
+                    emAndamento.remove(chave, futuro);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            emAndamento.remove(chave, futuro);
+            rejeitadas.increment();
+            log.warn("Fila de redimensionamento cheia ({} tarefas): variante {} recusada",
+                    executor.getQueue().size(), variante.nome());
+            futuro.completeExceptionally(APIException.build(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Serviço de imagens sobrecarregado, tente novamente"));
+        }
+        return futuro.copy();
+    }
+
+    private VarianteImagem executar(ImagemProbe.Fonte origem, ImagemVariante variante, String chave) throws IOException {
+        // Outra instância do mesmo pedido pode ter terminado entre a consulta e a execução
+        VarianteImagem existente = cache.obter(chave);
+        if (existente != null) {
+            return existente;
+        }
+        Timer.Sample amostra = Timer.start();
+        Saida saida = new Saida();
+        try (InputStream conteudo = origem.abrir()) {
+            ImagemRedimensionador.redimensionar(conteudo, variante, maxPixels, saida);
+        } catch (APIException e) {
+            throw e;
+        } catch (IOException e) {
+            throw APIException.build(HttpStatus.BAD_REQUEST, "Não foi possível ler a imagem", e);
+        }
+        VarianteImagem gerada = cache.armazenar(chave, variante.tipo(), variante.extensao(), saida.buffer());
+        long nanos = amostra.stop(timers.get(variante.nome()));
+        log.debug("Variante {} gerada: {} bytes em {} ms", chave, gerada.tamanho(), nanos / 1_000_000);
+        return gerada;
+    }
+
+    private VarianteImagem aguardar(CompletableFuture<VarianteImagem> futuro) {
+        try {
+            return futuro.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw APIException.build(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao gerar variante da imagem", e);
+        } catch (TimeoutException e) {
+            log.warn("Tempo esgotado aguardando geração de variante ({} ms)", timeout.toMillis());
+            throw APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Tempo esgotado ao gerar variante da imagem");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Geração de variante interrompida");
+        }
+    }
+
+    /**
+     * SHA-256 (hex) do conteúdo da imagem: identifica a origem no cache endereçado por conteúdo.
+     * Calculado sobre o {@link ImagemRecebida#conteudo()}, sem copiar a imagem para o heap.
+     */
+    public static String hash(ImagemRecebida origem) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(origem.conteudo());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw APIException.build(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar imagem", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Expõe o buffer interno sem a cópia do {@code toByteArray()}.
+     */
+    private static final class Saida extends ByteArrayOutputStream {
+
+        Saida() {
+            super(32 * 1024);
+        }
+
+        ByteBuffer buffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.devmaster.imagem;
+
+import com.devmaster.util.ImagemProbe;
+import com.devmaster.util.ImagemRecebida;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Armazenamento das imagens originais, endereçado por conteúdo: o identificador de cada imagem é o
+ * SHA-256 dos seus bytes ({@link GeradorVariantes#hash(ImagemRecebida)}).
+ *
+ * O mesmo upload enviado duas vezes ocupa um único arquivo, e o conteúdo de um identificador nunca
+ * muda, o que permite servi-lo com ETag forte e {@code Cache-Control: immutable}. Ao contrário do
+ * {@link VarianteCache}, nada é removido daqui: as originais são a fonte das variantes.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ImagemArmazenamento {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final List<String> TIPOS = List.of(ImagemProbe.JPEG, ImagemProbe.PNG, ImagemProbe.GIF, ImagemProbe.WEBP);
+
+    private final Path diretorio;
+    // hash -> original já localizada em disco, para não testar as extensões a cada requisição
+    private final Cache<String, VarianteImagem> localizadas = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    public ImagemArmazenamento(
+            @Value("${app.imagem.armazenamento.diretorio:${java.io.tmpdir}/devmaster-imagens}") Path diretorio
+    ) throws IOException {
+        this.diretorio = diretorio.toAbsolutePath();
+        Files.createDirectories(this.diretorio);
+        log.info("ImagemArmazenamento inicializado - Diretório: {}", this.diretorio);
+    }
+
+    /**
+     * Grava a imagem, se ainda não estiver armazenada.
+     *
+     * @return a original armazenada ({@link VarianteImagem#chave()} é o hash do conteúdo)
+     */
+    public VarianteImagem armazenar(ImagemRecebida imagem) throws IOException {
+        String hash = GeradorVariantes.hash(imagem);
+        VarianteImagem existente = obter(hash);
+        if (existente != null) {
+            return existente;
+        }
+        Path arquivo = caminho(hash, imagem.tipo());
+        Files.createDirectories(arquivo.getParent());
+        Path temporario = Files.createTempFile(arquivo.getParent(), hash, ".tmp");
+        try {
+            imagem.salvarEm(temporario);
+            try {
+                Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+        VarianteImagem original = new VarianteImagem(hash, imagem.tipo(), imagem.tamanho(), null, arquivo);
+        localizadas.put(hash, original);
+        log.debug("Imagem {} armazenada ({} bytes)", hash, imagem.tamanho());
+        return original;
+    }
+
+    /**
+     * @return a original, ou {@code null} se o identificador não for um hash válido ou não existir
+     */
+    public VarianteImagem obter(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return null;
+        }
+        VarianteImagem original = localizadas.getIfPresent(hash);
+        if (original != null) {
+            return original;
+        }
+        for (String tipo : TIPOS) {
+            Path arquivo = caminho(hash, tipo);
+            try {
+                original = new VarianteImagem(hash, tipo, Files.size(arquivo), null, arquivo);
+                localizadas.put(hash, original);
+                return original;
+            } catch (IOException e) {
+                // não existe com esta extensão
+            }
+        }
+        return null;
+    }
+
+    private Path caminho(String hash, String tipo) {
+        String extensao = switch (tipo) {
+            case ImagemProbe.JPEG -> "jpg";
+            case ImagemProbe.PNG -> "png";
+            case ImagemProbe.GIF -> "gif";
+            default -> "webp";
+        };
+        return diretorio.resolve(hash.substring(0, 2)).resolve(hash + "." + extensao);
+    }
+}
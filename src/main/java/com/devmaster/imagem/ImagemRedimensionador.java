@@ -0,0 +1,239 @@
+package com.devmaster.imagem;
+
+import com.devmaster.handler.APIException;
+import com.devmaster.util.ImagemUtil.DimensoesImagem;
+import org.springframework.http.HttpStatus;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Redimensionamento com o ImageIO do JDK.
+ *
+ * <ul>
+ *     <li>A leitura usa subamostragem do decoder ({@link ImageReadParam#setSourceSubsampling}),
+ *     mantendo pelo menos 4× o tamanho final: um thumbnail de uma foto de 12 MP não aloca o
+ *     raster da foto inteira.</li>
+ *     <li>As reduções pela metade são uma média 2×2 direto sobre o array do raster decodificado
+ *     ({@code int} RGB/ARGB ou bytes BGR/ABGR, como o decoder JPEG entrega), sem a conversão de
+ *     formato por pixel do {@code drawImage}.</li>
+ *     <li>A última etapa (fator menor que 2) usa interpolação bilinear.</li>
+ * </ul>
+ *
+ * Reduzir em etapas de 50% evita o serrilhado de uma única redução grande com bilinear.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public final class ImagemRedimensionador {
+
+    private ImagemRedimensionador() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gera a variante e a escreve no stream de destino.
+     *
+     * @param origem    conteúdo da imagem original (JPEG, PNG ou GIF)
+     * @param maxPixels limite de largura × altura da origem, contra imagens que explodem na decodificação
+     * @return dimensões da imagem gerada
+     */
+    public static DimensoesImagem redimensionar(InputStream origem, ImagemVariante variante, long maxPixels,
+                                                OutputStream destino) throws IOException {
+        BufferedImage imagem;
+        try (ImageInputStream entrada = new MemoryCacheImageInputStream(origem)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(entrada);
+            if (!readers.hasNext()) {
+                throw APIException.build(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                        "Formato de imagem sem suporte para redimensionamento");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(entrada, true, true);
+                int largura = reader.getWidth(0);
+                int altura = reader.getHeight(0);
+                if ((long) largura * altura > maxPixels) {
+                    throw APIException.build(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Imagem grande demais para redimensionar: " + largura + "x" + altura);
+                }
+                DimensoesImagem alvo = dimensoesAlvo(largura, altura, variante.ladoMaximo());
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subamostragem = Math.max(1, Math.min(largura / (4 * alvo.largura()), altura / (4 * alvo.altura())));
+                if (subamostragem > 1) {
+                    param.setSourceSubsampling(subamostragem, subamostragem, 0, 0);
+                }
+                imagem = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        DimensoesImagem alvo = dimensoesAlvo(imagem.getWidth(), imagem.getHeight(), variante.ladoMaximo());
+        boolean transparente = ImagemVariante.PNG.equals(variante.formato()) && imagem.getColorModel().hasAlpha();
+        BufferedImage reduzida = reduzir(imagem, alvo, transparente);
+        escrever(reduzida, variante, destino);
+        return new DimensoesImagem(reduzida.getWidth(), reduzida.getHeight());
+    }
+
+    /**
+     * Dimensões que cabem em um quadrado de {@code ladoMaximo}, preservando a proporção.
+     * Imagens menores que o lado máximo não são ampliadas.
+     */
+    static DimensoesImagem dimensoesAlvo(int largura, int altura, int ladoMaximo) {
+        if (largura <= ladoMaximo && altura <= ladoMaximo) {
+            return new DimensoesImagem(largura, altura);
+        }
+        double escala = (double) ladoMaximo / Math.max(largura, altura);
+        return new DimensoesImagem(
+                Math.max(1, (int) Math.round(largura * escala)),
+                Math.max(1, (int) Math.round(altura * escala)));
+    }
+
+    private static BufferedImage reduzir(BufferedImage imagem, DimensoesImagem alvo, boolean transparente) {
+        int tipo = transparente ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage atual = imagem;
+        while (atual.getWidth() / 2 >= alvo.largura() && atual.getHeight() / 2 >= alvo.altura()) {
+            BufferedImage reduzida = metade(atual);
+            atual = reduzida != null
+                    ? reduzida
+                    : desenhar(atual, atual.getWidth() / 2, atual.getHeight() / 2, tipo, transparente);
+        }
+        if (atual.getWidth() != alvo.largura() || atual.getHeight() != alvo.altura() || atual.getType() != tipo) {
+            atual = desenhar(atual, alvo.largura(), alvo.altura(), tipo, transparente);
+        }
+        return atual;
+    }
+
+    /**
+     * Reduz pela metade com a média de cada bloco 2×2, canal a canal.
+     *
+     * @return a imagem reduzida, ou {@code null} se o raster não for de um dos tipos compactos
+     * tratados aqui (o chamador usa {@code drawImage})
+     */
+    private static BufferedImage metade(BufferedImage origem) {
+        if (origem.getRaster().getSampleModelTranslateX() != 0 || origem.getRaster().getSampleModelTranslateY() != 0) {
+            return null;
+        }
+        return switch (origem.getType()) {
+            case BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB -> metadeInt(origem);
+            case BufferedImage.TYPE_3BYTE_BGR -> metadeBytes(origem, 3);
+            case BufferedImage.TYPE_4BYTE_ABGR -> metadeBytes(origem, 4);
+            default -> null;
+        };
+    }
+
+    /**
+     * Pixels empacotados em {@code int}: dois canais por operação, em campos de 16 bits que não
+     * transbordam para o vizinho.
+     */
+    private static BufferedImage metadeInt(BufferedImage origem) {
+        if (!(origem.getSampleModel() instanceof SinglePixelPackedSampleModel modelo)
+                || modelo.getScanlineStride() != origem.getWidth()) {
+            return null;
+        }
+        int larguraOrigem = origem.getWidth();
+        int largura = larguraOrigem / 2;
+        int altura = origem.getHeight() / 2;
+        BufferedImage destino = new BufferedImage(largura, altura, origem.getType());
+        int[] de = ((DataBufferInt) origem.getRaster().getDataBuffer()).getData();
+        int[] para = ((DataBufferInt) destino.getRaster().getDataBuffer()).getData();
+        int saida = 0;
+        for (int y = 0; y < altura; y++) {
+            int linha0 = 2 * y * larguraOrigem;
+            int linha1 = linha0 + larguraOrigem;
+            for (int x = 0; x < largura; x++) {
+                int a = de[linha0 + 2 * x];
+                int b = de[linha0 + 2 * x + 1];
+                int c = de[linha1 + 2 * x];
+                int d = de[linha1 + 2 * x + 1];
+                int rb = ((a & 0xFF00FF) + (b & 0xFF00FF) + (c & 0xFF00FF) + (d & 0xFF00FF) + 0x20002) >>> 2;
+                int ag = ((a >>> 8 & 0xFF00FF) + (b >>> 8 & 0xFF00FF) + (c >>> 8 & 0xFF00FF) + (d >>> 8 & 0xFF00FF)
+                        + 0x20002) >>> 2;
+                para[saida++] = (rb & 0xFF00FF) | (ag & 0xFF00FF) << 8;
+            }
+        }
+        return destino;
+    }
+
+    /**
+     * Pixels intercalados em bytes (BGR, ABGR): a ordem dos canais não importa para a média.
+     */
+    private static BufferedImage metadeBytes(BufferedImage origem, int canais) {
+        if (!(origem.getSampleModel() instanceof PixelInterleavedSampleModel modelo)
+                || modelo.getPixelStride() != canais
+                || modelo.getScanlineStride() != origem.getWidth() * canais) {
+            return null;
+        }
+        int linhaOrigem = origem.getWidth() * canais;
+        int largura = origem.getWidth() / 2;
+        int altura = origem.getHeight() / 2;
+        BufferedImage destino = new BufferedImage(largura, altura, origem.getType());
+        byte[] de = ((DataBufferByte) origem.getRaster().getDataBuffer()).getData();
+        byte[] para = ((DataBufferByte) destino.getRaster().getDataBuffer()).getData();
+        int bytesLinha = largura * canais;
+        int saida = 0;
+        for (int y = 0; y < altura; y++) {
+            int linha0 = 2 * y * linhaOrigem;
+            int linha1 = linha0 + linhaOrigem;
+            for (int x = 0; x < bytesLinha; x++) {
+                // byte x da saída = canal (x % canais) do pixel x / canais: na origem, pixels 2p e 2p + 1
+                int i = x + (x / canais) * canais;
+                para[saida++] = (byte) (((de[linha0 + i] & 0xFF) + (de[linha0 + i + canais] & 0xFF)
+                        + (de[linha1 + i] & 0xFF) + (de[linha1 + i + canais] & 0xFF) + 2) >>> 2);
+            }
+        }
+        return destino;
+    }
+
+    private static BufferedImage desenhar(BufferedImage origem, int largura, int altura, int tipo, boolean transparente) {
+        BufferedImage destino = new BufferedImage(largura, altura, tipo);
+        Graphics2D g = destino.createGraphics();
+        try {
+            if (!transparente) {
+                // JPEG não tem canal alfa: áreas transparentes da origem ficam brancas, não pretas
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, largura, altura);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origem, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private static void escrever(BufferedImage imagem, ImagemVariante variante, OutputStream destino) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(variante.formato()).next();
+        try (MemoryCacheImageOutputStream saida = new MemoryCacheImageOutputStream(destino)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (ImagemVariante.JPEG.equals(variante.formato())) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(variante.qualidade());
+            }
+            writer.setOutput(saida);
+            writer.write(null, new IIOImage(imagem, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
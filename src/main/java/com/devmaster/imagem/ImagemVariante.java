@@ -0,0 +1,88 @@
+package com.devmaster.imagem;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Variante derivada de uma imagem: lado máximo, formato e qualidade de saída.
+ *
+ * Configurada em {@code app.imagem.variantes} no formato {@code nome:lado:formato:qualidade},
+ * separadas por vírgula (ex.: {@code thumb:64:jpeg:0.7,media:1024:jpeg:0.85}).
+ *
+ * @param nome       identificador usado na API (ex.: {@code thumb})
+ * @param ladoMaximo maior lado da imagem gerada, em pixels; a proporção é preservada
+ * @param formato    {@code jpeg} ou {@code png}
+ * @param qualidade  qualidade da compressão JPEG, de 0 a 1 (ignorada no PNG)
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public record ImagemVariante(String nome, int ladoMaximo, String formato, float qualidade) {
+
+    public static final String JPEG = "jpeg";
+    public static final String PNG = "png";
+
+    public ImagemVariante {
+        if (nome == null || !nome.matches("[a-z0-9_-]+")) {
+            throw new IllegalArgumentException("Nome de variante inválido: " + nome);
+        }
+        if (ladoMaximo < 1 || ladoMaximo > 8192) {
+            throw new IllegalArgumentException("Lado máximo da variante " + nome + " fora do intervalo 1-8192: " + ladoMaximo);
+        }
+        formato = formato.toLowerCase(Locale.ROOT);
+        if ("jpg".equals(formato)) {
+            formato = JPEG;
+        }
+        if ("webp".equals(formato)) {
+            // O ImageIO do JDK não tem encoder WebP
+            throw new IllegalArgumentException("Variante " + nome + ": saída WebP não suportada, use jpeg ou png");
+        }
+        if (!JPEG.equals(formato) && !PNG.equals(formato)) {
+            throw new IllegalArgumentException("Variante " + nome + ": formato não suportado: " + formato);
+        }
+        if (qualidade <= 0 || qualidade > 1) {
+            throw new IllegalArgumentException("Variante " + nome + ": qualidade fora do intervalo (0, 1]: " + qualidade);
+        }
+    }
+
+    /**
+     * Lê a lista de variantes da configuração, preservando a ordem.
+     */
+    public static Map<String, ImagemVariante> parse(String configuracao) {
+        Map<String, ImagemVariante> variantes = new LinkedHashMap<>();
+        for (String item : configuracao.split(",")) {
+            String[] partes = item.trim().split(":");
+            if (partes.length < 2 || partes.length > 4) {
+                throw new IllegalArgumentException("Variante inválida (esperado nome:lado:formato:qualidade): " + item);
+            }
+            ImagemVariante variante = new ImagemVariante(
+                    partes[0],
+                    Integer.parseInt(partes[1]),
+                    partes.length > 2 ? partes[2] : JPEG,
+                    partes.length > 3 ? Float.parseFloat(partes[3]) : 0.85f);
+            if (variantes.putIfAbsent(variante.nome(), variante) != null) {
+                throw new IllegalArgumentException("Variante duplicada: " + variante.nome());
+            }
+        }
+        return variantes;
+    }
+
+    /**
+     * @return tipo MIME da saída
+     */
+    public String tipo() {
+        return "image/" + formato;
+    }
+
+    public String extensao() {
+        return JPEG.equals(formato) ? "jpg" : PNG;
+    }
+
+    /**
+     * Chave do conteúdo gerado: hash da origem + parâmetros da variante. Alterar o tamanho ou a
+     * qualidade na configuração gera uma nova chave em vez de servir o conteúdo antigo.
+     */
+    public String chave(String hashOrigem) {
+        return hashOrigem + "-" + nome + "-" + ladoMaximo + "-" + formato + "-" + Math.round(qualidade * 100);
+    }
+}
@@ -0,0 +1,353 @@
+package com.devmaster.imagem;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cache endereçado por conteúdo das variantes geradas: a chave é o hash da imagem de origem +
+ * os parâmetros da variante ({@link ImagemVariante#chave(String)}).
+ *
+ * <ul>
+ *     <li>Disco: toda variante é gravada em {@code app.imagem.cache.diretorio}, com remoção LRU
+ *     quando o total passa de {@code max-disco}. O índice é reconstruído no início a partir dos
+ *     arquivos existentes (mais antigos primeiro), então o cache sobrevive a reinícios.</li>
+ *     <li>Remoção adiada: o arquivo de uma variante removida do índice só é apagado depois de
+ *     {@code atraso-remocao}. A {@link EntregaImagem} pode ter passado o caminho ao sendfile do
+ *     Tomcat, que só abre o arquivo depois que o controller retorna; gravar a mesma chave de novo
+ *     nesse intervalo cancela a remoção.</li>
+ *     <li>Memória: variantes de até {@code max-item-memoria} também ficam em um Caffeine limitado
+ *     por {@code max-memoria} bytes, para servir thumbnails sem abrir arquivo.</li>
+ * </ul>
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class VarianteCache {
+
+    private static final String SUFIXO_TEMPORARIO = ".tmp";
+
+    private final Path diretorio;
+    private final long maxDisco;
+    private final long maxItemMemoria;
+    private final Cache<String, VarianteImagem> memoria;
+    private final IndiceLru disco = new IndiceLru();
+    private final Duration atrasoRemocao;
+    private final Map<String, Remocao> remocoesPendentes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService removedor;
+    private final Counter acertosDisco;
+    private final Counter faltas;
+    private final Counter removidasDisco;
+
+    public VarianteCache(
+            @Value("${app.imagem.cache.diretorio:${java.io.tmpdir}/devmaster-variantes}") Path diretorio,
+            @Value("${app.imagem.cache.max-disco:512MB}") DataSize maxDisco,
+            @Value("${app.imagem.cache.max-memoria:32MB}") DataSize maxMemoria,
+            @Value("${app.imagem.cache.max-item-memoria:256KB}") DataSize maxItemMemoria,
+            @Value("${app.imagem.cache.atraso-remocao:30s}") Duration atrasoRemocao,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        this.diretorio = diretorio.toAbsolutePath();
+        this.atrasoRemocao = atrasoRemocao;
+        this.removedor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "imagem-variantes-remocao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxDisco = maxDisco.toBytes();
+        this.maxItemMemoria = Math.min(maxItemMemoria.toBytes(), maxMemoria.toBytes());
+        this.memoria = Caffeine.newBuilder()
+                .maximumWeight(maxMemoria.toBytes())
+                .<String, VarianteImagem>weigher((chave, variante) -> (int) variante.tamanho())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memoria, "imagem.variantes.memoria");
+        this.acertosDisco = Counter.builder("app.imagem.variantes.disco.acessos")
+                .description("Variantes servidas a partir do cache em disco")
+                .tag("resultado", "acerto")
+                .register(meterRegistry);
+        this.faltas = Counter.builder("app.imagem.variantes.disco.acessos")
+                .description("Variantes servidas a partir do cache em disco")
+                .tag("resultado", "falta")
+                .register(meterRegistry);
+        this.removidasDisco = Counter.builder("app.imagem.variantes.disco.removidas")
+                .description("Variantes removidas do disco pelo limite de tamanho (LRU)")
+                .register(meterRegistry);
+        Gauge.builder("app.imagem.variantes.disco.bytes", disco, IndiceLru::bytes)
+                .description("Bytes ocupados pelas variantes em disco")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("app.imagem.variantes.disco.itens", disco, IndiceLru::tamanho)
+                .description("Variantes em disco")
+                .register(meterRegistry);
+
+        Files.createDirectories(this.diretorio);
+        carregarIndice();
+        log.info("VarianteCache inicializado - Diretório: {}, Variantes: {}, Disco: {}/{} bytes, Memória: {}",
+                this.diretorio, disco.tamanho(), disco.bytes(), this.maxDisco, maxMemoria);
+    }
+
+    /**
+     * Busca uma variante já gerada.
+     *
+     * @return a variante, ou {@code null} se ela ainda não existir no cache
+     */
+    public VarianteImagem obter(String chave) {
+        VarianteImagem variante = memoria.getIfPresent(chave);
+        if (variante != null) {
+            disco.tocar(chave);
+            return variante;
+        }
+        variante = disco.obter(chave);
+        if (variante == null) {
+            faltas.increment();
+            return null;
+        }
+        acertosDisco.increment();
+        return promover(variante);
+    }
+
+    /**
+     * Grava o conteúdo gerado (arquivo temporário + move atômico, para que leitores nunca vejam
+     * um arquivo parcial) e o registra nos dois níveis.
+     */
+    public VarianteImagem armazenar(String chave, String tipo, String extensao, ByteBuffer conteudo) throws IOException {
+        Path arquivo = caminho(chave, extensao);
+        Files.createDirectories(arquivo.getParent());
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + "." + Thread.currentThread().threadId() + SUFIXO_TEMPORARIO);
+        long tamanho = conteudo.remaining();
+        // Espera uma remoção adiada em andamento e impede que ela apague o arquivo novo
+        remocoesPendentes.remove(chave);
+        byte[] emMemoria = tamanho <= maxItemMemoria ? new byte[(int) tamanho] : null;
+        if (emMemoria != null) {
+            conteudo.duplicate().get(emMemoria);
+        }
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (conteudo.hasRemaining()) {
+                canal.write(conteudo);
+            }
+        }
+        mover(temporario, arquivo);
+
+        VarianteImagem variante = new VarianteImagem(chave, tipo, tamanho, emMemoria, arquivo);
+        remover(disco.adicionar(chave, variante.semMemoria(), maxDisco));
+        if (emMemoria != null) {
+            memoria.put(chave, variante);
+        }
+        return variante;
+    }
+
+    /**
+     * Remove todas as variantes (memória e disco).
+     */
+    public void limpar() {
+        memoria.invalidateAll();
+        remover(disco.esvaziar());
+    }
+
+    public long bytesEmDisco() {
+        return disco.bytes();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Remoções pendentes ficam no disco e voltam ao índice (e ao limite LRU) no próximo início
+        removedor.shutdownNow();
+    }
+
+    private VarianteImagem promover(VarianteImagem variante) {
+        if (variante.tamanho() > maxItemMemoria) {
+            return variante;
+        }
+        try {
+            byte[] conteudo = Files.readAllBytes(variante.arquivo());
+            if (conteudo.length != variante.tamanho()) {
+                return variante;
+            }
+            VarianteImagem emMemoria = variante.comMemoria(conteudo);
+            memoria.put(variante.chave(), emMemoria);
+            return emMemoria;
+        } catch (IOException e) {
+            // Removido por outra thread entre a consulta e a leitura: segue servindo do disco
+            log.debug("Não foi possível carregar a variante {} em memória: {}", variante.chave(), e.getMessage());
+            return variante;
+        }
+    }
+
+    private Path caminho(String chave, String extensao) {
+        // Dois primeiros caracteres do hash como subdiretório, para não concentrar tudo em uma pasta
+        return diretorio.resolve(chave.substring(0, 2)).resolve(chave + "." + extensao);
+    }
+
+    private static void mover(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Tira as variantes da memória e agenda a remoção dos arquivos para depois de
+     * {@link #atrasoRemocao}, dando tempo a entregas que já receberam o caminho.
+     */
+    private void remover(List<VarianteImagem> removidas) {
+        for (VarianteImagem variante : removidas) {
+            memoria.invalidate(variante.chave());
+            Remocao remocao = new Remocao(variante.arquivo());
+            remocoesPendentes.put(variante.chave(), remocao);
+            if (atrasoRemocao.isZero()) {
+                apagar(variante.chave(), remocao);
+            } else {
+                removedor.schedule(() -> apagar(variante.chave(), remocao), atrasoRemocao.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void apagar(String chave, Remocao remocao) {
+        // Dentro do compute: um armazenar() da mesma chave espera a remoção terminar
+        remocoesPendentes.computeIfPresent(chave, (k, pendente) -> {
+            if (pendente != remocao) {
+                return pendente; // cancelada ou substituída por uma remoção mais recente
+            }
+            apagarArquivo(remocao.arquivo());
+            return null;
+        });
+    }
+
+    private void apagarArquivo(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+            removidasDisco.increment();
+        } catch (IOException e) {
+            log.warn("Não foi possível remover a variante {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private void carregarIndice() throws IOException {
+        record Existente(Path arquivo, BasicFileAttributes atributos) {
+        }
+        List<Existente> existentes = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.find(diretorio, 2, (arquivo, atributos) -> atributos.isRegularFile())) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                if (arquivo.getFileName().toString().endsWith(SUFIXO_TEMPORARIO)) {
+                    Files.deleteIfExists(arquivo); // gravação interrompida
+                } else {
+                    existentes.add(new Existente(arquivo, Files.readAttributes(arquivo, BasicFileAttributes.class)));
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        existentes.sort(Comparator.comparing(existente -> existente.atributos().lastModifiedTime()));
+        for (Existente existente : existentes) {
+            String nome = existente.arquivo().getFileName().toString();
+            int ponto = nome.lastIndexOf('.');
+            if (ponto <= 2) {
+                continue;
+            }
+            String extensao = nome.substring(ponto + 1);
+            String tipo = "jpg".equals(extensao) ? "image/jpeg" : "image/" + extensao;
+            String chave = nome.substring(0, ponto);
+            // Ainda não há entregas em andamento: apaga sem esperar
+            disco.adicionar(chave, new VarianteImagem(chave, tipo, existente.atributos().size(), null, existente.arquivo()),
+                    maxDisco).forEach(removida -> apagarArquivo(removida.arquivo()));
+        }
+    }
+
+    /**
+     * Remoção agendada; comparada por identidade para que só a mais recente de uma chave apague o arquivo.
+     */
+    private record Remocao(Path arquivo) {
+    }
+
+    /**
+     * Índice LRU das variantes em disco, limitado pela soma dos tamanhos. A variante recém
+     * adicionada nunca é removida na mesma operação, mesmo que sozinha passe do limite.
+     */
+    private static final class IndiceLru {
+
+        private final LinkedHashMap<String, VarianteImagem> entradas = new LinkedHashMap<>(256, 0.75f, true);
+        private long bytes;
+
+        synchronized VarianteImagem obter(String chave) {
+            return entradas.get(chave);
+        }
+
+        synchronized void tocar(String chave) {
+            entradas.get(chave);
+        }
+
+        /**
+         * @return as variantes removidas para respeitar o limite (arquivos ainda a apagar)
+         */
+        synchronized List<VarianteImagem> adicionar(String chave, VarianteImagem variante, long limite) {
+            VarianteImagem anterior = entradas.put(chave, variante);
+            bytes += variante.tamanho() - (anterior == null ? 0 : anterior.tamanho());
+            List<VarianteImagem> removidas = List.of();
+            Iterator<Map.Entry<String, VarianteImagem>> maisAntigas = entradas.entrySet().iterator();
+            while (bytes > limite && maisAntigas.hasNext()) {
+                Map.Entry<String, VarianteImagem> entrada = maisAntigas.next();
+                if (entrada.getKey().equals(chave)) {
+                    break;
+                }
+                if (removidas.isEmpty()) {
+                    removidas = new ArrayList<>();
+                }
+                removidas.add(entrada.getValue());
+                bytes -= entrada.getValue().tamanho();
+                maisAntigas.remove();
+            }
+            return removidas;
+        }
+
+        synchronized List<VarianteImagem> esvaziar() {
+            List<VarianteImagem> todas = new ArrayList<>(entradas.values());
+            entradas.clear();
+            bytes = 0;
+            return todas;
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        synchronized int tamanho() {
+            return entradas.size();
+        }
+    }
+}
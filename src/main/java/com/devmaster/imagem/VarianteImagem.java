@@ -0,0 +1,151 @@
+package com.devmaster.imagem;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Conteúdo de imagem pronto para ser servido: uma variante do {@link VarianteCache} ou uma original
+ * do {@link ImagemArmazenamento}.
+ *
+ * Todo conteúdo tem um arquivo em disco; as variantes pequenas também ficam em memória. Em nenhum
+ * dos casos o conteúdo é copiado para ser servido: da memória sai o próprio array (somente
+ * leitura) e do disco o arquivo é transferido com {@link FileChannel#transferTo}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public final class VarianteImagem {
+
+    private final String chave;
+    private final String tipo;
+    private final long tamanho;
+    private final byte[] memoria;
+    private final Path arquivo;
+
+    VarianteImagem(String chave, String tipo, long tamanho, byte[] memoria, Path arquivo) {
+        this.chave = chave;
+        this.tipo = tipo;
+        this.tamanho = tamanho;
+        this.memoria = memoria;
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * @return chave do conteúdo, estável entre reinícios: hash da original ou, nas variantes, hash da
+     * origem + parâmetros da variante
+     */
+    public String chave() {
+        return chave;
+    }
+
+    /**
+     * @return tipo MIME (ex.: {@code image/jpeg})
+     */
+    public String tipo() {
+        return tipo;
+    }
+
+    public long tamanho() {
+        return tamanho;
+    }
+
+    public boolean emMemoria() {
+        return memoria != null;
+    }
+
+    public Path arquivo() {
+        return arquivo;
+    }
+
+    VarianteImagem semMemoria() {
+        return memoria == null ? this : new VarianteImagem(chave, tipo, tamanho, null, arquivo);
+    }
+
+    VarianteImagem comMemoria(byte[] conteudo) {
+        return new VarianteImagem(chave, tipo, tamanho, conteudo, arquivo);
+    }
+
+    public InputStream abrirStream() throws IOException {
+        return memoria != null ? new ByteArrayInputStream(memoria) : Files.newInputStream(arquivo);
+    }
+
+    /**
+     * Conteúdo como {@link ByteBuffer} somente leitura, sem cópia: o array em memória ou o arquivo
+     * mapeado em memória.
+     */
+    public ByteBuffer conteudo() throws IOException {
+        if (memoria != null) {
+            return ByteBuffer.wrap(memoria).asReadOnlyBuffer();
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        }
+    }
+
+    /**
+     * Transfere o conteúdo inteiro para o canal.
+     *
+     * @return bytes transferidos
+     */
+    public long transferirPara(WritableByteChannel destino) throws IOException {
+        return transferirPara(destino, 0, tamanho);
+    }
+
+    /**
+     * Escreve um trecho do conteúdo no stream: da memória, direto do array; do disco, com
+     * {@link FileChannel#transferTo} para o canal do stream.
+     *
+     * @return bytes escritos
+     */
+    public long transferirPara(OutputStream destino, long posicao, long quantidade) throws IOException {
+        if (memoria != null) {
+            if (posicao < 0 || quantidade < 0 || posicao + quantidade > tamanho) {
+                throw new IndexOutOfBoundsException("Trecho fora do conteúdo: " + posicao + "+" + quantidade + " de " + tamanho);
+            }
+            destino.write(memoria, (int) posicao, (int) quantidade);
+            return quantidade;
+        }
+        return transferirPara(Channels.newChannel(destino), posicao, quantidade);
+    }
+
+    /**
+     * Transfere um trecho do conteúdo para o canal. Do disco usa {@link FileChannel#transferTo},
+     * que o sistema operacional pode executar sem passar pelo heap (sendfile).
+     *
+     * @return bytes transferidos
+     */
+    public long transferirPara(WritableByteChannel destino, long posicao, long quantidade) throws IOException {
+        if (posicao < 0 || quantidade < 0 || posicao + quantidade > tamanho) {
+            throw new IndexOutOfBoundsException("Trecho fora do conteúdo: " + posicao + "+" + quantidade + " de " + tamanho);
+        }
+        if (memoria != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(memoria, (int) posicao, (int) quantidade);
+            while (buffer.hasRemaining()) {
+                destino.write(buffer);
+            }
+            return quantidade;
+        }
+        try (FileChannel origem = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long transferidos = 0;
+            while (transferidos < quantidade) {
+                long enviados = origem.transferTo(posicao + transferidos, quantidade - transferidos, destino);
+                if (enviados <= 0) {
+                    // Sem progresso: arquivo truncado ou destino que não aceita mais bytes
+                    throw new IOException("Transferência da variante interrompida: " + arquivo + " ("
+                            + transferidos + " de " + quantidade + " bytes)");
+                }
+                transferidos += enviados;
+            }
+            return transferidos;
+        }
+    }
+}
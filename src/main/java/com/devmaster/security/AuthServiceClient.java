@@ -0,0 +1,278 @@
+package com.devmaster.security;
+
+import com.devmaster.handler.APIException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Cliente do endpoint {@code /api/auth/validate-token} do serviço de autenticação.
+ *
+ * Cada chamada passa pelas instâncias {@code auth-service} de Retry, Circuit Breaker,
+ * Bulkhead e Time Limiter configuradas no {@code application.yaml}. Com o circuito
+ * aberto a chamada falha imediatamente, sem ocupar a thread da requisição.
+ *
+ * {@link #validateTokenAsync(String)} faz a mesma chamada sem bloquear, pelo
+ * {@link WebClient} (pool do Reactor Netty), com as mesmas instâncias de resiliência.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AuthServiceClient {
+
+    private static final String INSTANCE_NAME = "auth-service";
+    private static final ParameterizedTypeReference<Map<String, Object>> CLAIMS_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final String validationUrl;
+    private final Retry retry;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    public AuthServiceClient(
+            RestTemplate restTemplate,
+            WebClient.Builder webClientBuilder,
+            @Value("${security.auth-service.url}") String authServiceUrl,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            RetryRegistry retryRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            TimeLimiterRegistry timeLimiterRegistry
+    ) {
+        this.restTemplate = restTemplate;
+        this.webClient = webClientBuilder.build();
+        this.validationUrl = authServiceUrl + "/api/auth/validate-token";
+        this.retry = retryRegistry.retry(INSTANCE_NAME);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE_NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE_NAME);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE_NAME);
+        // O executor isola a chamada para o time limiter. O timeout libera a vaga do bulkhead, mas
+        // não interrompe a leitura bloqueada no socket: a thread segue presa até o read-timeout do
+        // HTTP client. Por isso o pool também é limitado ao maxConcurrentCalls do bulkhead, com
+        // fila curta; com ele cheio a chamada é recusada (503) em vez de criar mais threads.
+        int maxThreads = bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxThreads / 10)),
+                virtualThreads
+                        ? Thread.ofVirtual().name("auth-service-", 1).factory()
+                        : new AuthServiceThreadFactory("auth-service-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+        // Agenda timeouts e esperas do retry da chamada assíncrona; não executa I/O
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new AuthServiceThreadFactory("auth-service-scheduler-"));
+    }
+
+    /**
+     * Valida o token no serviço de autenticação.
+     *
+     * @return claims do token válido, ou {@code null} se o serviço responder {@code valid: false}
+     * @throws APIException {@code 503} se o serviço estiver indisponível (circuito aberto,
+     *                      bulkhead ou pool de threads cheio, timeout ou erro de rede/5xx); {@code 401} nos demais erros
+     */
+    public Map<String, Object> validateToken(String token) {
+        Callable<Map<String, Object>> call = TimeLimiter.decorateFutureSupplier(timeLimiter,
+                () -> executor.submit(() -> exchange(token)));
+        call = Bulkhead.decorateCallable(bulkhead, call);
+        call = CircuitBreaker.decorateCallable(circuitBreaker, call);
+        call = Retry.decorateCallable(retry, call);
+
+        try {
+            return call.call();
+        } catch (APIException e) {
+            throw e;
+        } catch (CallNotPermittedException | BulkheadFullException | RejectedExecutionException e) {
+            log.warn("Serviço de autenticação indisponível: {}", e.getMessage());
+            throw APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Serviço de autenticação indisponível");
+        } catch (TimeoutException | ResourceAccessException | HttpServerErrorException e) {
+            log.error("Erro ao validar token: {}", e.getMessage());
+            throw APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Serviço de autenticação indisponível", e);
+        } catch (Exception e) {
+            log.error("Erro ao validar token: {}", e.getMessage());
+            throw APIException.build(HttpStatus.UNAUTHORIZED, "Falha na validação do token", e);
+        }
+    }
+
+    /**
+     * Valida o token no serviço de autenticação sem bloquear a thread chamadora.
+     *
+     * @return claims do token válido, ou vazio se o serviço responder {@code valid: false};
+     * falha com {@link APIException} nas mesmas condições de {@link #validateToken(String)}
+     */
+    public Mono<Map<String, Object>> validateTokenAsync(String token) {
+        Supplier<CompletionStage<Map<String, Object>>> call = TimeLimiter.decorateCompletionStage(timeLimiter, scheduler,
+                () -> exchangeAsync(token).toFuture());
+        call = Bulkhead.decorateCompletionStage(bulkhead, call);
+        call = CircuitBreaker.decorateCompletionStage(circuitBreaker, call);
+        call = Retry.decorateCompletionStage(retry, scheduler, call);
+
+        Supplier<CompletionStage<Map<String, Object>>> decorated = call;
+        return Mono.defer(() -> Mono.fromCompletionStage(decorated.get()))
+                .onErrorMap(e -> !(e instanceof APIException), this::toApiException);
+    }
+
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> exchange(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", "Bearer " + token);  // Usar set em vez de setBearerAuth
+
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        log.debug("Validando token no serviço: {}", validationUrl);
+
+        @SuppressWarnings("rawtypes")
+        ResponseEntity<Map> response = restTemplate.exchange(
+                validationUrl,
+                HttpMethod.POST,  // Mudado de GET para POST
+                request,
+                Map.class
+        );
+
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            Map<String, Object> body = response.getBody();
+            Boolean valid = (Boolean) body.get("valid");
+
+            log.debug("Resposta da validação - valid: {}, body: {}", valid, body);
+
+            // Se o token é válido, retorna os claims
+            if (Boolean.TRUE.equals(valid)) {
+                log.debug("Token validado com sucesso");
+                return body;
+            }
+
+            // Token inválido ou expirado
+            log.warn("Token inválido ou expirado - valid: false");
+            return null;
+        }
+
+        throw APIException.build(HttpStatus.UNAUTHORIZED, "Token inválido ou expirado");
+    }
+
+    /**
+     * Equivalente não bloqueante de {@link #exchange(String)}. Erros de rede e 5xx são
+     * convertidos nas mesmas exceções do RestTemplate, para que Retry e Circuit Breaker
+     * usem a configuração já existente.
+     */
+    private Mono<Map<String, Object>> exchangeAsync(String token) {
+        log.debug("Validando token no serviço (assíncrono): {}", validationUrl);
+        return webClient.post()
+                .uri(validationUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchangeToMono(this::readValidationResponse)
+                .onErrorMap(WebClientRequestException.class, e -> new ResourceAccessException(e.getMessage(),
+                        e.getCause() instanceof IOException io ? io : new IOException(e.getMessage(), e)));
+    }
+
+    private Mono<Map<String, Object>> readValidationResponse(ClientResponse response) {
+        if (response.statusCode().is5xxServerError()) {
+            return response.releaseBody()
+                    .then(Mono.error(HttpServerErrorException.create(response.statusCode(),
+                            "Erro no serviço de autenticação", response.headers().asHttpHeaders(), null, null)));
+        }
+        if (response.statusCode() != HttpStatus.OK) {
+            return response.releaseBody()
+                    .then(Mono.error(APIException.build(HttpStatus.UNAUTHORIZED, "Token inválido ou expirado")));
+        }
+        return response.bodyToMono(CLAIMS_TYPE)
+                .switchIfEmpty(Mono.error(() -> APIException.build(HttpStatus.UNAUTHORIZED, "Token inválido ou expirado")))
+                .flatMap(body -> {
+                    if (Boolean.TRUE.equals(body.get("valid"))) {
+                        log.debug("Token validado com sucesso");
+                        return Mono.just(body);
+                    }
+                    log.warn("Token inválido ou expirado - valid: false");
+                    return Mono.empty();
+                });
+    }
+
+    private APIException toApiException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof APIException apiException) {
+            return apiException;
+        }
+        if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+            log.warn("Serviço de autenticação indisponível: {}", cause.getMessage());
+            return APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Serviço de autenticação indisponível");
+        }
+        log.error("Erro ao validar token: {}", cause.getMessage());
+        Exception exception = cause instanceof Exception e ? e : new IllegalStateException(cause);
+        if (cause instanceof TimeoutException || cause instanceof ResourceAccessException
+                || cause instanceof HttpServerErrorException) {
+            return APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Serviço de autenticação indisponível", exception);
+        }
+        return APIException.build(HttpStatus.UNAUTHORIZED, "Falha na validação do token", exception);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    private static final class AuthServiceThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private AuthServiceThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.devmaster.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.MethodAuthorizationDeniedHandler;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link AuthorizationManager} do {@code @PreAuthorize} que dispensa o SpEL nas expressões comuns.
+ *
+ * Na primeira chamada de cada método a expressão é compilada para uma {@link RoleCheck}:
+ * {@code hasRole}, {@code hasAnyRole}, {@code hasAuthority}, {@code hasAnyAuthority},
+ * {@code isAuthenticated()}, {@code permitAll} e {@code denyAll}, isolados ou combinados com
+ * {@code or}/{@code ||}. A decisão passa a ser uma verificação direta sobre as roles da
+ * requisição: com o {@link UserContext} como principal, um AND na máscara de {@link Role}.
+ * Qualquer outra expressão (parâmetros, {@code and}, beans, templates) continua no
+ * {@link PreAuthorizeAuthorizationManager} do Spring.
+ *
+ * O resultado da compilação (verificação ou SpEL) fica em cache por método e classe alvo.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CompiledPreAuthorizeAuthorizationManager
+        implements AuthorizationManager<MethodInvocation>, MethodAuthorizationDeniedHandler {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private static final Pattern OR = Pattern.compile("\\s+or\\s+|\\s*\\|\\|\\s*");
+    private static final Pattern FUNCTION = Pattern.compile(
+            "(hasRole|hasAnyRole|hasAuthority|hasAnyAuthority|isAuthenticated|permitAll|denyAll)\\s*\\((.*)\\)");
+    private static final Pattern LITERAL = Pattern.compile("\\s*(?:'([^'\\\\]*)'|\"([^\"\\\\]*)\")\\s*(,|$)");
+
+    /** Método sem {@code @PreAuthorize}. */
+    private static final RoleCheck NONE = new RoleCheck(true, false, 0L, new String[0]);
+    /** Expressão não reconhecida: avaliada pelo SpEL. */
+    private static final RoleCheck SPEL = new RoleCheck(false, false, 0L, new String[0]);
+
+    private final PreAuthorizeAuthorizationManager spel;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    /** Cache pelo método: resolve a chamada sem alocar quando o método tem uma só classe alvo. */
+    private final ConcurrentHashMap<Method, CachedCheck> byMethod = new ConcurrentHashMap<>();
+    /** Métodos de interfaces ou classes base chamados em mais de uma classe alvo. */
+    private final ConcurrentHashMap<MethodClassKey, RoleCheck> byMethodAndClass = new ConcurrentHashMap<>();
+
+    /**
+     * @param spel usado para as expressões que não são compiladas
+     */
+    public CompiledPreAuthorizeAuthorizationManager(PreAuthorizeAuthorizationManager spel) {
+        this.spel = spel;
+    }
+
+    /**
+     * Verificação compilada de uma expressão.
+     *
+     * @param permitAll     sempre concede
+     * @param authenticated concede a qualquer usuário autenticado (não anônimo)
+     * @param mask          roles de {@link Role} que concedem (qualquer uma)
+     * @param authorities   todas as authorities que concedem, com prefixo ({@code ROLE_ADMIN})
+     */
+    record RoleCheck(boolean permitAll, boolean authenticated, long mask, String[] authorities) {
+    }
+
+    private record CachedCheck(Class<?> targetClass, RoleCheck check) {
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        RoleCheck check = resolve(invocation);
+        if (check == NONE) {
+            return null;
+        }
+        if (check == SPEL) {
+            return spel.authorize(authentication, invocation);
+        }
+        if (check.permitAll()) {
+            return GRANTED;
+        }
+        return evaluate(check, authentication.get()) ? GRANTED : DENIED;
+    }
+
+    /**
+     * @deprecated use {@link #authorize(Supplier, MethodInvocation)}
+     */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        AuthorizationResult result = authorize(authentication, invocation);
+        if (result == null || result instanceof AuthorizationDecision) {
+            return (AuthorizationDecision) result;
+        }
+        return new AuthorizationDecision(result.isGranted());
+    }
+
+    @Override
+    public Object handleDeniedInvocation(MethodInvocation invocation, AuthorizationResult result) {
+        return spel.handleDeniedInvocation(invocation, result);
+    }
+
+    private boolean evaluate(RoleCheck check, Authentication authentication) {
+        if (authentication == null) {
+            return false;
+        }
+        if (check.authenticated() && authentication.isAuthenticated() && !trustResolver.isAnonymous(authentication)) {
+            return true;
+        }
+        if (authentication.getPrincipal() instanceof UserContext userContext) {
+            RoleAuthorities roles = userContext.getRoleAuthorities();
+            if ((roles.mask() & check.mask()) != 0) {
+                return true;
+            }
+            for (String authority : check.authorities()) {
+                if (roles.names().contains(authority)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            String name = granted.getAuthority();
+            for (String authority : check.authorities()) {
+                if (authority.equals(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private RoleCheck resolve(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? ClassUtils.getUserClass(target) : method.getDeclaringClass();
+
+        CachedCheck cached = byMethod.get(method);
+        if (cached != null && cached.targetClass() == targetClass) {
+            return cached.check();
+        }
+        if (cached == null) {
+            RoleCheck check = compile(method, targetClass);
+            CachedCheck existing = byMethod.putIfAbsent(method, new CachedCheck(targetClass, check));
+            if (existing == null || existing.targetClass() == targetClass) {
+                return check;
+            }
+        }
+        return byMethodAndClass.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> compile(method, targetClass));
+    }
+
+    private RoleCheck compile(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, PreAuthorize.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+        }
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        }
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), PreAuthorize.class);
+        }
+        if (annotation == null) {
+            return NONE;
+        }
+
+        String expression = annotation.value();
+        RoleCheck check = compile(expression);
+        if (check == null) {
+            log.debug("@PreAuthorize(\"{}\") em {}.{} avaliado pelo SpEL", expression,
+                    targetClass.getSimpleName(), method.getName());
+            return SPEL;
+        }
+        log.debug("@PreAuthorize(\"{}\") em {}.{} compilado", expression, targetClass.getSimpleName(), method.getName());
+        return check;
+    }
+
+    /**
+     * Compila a expressão, ou retorna {@code null} se ela precisar do SpEL.
+     */
+    static RoleCheck compile(String expression) {
+        if (expression == null || expression.indexOf('#') >= 0 || expression.indexOf('@') >= 0
+                || expression.indexOf('{') >= 0) {
+            return null;
+        }
+        boolean permitAll = false;
+        boolean authenticated = false;
+        long mask = 0L;
+        List<String> authorities = new ArrayList<>();
+
+        for (String term : OR.split(expression.trim())) {
+            String function = term.trim();
+            if (function.equals("permitAll") || function.equals("denyAll")) {
+                function += "()";
+            }
+            Matcher matcher = FUNCTION.matcher(function);
+            if (!matcher.matches()) {
+                return null;
+            }
+            List<String> arguments = literals(matcher.group(2));
+            if (arguments == null) {
+                return null;
+            }
+            switch (matcher.group(1)) {
+                case "permitAll", "denyAll", "isAuthenticated" -> {
+                    if (!arguments.isEmpty()) {
+                        return null;
+                    }
+                    permitAll |= matcher.group(1).equals("permitAll");
+                    authenticated |= matcher.group(1).equals("isAuthenticated");
+                }
+                case "hasRole", "hasAnyRole", "hasAuthority", "hasAnyAuthority" -> {
+                    boolean single = matcher.group(1).equals("hasRole") || matcher.group(1).equals("hasAuthority");
+                    if (arguments.isEmpty() || (single && arguments.size() != 1)) {
+                        return null;
+                    }
+                    boolean role = matcher.group(1).endsWith("Role");
+                    for (String argument : arguments) {
+                        String authority = role && !argument.startsWith(Role.PREFIX) ? Role.PREFIX + argument : argument;
+                        authorities.add(authority);
+                        Role known = Role.of(authority);
+                        if (known != null && known.authority().equals(authority)) {
+                            mask |= known.mask();
+                        }
+                    }
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return new RoleCheck(permitAll, authenticated, mask, authorities.toArray(String[]::new));
+    }
+
+    /**
+     * Argumentos literais separados por vírgula; {@code null} se houver algo além de literais.
+     */
+    private static List<String> literals(String arguments) {
+        List<String> values = new ArrayList<>();
+        if (arguments.isBlank()) {
+            return values;
+        }
+        Matcher matcher = LITERAL.matcher(arguments);
+        int position = 0;
+        while (position < arguments.length()) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                return null;
+            }
+            values.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            if (matcher.group(3).isEmpty()) {
+                return values;
+            }
+            position = matcher.end();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.devmaster.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestTemplate;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fonte de chaves JWKS mantida em memória e atualizada em segundo plano.
+ *
+ * Normalmente a verificação de assinatura não espera pela rede: as chaves são lidas
+ * do último documento JWKS carregado. A exceção é um {@code kid} desconhecido
+ * (rotação de chaves): a requisição que o encontra recarrega o JWKS de forma
+ * síncrona, no máximo uma vez a cada {@code minOnDemandRefreshInterval} (30s), e
+ * fica sujeita aos timeouts do {@link RestTemplate}. Dentro desse intervalo, outros
+ * {@code kid} desconhecidos são rejeitados sem chamada de rede.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+class JwksKeySource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private static final Duration MIN_ON_DEMAND_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final RestTemplate restTemplate;
+    private final String jwksUri;
+    private final long minOnDemandRefreshNanos;
+    private final AtomicReference<JWKSet> current = new AtomicReference<>(new JWKSet());
+    private final AtomicLong lastRefreshNanos;
+    private final ScheduledExecutorService scheduler;
+
+    JwksKeySource(RestTemplate restTemplate, String jwksUri, Duration refreshInterval) {
+        this(restTemplate, jwksUri, refreshInterval, MIN_ON_DEMAND_REFRESH_INTERVAL);
+    }
+
+    JwksKeySource(RestTemplate restTemplate, String jwksUri, Duration refreshInterval,
+                  Duration minOnDemandRefreshInterval) {
+        this.restTemplate = restTemplate;
+        this.jwksUri = jwksUri;
+        this.minOnDemandRefreshNanos = minOnDemandRefreshInterval.toNanos();
+        this.lastRefreshNanos = new AtomicLong(System.nanoTime() - minOnDemandRefreshNanos);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> keys = jwkSelector.select(current.get());
+        if (keys.isEmpty() && onDemandRefreshAllowed()) {
+            refreshQuietly();
+            keys = jwkSelector.select(current.get());
+        }
+        return keys;
+    }
+
+    /**
+     * Baixa o documento JWKS e substitui o conjunto de chaves atual.
+     */
+    void refresh() throws ParseException {
+        lastRefreshNanos.set(System.nanoTime());
+        String document = restTemplate.getForObject(jwksUri, String.class);
+        if (document == null) {
+            throw new IllegalStateException("Documento JWKS vazio");
+        }
+        JWKSet jwkSet = JWKSet.parse(document);
+        current.set(jwkSet);
+        log.debug("JWKS atualizado - {} chave(s) carregada(s) de {}", jwkSet.getKeys().size(), jwksUri);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Falha ao atualizar JWKS de {}: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    private boolean onDemandRefreshAllowed() {
+        long last = lastRefreshNanos.get();
+        return System.nanoTime() - last >= minOnDemandRefreshNanos
+                && lastRefreshNanos.compareAndSet(last, System.nanoTime());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,41 @@
+package com.devmaster.security;
+
+import com.devmaster.handler.StaticErrorResponses;
+import com.devmaster.util.RateLimitedLogger;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Responde 403 com o mesmo corpo do {@code RestResponseEntityExceptionHandler}
+ * quando a autorização por URL nega o acesso.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtAccessDeniedHandler implements AccessDeniedHandler {
+
+    private static final RateLimitedLogger RATE_LIMITED_LOG = new RateLimitedLogger(log, 20, Duration.ofSeconds(10));
+
+    private final StaticErrorResponses staticErrorResponses;
+
+    @Override
+    public void handle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            AccessDeniedException accessDeniedException
+    ) throws IOException {
+        RATE_LIMITED_LOG.warn("Acesso negado: {} - {}", request.getRequestURI(), accessDeniedException.getMessage());
+        staticErrorResponses.writeForbidden(response);
+    }
+}
@@ -1,25 +1,27 @@
 package com.devmaster.security;
 
-import com.devmaster.handler.APIException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.devmaster.handler.StaticErrorResponses;
+import com.devmaster.util.RateLimitedLogger;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
     
-    private final ObjectMapper objectMapper;
+    // Rajadas de tokens inválidos não devem dominar CPU e I/O de log
+    private static final RateLimitedLogger RATE_LIMITED_LOG = new RateLimitedLogger(log, 20, Duration.ofSeconds(10));
+    
+    private final StaticErrorResponses staticErrorResponses;
     
     @Override
     public void commence(
@@ -28,15 +30,8 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
             AuthenticationException authException
     ) throws IOException {
         
-        log.warn("Acesso não autorizado: {} - {}", request.getRequestURI(), authException.getMessage());
-        
-        APIException apiException = APIException.build(
-            HttpStatus.UNAUTHORIZED, 
-            "Token inválido ou expirado. Faça login novamente."
-        );
+        RATE_LIMITED_LOG.warn("Acesso não autorizado: {} - {}", request.getRequestURI(), authException.getMessage());
         
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.getWriter().write(objectMapper.writeValueAsString(apiException.getBodyException()));
+        staticErrorResponses.writeUnauthorized(response);
     }
 }
@@ -1,15 +1,24 @@
 package com.devmaster.security;
 
+import com.devmaster.config.RequestTimingRecorder;
+import com.devmaster.handler.APIException;
+import com.devmaster.handler.StaticErrorResponses;
+import com.devmaster.util.RateLimitedLogger;
+import com.devmaster.util.RequestTiming;
+import com.devmaster.util.RequestTiming.Phase;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,15 +26,64 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Autentica as requisições a partir do token JWT do header {@code Authorization}.
+ * O principal da autenticação é o {@link UserContext} da requisição, lido pelo {@link SecurityService}.
+ *
+ * Com {@code security.auth-service.async-validation.enabled=true}, quando o token precisa
+ * ser validado no serviço de autenticação a requisição entra em modo assíncrono
+ * ({@link AsyncContext}): a thread do container é liberada durante a validação e a
+ * requisição é despachada novamente (dispatch {@code ASYNC}) quando o resultado chega.
+ *
+ * Com {@code app.request-timing.enabled=true}, também abre o {@link RequestTiming} da requisição
+ * e mede a fase {@link Phase#AUTH} (validação do token); com o header {@code Server-Timing}
+ * habilitado, o restante da cadeia recebe a resposta envolvida pelo {@link RequestTimingRecorder}.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String ASYNC_VALIDATION_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".ASYNC_VALIDATION";
+    private static final WebAuthenticationDetailsSource AUTHENTICATION_DETAILS_SOURCE = new WebAuthenticationDetailsSource();
+    // Rajadas de tokens inválidos não devem dominar CPU e I/O de log
+    private static final RateLimitedLogger RATE_LIMITED_LOG = new RateLimitedLogger(log, 20, Duration.ofSeconds(10));
+
     private final JwtTokenValidator jwtTokenValidator;
     private final HandlerExceptionResolver handlerExceptionResolver;
+    private final StaticErrorResponses staticErrorResponses;
+    private final PublicRouteRegistry publicRouteRegistry;
+    private final RequestTimingRecorder requestTimingRecorder;
+    private final boolean asyncValidationEnabled;
+    private final Duration asyncValidationTimeout;
+
+    public JwtAuthenticationFilter(
+            JwtTokenValidator jwtTokenValidator,
+            HandlerExceptionResolver handlerExceptionResolver,
+            StaticErrorResponses staticErrorResponses,
+            PublicRouteRegistry publicRouteRegistry,
+            RequestTimingRecorder requestTimingRecorder,
+            @Value("${security.auth-service.async-validation.enabled:false}") boolean asyncValidationEnabled,
+            @Value("${security.auth-service.async-validation.timeout:15s}") Duration asyncValidationTimeout
+    ) {
+        this.jwtTokenValidator = jwtTokenValidator;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+        this.staticErrorResponses = staticErrorResponses;
+        this.publicRouteRegistry = publicRouteRegistry;
+        this.requestTimingRecorder = requestTimingRecorder;
+        this.asyncValidationEnabled = asyncValidationEnabled;
+        this.asyncValidationTimeout = asyncValidationTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return !asyncValidationEnabled;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -33,10 +91,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
+        RequestTiming timing = requestTimingRecorder.begin(request);
+        if (timing == null) {
+            filterRequest(request, response, filterChain);
+            return;
+        }
+        HttpServletResponse timedResponse = requestTimingRecorder.wrapResponse(response, timing);
+        try {
+            filterRequest(request, timedResponse, filterChain);
+        } finally {
+            requestTimingRecorder.end(request, timedResponse, timing);
+        }
+    }
+
+    private void filterRequest(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // Retorno de uma validação assíncrona iniciada por este filtro
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            if (request.getAttribute(ASYNC_VALIDATION_ATTRIBUTE) instanceof AsyncValidationResult result) {
+                request.removeAttribute(ASYNC_VALIDATION_ATTRIBUTE);
+                resumeAfterAsyncValidation(result, request, response, filterChain);
+            } else {
+                filterChain.doFilter(request, response);
+            }
+            return;
+        }
         
         // Pula validação para endpoints públicos
-        String requestPath = request.getRequestURI();
-        if (isPublicEndpoint(requestPath)) {
+        if (publicRouteRegistry.matches(request)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -45,87 +131,174 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = extractToken(request);
             
             if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                Map<String, Object> claims = jwtTokenValidator.validateToken(token);
-                
-                if (claims != null) {
-                    // Extrai informações do token
-                    // API Auth retorna 'username', mas também aceita 'sub' como fallback
-                    String username = (String) claims.getOrDefault("username", claims.get("sub"));
-                    String userId = (String) claims.get("userId");
-                    @SuppressWarnings("unchecked")
-                    List<String> roles = (List<String>) claims.getOrDefault("roles", List.of());
-                    
-                    log.info("Claims extraídos do token - username: {}, userId: {}, roles: {}", username, userId, roles);
-                    
-                    // Valida se os campos essenciais estão presentes
-                    if (username == null || roles == null || roles.isEmpty()) {
-                        log.warn("Token inválido ou expirado - campos essenciais ausentes");
-                        filterChain.doFilter(request, response);
-                        return;
+                TokenClaims claims;
+                boolean suspended = false;
+                RequestTiming.enter(Phase.AUTH);
+                try {
+                    if (asyncValidationEnabled && request.isAsyncSupported()) {
+                        CompletableFuture<TokenClaims> validation = jwtTokenValidator.validateTokenAsync(token);
+                        if (!validation.isDone()) {
+                            // A fase AUTH é encerrada em resumeAfterAsyncValidation
+                            startAsyncValidation(request, validation);
+                            suspended = true;
+                            return;
+                        }
+                        claims = joinCompleted(validation);
+                    } else {
+                        claims = jwtTokenValidator.validateToken(token);
                     }
-                    
-                    // Cria authorities com prefixo ROLE_ se não existir
-                    List<SimpleGrantedAuthority> authorities = roles.stream()
-                            .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
-                            .map(SimpleGrantedAuthority::new)
-                            .toList();
-                    
-                    // Cria autenticação
-                    UsernamePasswordAuthenticationToken authentication = 
-                            new UsernamePasswordAuthenticationToken(username, null, authorities);
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Define no contexto de segurança
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    
-                    log.info("Token validado com sucesso para usuário: {} (ID: {})", username, userId);
-                    
-                    // Se temos userId e não existe header X-User-Id, adiciona via wrapper
-                    if (userId != null && request.getHeader("X-User-Id") == null) {
-                        log.info("Adicionando X-User-Id via wrapper: {}", userId);
-                        HttpServletRequest wrappedRequest = new HttpServletRequestWrapper(request) {
-                            @Override
-                            public String getHeader(String name) {
-                                if ("X-User-Id".equals(name)) {
-                                    return userId;
-                                }
-                                return super.getHeader(name);
-                            }
-                            
-                            @Override
-                            public Enumeration<String> getHeaders(String name) {
-                                if ("X-User-Id".equals(name)) {
-                                    return Collections.enumeration(Collections.singletonList(userId));
-                                }
-                                return super.getHeaders(name);
-                            }
-                            
-                            @Override
-                            public Enumeration<String> getHeaderNames() {
-                                Set<String> names = new HashSet<>();
-                                Enumeration<String> originalNames = super.getHeaderNames();
-                                while (originalNames.hasMoreElements()) {
-                                    names.add(originalNames.nextElement());
-                                }
-                                names.add("X-User-Id");
-                                return Collections.enumeration(names);
-                            }
-                        };
-                        
-                        filterChain.doFilter(wrappedRequest, response);
-                        return;
-                    } else if (userId == null) {
-                        log.warn("Token não contém userId. Você precisa fazer logout e login novamente após reiniciar o Auth Service.");
+                } finally {
+                    if (!suspended) {
+                        RequestTiming.exit(Phase.AUTH);
                     }
                 }
+                authenticate(claims, request, response, filterChain);
+                return;
             }
             
             filterChain.doFilter(request, response);
             
         } catch (Exception e) {
-            log.error("Erro ao processar autenticação JWT: {}", e.getMessage());
-            // Delega o tratamento da exceção para o HandlerExceptionResolver
-            handlerExceptionResolver.resolveException(request, response, null, e);
+            handleAuthenticationFailure(e, request, response);
+        }
+    }
+
+    private void authenticate(
+            TokenClaims claims,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (claims != null) {
+            // API Auth retorna 'username', mas também aceita 'sub' como fallback (ver TokenClaims)
+            String username = claims.username();
+            String userId = claims.userId();
+            List<String> roles = claims.roles();
+            
+            if (log.isDebugEnabled()) {
+                log.debug("Claims extraídos do token - username: {}, userId: {}, roles: {}", username, userId, roles);
+            }
+            
+            // Valida se os campos essenciais estão presentes
+            if (username == null || roles.isEmpty()) {
+                log.warn("Token inválido ou expirado - campos essenciais ausentes");
+                filterChain.doFilter(request, response);
+                return;
+            }
+            
+            // Contexto imutável da requisição como principal, com authorities ROLE_* reaproveitadas
+            // por conjunto de roles
+            UserContext userContext = UserContext.from(claims);
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    userContext, null, userContext.getRoleAuthorities().authorities());
+            authentication.setDetails(AUTHENTICATION_DETAILS_SOURCE.buildDetails(request));
+            
+            // Define no contexto de segurança
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            
+            if (log.isDebugEnabled()) {
+                log.debug("Token validado com sucesso para usuário: {} (ID: {})", username, userId);
+            }
+            
+            // Se temos userId e não existe header X-User-Id, adiciona via wrapper
+            if (userId != null && request.getHeader(UserIdHeaderRequestWrapper.USER_ID_HEADER) == null) {
+                filterChain.doFilter(new UserIdHeaderRequestWrapper(request, userId), response);
+                return;
+            } else if (userId == null) {
+                log.warn("Token não contém userId. Você precisa fazer logout e login novamente após reiniciar o Auth Service.");
+            }
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Coloca a requisição em modo assíncrono até a validação terminar (ou o timeout expirar)
+     * e então a despacha novamente, com o resultado guardado como atributo da requisição.
+     */
+    private void startAsyncValidation(HttpServletRequest request, CompletableFuture<TokenClaims> validation) {
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(asyncValidationTimeout.toMillis());
+        AtomicBoolean dispatched = new AtomicBoolean();
+
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                log.warn("Tempo esgotado aguardando validação assíncrona do token ({} ms)", asyncValidationTimeout.toMillis());
+                dispatch(asyncContext, dispatched, new AsyncValidationResult(null,
+                        APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Serviço de autenticação indisponível")));
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        validation.whenComplete((claims, error) -> dispatch(asyncContext, dispatched,
+                new AsyncValidationResult(claims, error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error)));
+    }
+
+    private void dispatch(AsyncContext asyncContext, AtomicBoolean dispatched, AsyncValidationResult result) {
+        if (dispatched.compareAndSet(false, true)) {
+            asyncContext.getRequest().setAttribute(ASYNC_VALIDATION_ATTRIBUTE, result);
+            asyncContext.dispatch();
+        }
+    }
+
+    private void resumeAfterAsyncValidation(
+            AsyncValidationResult result,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestTiming.exit(Phase.AUTH);
+        try {
+            if (result.error() instanceof Error error) {
+                throw error;
+            }
+            if (result.error() instanceof Exception exception) {
+                throw exception;
+            }
+            authenticate(result.claims(), request, response, filterChain);
+        } catch (Exception e) {
+            handleAuthenticationFailure(e, request, response);
+        }
+    }
+
+    /**
+     * Token recusado (401) recebe o corpo pré-serializado do {@link StaticErrorResponses}, sem exceção
+     * resolvida pelo Spring MVC nem serialização por requisição; as demais falhas seguem para o
+     * {@link HandlerExceptionResolver}.
+     */
+    private void handleAuthenticationFailure(Exception e, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (e instanceof APIException apiException && apiException.getStatusException() == HttpStatus.UNAUTHORIZED) {
+            RATE_LIMITED_LOG.warn("Token recusado: {} - {}", request.getRequestURI(), e.getMessage());
+            staticErrorResponses.writeUnauthorized(response);
+            return;
+        }
+        log.error("Erro ao processar autenticação JWT: {}", e.getMessage());
+        // Delega o tratamento da exceção para o HandlerExceptionResolver
+        handlerExceptionResolver.resolveException(request, response, null, e);
+    }
+
+    private static TokenClaims joinCompleted(CompletableFuture<TokenClaims> validation) {
+        try {
+            return validation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
         }
     }
 
@@ -141,10 +314,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return path.contains("/public/") ||
-               path.contains("/swagger") ||
-               path.contains("/api-docs") ||
-               path.contains("/actuator");
+    private record AsyncValidationResult(TokenClaims claims, Throwable error) {
     }
 }
@@ -1,83 +1,203 @@
 package com.devmaster.security;
 
 import com.devmaster.handler.APIException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
 public class JwtTokenValidator {
 
-    private final RestTemplate restTemplate;
+    /** Claims usados quando o interceptor está desabilitado. */
+    private static final TokenClaims ANONYMOUS = TokenClaims.from(Map.of("sub", "anonymous", "roles", List.of("ROLE_USER")));
+
+    private final AuthServiceClient authServiceClient;
+    private final TokenValidationCache tokenValidationCache;
+    private final TokenValidationCoalescer tokenValidationCoalescer;
+    private final LocalJwtVerifier localJwtVerifier;
+    private final TokenRevocationList tokenRevocationList;
+    private final ObjectMapper objectMapper;
     private final String authServiceUrl;
     private final boolean interceptorEnabled;
 
     public JwtTokenValidator(
-            RestTemplate restTemplate,
+            AuthServiceClient authServiceClient,
+            TokenValidationCache tokenValidationCache,
+            TokenValidationCoalescer tokenValidationCoalescer,
+            LocalJwtVerifier localJwtVerifier,
+            TokenRevocationList tokenRevocationList,
+            ObjectMapper objectMapper,
             @Value("${security.auth-service.url}") String authServiceUrl,
             @Value("${security.interceptor.enabled:true}") boolean interceptorEnabled
     ) {
-        this.restTemplate = restTemplate;
+        this.authServiceClient = authServiceClient;
+        this.tokenValidationCache = tokenValidationCache;
+        this.tokenValidationCoalescer = tokenValidationCoalescer;
+        this.localJwtVerifier = localJwtVerifier;
+        this.tokenRevocationList = tokenRevocationList;
+        this.objectMapper = objectMapper;
         this.authServiceUrl = authServiceUrl;
         this.interceptorEnabled = interceptorEnabled;
         log.info("JwtTokenValidator inicializado - URL: {}, Enabled: {}", authServiceUrl, interceptorEnabled);
     }
 
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> validateToken(String token) {
+    public TokenClaims validateToken(String token) {
         if (!interceptorEnabled) {
             log.warn("Interceptor de segurança está desabilitado!");
-            return Map.of("sub", "anonymous", "roles", java.util.List.of("ROLE_USER"));
+            return ANONYMOUS;
+        }
+
+        TokenClaims cached = tokenValidationCache.get(token);
+        if (cached != null) {
+            log.debug("Token validado via cache local");
+            return rejectRevoked(token, cached);
         }
 
+        return rejectRevoked(token, tokenValidationCoalescer.execute(token, () -> validateAndCache(token)));
+    }
+
+    /**
+     * Versão não bloqueante de {@link #validateToken(String)}.
+     * Cache e verificação local respondem com um future já concluído; apenas a chamada
+     * ao serviço de autenticação é feita de forma assíncrona.
+     */
+    public CompletableFuture<TokenClaims> validateTokenAsync(String token) {
+        if (!interceptorEnabled) {
+            return CompletableFuture.completedFuture(validateToken(token));
+        }
+
+        TokenClaims cached = tokenValidationCache.get(token);
+        if (cached != null) {
+            log.debug("Token validado via cache local");
+            return CompletableFuture.completedFuture(rejectRevoked(token, cached));
+        }
+
+        return tokenValidationCoalescer.executeAsync(token, () -> validateAndCacheAsync(token))
+                .thenApply(claims -> rejectRevoked(token, claims));
+    }
+
+    /**
+     * Recusa tokens revogados (logout ou revogação do usuário), inclusive quando a validação
+     * veio do cache, da verificação local ou do serviço de autenticação.
+     */
+    private TokenClaims rejectRevoked(String token, TokenClaims claims) {
+        if (claims != null && tokenRevocationList != null && tokenRevocationList.isRevoked(token, claims)) {
+            log.debug("Token revogado recusado");
+            return null;
+        }
+        return claims;
+    }
+
+    private TokenClaims validateAndCache(String token) {
+        if (localJwtVerifier.isEnabled()) {
+            try {
+                return verifyLocally(token);
+            } catch (JwtException e) {
+                if (!localJwtVerifier.isRemoteFallbackEnabled()) {
+                    log.warn("Token rejeitado na verificação local: {}", e.getMessage());
+                    return null;
+                }
+                log.debug("Verificação local falhou, consultando serviço de autenticação: {}", e.getMessage());
+            }
+        }
+
+        Map<String, Object> response;
         try {
-            String validationUrl = authServiceUrl + "/api/auth/validate-token";
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + token);  // Usar set em vez de setBearerAuth
-            
-            HttpEntity<Void> request = new HttpEntity<>(headers);
-            
-            log.debug("Validando token no serviço: {}", validationUrl);
-            
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    validationUrl,
-                    HttpMethod.POST,  // Mudado de GET para POST
-                    request,
-                    Map.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> body = response.getBody();
-                Boolean valid = (Boolean) body.get("valid");
-                
-                log.debug("Resposta da validação - valid: {}, body: {}", valid, body);
-                
-                // Se o token é válido, retorna os claims
-                if (Boolean.TRUE.equals(valid)) {
-                    log.debug("Token validado com sucesso");
-                    return body;
+            response = authServiceClient.validateToken(token);
+        } catch (APIException e) {
+            if (e.getStatusException() != HttpStatus.SERVICE_UNAVAILABLE) {
+                throw e;
+            }
+            return validateWithoutAuthService(token, e);
+        }
+        if (response == null) {
+            return null;
+        }
+        TokenClaims claims = TokenClaims.from(response);
+        tokenValidationCache.put(token, claims, resolveExpiration(token, claims));
+        return claims;
+    }
+
+    private CompletableFuture<TokenClaims> validateAndCacheAsync(String token) {
+        if (localJwtVerifier.isEnabled()) {
+            try {
+                return CompletableFuture.completedFuture(verifyLocally(token));
+            } catch (JwtException e) {
+                if (!localJwtVerifier.isRemoteFallbackEnabled()) {
+                    log.warn("Token rejeitado na verificação local: {}", e.getMessage());
+                    return CompletableFuture.completedFuture(null);
                 }
-                
-                // Token inválido ou expirado
-                log.warn("Token inválido ou expirado - valid: false");
+                log.debug("Verificação local falhou, consultando serviço de autenticação: {}", e.getMessage());
+            }
+        }
+
+        return authServiceClient.validateTokenAsync(token)
+                .map(TokenClaims::from)
+                .doOnNext(claims -> tokenValidationCache.put(token, claims, resolveExpiration(token, claims)))
+                .onErrorResume(APIException.class, e -> e.getStatusException() == HttpStatus.SERVICE_UNAVAILABLE
+                        ? Mono.fromSupplier(() -> validateWithoutAuthService(token, e))
+                        : Mono.error(e))
+                .toFuture();
+    }
+
+    private TokenClaims verifyLocally(String token) {
+        TokenClaims verified = localJwtVerifier.verify(token);
+        tokenValidationCache.put(token, verified, verified.expiresAt());
+        return verified;
+    }
+
+    /**
+     * Fallback usado quando o serviço de autenticação está indisponível:
+     * aceita uma validação anterior ainda não expirada ou verifica o token localmente.
+     */
+    private TokenClaims validateWithoutAuthService(String token, APIException unavailable) {
+        TokenClaims stale = tokenValidationCache.getStale(token);
+        if (stale != null) {
+            log.warn("Serviço de autenticação indisponível - usando validação anterior do cache");
+            return stale;
+        }
+        if (localJwtVerifier.isAvailable()) {
+            log.warn("Serviço de autenticação indisponível - usando verificação local do token");
+            try {
+                return verifyLocally(token);
+            } catch (JwtException e) {
+                log.warn("Token rejeitado na verificação local: {}", e.getMessage());
                 return null;
             }
-            
-            throw APIException.build(HttpStatus.UNAUTHORIZED, "Token inválido ou expirado");
-            
-        } catch (APIException e) {
-            throw e;
+        }
+        throw unavailable;
+    }
+
+    /**
+     * Determina a expiração do token: usa o {@code exp} da resposta do serviço de
+     * autenticação ou, na ausência dele, o {@code exp} do payload do próprio JWT.
+     */
+    private Instant resolveExpiration(String token, TokenClaims claims) {
+        if (claims.expiresAt() != null) {
+            return claims.expiresAt();
+        }
+        try {
+            String[] parts = token.split("\\.");
+            if (parts.length != 3) {
+                return null;
+            }
+            JsonNode exp = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
         } catch (Exception e) {
-            log.error("Erro ao validar token: {}", e.getMessage());
-            throw APIException.build(HttpStatus.UNAUTHORIZED, "Falha na validação do token", e);
+            log.debug("Não foi possível extrair exp do token: {}", e.getMessage());
+            return null;
         }
     }
 
@@ -0,0 +1,19 @@
+package com.devmaster.security;
+
+/**
+ * Modo de validação de tokens JWT.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public enum JwtVerificationMode {
+
+    /** Valida sempre no serviço de autenticação ({@code /api/auth/validate-token}). */
+    REMOTE,
+
+    /** Verifica assinatura e claims localmente, sem chamar o serviço de autenticação. */
+    LOCAL,
+
+    /** Verifica localmente e consulta o serviço de autenticação quando a verificação local falha. */
+    LOCAL_WITH_REMOTE_FALLBACK
+}
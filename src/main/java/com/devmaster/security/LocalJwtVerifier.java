@@ -0,0 +1,169 @@
+package com.devmaster.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtIssuerValidator;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Verificação local (offline) de tokens JWT.
+ *
+ * Verifica a assinatura com as chaves de um JWKS atualizado em segundo plano
+ * (RS256/ES256) ou com uma chave compartilhada (HS256), e valida {@code exp},
+ * {@code nbf}, {@code iss} e {@code aud} sem chamar o serviço de autenticação.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class LocalJwtVerifier {
+
+    private static final int MIN_HS256_SECRET_BYTES = 32;
+
+    private final JwtVerificationMode mode;
+    private final JwksKeySource jwksKeySource;
+    private final JwtDecoder jwtDecoder;
+
+    public LocalJwtVerifier(
+            RestTemplate restTemplate,
+            @Value("${security.jwt.verification-mode:REMOTE}") JwtVerificationMode mode,
+            @Value("${security.jwt.jwks-uri:}") String jwksUri,
+            @Value("${security.jwt.secret:}") String secret,
+            @Value("${security.jwt.issuer:}") String issuer,
+            @Value("${security.jwt.audience:}") String audience,
+            @Value("${security.jwt.clock-skew:30s}") Duration clockSkew,
+            @Value("${security.jwt.jwks-refresh-interval:5m}") Duration jwksRefreshInterval
+    ) {
+        if (mode != JwtVerificationMode.REMOTE && !StringUtils.hasText(jwksUri) && !StringUtils.hasText(secret)) {
+            log.warn("Modo de verificação {} requer security.jwt.jwks-uri ou security.jwt.secret - usando REMOTE", mode);
+            mode = JwtVerificationMode.REMOTE;
+        }
+        this.mode = mode;
+
+        // Com chaves configuradas, a verificação local fica disponível mesmo no modo REMOTE,
+        // como fallback quando o serviço de autenticação está indisponível
+        if (!StringUtils.hasText(jwksUri) && !StringUtils.hasText(secret)) {
+            this.jwksKeySource = null;
+            this.jwtDecoder = null;
+        } else if (StringUtils.hasText(jwksUri)) {
+            this.jwksKeySource = new JwksKeySource(restTemplate, jwksUri, jwksRefreshInterval);
+            this.jwtDecoder = jwksDecoder(jwksKeySource, validator(issuer, audience, clockSkew));
+        } else {
+            this.jwksKeySource = null;
+            this.jwtDecoder = secretKeyDecoder(secret, validator(issuer, audience, clockSkew));
+        }
+        log.info("LocalJwtVerifier inicializado - Modo: {}, JWKS: {}, Issuer: {}, Audience: {}",
+                mode, StringUtils.hasText(jwksUri) ? jwksUri : "-", issuer, audience);
+    }
+
+    /**
+     * Indica se a verificação local é o caminho principal de validação.
+     */
+    public boolean isEnabled() {
+        return jwtDecoder != null && mode != JwtVerificationMode.REMOTE;
+    }
+
+    /**
+     * Indica se há chaves configuradas para verificar tokens localmente.
+     */
+    public boolean isAvailable() {
+        return jwtDecoder != null;
+    }
+
+    /**
+     * Indica se o serviço de autenticação deve ser consultado quando a verificação local falha.
+     */
+    public boolean isRemoteFallbackEnabled() {
+        return mode == JwtVerificationMode.LOCAL_WITH_REMOTE_FALLBACK;
+    }
+
+    public JwtVerificationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Verifica assinatura e claims do token.
+     *
+     * @throws JwtException se o token for inválido, expirado ou não puder ser verificado
+     */
+    public TokenClaims verify(String token) {
+        if (jwtDecoder == null) {
+            throw new IllegalStateException("Verificação local de JWT não está habilitada");
+        }
+        Jwt jwt = jwtDecoder.decode(token);
+        return TokenClaims.from(jwt.getClaims());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (jwksKeySource != null) {
+            jwksKeySource.close();
+        }
+    }
+
+    private static JwtDecoder jwksDecoder(JwksKeySource keySource, OAuth2TokenValidator<Jwt> validator) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256), keySource));
+        // exp/nbf/iss/aud são validados pelos validators do Spring (com clock skew)
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(validator);
+        return decoder;
+    }
+
+    private static JwtDecoder secretKeyDecoder(String secret, OAuth2TokenValidator<Jwt> validator) {
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_HS256_SECRET_BYTES) {
+            throw new IllegalStateException("security.jwt.secret deve ter pelo menos 256 bits para HS256");
+        }
+        NimbusJwtDecoder decoder = NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(keyBytes, "HmacSHA256"))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(validator);
+        return decoder;
+    }
+
+    private static OAuth2TokenValidator<Jwt> validator(String issuer, String audience, Duration clockSkew) {
+        List<OAuth2TokenValidator<Jwt>> validators = new ArrayList<>();
+        validators.add(new JwtTimestampValidator(clockSkew));
+        validators.add(new JwtClaimValidator<Instant>(JwtClaimNames.EXP, Objects::nonNull));
+        if (StringUtils.hasText(issuer)) {
+            validators.add(new JwtIssuerValidator(issuer));
+        }
+        if (StringUtils.hasText(audience)) {
+            validators.add(new JwtClaimValidator<List<String>>(JwtClaimNames.AUD,
+                    aud -> aud != null && aud.contains(audience)));
+        }
+        return new DelegatingOAuth2TokenValidator<>(validators);
+    }
+}
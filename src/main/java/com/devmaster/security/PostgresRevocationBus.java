@@ -0,0 +1,380 @@
+package com.devmaster.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Propaga revogações de token entre as instâncias pelo PostgreSQL ({@code LISTEN/NOTIFY}).
+ *
+ * Cada revogação é gravada na tabela de eventos e anunciada com {@code pg_notify} no mesmo
+ * comando; as instâncias escutam o canal em uma conexão dedicada e aplicam o evento no
+ * {@link TokenRevocationList} assim que o {@code COMMIT} acontece (milissegundos).
+ *
+ * A conexão do {@code LISTEN} fica aberta enquanto a instância roda, por isso é aberta fora do
+ * pool (com a URL e as credenciais de {@code spring.datasource}): não ocupa uma conexão do Hikari,
+ * não esbarra no {@code max-lifetime} nem aparece na detecção de vazamento. Publicação e limpeza
+ * usam o pool normalmente.
+ *
+ * A tabela também é a fonte para o que o {@code NOTIFY} não entrega:
+ * <ul>
+ *     <li><b>Replay</b>: ao iniciar, e a cada reconexão, os eventos desde a última leitura
+ *     (ou dos últimos {@code retention} na partida) são lidos e aplicados;</li>
+ *     <li><b>Polling</b>: a cada {@code poll-interval} a tabela é lida de novo, cobrindo
+ *     notificações perdidas;</li>
+ *     <li><b>Reconexão</b>: com a conexão perdida, novas tentativas com backoff exponencial
+ *     até {@code max-reconnect-backoff}.</li>
+ * </ul>
+ * A leitura usa o relógio do banco ({@code now()}) com uma margem de sobreposição; eventos já
+ * aplicados são ignorados pelo id. Eventos publicados por esta instância já foram aplicados
+ * localmente e também são ignorados.
+ *
+ * Desabilitado por padrão ({@code security.revocation.bus.enabled}).
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "security.revocation.bus.enabled", havingValue = "true")
+public class PostgresRevocationBus implements SmartLifecycle {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    /** Margem de sobreposição das leituras: cobre transações que terminam fora de ordem. */
+    private static final Duration READ_OVERLAP = Duration.ofSeconds(5);
+    private static final Duration CLEANUP_INTERVAL = Duration.ofMinutes(10);
+
+    private final DataSource dataSource;
+    private final DataSource listenerDataSource;
+    private final TokenRevocationList tokenRevocationList;
+    private final String channel;
+    private final String table;
+    private final String nodeId;
+    private final Duration pollInterval;
+    private final Duration notificationWait;
+    private final Duration maxReconnectBackoff;
+    private final Duration retention;
+    private final boolean initializeSchema;
+
+    private final String publishSql;
+    private final String readSql;
+
+    /** Ids já aplicados (o mesmo evento chega pelo NOTIFY e pelas leituras da tabela). */
+    private final Cache<Long, Boolean> applied;
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter replayedCounter;
+    private final Counter reconnectCounter;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Thread listener;
+    /** Relógio do banco na última leitura da tabela; {@code null} até a primeira. */
+    private Timestamp readWatermark;
+    private long lastCleanupNanos;
+
+    @Autowired
+    public PostgresRevocationBus(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            TokenRevocationList tokenRevocationList,
+            MeterRegistry meterRegistry,
+            @Value("${security.revocation.bus.channel:auth_revocation}") String channel,
+            @Value("${security.revocation.bus.table:auth_revocation_event}") String table,
+            @Value("${security.revocation.bus.node-id:}") String nodeId,
+            @Value("${security.revocation.bus.poll-interval:30s}") Duration pollInterval,
+            @Value("${security.revocation.bus.notification-wait:500ms}") Duration notificationWait,
+            @Value("${security.revocation.bus.max-reconnect-backoff:30s}") Duration maxReconnectBackoff,
+            @Value("${security.revocation.retention:24h}") Duration retention,
+            @Value("${security.revocation.bus.initialize-schema:true}") boolean initializeSchema
+    ) {
+        this(dataSource, dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build(),
+                tokenRevocationList, meterRegistry, channel, table, nodeId, pollInterval, notificationWait,
+                maxReconnectBackoff, retention, initializeSchema);
+    }
+
+    /**
+     * @param dataSource         pool usado na publicação, na criação da tabela e na limpeza
+     * @param listenerDataSource origem da conexão do {@code LISTEN}, sem pool
+     */
+    PostgresRevocationBus(
+            DataSource dataSource,
+            DataSource listenerDataSource,
+            TokenRevocationList tokenRevocationList,
+            MeterRegistry meterRegistry,
+            String channel,
+            String table,
+            String nodeId,
+            Duration pollInterval,
+            Duration notificationWait,
+            Duration maxReconnectBackoff,
+            Duration retention,
+            boolean initializeSchema
+    ) {
+        if (!IDENTIFIER.matcher(channel).matches() || !IDENTIFIER.matcher(table).matches()) {
+            throw new IllegalArgumentException("Canal e tabela de revogação devem ser identificadores simples: "
+                    + channel + ", " + table);
+        }
+        this.dataSource = dataSource;
+        this.listenerDataSource = listenerDataSource;
+        this.tokenRevocationList = tokenRevocationList;
+        this.channel = channel;
+        this.table = table;
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString().substring(0, 8);
+        this.pollInterval = pollInterval;
+        this.notificationWait = notificationWait;
+        this.maxReconnectBackoff = maxReconnectBackoff;
+        this.retention = retention;
+        this.initializeSchema = initializeSchema;
+
+        this.publishSql = "WITH e AS (INSERT INTO " + table + " (type, subject, origin) VALUES (?, ?, ?)"
+                + " RETURNING id, type, subject, origin, created_at)"
+                + " SELECT e.id, e.created_at, pg_notify('" + channel + "', e.id || ':' || e.type || ':'"
+                + " || (extract(epoch FROM e.created_at) * 1000)::bigint || ':' || e.origin || ':' || e.subject)"
+                + " FROM e";
+        this.readSql = "SELECT id, type, subject, origin, created_at, now() FROM " + table
+                + " WHERE created_at > ? ORDER BY id";
+
+        this.applied = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(retention).build();
+        this.publishedCounter = counter(meterRegistry, "published", "Revogações publicadas por esta instância");
+        this.receivedCounter = counter(meterRegistry, "received", "Revogações recebidas por NOTIFY");
+        this.replayedCounter = counter(meterRegistry, "replayed", "Revogações recebidas pela leitura da tabela (replay/polling)");
+        this.reconnectCounter = counter(meterRegistry, "reconnects", "Reconexões do listener");
+        Gauge.builder("auth.token.revocation.bus.listening", this, bus -> bus.listening ? 1 : 0)
+                .description("1 enquanto o LISTEN está ativo")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder("auth.token.revocation.bus." + name).description(description).register(meterRegistry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Grava e anuncia a revogação. A instância que publica deve aplicá-la localmente
+     * (o próprio evento é ignorado quando chega de volta).
+     *
+     * @return o evento com id e instante atribuídos pelo banco
+     * @throws SQLException se o banco estiver indisponível (a revogação não foi propagada)
+     */
+    public RevocationEvent publish(RevocationEvent.Type type, String subject) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(publishSql)) {
+            statement.setString(1, type.name());
+            statement.setString(2, subject == null ? "" : subject);
+            statement.setString(3, nodeId);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                long id = result.getLong(1);
+                applied.put(id, Boolean.TRUE);
+                publishedCounter.increment();
+                return new RevocationEvent(id, type, subject, nodeId, result.getTimestamp(2).toInstant());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (initializeSchema) {
+            try (Connection connection = dataSource.getConnection()) {
+                initializeSchema(connection);
+            } catch (SQLException e) {
+                // O listener tenta de novo a cada conexão
+                log.warn("Não foi possível criar a tabela de revogações {}: {}", table, e.getMessage());
+            }
+        }
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("revocation-listener").start(this::listen);
+        log.info("PostgresRevocationBus iniciado - Canal: {}, Tabela: {}, Instância: {}", channel, table, nodeId);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(notificationWait.toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        listening = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void initializeSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + table + " ("
+                    + "id BIGSERIAL PRIMARY KEY, "
+                    + "type VARCHAR(16) NOT NULL, "
+                    + "subject VARCHAR(128) NOT NULL, "
+                    + "origin VARCHAR(64) NOT NULL, "
+                    + "created_at TIMESTAMPTZ NOT NULL DEFAULT now())");
+            statement.execute("CREATE INDEX IF NOT EXISTS " + table + "_created_at_idx ON " + table + " (created_at)");
+        }
+    }
+
+    /**
+     * Laço do listener: conecta, cria a tabela se necessário, faz o replay e espera notificações,
+     * lendo a tabela a cada {@code poll-interval}. Qualquer falha de conexão volta ao início, com backoff.
+     */
+    private void listen() {
+        long backoffMillis = 500;
+        while (running) {
+            try (Connection connection = listenerDataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                if (initializeSchema) {
+                    // Idempotente: cobre o banco inacessível na subida
+                    initializeSchema(connection);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Replay: o que foi publicado enquanto esta instância não escutava
+                readEvents(connection);
+                listening = true;
+                backoffMillis = 500;
+                log.info("Escutando revogações no canal {}", channel);
+
+                long nextPoll = System.nanoTime() + pollInterval.toNanos();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) notificationWait.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                    if (System.nanoTime() - nextPoll >= 0) {
+                        readEvents(connection);
+                        cleanup(connection);
+                        nextPoll = System.nanoTime() + pollInterval.toNanos();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                listening = false;
+                reconnectCounter.increment();
+                log.warn("Listener de revogações desconectado: {} - nova tentativa em {} ms", e.getMessage(), backoffMillis);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, maxReconnectBackoff.toMillis());
+            }
+        }
+        listening = false;
+    }
+
+    private void receive(String payload) {
+        try {
+            RevocationEvent event = RevocationEvent.parse(payload);
+            if (apply(event)) {
+                receivedCounter.increment();
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Notificação de revogação ignorada: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lê os eventos desde a última leitura (com sobreposição) ou, na primeira, dos últimos
+     * {@code retention}.
+     */
+    private void readEvents(Connection connection) throws SQLException {
+        Timestamp since = readWatermark != null
+                ? Timestamp.from(readWatermark.toInstant().minus(READ_OVERLAP))
+                : Timestamp.from(Instant.now().minus(retention));
+        try (PreparedStatement statement = connection.prepareStatement(readSql)) {
+            statement.setTimestamp(1, since);
+            try (ResultSet result = statement.executeQuery()) {
+                Timestamp databaseNow = null;
+                while (result.next()) {
+                    RevocationEvent event = new RevocationEvent(result.getLong(1),
+                            RevocationEvent.Type.valueOf(result.getString(2)), result.getString(3),
+                            result.getString(4), result.getTimestamp(5).toInstant());
+                    databaseNow = result.getTimestamp(6);
+                    if (apply(event)) {
+                        replayedCounter.increment();
+                    }
+                }
+                readWatermark = databaseNow != null ? databaseNow : databaseNow(connection);
+            }
+        }
+    }
+
+    private static Timestamp databaseNow(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery("SELECT now()")) {
+            result.next();
+            return result.getTimestamp(1);
+        }
+    }
+
+    /**
+     * @return {@code true} se o evento foi aplicado agora (não é repetido nem desta instância)
+     */
+    boolean apply(RevocationEvent event) {
+        if (applied.asMap().putIfAbsent(event.id(), Boolean.TRUE) != null || nodeId.equals(event.origin())) {
+            return false;
+        }
+        tokenRevocationList.apply(event);
+        return true;
+    }
+
+    private void cleanup(Connection connection) throws SQLException {
+        if (lastCleanupNanos != 0 && System.nanoTime() - lastCleanupNanos < CLEANUP_INTERVAL.toNanos()) {
+            return;
+        }
+        lastCleanupNanos = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM " + table + " WHERE created_at < ?")) {
+            statement.setTimestamp(1, Timestamp.from(Instant.now().minus(retention)));
+            int removed = statement.executeUpdate();
+            if (removed > 0) {
+                log.debug("{} revogações antigas removidas de {}", removed, table);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.devmaster.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rotas públicas (sem autenticação), usadas pelo {@link JwtAuthenticationFilter}
+ * e pelo {@code SecurityConfig}.
+ *
+ * Os padrões são compilados na inicialização em uma árvore de segmentos. Suportam
+ * segmentos literais, {@code *} (um segmento qualquer) e {@code /**} no final (o
+ * caminho e tudo abaixo dele). A verificação percorre o caminho uma vez, sem alocar
+ * objetos por requisição.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class PublicRouteRegistry {
+
+    /**
+     * Rotas públicas da aplicação, relativas ao context path.
+     */
+    public static final List<String> PUBLIC_ROUTES = List.of(
+            // Inclui: /public/auth/login, /public/auth/logout, /public/health, etc.
+            "/public/**",
+            // Endpoints públicos de cupons
+            "/v1/cupons/public/**",
+            // Swagger e documentação
+            "/api-docs/**",
+            "/swagger/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/v3/api-docs/**",
+            // Actuator
+            "/actuator/**"
+    );
+
+    private static final String SINGLE_SEGMENT = "*";
+    private static final String ANY_DESCENDANT = "**";
+
+    private final Node root = new Node();
+    private final int size;
+
+    public PublicRouteRegistry() {
+        this(PUBLIC_ROUTES);
+    }
+
+    public PublicRouteRegistry(Collection<String> patterns) {
+        for (String pattern : patterns) {
+            add(pattern);
+        }
+        this.size = patterns.size();
+        log.info("PublicRouteRegistry inicializado - {} rotas públicas", size);
+    }
+
+    /**
+     * Indica se a requisição é para uma rota pública (URI sem o context path).
+     */
+    public boolean matches(HttpServletRequest request) {
+        return matches(request.getRequestURI(), request.getContextPath().length());
+    }
+
+    /**
+     * Indica se o caminho é de uma rota pública.
+     */
+    public boolean matches(String path) {
+        return matches(path, 0);
+    }
+
+    /**
+     * Indica se o caminho, a partir de {@code offset}, é de uma rota pública.
+     */
+    public boolean matches(String path, int offset) {
+        return path != null && match(root, path, offset);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void add(String pattern) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Rota pública deve começar com '/': " + pattern);
+        }
+        Node node = root;
+        String[] segments = Arrays.stream(pattern.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (ANY_DESCENDANT.equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' só é suportado no final da rota: " + pattern);
+                }
+                node.anyDescendant = true;
+                return;
+            }
+            if (segment.indexOf('*') >= 0 && !SINGLE_SEGMENT.equals(segment)) {
+                throw new IllegalArgumentException("Curingas parciais não são suportados: " + pattern);
+            }
+            node = SINGLE_SEGMENT.equals(segment) ? node.wildcardChild() : node.literalChild(segment);
+        }
+        node.terminal = true;
+    }
+
+    private static boolean match(Node node, String path, int from) {
+        int length = path.length();
+        while (true) {
+            if (node.anyDescendant) {
+                return true;
+            }
+            int start = from;
+            while (start < length && path.charAt(start) == '/') {
+                start++;
+            }
+            if (start >= length) {
+                return node.terminal;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            Node literal = node.findLiteral(path, start, end);
+            if (node.wildcard == null) {
+                if (literal == null) {
+                    return false;
+                }
+                node = literal;
+            } else if (literal == null) {
+                node = node.wildcard;
+            } else {
+                // Segmento literal e '*' no mesmo nível: tenta o literal e, se falhar, o curinga
+                if (match(literal, path, end)) {
+                    return true;
+                }
+                node = node.wildcard;
+            }
+            from = end;
+        }
+    }
+
+    /**
+     * Nó da árvore: filhos literais em uma tabela hash própria (endereçamento aberto),
+     * consultada diretamente sobre o trecho do caminho, sem criar substrings.
+     */
+    private static final class Node {
+
+        private String[] labels = new String[4];
+        private Node[] children = new Node[4];
+        private int count;
+        private Node wildcard;
+        private boolean terminal;
+        private boolean anyDescendant;
+
+        Node literalChild(String label) {
+            int slot = slot(labels, label, 0, label.length());
+            if (labels[slot] != null) {
+                return children[slot];
+            }
+            if ((count + 1) * 2 > labels.length) {
+                resize();
+                slot = slot(labels, label, 0, label.length());
+            }
+            Node child = new Node();
+            labels[slot] = label;
+            children[slot] = child;
+            count++;
+            return child;
+        }
+
+        Node wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+
+        Node findLiteral(String path, int start, int end) {
+            if (count == 0) {
+                return null;
+            }
+            int slot = slot(labels, path, start, end);
+            return labels[slot] != null ? children[slot] : null;
+        }
+
+        private void resize() {
+            String[] oldLabels = labels;
+            Node[] oldChildren = children;
+            labels = new String[oldLabels.length * 2];
+            children = new Node[oldLabels.length * 2];
+            for (int i = 0; i < oldLabels.length; i++) {
+                if (oldLabels[i] != null) {
+                    int slot = slot(labels, oldLabels[i], 0, oldLabels[i].length());
+                    labels[slot] = oldLabels[i];
+                    children[slot] = oldChildren[i];
+                }
+            }
+        }
+
+        /**
+         * Posição do segmento {@code text[start, end)} na tabela: a ocupada por ele ou a primeira livre.
+         */
+        private static int slot(String[] table, String text, int start, int end) {
+            int mask = table.length - 1;
+            int slot = hash(text, start, end) & mask;
+            while (table[slot] != null && !regionEquals(table[slot], text, start, end)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static int hash(String text, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean regionEquals(String label, String text, int start, int end) {
+            return label.length() == end - start && text.regionMatches(start, label, 0, label.length());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.devmaster.security;
+
+import java.time.Instant;
+
+/**
+ * Revogação propagada entre as instâncias pelo {@link PostgresRevocationBus}.
+ *
+ * O token nunca trafega em claro: o {@code subject} de um {@link Type#TOKEN} é o digest usado
+ * como chave do {@link TokenValidationCache}.
+ *
+ * @param id      id no banco ({@code 0} enquanto não publicado)
+ * @param type    tipo da revogação
+ * @param subject digest do token, {@code userId} ou vazio, conforme o tipo
+ * @param origin  instância que publicou
+ * @param createdAt instante da revogação
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public record RevocationEvent(long id, Type type, String subject, String origin, Instant createdAt) {
+
+    public enum Type {
+        /** Token revogado (logout): recusado até expirar. */
+        TOKEN,
+        /** Todos os tokens do usuário emitidos até a revogação são recusados. */
+        USER,
+        /** Só descarta validações em cache (ex.: troca de roles): de um usuário, ou todas se vazio. */
+        CACHE
+    }
+
+    public RevocationEvent {
+        subject = subject == null ? "" : subject;
+        createdAt = createdAt == null ? Instant.now() : createdAt;
+    }
+
+    /**
+     * Revogação local, ainda não publicada.
+     */
+    public static RevocationEvent local(Type type, String subject, String origin) {
+        return new RevocationEvent(0L, type, subject, origin, Instant.now());
+    }
+
+    /**
+     * Formato do payload do {@code NOTIFY}: {@code id:TIPO:epoch-ms:origem:subject}.
+     */
+    static RevocationEvent parse(String payload) {
+        String[] parts = payload.split(":", 5);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Payload de revogação inválido: " + payload);
+        }
+        return new RevocationEvent(Long.parseLong(parts[0]), Type.valueOf(parts[1]), parts[4], parts[3],
+                Instant.ofEpochMilli(Long.parseLong(parts[2])));
+    }
+}
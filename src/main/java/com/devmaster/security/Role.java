@@ -0,0 +1,56 @@
+package com.devmaster.security;
+
+/**
+ * Roles conhecidas pela aplicação.
+ *
+ * Cada role ocupa um bit ({@link #mask()}): o conjunto de roles de um usuário é um {@code long}
+ * e a verificação de uma role é um AND, sem percorrer authorities nem alocar.
+ * Roles que não estão aqui continuam valendo como authorities, só não têm bit.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public enum Role {
+
+    SUPER_ADMIN,
+    ADMIN,
+    GERENTE,
+    USER;
+
+    static final String PREFIX = "ROLE_";
+
+    private static final Role[] VALUES = values();
+
+    private final String authority = PREFIX + name();
+    private final long mask = 1L << ordinal();
+
+    /**
+     * Nome da authority, com prefixo: {@code ROLE_ADMIN}.
+     */
+    public String authority() {
+        return authority;
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    /**
+     * Converte uma role, com ou sem o prefixo {@code ROLE_}.
+     *
+     * @return a role, ou {@code null} se não for uma role conhecida
+     */
+    public static Role of(String role) {
+        if (role == null) {
+            return null;
+        }
+        int offset = role.startsWith(PREFIX) ? PREFIX.length() : 0;
+        for (Role value : VALUES) {
+            String name = value.name();
+            if (role.length() - offset == name.length() && role.startsWith(name, offset)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
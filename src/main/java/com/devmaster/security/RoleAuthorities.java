@@ -0,0 +1,110 @@
+package com.devmaster.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authorities ({@code ROLE_*}) já convertidas, reaproveitadas por conjunto de roles.
+ *
+ * Tokens de usuários diferentes costumam ter as mesmas roles: a lista imutável de
+ * {@link GrantedAuthority}, o conjunto de nomes e a máscara de {@link Role} são criados uma
+ * vez por combinação e compartilhados entre requisições. O número de combinações em cache
+ * é limitado.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+final class RoleAuthorities {
+
+    private static final int MAX_CACHED_ROLE_SETS = 1024;
+
+    private static final ConcurrentHashMap<List<String>, RoleAuthorities> CACHE = new ConcurrentHashMap<>();
+
+    static final RoleAuthorities NONE = new RoleAuthorities(List.of(), Set.of(), 0L);
+
+    private final List<GrantedAuthority> authorities;
+    private final Set<String> names;
+    private final long mask;
+
+    private RoleAuthorities(List<GrantedAuthority> authorities, Set<String> names, long mask) {
+        this.authorities = authorities;
+        this.names = names;
+        this.mask = mask;
+    }
+
+    /**
+     * Retorna as authorities das roles, com prefixo {@code ROLE_} quando ausente.
+     */
+    static RoleAuthorities of(List<String> roles) {
+        if (roles.isEmpty()) {
+            return NONE;
+        }
+        RoleAuthorities cached = CACHE.get(roles);
+        if (cached != null) {
+            return cached;
+        }
+        cached = create(roles);
+        if (CACHE.size() < MAX_CACHED_ROLE_SETS) {
+            // Chave copiada: a lista de roles vem dos claims e não é necessariamente imutável
+            RoleAuthorities existing = CACHE.putIfAbsent(List.copyOf(roles), cached);
+            return existing != null ? existing : cached;
+        }
+        return cached;
+    }
+
+    private static RoleAuthorities create(List<String> roles) {
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        Set<String> names = new LinkedHashSet<>();
+        long mask = 0L;
+        for (String role : roles) {
+            String authority = role.startsWith(Role.PREFIX) ? role : Role.PREFIX + role;
+            if (names.add(authority)) {
+                authorities.add(new SimpleGrantedAuthority(authority));
+            }
+            Role known = Role.of(authority);
+            if (known != null) {
+                mask |= known.mask();
+            }
+        }
+        return new RoleAuthorities(List.copyOf(authorities), Set.copyOf(names), mask);
+    }
+
+    List<GrantedAuthority> authorities() {
+        return authorities;
+    }
+
+    /**
+     * Nomes das authorities ({@code ROLE_*}), imutável.
+     */
+    Set<String> names() {
+        return names;
+    }
+
+    /**
+     * Máscara das roles de {@link Role} presentes.
+     */
+    long mask() {
+        return mask;
+    }
+
+    boolean has(Role role) {
+        return (mask & role.mask()) != 0;
+    }
+
+    /**
+     * Roles conhecidas são verificadas pela máscara; as demais, pelo conjunto de nomes.
+     */
+    boolean has(String role) {
+        Role known = Role.of(role);
+        if (known != null) {
+            return has(known);
+        }
+        return role != null && names.contains(role.startsWith(Role.PREFIX) ? role : Role.PREFIX + role);
+    }
+}
@@ -14,45 +14,90 @@ import java.util.stream.Collectors;
 
 /**
  * Serviço centralizado para operações de segurança.
- * 
+ *
+ * Requisições autenticadas pelo {@link JwtAuthenticationFilter} têm um {@link UserContext} como
+ * principal: as verificações usam o contexto já montado, sem percorrer as authorities. Outras
+ * autenticações (testes, {@code anonymousUser}) seguem pelas authorities.
+ *
  * @author DevMaster Team
  * @since 1.0.0
  */
 @Slf4j
 @Service
 public class SecurityService {
-    
+
+    /**
+     * Contexto do usuário autenticado na requisição atual.
+     *
+     * @return o contexto, ou {@code null} se a requisição não foi autenticada por token
+     */
+    public UserContext getUserContext() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserContext userContext ? userContext : null;
+    }
+
     public UUID getUsuarioAutenticado() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
             throw APIException.build(HttpStatus.UNAUTHORIZED, "Usuário não autenticado");
         }
+        if (auth.getPrincipal() instanceof UserContext userContext && userContext.getUserId() != null) {
+            return userContext.getUserId();
+        }
         return UUID.fromString(auth.getName());
     }
-    
+
+    /**
+     * Restaurante (tenant) do usuário autenticado, ou {@code null} se o token não informa.
+     */
+    public Long getRestauranteId() {
+        UserContext userContext = getUserContext();
+        return userContext != null ? userContext.getRestauranteId() : null;
+    }
+
     public Set<String> getRoles() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null) {
             return Set.of();
         }
+        if (auth.getPrincipal() instanceof UserContext userContext) {
+            return userContext.getRoles();
+        }
         return auth.getAuthorities().stream()
             .map(GrantedAuthority::getAuthority)
             .collect(Collectors.toSet());
     }
-    
+
+    /**
+     * Verifica a authority exatamente como informada, com o prefixo: {@code hasRole("ROLE_ADMIN")}.
+     * A mesma regra vale para qualquer principal ({@link UserContext#hasRole(String)}, que também
+     * aceita a role sem prefixo, não é usado aqui).
+     */
     public boolean hasRole(String role) {
+        UserContext userContext = getUserContext();
+        if (userContext != null) {
+            return userContext.getRoleAuthorities().names().contains(role);
+        }
         return getRoles().contains(role);
     }
-    
+
     public boolean isSuperAdmin() {
-        return hasRole("ROLE_SUPER_ADMIN");
+        return hasRole(Role.SUPER_ADMIN);
     }
-    
+
     public boolean isAdmin() {
-        return hasRole("ROLE_ADMIN");
+        return hasRole(Role.ADMIN);
     }
-    
+
     public boolean isGerente() {
-        return hasRole("ROLE_GERENTE");
+        return hasRole(Role.GERENTE);
+    }
+
+    private boolean hasRole(Role role) {
+        UserContext userContext = getUserContext();
+        if (userContext != null) {
+            return userContext.hasRole(role);
+        }
+        return getRoles().contains(role.authority());
     }
 }
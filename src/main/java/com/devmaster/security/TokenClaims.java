@@ -0,0 +1,103 @@
+package com.devmaster.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claims tipados de um token validado.
+ *
+ * @param subject    claim {@code sub}
+ * @param username   claim {@code username} (ou {@code sub} quando ausente)
+ * @param userId     claim {@code userId}
+ * @param roles      claim {@code roles}
+ * @param restauranteId claim {@code restauranteId} (tenant do usuário)
+ * @param issuer     claim {@code iss}
+ * @param audience   claim {@code aud}
+ * @param issuedAt   claim {@code iat}
+ * @param notBefore  claim {@code nbf}
+ * @param expiresAt  claim {@code exp}
+ * @param attributes todos os claims originais
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public record TokenClaims(
+        String subject,
+        String username,
+        String userId,
+        List<String> roles,
+        Long restauranteId,
+        String issuer,
+        List<String> audience,
+        Instant issuedAt,
+        Instant notBefore,
+        Instant expiresAt,
+        Map<String, Object> attributes
+) {
+
+    /**
+     * Constrói os claims tipados a partir do mapa de claims do token.
+     */
+    public static TokenClaims from(Map<String, Object> claims) {
+        String subject = asString(claims.get("sub"));
+        String username = asString(claims.get("username"));
+        return new TokenClaims(
+                subject,
+                username != null ? username : subject,
+                asString(claims.get("userId")),
+                asStringList(claims.get("roles")),
+                asLong(claims.get("restauranteId")),
+                asString(claims.get("iss")),
+                asStringList(claims.get("aud")),
+                asInstant(claims.get("iat")),
+                asInstant(claims.get("nbf")),
+                asInstant(claims.get("exp")),
+                Collections.unmodifiableMap(claims)
+        );
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Long asLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Long.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> asStringList(Object value) {
+        if (value instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            return List.of(text);
+        }
+        return List.of();
+    }
+
+    private static Instant asInstant(Object value) {
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof Date date) {
+            return date.toInstant();
+        }
+        if (value instanceof Number seconds) {
+            return Instant.ofEpochSecond(seconds.longValue());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.devmaster.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Revogações conhecidas por esta instância.
+ *
+ * Aplicar uma revogação descarta as validações em cache e, para {@link RevocationEvent.Type#TOKEN}
+ * e {@link RevocationEvent.Type#USER}, guarda a revogação pelo tempo de {@code retention}, para
+ * que a verificação local do JWT e o fallback do cache também recusem o token. As revogações
+ * vêm da própria instância ou das outras, pelo {@link PostgresRevocationBus}; aplicar a mesma
+ * revogação de novo não tem efeito.
+ *
+ * Sem revogações, {@link #isRevoked(String, TokenClaims)} não calcula o digest do token.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final String LOCAL_ORIGIN = "local";
+
+    private final TokenValidationCache tokenValidationCache;
+    /** Digest do token revogado. */
+    private final Cache<String, Boolean> revokedTokens;
+    /** userId revogado, com o instante da revogação. */
+    private final Cache<String, Instant> revokedUsers;
+    private final Counter appliedCounter;
+
+    public TokenRevocationList(
+            TokenValidationCache tokenValidationCache,
+            @Value("${security.revocation.retention:24h}") Duration retention,
+            @Value("${security.revocation.max-size:100000}") long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.tokenValidationCache = tokenValidationCache;
+        this.revokedTokens = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(retention).build();
+        this.revokedUsers = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(retention).build();
+        this.appliedCounter = Counter.builder("auth.token.revocation.applied")
+                .description("Revogações aplicadas nesta instância")
+                .register(meterRegistry);
+        Gauge.builder("auth.token.revocation.active", this, list -> list.revokedTokens.estimatedSize()
+                        + list.revokedUsers.estimatedSize())
+                .description("Tokens e usuários revogados em memória")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Revoga o token nesta instância (logout).
+     *
+     * @return a revogação aplicada, para ser publicada às demais instâncias
+     */
+    public RevocationEvent revokeToken(String token) {
+        return applyLocal(RevocationEvent.Type.TOKEN, TokenValidationCache.digest(token));
+    }
+
+    /**
+     * Revoga nesta instância todos os tokens do usuário emitidos até agora.
+     */
+    public RevocationEvent revokeUser(String userId) {
+        return applyLocal(RevocationEvent.Type.USER, userId);
+    }
+
+    /**
+     * Descarta as validações em cache do usuário, ou todas se {@code userId} for {@code null}.
+     */
+    public RevocationEvent invalidateCache(String userId) {
+        return applyLocal(RevocationEvent.Type.CACHE, userId);
+    }
+
+    private RevocationEvent applyLocal(RevocationEvent.Type type, String subject) {
+        RevocationEvent event = RevocationEvent.local(type, subject, LOCAL_ORIGIN);
+        apply(event);
+        return event;
+    }
+
+    /**
+     * Aplica a revogação: descarta o cache correspondente e guarda tokens e usuários revogados.
+     */
+    public void apply(RevocationEvent event) {
+        switch (event.type()) {
+            case TOKEN -> {
+                revokedTokens.put(event.subject(), Boolean.TRUE);
+                tokenValidationCache.invalidateDigest(event.subject());
+            }
+            case USER -> {
+                // Replays podem chegar fora de ordem: vale a revogação mais recente
+                revokedUsers.asMap().merge(event.subject(), event.createdAt(),
+                        (current, received) -> received.isAfter(current) ? received : current);
+                tokenValidationCache.invalidateUser(event.subject());
+            }
+            case CACHE -> {
+                if (event.subject().isEmpty()) {
+                    tokenValidationCache.invalidateAll();
+                } else {
+                    tokenValidationCache.invalidateUser(event.subject());
+                }
+            }
+        }
+        appliedCounter.increment();
+        log.debug("Revogação aplicada: {} {} (origem {})", event.type(), event.subject(), event.origin());
+    }
+
+    /**
+     * Indica se o token foi revogado, por ele mesmo ou pelo usuário. Tokens de um usuário
+     * revogado emitidos depois da revogação (novo login) continuam válidos.
+     */
+    public boolean isRevoked(String token, TokenClaims claims) {
+        if (revokedUsers.estimatedSize() > 0 && claims.userId() != null) {
+            Instant revokedAt = revokedUsers.getIfPresent(claims.userId());
+            // iat tem precisão de segundos: um token do mesmo segundo da revogação é recusado
+            if (revokedAt != null && (claims.issuedAt() == null
+                    || claims.issuedAt().getEpochSecond() <= revokedAt.getEpochSecond())) {
+                return true;
+            }
+        }
+        return revokedTokens.estimatedSize() > 0
+                && revokedTokens.getIfPresent(TokenValidationCache.digest(token)) != null;
+    }
+}
@@ -0,0 +1,203 @@
+package com.devmaster.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+
+/**
+ * Cache local das validações de token.
+ *
+ * Evita uma chamada ao serviço de autenticação para tokens validados recentemente.
+ * As entradas são indexadas pelo SHA-256 do token (nunca o token em claro) e
+ * expiram no menor valor entre o claim {@code exp} do token e o TTL máximo configurado.
+ * Validações além do TTL (até {@code max-stale}) só são usadas como fallback.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class TokenValidationCache {
+
+    private static final String CACHE_NAME = "auth.token.validation";
+
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final Duration maxStale;
+    private final Cache<String, CachedValidation> cache;
+    /**
+     * Hits e misses são registrados por {@link #get(String)} conforme a validade da entrada: uma
+     * entrada além do TTL (só fallback) conta como miss.
+     */
+    private final StatsCounter stats = new ConcurrentStatsCounter();
+
+    public TokenValidationCache(
+            @Value("${security.auth-service.cache.enabled:true}") boolean enabled,
+            @Value("${security.auth-service.cache.max-size:10000}") long maxSize,
+            @Value("${security.auth-service.cache.max-ttl:5m}") Duration maxTtl,
+            @Value("${security.auth-service.cache.max-stale:30m}") Duration maxStale,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.maxTtl = maxTtl;
+        this.maxStale = maxStale.compareTo(maxTtl) > 0 ? maxStale : maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ValidationExpiry())
+                .recordStats(() -> stats)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("TokenValidationCache inicializado - Enabled: {}, Max size: {}, Max TTL: {}, Max stale: {}",
+                enabled, maxSize, maxTtl, this.maxStale);
+    }
+
+    /**
+     * Retorna os claims de uma validação ainda vigente, ou {@code null} se não houver.
+     */
+    public TokenClaims get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        CachedValidation cached = cache.policy().getIfPresentQuietly(digest(token));
+        if (cached != null && cached.isFresh()) {
+            stats.recordHits(1);
+            return cached.claims();
+        }
+        stats.recordMisses(1);
+        return null;
+    }
+
+    /**
+     * Retorna os claims de uma validação anterior mesmo após o TTL máximo,
+     * desde que o token ainda não tenha expirado. Usado apenas como fallback
+     * quando o serviço de autenticação está indisponível.
+     */
+    public TokenClaims getStale(String token) {
+        if (!enabled) {
+            return null;
+        }
+        // Não entra nas estatísticas: a leitura já foi contada como miss em get()
+        CachedValidation cached = cache.policy().getIfPresentQuietly(digest(token));
+        return cached != null ? cached.claims() : null;
+    }
+
+    /**
+     * Armazena o resultado de uma validação bem-sucedida.
+     * A entrada é considerada válida por até {@code max-ttl} e mantida como fallback
+     * por até {@code max-stale}, sempre limitada à expiração do token.
+     *
+     * @param expiresAt instante de expiração do token ({@code exp}); {@code null} usa o TTL máximo
+     */
+    public void put(String token, TokenClaims claims, Instant expiresAt) {
+        if (!enabled) {
+            return;
+        }
+        long ttlNanos = maxTtl.toNanos();
+        long staleTtlNanos = maxStale.toNanos();
+        if (expiresAt != null) {
+            long untilExpirationNanos = Duration.between(Instant.now(), expiresAt).toNanos();
+            if (untilExpirationNanos <= 0) {
+                return;
+            }
+            ttlNanos = Math.min(ttlNanos, untilExpirationNanos);
+            staleTtlNanos = Math.min(staleTtlNanos, untilExpirationNanos);
+        }
+        cache.put(digest(token), new CachedValidation(claims, System.nanoTime() + ttlNanos, staleTtlNanos));
+    }
+
+    /**
+     * Remove um token do cache (logout, revogação).
+     */
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    /**
+     * Remove a entrada pelo digest do token ({@link #digest(String)}), como chega nas revogações
+     * de outras instâncias.
+     */
+    public void invalidateDigest(String tokenDigest) {
+        cache.invalidate(tokenDigest);
+    }
+
+    /**
+     * Remove as validações de um usuário (claim {@code userId}). Percorre o cache: é para eventos
+     * raros, como revogação ou troca de roles.
+     *
+     * @return número de entradas removidas
+     */
+    public int invalidateUser(String userId) {
+        int removed = 0;
+        for (Iterator<CachedValidation> iterator = cache.asMap().values().iterator(); iterator.hasNext(); ) {
+            if (userId.equals(iterator.next().claims().userId())) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Calcula o digest SHA-256 (Base64 URL-safe) usado como chave do cache.
+     */
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    private record CachedValidation(TokenClaims claims, long freshUntilNanos, long ttlNanos) {
+
+        boolean isFresh() {
+            return System.nanoTime() - freshUntilNanos < 0;
+        }
+    }
+
+    private static final class ValidationExpiry implements Expiry<String, CachedValidation> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedValidation value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedValidation value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.devmaster.security;
+
+import com.devmaster.handler.APIException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa validações concorrentes do mesmo token (single-flight).
+ *
+ * A primeira requisição executa a validação; as demais que chegam com o mesmo
+ * token enquanto ela está em andamento aguardam o mesmo resultado, em vez de
+ * disparar chamadas idênticas ao serviço de autenticação.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class TokenValidationCoalescer {
+
+    private final ConcurrentHashMap<String, CompletableFuture<TokenClaims>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Duration waitTimeout;
+    private final Counter coalescedCounter;
+
+    public TokenValidationCoalescer(
+            @Value("${security.auth-service.coalescing.enabled:true}") boolean enabled,
+            @Value("${security.auth-service.coalescing.wait-timeout:10s}") Duration waitTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.waitTimeout = waitTimeout;
+        this.coalescedCounter = Counter.builder("auth.token.validation.coalesced")
+                .description("Validações que reutilizaram uma validação em andamento para o mesmo token")
+                .register(meterRegistry);
+        Gauge.builder("auth.token.validation.inflight", inFlight, ConcurrentHashMap::size)
+                .description("Validações de token em andamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a validação do token, compartilhando o resultado com chamadas concorrentes.
+     * Falhas da validação são propagadas para todas as requisições que aguardavam.
+     */
+    public TokenClaims execute(String token, Supplier<TokenClaims> validation) {
+        if (!enabled) {
+            return validation.get();
+        }
+
+        String key = TokenValidationCache.digest(token);
+        CompletableFuture<TokenClaims> future = new CompletableFuture<>();
+        CompletableFuture<TokenClaims> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCounter.increment();
+            log.debug("Validação de token agrupada com uma chamada em andamento");
+            return await(existing);
+        }
+
+        try {
+            TokenClaims result = validation.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Versão não bloqueante de {@link #execute(String, Supplier)}: chamadas concorrentes
+     * (síncronas ou assíncronas) do mesmo token compartilham a validação em andamento.
+     */
+    public CompletableFuture<TokenClaims> executeAsync(String token,
+                                                       Supplier<CompletableFuture<TokenClaims>> validation) {
+        if (!enabled) {
+            return validation.get();
+        }
+
+        String key = TokenValidationCache.digest(token);
+        CompletableFuture<TokenClaims> future = new CompletableFuture<>();
+        CompletableFuture<TokenClaims> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCounter.increment();
+            log.debug("Validação de token agrupada com uma chamada em andamento");
+            return existing.copy()
+                    .orTimeout(waitTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionallyCompose(e -> CompletableFuture.failedFuture(waitFailure(unwrap(e))));
+        }
+
+        try {
+            validation.get().whenComplete((result, error) -> {
+                inFlight.remove(key, future);
+                if (error != null) {
+                    future.completeExceptionally(unwrap(error));
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future.copy();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private Throwable waitFailure(Throwable error) {
+        if (error instanceof TimeoutException) {
+            log.warn("Tempo esgotado aguardando validação de token em andamento ({} ms)", waitTimeout.toMillis());
+            return APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Tempo esgotado na validação do token");
+        }
+        return error;
+    }
+
+    private TokenClaims await(CompletableFuture<TokenClaims> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Falha na validação do token", e);
+        } catch (TimeoutException e) {
+            log.warn("Tempo esgotado aguardando validação de token em andamento ({} ms)", waitTimeout.toMillis());
+            throw APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Tempo esgotado na validação do token");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Validação do token interrompida");
+        }
+    }
+}
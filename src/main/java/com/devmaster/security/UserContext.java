@@ -1,38 +1,103 @@
 package com.devmaster.security;
 
-import lombok.Builder;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.security.Principal;
 import java.util.Set;
 import java.util.UUID;
 
 /**
  * Contexto do usuário autenticado.
- * 
+ *
+ * Criado uma vez por requisição pelo {@link JwtAuthenticationFilter} a partir dos
+ * {@link TokenClaims} e usado como principal da autenticação. É imutável: o {@code userId}
+ * já convertido para {@link UUID}, o tenant e as roles (com máscara de {@link Role}) ficam
+ * prontos para as verificações, que não alocam.
+ *
  * @author DevMaster Team
  * @since 1.0.0
  */
 @Getter
-@Builder
-public class UserContext {
-    private UUID userId;
-    private String username;
-    private Set<String> roles;
-    private Long restauranteId;
-    
+public final class UserContext implements Principal {
+
+    private final UUID userId;
+    private final String username;
+    private final Long restauranteId;
+    @Getter(AccessLevel.NONE)
+    private final RoleAuthorities roles;
+
+    UserContext(UUID userId, String username, Long restauranteId, RoleAuthorities roles) {
+        this.userId = userId;
+        this.username = username;
+        this.restauranteId = restauranteId;
+        this.roles = roles;
+    }
+
+    /**
+     * Cria o contexto a partir dos claims do token. Um {@code userId} que não é UUID fica
+     * {@code null}.
+     */
+    public static UserContext from(TokenClaims claims) {
+        return new UserContext(parseUserId(claims.userId()), claims.username(), claims.restauranteId(),
+                RoleAuthorities.of(claims.roles()));
+    }
+
+    private static UUID parseUserId(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Nome do usuário: é o que {@code Authentication.getName()} retorna.
+     */
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /**
+     * Authorities ({@code ROLE_*}) do usuário, imutável e compartilhado entre requisições.
+     */
+    public Set<String> getRoles() {
+        return roles.names();
+    }
+
+    RoleAuthorities getRoleAuthorities() {
+        return roles;
+    }
+
     public boolean isSuperAdmin() {
-        return roles.contains("ROLE_SUPER_ADMIN");
+        return roles.has(Role.SUPER_ADMIN);
     }
-    
+
     public boolean isAdmin() {
-        return roles.contains("ROLE_ADMIN");
+        return roles.has(Role.ADMIN);
     }
-    
+
     public boolean isGerente() {
-        return roles.contains("ROLE_GERENTE");
+        return roles.has(Role.GERENTE);
     }
-    
+
+    public boolean hasRole(Role role) {
+        return roles.has(role);
+    }
+
+    /**
+     * Aceita a role com ou sem o prefixo {@code ROLE_}.
+     */
     public boolean hasRole(String role) {
-        return roles.contains(role);
+        return roles.has(role);
+    }
+
+    @Override
+    public String toString() {
+        return username;
     }
 }
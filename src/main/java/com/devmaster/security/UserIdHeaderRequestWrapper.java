@@ -0,0 +1,82 @@
+package com.devmaster.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+
+/**
+ * Expõe o {@code userId} do token como header {@code X-User-Id}.
+ *
+ * Usado apenas quando a requisição original não tem o header. Os nomes de header
+ * são enumerados sob demanda (os originais seguidos de {@code X-User-Id}), sem
+ * copiar a lista a cada chamada.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+final class UserIdHeaderRequestWrapper extends HttpServletRequestWrapper {
+
+    static final String USER_ID_HEADER = "X-User-Id";
+
+    private final String userId;
+
+    UserIdHeaderRequestWrapper(HttpServletRequest request, String userId) {
+        super(request);
+        this.userId = userId;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (USER_ID_HEADER.equalsIgnoreCase(name)) {
+            return userId;
+        }
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if (USER_ID_HEADER.equalsIgnoreCase(name)) {
+            return new AppendingEnumeration(null, userId);
+        }
+        return super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return new AppendingEnumeration(super.getHeaderNames(), USER_ID_HEADER);
+    }
+
+    /**
+     * Enumera os elementos de {@code head} (se houver) e, por fim, {@code last}.
+     */
+    private static final class AppendingEnumeration implements Enumeration<String> {
+
+        private final Enumeration<String> head;
+        private String last;
+
+        private AppendingEnumeration(Enumeration<String> head, String last) {
+            this.head = head;
+            this.last = last;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return (head != null && head.hasMoreElements()) || last != null;
+        }
+
+        @Override
+        public String nextElement() {
+            if (head != null && head.hasMoreElements()) {
+                return head.nextElement();
+            }
+            if (last == null) {
+                throw new NoSuchElementException();
+            }
+            String element = last;
+            last = null;
+            return element;
+        }
+    }
+}
@@ -1,56 +1,291 @@
 package com.devmaster.util;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 /**
  * Utilitário para manipulação de CNPJ.
- * Remove e aplica máscaras em CNPJs numéricos e alfanuméricos.
- * 
+ * Remove e aplica máscaras, valida e normaliza CNPJs numéricos e alfanuméricos.
+ *
+ * O CNPJ alfanumérico (IN RFB nº 2.229/2024) tem 12 posições de raiz + ordem com {@code [0-9A-Z]}
+ * e 2 dígitos verificadores numéricos. Os dígitos são calculados pelo módulo 11 sobre o valor de
+ * cada caractere, que é o código ASCII menos 48: {@code '0'..'9'} valem 0 a 9 e {@code 'A'..'Z'}
+ * valem 17 a 42. Para CNPJs só com números, o cálculo é o mesmo de sempre.
+ *
+ * Todos os métodos percorrem os caracteres diretamente (sem regex, {@code String.format} ou
+ * {@code substring}): a validação não aloca nada, e máscara/normalização alocam só a {@link String}
+ * de retorno — nenhuma, quando a entrada já está no formato pedido. Para importações grandes há
+ * {@link #normalizarLote(String[])} e {@link #validarLote(String[])}, paralelos a partir de
+ * {@value #LIMIAR_PARALELO} itens.
+ *
  * @author DevMaster Team
  * @since 1.0.0
  */
 public class CNPJUtil {
-    
+
+    /** Tamanho do CNPJ sem máscara. */
+    public static final int TAMANHO = 14;
+
+    /** Tamanho do CNPJ com máscara ({@code XX.XXX.XXX/XXXX-XX}). */
+    public static final int TAMANHO_COM_MASCARA = 18;
+
+    /** A partir deste número de itens os métodos de lote usam o ForkJoinPool comum. */
+    static final int LIMIAR_PARALELO = 8_192;
+
+    private static final int TAMANHO_BASE = 12;
+
+    // Pesos do segundo dígito; o primeiro usa os mesmos a partir da segunda posição
+    private static final int[] PESOS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private static final int INVALIDO = -1;
+
     private CNPJUtil() {
         throw new IllegalStateException("Utility class");
     }
-    
+
     /**
      * Remove a máscara do CNPJ, mantendo apenas caracteres alfanuméricos.
-     * 
+     *
      * Exemplos:
      * - "53.429.950/0001-00" -> "53429950000100"
      * - "SR.7VA.0TA/0001-70" -> "SR7VA0TA000170"
-     * 
+     *
      * @param cnpjComMascara CNPJ com máscara
-     * @return CNPJ sem máscara (apenas alfanuméricos)
+     * @return CNPJ sem máscara (apenas alfanuméricos); a própria entrada, se não houver o que remover
      */
     public static String removerMascara(String cnpjComMascara) {
         if (cnpjComMascara == null) {
             return null;
         }
-        return cnpjComMascara.replaceAll("[^a-zA-Z0-9]", "");
+        int tamanho = cnpjComMascara.length();
+        int primeiro = 0;
+        while (primeiro < tamanho && isAlfanumerico(cnpjComMascara.charAt(primeiro))) {
+            primeiro++;
+        }
+        if (primeiro == tamanho) {
+            return cnpjComMascara;
+        }
+        char[] resultado = new char[tamanho - 1];
+        cnpjComMascara.getChars(0, primeiro, resultado, 0);
+        int n = primeiro;
+        for (int i = primeiro + 1; i < tamanho; i++) {
+            char c = cnpjComMascara.charAt(i);
+            if (isAlfanumerico(c)) {
+                resultado[n++] = c;
+            }
+        }
+        return new String(resultado, 0, n);
     }
-    
+
     /**
      * Aplica a máscara no CNPJ (formato: XX.XXX.XXX/XXXX-XX).
-     * 
+     *
      * Exemplos:
      * - "53429950000100" -> "53.429.950/0001-00"
      * - "SR7VA0TA000170" -> "SR.7VA.0TA/0001-70"
-     * 
+     *
      * @param cnpjSemMascara CNPJ sem máscara
-     * @return CNPJ com máscara
+     * @return CNPJ com máscara; a própria entrada, se não tiver 14 caracteres
      */
     public static String aplicarMascara(String cnpjSemMascara) {
-        if (cnpjSemMascara == null || cnpjSemMascara.length() != 14) {
+        if (cnpjSemMascara == null || cnpjSemMascara.length() != TAMANHO) {
             return cnpjSemMascara;
         }
-        
-        return String.format("%s.%s.%s/%s-%s",
-            cnpjSemMascara.substring(0, 2),
-            cnpjSemMascara.substring(2, 5),
-            cnpjSemMascara.substring(5, 8),
-            cnpjSemMascara.substring(8, 12),
-            cnpjSemMascara.substring(12, 14)
-        );
+        char[] resultado = new char[TAMANHO_COM_MASCARA];
+        cnpjSemMascara.getChars(0, 2, resultado, 0);
+        resultado[2] = '.';
+        cnpjSemMascara.getChars(2, 5, resultado, 3);
+        resultado[6] = '.';
+        cnpjSemMascara.getChars(5, 8, resultado, 7);
+        resultado[10] = '/';
+        cnpjSemMascara.getChars(8, 12, resultado, 11);
+        resultado[15] = '-';
+        cnpjSemMascara.getChars(12, 14, resultado, 16);
+        return new String(resultado);
+    }
+
+    /**
+     * Verifica formato e dígitos verificadores de um CNPJ numérico ou alfanumérico, com ou sem
+     * máscara (caracteres não alfanuméricos são ignorados, como em {@link #removerMascara(String)}).
+     * Letras minúsculas são tratadas como maiúsculas. CNPJs com todos os caracteres iguais
+     * (ex.: {@code 00000000000000}) são recusados, embora passem no módulo 11.
+     *
+     * Não aloca memória.
+     *
+     * @param cnpj CNPJ com ou sem máscara
+     * @return {@code true} se o CNPJ for válido
+     */
+    public static boolean isValido(CharSequence cnpj) {
+        return cnpj != null && verificar(cnpj, null);
+    }
+
+    /**
+     * Normaliza um CNPJ para a forma canônica: 14 caracteres, sem máscara, letras maiúsculas.
+     *
+     * Exemplos:
+     * - "11.222.333/0001-81" -> "11222333000181"
+     * - "12.abc.345/01de-35" -> "12ABC34501DE35"
+     *
+     * @param cnpj CNPJ com ou sem máscara
+     * @return CNPJ normalizado, ou {@code null} se for nulo ou inválido ({@link #isValido(CharSequence)});
+     * a própria entrada, se já estiver na forma canônica
+     */
+    public static String normalizar(String cnpj) {
+        if (cnpj == null) {
+            return null;
+        }
+        if (cnpj.length() == TAMANHO && isCanonico(cnpj)) {
+            return verificar(cnpj, null) ? cnpj : null;
+        }
+        char[] resultado = new char[TAMANHO];
+        return verificar(cnpj, resultado) ? new String(resultado) : null;
+    }
+
+    /**
+     * Calcula os dígitos verificadores de uma base (raiz + ordem) de 12 caracteres alfanuméricos.
+     *
+     * Exemplo: "12ABC34501DE" -> 35
+     *
+     * @param base os 12 primeiros caracteres do CNPJ, sem máscara
+     * @return os dois dígitos como inteiro ({@code primeiro * 10 + segundo})
+     * @throws IllegalArgumentException se a base não tiver 12 caracteres alfanuméricos
+     */
+    public static int calcularDigitosVerificadores(CharSequence base) {
+        if (base == null || base.length() != TAMANHO_BASE) {
+            throw new IllegalArgumentException("A base do CNPJ deve ter 12 caracteres alfanuméricos");
+        }
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < TAMANHO_BASE; i++) {
+            int valor = valor(base.charAt(i));
+            if (valor == INVALIDO) {
+                throw new IllegalArgumentException("A base do CNPJ deve ter 12 caracteres alfanuméricos");
+            }
+            soma1 += valor * PESOS[i + 1];
+            soma2 += valor * PESOS[i];
+        }
+        int digito1 = digito(soma1);
+        int digito2 = digito(soma2 + digito1 * PESOS[TAMANHO_BASE]);
+        return digito1 * 10 + digito2;
+    }
+
+    /**
+     * Normaliza um lote de CNPJs (ex.: importação de cadastros), em paralelo a partir de
+     * {@value #LIMIAR_PARALELO} itens. Para streams, use {@code stream.map(CNPJUtil::normalizar)}
+     * (que também pode ser {@code parallel()}).
+     *
+     * @param cnpjs CNPJs com ou sem máscara
+     * @return array do mesmo tamanho, com o CNPJ normalizado ou {@code null} (inválido) em cada posição
+     */
+    public static String[] normalizarLote(String[] cnpjs) {
+        String[] resultado = new String[cnpjs.length];
+        if (cnpjs.length >= LIMIAR_PARALELO) {
+            Arrays.parallelSetAll(resultado, i -> normalizar(cnpjs[i]));
+        } else {
+            for (int i = 0; i < cnpjs.length; i++) {
+                resultado[i] = normalizar(cnpjs[i]);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Valida um lote de CNPJs, em paralelo a partir de {@value #LIMIAR_PARALELO} itens.
+     *
+     * @param cnpjs CNPJs com ou sem máscara
+     * @return array do mesmo tamanho com o resultado de {@link #isValido(CharSequence)} para cada posição
+     */
+    public static boolean[] validarLote(String[] cnpjs) {
+        boolean[] resultado = new boolean[cnpjs.length];
+        if (cnpjs.length >= LIMIAR_PARALELO) {
+            // boolean[] não tem parallelSetAll; cada tarefa escreve só nas suas posições
+            IntStream.range(0, cnpjs.length).parallel()
+                    .forEach(i -> resultado[i] = isValido(cnpjs[i]));
+        } else {
+            for (int i = 0; i < cnpjs.length; i++) {
+                resultado[i] = isValido(cnpjs[i]);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Percorre o CNPJ uma única vez, ignorando a máscara, e confere os dígitos verificadores.
+     *
+     * @param destino se não for nulo, recebe os 14 caracteres normalizados
+     */
+    private static boolean verificar(CharSequence cnpj, char[] destino) {
+        int soma1 = 0;
+        int soma2 = 0;
+        int digitos = 0; // os dois últimos caracteres lidos, como dígitos verificadores
+        int n = 0;
+        char primeiro = 0;
+        boolean todosIguais = true;
+        for (int i = 0, tamanho = cnpj.length(); i < tamanho; i++) {
+            char c = cnpj.charAt(i);
+            if (!isAlfanumerico(c)) {
+                continue;
+            }
+            if (n == TAMANHO) {
+                return false;
+            }
+            char normalizado = c >= 'a' ? (char) (c - ('a' - 'A')) : c;
+            if (n < TAMANHO_BASE) {
+                int valor = normalizado - '0';
+                soma1 += valor * PESOS[n + 1];
+                soma2 += valor * PESOS[n];
+            } else if (c <= '9') {
+                digitos = digitos * 10 + (c - '0');
+            } else {
+                return false; // dígitos verificadores são sempre numéricos
+            }
+            if (n == 0) {
+                primeiro = normalizado;
+            } else if (normalizado != primeiro) {
+                todosIguais = false;
+            }
+            if (destino != null) {
+                destino[n] = normalizado;
+            }
+            n++;
+        }
+        if (n != TAMANHO || todosIguais) {
+            return false;
+        }
+        int digito1 = digito(soma1);
+        int digito2 = digito(soma2 + digito1 * PESOS[TAMANHO_BASE]);
+        return digitos == digito1 * 10 + digito2;
+    }
+
+    private static int digito(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    /**
+     * Valor do caractere no cálculo dos dígitos verificadores (ASCII - 48, maiúsculas).
+     */
+    private static int valor(char c) {
+        if (c >= '0' && c <= '9' || c >= 'A' && c <= 'Z') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 'A' - '0';
+        }
+        return INVALIDO;
+    }
+
+    private static boolean isAlfanumerico(char c) {
+        return c >= '0' && c <= '9' || c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isCanonico(String cnpj) {
+        for (int i = 0; i < TAMANHO; i++) {
+            char c = cnpj.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
     }
 }
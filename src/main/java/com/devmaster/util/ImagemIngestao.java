@@ -0,0 +1,296 @@
+package com.devmaster.util;
+
+import com.devmaster.handler.APIException;
+import com.devmaster.util.ImagemUtil.DimensoesImagem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Recebimento de imagens em streaming, com memória limitada.
+ *
+ * O conteúdo é lido do {@link InputStream} em blocos de {@value #TAMANHO_BUFFER} bytes: o tipo é
+ * identificado pelos primeiros bytes (assinatura do formato), conferido com o tipo declarado no
+ * upload, e o limite de tamanho é verificado durante a leitura, sem confiar no tamanho declarado.
+ * Até {@value #LIMITE_MEMORIA_BYTES} bytes a imagem fica em memória; acima disso é gravada em um
+ * arquivo temporário. As dimensões são lidas dos cabeçalhos pelo {@link ImagemProbe}, sem
+ * decodificar os pixels.
+ *
+ * <pre>
+ * try (ImagemRecebida imagem = ImagemIngestao.receber(arquivo)) {
+ *     imagem.salvarEm(destino);
+ * }
+ * </pre>
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public final class ImagemIngestao {
+
+    static final int TAMANHO_BUFFER = 8 * 1024;
+    static final int LIMITE_MEMORIA_BYTES = 256 * 1024;
+
+    private static final int TAMANHO_ASSINATURA = ImagemProbe.TAMANHO_ASSINATURA;
+    private static final String PREFIXO_TEMPORARIO = "devmaster-imagem-";
+
+    private ImagemIngestao() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Recebe um upload: valida tipo e tamanho declarados e então lê o conteúdo em streaming.
+     */
+    public static ImagemRecebida receber(MultipartFile arquivo) {
+        ImagemUtil.validarArquivo(arquivo);
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            return receber(conteudo, arquivo.getSize(), ImagemUtil.TAMANHO_MAXIMO_BYTES, arquivo.getContentType());
+        } catch (IOException e) {
+            log.error("Erro ao receber imagem", e);
+            throw APIException.build(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar imagem", e);
+        }
+    }
+
+    /**
+     * Lê o stream até o fim, validando o conteúdo durante a leitura.
+     *
+     * @param tamanhoEsperado tamanho declarado, usado apenas para dimensionar o buffer ({@code -1} se desconhecido)
+     * @param tamanhoMaximo   limite em bytes; a leitura é interrompida assim que ele é ultrapassado
+     */
+    public static ImagemRecebida receber(InputStream conteudo, long tamanhoEsperado, long tamanhoMaximo) throws IOException {
+        return receber(conteudo, tamanhoEsperado, tamanhoMaximo, null);
+    }
+
+    private static ImagemRecebida receber(InputStream conteudo, long tamanhoEsperado, long tamanhoMaximo,
+                                          String tipoDeclarado) throws IOException {
+        try (Spool spool = new Spool(tamanhoEsperado)) {
+            String tipo = copiarValidando(conteudo, spool, tamanhoMaximo, tipoDeclarado);
+            return spool.concluir(tipo);
+        }
+    }
+
+    /**
+     * Converte um upload para Base64 direto do stream, sem guardar a imagem: o texto é codificado
+     * bloco a bloco enquanto o conteúdo é validado.
+     */
+    public static String converterParaBase64(MultipartFile arquivo) {
+        ImagemUtil.validarArquivo(arquivo);
+        long tamanho = arquivo.getSize();
+        ByteArrayOutputStream base64 = new ByteArrayOutputStream((int) (4 * ((tamanho + 2) / 3)));
+        try (InputStream conteudo = arquivo.getInputStream();
+             OutputStream encoder = Base64.getEncoder().wrap(base64)) {
+            copiarValidando(conteudo, encoder, ImagemUtil.TAMANHO_MAXIMO_BYTES, arquivo.getContentType());
+        } catch (IOException e) {
+            log.error("Erro ao converter imagem para base64", e);
+            throw APIException.build(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar imagem", e);
+        }
+        return base64.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Copia o stream em blocos, verificando o limite de tamanho e a assinatura do formato.
+     * Conteúdo que não é imagem (ou não corresponde ao tipo declarado) é rejeitado no primeiro
+     * bloco, sem ler o restante.
+     *
+     * @param tipoDeclarado content type informado no upload, ou {@code null} para não conferir
+     * @return o tipo MIME identificado
+     */
+    private static String copiarValidando(InputStream conteudo, OutputStream destino, long tamanhoMaximo,
+                                          String tipoDeclarado) throws IOException {
+        byte[] buffer = new byte[TAMANHO_BUFFER];
+        byte[] cabecalho = new byte[TAMANHO_ASSINATURA];
+        String tipo = null;
+        long total = 0;
+        int lidos;
+        while ((lidos = conteudo.read(buffer)) != -1) {
+            if (total + lidos > tamanhoMaximo) {
+                throw APIException.build(HttpStatus.BAD_REQUEST,
+                        "Arquivo muito grande. Tamanho máximo: " + tamanhoMaximo / (1024 * 1024) + "MB");
+            }
+            if (total < TAMANHO_ASSINATURA) {
+                System.arraycopy(buffer, 0, cabecalho, (int) total, (int) Math.min(lidos, TAMANHO_ASSINATURA - total));
+            }
+            total += lidos;
+            if (tipo == null && total >= TAMANHO_ASSINATURA) {
+                tipo = ImagemProbe.identificarTipo(cabecalho);
+                if (tipo == null) {
+                    throw conteudoInvalido();
+                }
+                if (tipoDeclarado != null) {
+                    ImagemUtil.validarTipoConteudo(tipoDeclarado, tipo);
+                }
+            }
+            destino.write(buffer, 0, lidos);
+        }
+        if (tipo == null) {
+            throw conteudoInvalido();
+        }
+        return tipo;
+    }
+
+    private static APIException conteudoInvalido() {
+        return APIException.build(HttpStatus.BAD_REQUEST,
+                "Conteúdo não é uma imagem válida. Permitidos: JPEG, PNG, GIF, WEBP");
+    }
+
+    /**
+     * Decodifica Base64 em streaming, sem copiar o texto para um {@code byte[]}.
+     * Caracteres inválidos resultam em {@link APIException} 400 durante a leitura.
+     */
+    static InputStream decodificarBase64(String base64) {
+        // Remove prefixo data:image se existir
+        int inicio = base64.indexOf(',') + 1;
+        return new Base64InputStream(Base64.getDecoder().wrap(new TextoInputStream(base64, inicio)));
+    }
+
+    /**
+     * Destino da leitura: array em memória até {@value #LIMITE_MEMORIA_BYTES} bytes e, a partir
+     * daí, arquivo temporário (direto no arquivo quando o tamanho declarado já passa do limite).
+     * O arquivo é apagado se a leitura falhar antes de {@link #concluir}.
+     */
+    private static final class Spool extends OutputStream {
+
+        private byte[] memoria;
+        private Path arquivo;
+        private OutputStream saidaArquivo;
+        private long tamanho;
+        private boolean concluido;
+
+        Spool(long tamanhoEsperado) throws IOException {
+            if (tamanhoEsperado > LIMITE_MEMORIA_BYTES) {
+                abrirArquivo();
+            } else {
+                this.memoria = new byte[tamanhoEsperado > 0 ? (int) tamanhoEsperado : TAMANHO_BUFFER];
+            }
+        }
+
+        private void abrirArquivo() throws IOException {
+            arquivo = Files.createTempFile(PREFIXO_TEMPORARIO, ".tmp");
+            saidaArquivo = Files.newOutputStream(arquivo);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (saidaArquivo == null && tamanho + len > LIMITE_MEMORIA_BYTES) {
+                abrirArquivo();
+                saidaArquivo.write(memoria, 0, (int) tamanho);
+                memoria = null;
+            }
+            if (saidaArquivo != null) {
+                saidaArquivo.write(b, off, len);
+            } else {
+                if (tamanho + len > memoria.length) {
+                    memoria = Arrays.copyOf(memoria, (int) Math.min(LIMITE_MEMORIA_BYTES,
+                            Math.max(tamanho + len, memoria.length * 2L)));
+                }
+                System.arraycopy(b, off, memoria, (int) tamanho, len);
+            }
+            tamanho += len;
+        }
+
+        ImagemRecebida concluir(String tipo) throws IOException {
+            if (saidaArquivo != null) {
+                saidaArquivo.close();
+            }
+            ImagemProbe.Resultado resultado = ImagemProbe.analisar(this::abrir);
+            DimensoesImagem dimensoes = resultado != null ? resultado.dimensoes() : null;
+            concluido = true;
+            return new ImagemRecebida(tipo, tamanho, dimensoes, saidaArquivo == null ? memoria : null, arquivo);
+        }
+
+        private InputStream abrir() throws IOException {
+            return arquivo != null
+                    ? Files.newInputStream(arquivo)
+                    : new ByteArrayInputStream(memoria, 0, (int) tamanho);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (concluido) {
+                return;
+            }
+            if (saidaArquivo != null) {
+                saidaArquivo.close();
+            }
+            if (arquivo != null) {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    /**
+     * Converte os erros do decodificador (a única fonte de {@link IOException} ao ler um texto) em 400.
+     */
+    private static final class Base64InputStream extends FilterInputStream {
+
+        Base64InputStream(InputStream decodificador) {
+            super(decodificador);
+        }
+
+        @Override
+        public int read() {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                throw APIException.build(HttpStatus.BAD_REQUEST, "Base64 inválido", e);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                throw APIException.build(HttpStatus.BAD_REQUEST, "Base64 inválido", e);
+            }
+        }
+    }
+
+    /**
+     * Lê os caracteres ASCII de um texto como bytes, a partir de uma posição.
+     */
+    private static final class TextoInputStream extends InputStream {
+
+        private final String texto;
+        private int posicao;
+
+        TextoInputStream(String texto, int inicio) {
+            this.texto = texto;
+            this.posicao = inicio;
+        }
+
+        @Override
+        public int read() {
+            return posicao < texto.length() ? texto.charAt(posicao++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (posicao >= texto.length()) {
+                return -1;
+            }
+            int lidos = Math.min(len, texto.length() - posicao);
+            for (int i = 0; i < lidos; i++) {
+                b[off + i] = (byte) texto.charAt(posicao++);
+            }
+            return lidos;
+        }
+    }
+}
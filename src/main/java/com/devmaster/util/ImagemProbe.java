@@ -0,0 +1,332 @@
+package com.devmaster.util;
+
+import com.devmaster.util.ImagemUtil.DimensoesImagem;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Identifica o formato e as dimensões de uma imagem lendo apenas os cabeçalhos.
+ *
+ * <ul>
+ *     <li>JPEG: percorre os segmentos até o marcador SOF, pulando APPn/EXIF sem lê-los;</li>
+ *     <li>PNG: chunk {@code IHDR};</li>
+ *     <li>GIF: logical screen descriptor;</li>
+ *     <li>WebP: chunks {@code VP8 } (lossy), {@code VP8L} (lossless) e {@code VP8X} (estendido).</li>
+ * </ul>
+ *
+ * Nenhum pixel é decodificado: na maioria dos arquivos bastam algumas dezenas de bytes. Quando o
+ * cabeçalho não traz as dimensões (JPEG sem SOF antes do SOS, arquivo truncado), o
+ * {@link #analisar(Fonte)} recorre aos metadados do {@code ImageReader}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public final class ImagemProbe {
+
+    public static final String JPEG = "image/jpeg";
+    public static final String PNG = "image/png";
+    public static final String GIF = "image/gif";
+    public static final String WEBP = "image/webp";
+
+    // Bytes necessários para reconhecer todas as assinaturas (WebP: RIFF....WEBP)
+    static final int TAMANHO_ASSINATURA = 12;
+
+    private ImagemProbe() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Origem que pode ser aberta mais de uma vez (upload, arquivo, Base64), para o fallback.
+     */
+    @FunctionalInterface
+    public interface Fonte {
+        InputStream abrir() throws IOException;
+    }
+
+    /**
+     * Formato e dimensões da imagem.
+     *
+     * @param tipo      tipo MIME identificado pela assinatura
+     * @param dimensoes largura e altura, ou {@code null} se não puderam ser lidas
+     */
+    public record Resultado(String tipo, DimensoesImagem dimensoes) {
+    }
+
+    /**
+     * Lê os cabeçalhos e, se eles não trouxerem as dimensões, os metadados do {@code ImageReader}
+     * (em um novo stream da fonte).
+     *
+     * @return o resultado, ou {@code null} se o conteúdo não for JPEG, PNG, GIF ou WebP
+     */
+    public static Resultado analisar(Fonte fonte) throws IOException {
+        Resultado resultado;
+        try (InputStream conteudo = fonte.abrir()) {
+            resultado = analisarCabecalho(conteudo);
+        }
+        if (resultado == null || resultado.dimensoes() != null) {
+            return resultado;
+        }
+        try (InputStream conteudo = fonte.abrir()) {
+            return new Resultado(resultado.tipo(), lerDimensoesImageReader(conteudo));
+        }
+    }
+
+    /**
+     * Fallback: largura e altura pelos metadados do {@code ImageReader}, sem decodificar os pixels.
+     * O stream é lido apenas até onde o leitor do formato precisa.
+     *
+     * @return as dimensões, ou {@code null} se nenhum leitor do ImageIO reconhecer o formato
+     */
+    private static DimensoesImagem lerDimensoesImageReader(InputStream conteudo) throws IOException {
+        try (ImageInputStream entrada = new MemoryCacheImageInputStream(conteudo)) {
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(entrada);
+            if (!leitores.hasNext()) {
+                return null;
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                return new DimensoesImagem(leitor.getWidth(0), leitor.getHeight(0));
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    /**
+     * Lê apenas os cabeçalhos, consumindo do stream só o necessário.
+     *
+     * @return o resultado (com {@code dimensoes} nulo se o cabeçalho não as trouxer),
+     * ou {@code null} se o conteúdo não for JPEG, PNG, GIF ou WebP
+     */
+    public static Resultado analisarCabecalho(InputStream conteudo) throws IOException {
+        Leitor leitor = new Leitor(conteudo);
+        byte[] assinatura = leitor.assinatura();
+        String tipo = assinatura == null ? null : identificarTipo(assinatura);
+        if (tipo == null) {
+            return null;
+        }
+        DimensoesImagem dimensoes;
+        try {
+            dimensoes = switch (tipo) {
+                case JPEG -> dimensoesJpeg(leitor);
+                case PNG -> dimensoesPng(leitor);
+                case GIF -> dimensoesGif(leitor);
+                default -> dimensoesWebp(leitor);
+            };
+        } catch (EOFException e) {
+            dimensoes = null;
+        }
+        return new Resultado(tipo, dimensoes);
+    }
+
+    /**
+     * Identifica o tipo MIME pela assinatura do formato.
+     *
+     * @param cabecalho pelo menos {@value #TAMANHO_ASSINATURA} bytes iniciais
+     * @return o tipo, ou {@code null} se não for JPEG, PNG, GIF ou WebP
+     */
+    public static String identificarTipo(byte[] cabecalho) {
+        if (u8(cabecalho, 0) == 0xFF && u8(cabecalho, 1) == 0xD8 && u8(cabecalho, 2) == 0xFF) {
+            return JPEG;
+        }
+        if (u8(cabecalho, 0) == 0x89 && cabecalho[1] == 'P' && cabecalho[2] == 'N' && cabecalho[3] == 'G') {
+            return PNG;
+        }
+        if (cabecalho[0] == 'G' && cabecalho[1] == 'I' && cabecalho[2] == 'F' && cabecalho[3] == '8') {
+            return GIF;
+        }
+        if (cabecalho[0] == 'R' && cabecalho[1] == 'I' && cabecalho[2] == 'F' && cabecalho[3] == 'F'
+                && cabecalho[8] == 'W' && cabecalho[9] == 'E' && cabecalho[10] == 'B' && cabecalho[11] == 'P') {
+            return WEBP;
+        }
+        return null;
+    }
+
+    private static DimensoesImagem dimensoesJpeg(Leitor leitor) throws IOException {
+        leitor.pular(2); // SOI (FF D8), já reconhecido na assinatura
+        while (true) {
+            if (leitor.u8() != 0xFF) {
+                return null;
+            }
+            int marcador = leitor.u8();
+            while (marcador == 0xFF) { // bytes de preenchimento
+                marcador = leitor.u8();
+            }
+            if (marcador == 0xD8 || marcador == 0x01 || (marcador >= 0xD0 && marcador <= 0xD7)) {
+                continue; // marcadores sem segmento
+            }
+            if (marcador == 0xD9 || marcador == 0xDA) {
+                return null; // EOI ou início dos dados (SOS) sem SOF
+            }
+            int tamanho = leitor.u16be();
+            if (tamanho < 2) {
+                return null;
+            }
+            if (isSof(marcador)) {
+                leitor.pular(1); // precisão
+                int altura = leitor.u16be();
+                int largura = leitor.u16be();
+                // Altura 0: definida depois, no segmento DNL
+                return altura > 0 && largura > 0 ? new DimensoesImagem(largura, altura) : null;
+            }
+            leitor.pular(tamanho - 2);
+        }
+    }
+
+    /**
+     * SOF0–SOF15, exceto DHT (C4), JPG (C8) e DAC (CC), que compartilham a faixa.
+     */
+    private static boolean isSof(int marcador) {
+        return marcador >= 0xC0 && marcador <= 0xCF && marcador != 0xC4 && marcador != 0xC8 && marcador != 0xCC;
+    }
+
+    private static DimensoesImagem dimensoesPng(Leitor leitor) throws IOException {
+        // assinatura (8) + tamanho do chunk (4), e então o tipo do primeiro chunk, que deve ser IHDR
+        leitor.pular(12);
+        if (leitor.u8() != 'I' || leitor.u8() != 'H' || leitor.u8() != 'D' || leitor.u8() != 'R') {
+            return null;
+        }
+        return dimensoesValidas(leitor.u32be(), leitor.u32be());
+    }
+
+    private static DimensoesImagem dimensoesGif(Leitor leitor) throws IOException {
+        leitor.pular(6); // GIF87a / GIF89a
+        return dimensoesValidas(leitor.u16le(), leitor.u16le());
+    }
+
+    private static DimensoesImagem dimensoesWebp(Leitor leitor) throws IOException {
+        leitor.pular(12); // RIFF, tamanho, WEBP
+        int c0 = leitor.u8();
+        int c1 = leitor.u8();
+        int c2 = leitor.u8();
+        int c3 = leitor.u8();
+        if (c0 != 'V' || c1 != 'P' || c2 != '8') {
+            return null;
+        }
+        leitor.pular(4); // tamanho do chunk
+        switch (c3) {
+            case ' ' -> {
+                // Frame tag (3) + start code 9D 01 2A; largura e altura com 14 bits (2 bits de escala)
+                leitor.pular(3);
+                if (leitor.u8() != 0x9D || leitor.u8() != 0x01 || leitor.u8() != 0x2A) {
+                    return null;
+                }
+                return dimensoesValidas(leitor.u16le() & 0x3FFF, leitor.u16le() & 0x3FFF);
+            }
+            case 'L' -> {
+                // Assinatura 0x2F + 14 bits de (largura - 1) e 14 bits de (altura - 1)
+                if (leitor.u8() != 0x2F) {
+                    return null;
+                }
+                long bits = leitor.u32le();
+                return dimensoesValidas((bits & 0x3FFF) + 1, ((bits >> 14) & 0x3FFF) + 1);
+            }
+            case 'X' -> {
+                // Flags (4) + canvas (largura - 1) e (altura - 1) com 24 bits
+                leitor.pular(4);
+                return dimensoesValidas(leitor.u24le() + 1L, leitor.u24le() + 1L);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static DimensoesImagem dimensoesValidas(long largura, long altura) {
+        if (largura <= 0 || altura <= 0 || largura > Integer.MAX_VALUE || altura > Integer.MAX_VALUE) {
+            return null;
+        }
+        return new DimensoesImagem((int) largura, (int) altura);
+    }
+
+    private static int u8(byte[] bytes, int indice) {
+        return bytes[indice] & 0xFF;
+    }
+
+    /**
+     * Leitura sequencial com um buffer pequeno: os cabeçalhos cabem nele e os segmentos
+     * grandes (EXIF, ICC) são pulados direto no stream.
+     */
+    private static final class Leitor {
+
+        private static final int TAMANHO_BUFFER = 512;
+
+        private final InputStream entrada;
+        private final byte[] buffer = new byte[TAMANHO_BUFFER];
+        private int posicao;
+        private int limite;
+
+        Leitor(InputStream entrada) {
+            this.entrada = entrada;
+        }
+
+        /**
+         * Lê os primeiros bytes sem consumi-los.
+         *
+         * @return os {@value #TAMANHO_ASSINATURA} bytes iniciais, ou {@code null} se o conteúdo for menor
+         */
+        byte[] assinatura() throws IOException {
+            while (limite < TAMANHO_ASSINATURA) {
+                int lidos = entrada.read(buffer, limite, buffer.length - limite);
+                if (lidos < 0) {
+                    return null;
+                }
+                limite += lidos;
+            }
+            return buffer;
+        }
+
+        int u8() throws IOException {
+            if (posicao == limite) {
+                preencher();
+            }
+            return buffer[posicao++] & 0xFF;
+        }
+
+        int u16be() throws IOException {
+            return u8() << 8 | u8();
+        }
+
+        int u16le() throws IOException {
+            return u8() | u8() << 8;
+        }
+
+        int u24le() throws IOException {
+            return u8() | u8() << 8 | u8() << 16;
+        }
+
+        long u32be() throws IOException {
+            return (long) u16be() << 16 | u16be();
+        }
+
+        long u32le() throws IOException {
+            return u16le() | (long) u16le() << 16;
+        }
+
+        void pular(long bytes) throws IOException {
+            int noBuffer = (int) Math.min(bytes, limite - posicao);
+            posicao += noBuffer;
+            long restante = bytes - noBuffer;
+            if (restante > 0) {
+                entrada.skipNBytes(restante);
+            }
+        }
+
+        private void preencher() throws IOException {
+            int lidos = entrada.read(buffer, 0, buffer.length);
+            if (lidos <= 0) {
+                throw new EOFException();
+            }
+            posicao = 0;
+            limite = lidos;
+        }
+    }
+}
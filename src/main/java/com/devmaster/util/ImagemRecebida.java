@@ -0,0 +1,231 @@
+package com.devmaster.util;
+
+import com.devmaster.util.ImagemUtil.DimensoesImagem;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+/**
+ * Imagem recebida pelo {@link ImagemIngestao}: já validada, com tipo e dimensões conhecidos.
+ *
+ * O conteúdo fica em memória (imagens pequenas) ou em um arquivo temporário, apagado no
+ * {@link #close()}. Todas as saídas (Base64, canal, arquivo) são escritas em blocos de tamanho
+ * fixo; o conteúdo inteiro nunca é copiado para um único {@code byte[]}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public final class ImagemRecebida implements AutoCloseable {
+
+    private final String tipo;
+    private final long tamanho;
+    private final DimensoesImagem dimensoes;
+    private final byte[] memoria;
+    private final Path arquivo;
+
+    ImagemRecebida(String tipo, long tamanho, DimensoesImagem dimensoes, byte[] memoria, Path arquivo) {
+        this.tipo = tipo;
+        this.tamanho = tamanho;
+        this.dimensoes = dimensoes;
+        this.memoria = memoria;
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * @return tipo MIME identificado pelo conteúdo (ex.: {@code image/png})
+     */
+    public String tipo() {
+        return tipo;
+    }
+
+    public long tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @return largura e altura, ou {@code null} se não puderem ser lidas dos cabeçalhos
+     */
+    public DimensoesImagem dimensoes() {
+        return dimensoes;
+    }
+
+    /**
+     * @return {@code true} se o conteúdo foi gravado em arquivo temporário
+     */
+    public boolean emArquivo() {
+        return arquivo != null;
+    }
+
+    public InputStream abrirStream() throws IOException {
+        return arquivo != null
+                ? Files.newInputStream(arquivo)
+                : new ByteArrayInputStream(memoria, 0, (int) tamanho);
+    }
+
+    /**
+     * Conteúdo como {@link ByteBuffer} somente leitura, sem cópia: o próprio array em memória
+     * ou o arquivo temporário mapeado em memória.
+     */
+    public ByteBuffer conteudo() throws IOException {
+        if (arquivo == null) {
+            return ByteBuffer.wrap(memoria, 0, (int) tamanho).asReadOnlyBuffer();
+        }
+        try (FileChannel channel = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        }
+    }
+
+    /**
+     * Escreve o conteúdo codificado em Base64 no stream informado, em blocos.
+     */
+    public void escreverBase64(OutputStream destino) throws IOException {
+        OutputStream encoder = Base64.getEncoder().wrap(new NaoFechaOutputStream(destino));
+        try (encoder; InputStream origem = abrirStream()) {
+            origem.transferTo(encoder);
+        }
+    }
+
+    /**
+     * Conteúdo codificado em Base64, para os contratos que ainda trafegam a imagem como texto.
+     * O resultado é montado direto em um array do tamanho final, sem o {@code byte[]} intermediário
+     * com a imagem decodificada.
+     */
+    public String paraBase64() {
+        long tamanhoBase64 = 4 * ((tamanho + 2) / 3);
+        if (tamanhoBase64 > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Imagem grande demais para Base64 em memória: " + tamanho + " bytes");
+        }
+        byte[] base64 = new byte[(int) tamanhoBase64];
+        try {
+            escreverBase64(new ArrayOutputStream(base64));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(base64, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Transfere o conteúdo para o canal. A partir do arquivo temporário usa
+     * {@link FileChannel#transferTo}, que o sistema operacional pode executar sem passar pelo heap.
+     *
+     * @return bytes transferidos
+     */
+    public long transferirPara(WritableByteChannel destino) throws IOException {
+        if (arquivo == null) {
+            ByteBuffer buffer = ByteBuffer.wrap(memoria, 0, (int) tamanho);
+            while (buffer.hasRemaining()) {
+                destino.write(buffer);
+            }
+            return tamanho;
+        }
+        try (FileChannel origem = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long posicao = 0;
+            while (posicao < tamanho) {
+                long enviados = origem.transferTo(posicao, tamanho - posicao, destino);
+                if (enviados <= 0) {
+                    // Canal bloqueante: 0 só acontece com o arquivo menor que o esperado
+                    throw new IOException("Arquivo temporário da imagem truncado: " + arquivo + " ("
+                            + posicao + " de " + tamanho + " bytes)");
+                }
+                posicao += enviados;
+            }
+            return posicao;
+        }
+    }
+
+    public long transferirPara(OutputStream destino) throws IOException {
+        return transferirPara(Channels.newChannel(destino));
+    }
+
+    /**
+     * Grava o conteúdo no arquivo informado (criado ou sobrescrito).
+     */
+    public void salvarEm(Path destino) throws IOException {
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            transferirPara(canal);
+        }
+    }
+
+    /**
+     * Apaga o arquivo temporário, se houver.
+     */
+    @Override
+    public void close() {
+        if (arquivo != null) {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                arquivo.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Escreve em um array de tamanho já conhecido.
+     */
+    private static final class ArrayOutputStream extends OutputStream {
+
+        private final byte[] destino;
+        private int posicao;
+
+        ArrayOutputStream(byte[] destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void write(int b) {
+            destino[posicao++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            System.arraycopy(b, off, destino, posicao, len);
+            posicao += len;
+        }
+    }
+
+    /**
+     * Impede que o fechamento do encoder Base64 feche o stream do chamador.
+     */
+    private static final class NaoFechaOutputStream extends OutputStream {
+
+        private final OutputStream destino;
+
+        NaoFechaOutputStream(OutputStream destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            destino.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            destino.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            destino.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            destino.flush();
+        }
+    }
+}
@@ -5,9 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.Set;
@@ -29,21 +26,14 @@ public class ImagemUtil {
         "image/webp"
     );
     
-    private static final long TAMANHO_MAXIMO_BYTES = 5 * 1024 * 1024; // 5MB
+    static final long TAMANHO_MAXIMO_BYTES = 5 * 1024 * 1024; // 5MB
     
     /**
      * Converte MultipartFile para Base64.
+     * O arquivo é codificado em streaming pelo {@link ImagemIngestao}, sem carregar o upload inteiro em um {@code byte[]}.
      */
     public static String converterParaBase64(MultipartFile arquivo) {
-        try {
-            validarArquivo(arquivo);
-            byte[] bytes = arquivo.getBytes();
-            return Base64.getEncoder().encodeToString(bytes);
-        } catch (IOException e) {
-            log.error("Erro ao converter imagem para base64", e);
-            throw APIException.build(HttpStatus.INTERNAL_SERVER_ERROR, 
-                "Erro ao processar imagem", e);
-        }
+        return ImagemIngestao.converterParaBase64(arquivo);
     }
     
     /**
@@ -52,11 +42,8 @@ public class ImagemUtil {
     public static byte[] converterBase64ParaBytes(String base64) {
         try {
             // Remove prefixo data:image se existir
-            String base64Limpo = base64;
-            if (base64.contains(",")) {
-                base64Limpo = base64.split(",")[1];
-            }
-            return Base64.getDecoder().decode(base64Limpo);
+            int inicio = base64.indexOf(',') + 1;
+            return Base64.getDecoder().decode(inicio > 0 ? base64.substring(inicio) : base64);
         } catch (IllegalArgumentException e) {
             log.error("Erro ao decodificar base64", e);
             throw APIException.build(HttpStatus.BAD_REQUEST, 
@@ -66,19 +53,11 @@ public class ImagemUtil {
     
     /**
      * Obtém dimensões da imagem (largura e altura).
+     * Lê apenas os cabeçalhos do stream do upload, sem decodificar os pixels.
      */
     public static DimensoesImagem obterDimensoes(MultipartFile arquivo) {
         try {
-            byte[] bytes = arquivo.getBytes();
-            ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-            BufferedImage image = ImageIO.read(bis);
-            
-            if (image == null) {
-                throw APIException.build(HttpStatus.BAD_REQUEST, 
-                    "Não foi possível ler a imagem");
-            }
-            
-            return new DimensoesImagem(image.getWidth(), image.getHeight());
+            return exigirDimensoes(ImagemProbe.analisar(arquivo::getInputStream));
         } catch (IOException e) {
             log.error("Erro ao obter dimensões da imagem", e);
             throw APIException.build(HttpStatus.INTERNAL_SERVER_ERROR, 
@@ -88,19 +67,11 @@ public class ImagemUtil {
     
     /**
      * Obtém dimensões da imagem a partir de Base64.
+     * Decodifica apenas o início do texto, até onde os cabeçalhos da imagem terminam.
      */
     public static DimensoesImagem obterDimensoesBase64(String base64) {
         try {
-            byte[] bytes = converterBase64ParaBytes(base64);
-            ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-            BufferedImage image = ImageIO.read(bis);
-            
-            if (image == null) {
-                throw APIException.build(HttpStatus.BAD_REQUEST, 
-                    "Não foi possível ler a imagem");
-            }
-            
-            return new DimensoesImagem(image.getWidth(), image.getHeight());
+            return exigirDimensoes(ImagemProbe.analisar(() -> ImagemIngestao.decodificarBase64(base64)));
         } catch (IOException e) {
             log.error("Erro ao obter dimensões da imagem", e);
             throw APIException.build(HttpStatus.INTERNAL_SERVER_ERROR, 
@@ -108,6 +79,14 @@ public class ImagemUtil {
         }
     }
     
+    private static DimensoesImagem exigirDimensoes(ImagemProbe.Resultado resultado) {
+        if (resultado == null || resultado.dimensoes() == null) {
+            throw APIException.build(HttpStatus.BAD_REQUEST, 
+                "Não foi possível ler a imagem");
+        }
+        return resultado.dimensoes();
+    }
+    
     /**
      * Valida arquivo de imagem.
      */
@@ -129,6 +108,25 @@ public class ImagemUtil {
         }
     }
     
+    /**
+     * Confere o tipo declarado no upload com o tipo identificado pelo conteúdo (assinatura do formato).
+     * {@code image/jpg} é aceito como sinônimo de {@code image/jpeg}.
+     */
+    public static void validarTipoConteudo(String tipoDeclarado, String tipoDetectado) {
+        String declarado = tipoDeclarado == null ? null : tipoDeclarado.toLowerCase();
+        if (declarado == null || !TIPOS_MIME_PERMITIDOS.contains(declarado)) {
+            throw APIException.build(HttpStatus.BAD_REQUEST, 
+                "Tipo de arquivo não permitido. Permitidos: JPEG, PNG, GIF, WEBP");
+        }
+        if ("image/jpg".equals(declarado)) {
+            declarado = ImagemProbe.JPEG;
+        }
+        if (!declarado.equals(tipoDetectado)) {
+            throw APIException.build(HttpStatus.BAD_REQUEST, 
+                "Conteúdo do arquivo (" + tipoDetectado + ") não corresponde ao tipo declarado (" + tipoDeclarado + ")");
+        }
+    }
+    
     /**
      * Gera nome único para arquivo.
      */
@@ -0,0 +1,56 @@
+package com.devmaster.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mascara valores de campos sensíveis (senha, CPF, CNPJ, tokens...) antes de irem para o log.
+ *
+ * Todos os campos são reconhecidos por uma única expressão regular, compilada uma vez:
+ * {@code senha=123} e {@code "token": abc} viram {@code senha=***} e {@code "token": ***}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public final class LogSanitizer {
+
+    // Alternativas mais longas primeiro (accessToken antes de token)
+    private static final Pattern SENSITIVE_VALUE = Pattern.compile(
+            "(?i)((?:accesstoken|refreshtoken|authorization|password|senha|token|cnpj|cpf|cnh)[=:]\\s*)([^,\\s}]+)");
+
+    private LogSanitizer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Retorna a representação do objeto com os valores sensíveis mascarados.
+     */
+    public static String sanitize(Object obj) {
+        if (obj == null) {
+            return null;
+        }
+        String text = obj.toString();
+        if (text == null || (text.indexOf('=') < 0 && text.indexOf(':') < 0)) {
+            return text;
+        }
+        Matcher matcher = SENSITIVE_VALUE.matcher(text);
+        return matcher.find() ? matcher.replaceAll("$1***") : text;
+    }
+
+    /**
+     * Formata os argumentos de um método como {@code [arg1, arg2]}, com valores sensíveis mascarados.
+     */
+    public static String sanitizeArgs(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "[]";
+        }
+        StringBuilder builder = new StringBuilder(64).append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(sanitize(args[i]));
+        }
+        return builder.append(']').toString();
+    }
+}
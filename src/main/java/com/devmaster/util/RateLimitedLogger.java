@@ -0,0 +1,73 @@
+package com.devmaster.util;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logger com limite de mensagens por janela de tempo.
+ *
+ * Usado em caminhos que podem disparar em rajadas (tokens inválidos, acessos negados):
+ * até {@code maxPerWindow} mensagens são registradas por janela e as excedentes são
+ * apenas contadas. A primeira mensagem da janela seguinte informa quantas foram suprimidas.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public final class RateLimitedLogger {
+
+    private final Logger delegate;
+    private final int maxPerWindow;
+    private final long windowNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger logged = new AtomicInteger();
+    private final AtomicInteger suppressed = new AtomicInteger();
+
+    public RateLimitedLogger(Logger delegate, int maxPerWindow, Duration window) {
+        this.delegate = delegate;
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Registra em WARN se o nível estiver habilitado e o limite da janela não tiver sido atingido.
+     */
+    public void warn(String format, Object... arguments) {
+        if (!delegate.isWarnEnabled()) {
+            return;
+        }
+        int previouslySuppressed = acquire();
+        if (previouslySuppressed < 0) {
+            return;
+        }
+        if (previouslySuppressed > 0) {
+            delegate.warn("{} mensagens semelhantes suprimidas nos últimos {} ms", previouslySuppressed,
+                    Duration.ofNanos(windowNanos).toMillis());
+        }
+        delegate.warn(format, arguments);
+    }
+
+    /**
+     * Reserva uma mensagem na janela atual.
+     *
+     * @return {@code -1} se a mensagem deve ser suprimida; caso contrário, o número de
+     * mensagens suprimidas na janela anterior (a ser informado uma única vez)
+     */
+    private int acquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            logged.set(0);
+            int previouslySuppressed = suppressed.getAndSet(0);
+            logged.incrementAndGet();
+            return previouslySuppressed;
+        }
+        if (logged.incrementAndGet() <= maxPerWindow) {
+            return 0;
+        }
+        suppressed.incrementAndGet();
+        return -1;
+    }
+}
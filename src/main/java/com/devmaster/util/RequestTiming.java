@@ -0,0 +1,176 @@
+package com.devmaster.util;
+
+/**
+ * Tempo gasto por uma requisição em cada fase: validação do token, controller, service e banco.
+ *
+ * O contexto é criado pelo {@code JwtAuthenticationFilter} e associado à thread da requisição;
+ * o {@code LoggingAspect} e o listener de sessão do Hibernate marcam a entrada e a saída de
+ * cada fase com {@link #enter(Phase)} e {@link #exit(Phase)}. Chamadas aninhadas da mesma fase
+ * (um service que chama outro service) contam apenas uma vez.
+ *
+ * Sem contexto associado (medição desabilitada ou thread fora de uma requisição) os métodos
+ * estáticos se resumem a um {@link ThreadLocal#get()}.
+ *
+ * Uma instância pertence a uma única requisição e não é thread-safe: em requisições
+ * assíncronas ela passa de uma thread para outra via {@link #attach(RequestTiming)}.
+ *
+ * @author DevMaster Team
+ * @since 1.0.0
+ */
+public final class RequestTiming {
+
+    /**
+     * Fases medidas, na ordem em que aparecem no header {@code Server-Timing}.
+     */
+    public enum Phase {
+        AUTH("auth"),
+        CONTROLLER("controller"),
+        SERVICE("service"),
+        DB_POOL("db-pool"),
+        DB("db");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final int[] depth = new int[PHASES.length];
+    private final int[] count = new int[PHASES.length];
+    private final long[] enteredAt = new long[PHASES.length];
+    private final long[] elapsed = new long[PHASES.length];
+    private boolean finished;
+
+    /**
+     * Cria um contexto e o associa à thread atual.
+     */
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Associa à thread atual um contexto criado em outra thread (dispatch assíncrono).
+     */
+    public static void attach(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    /**
+     * Desassocia o contexto da thread atual.
+     */
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return o contexto da thread atual, ou {@code null} se não houver
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void enter(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.enterPhase(phase);
+        }
+    }
+
+    public static void exit(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.exitPhase(phase);
+        }
+    }
+
+    private void enterPhase(Phase phase) {
+        int i = phase.ordinal();
+        if (depth[i]++ == 0) {
+            enteredAt[i] = System.nanoTime();
+        }
+    }
+
+    private void exitPhase(Phase phase) {
+        int i = phase.ordinal();
+        // exit sem enter correspondente (ex.: fase iniciada antes do contexto existir)
+        if (depth[i] == 0) {
+            return;
+        }
+        if (--depth[i] == 0) {
+            elapsed[i] += System.nanoTime() - enteredAt[i];
+            count[i]++;
+        }
+    }
+
+    /**
+     * @return tempo acumulado na fase, em nanossegundos
+     */
+    public long elapsedNanos(Phase phase) {
+        return elapsed[phase.ordinal()];
+    }
+
+    /**
+     * @return quantas vezes a fase foi concluída (para {@link Phase#DB}, o número de comandos JDBC)
+     */
+    public int count(Phase phase) {
+        return count[phase.ordinal()];
+    }
+
+    /**
+     * @return tempo desde a criação do contexto, em nanossegundos
+     */
+    public long totalNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Marca o contexto como encerrado.
+     *
+     * @return {@code true} apenas na primeira chamada
+     */
+    public boolean finish() {
+        if (finished) {
+            return false;
+        }
+        finished = true;
+        return true;
+    }
+
+    /**
+     * Formata o valor do header {@code Server-Timing}, com durações em milissegundos:
+     * {@code auth;dur=12.4, controller;dur=30.1, db;dur=8.0;desc="3", total;dur=45.2}.
+     * Fases não executadas são omitidas.
+     */
+    public String toServerTiming() {
+        StringBuilder builder = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            if (count[i] == 0) {
+                continue;
+            }
+            appendMetric(builder, phase.metricName(), elapsed[i]);
+            if (phase == Phase.DB) {
+                builder.append(";desc=\"").append(count[i]).append('"');
+            }
+            builder.append(", ");
+        }
+        appendMetric(builder, "total", totalNanos());
+        return builder.toString();
+    }
+
+    private static void appendMetric(StringBuilder builder, String name, long nanos) {
+        long tenthsOfMillis = nanos / 100_000;
+        builder.append(name).append(";dur=").append(tenthsOfMillis / 10).append('.').append(tenthsOfMillis % 10);
+    }
+}
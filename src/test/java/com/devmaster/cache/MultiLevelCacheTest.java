@@ -0,0 +1,242 @@
+package com.devmaster.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiLevelCacheTest {
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+	private final InMemoryStore store = new InMemoryStore();
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void readsThroughSharedL2AndBackfillsL1() {
+		CachePolicy policy = policy(null, null, true);
+		MultiLevelCache nodeA = new MultiLevelCache("restaurantes", policy, store, executor, registry);
+		MultiLevelCache nodeB = new MultiLevelCache("restaurantes", policy, store, executor, new SimpleMeterRegistry());
+
+		assertEquals("Cantina", nodeA.get(42L, () -> "Cantina"));
+		assertEquals("Cantina", nodeB.get(42L, () -> {
+			throw new AssertionError("deveria vir do L2");
+		}));
+		assertEquals("Cantina", nodeB.get(42L, String.class));
+
+		nodeA.evict(42L);
+		assertTrue(store.values.isEmpty());
+		assertEquals(1.0, registry.get("cache.l2.gets").tag("result", "miss").counter().count());
+	}
+
+	@Test
+	void rejectsL2ClassesOutsideAllowList() {
+		CachePolicy permissive = new CachePolicy(1_000L, null, Duration.ofMinutes(10), null, null, true, null,
+				List.of("java.**"), false);
+		MultiLevelCache writer = new MultiLevelCache("links", permissive, store, executor, new SimpleMeterRegistry());
+		MultiLevelCache reader = new MultiLevelCache("links", policy(null, null, true), store, executor, registry);
+		writer.put("site", URI.create("https://devmaster.com"));
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals("recarregado", reader.get("site", () -> {
+			loads.incrementAndGet();
+			return "recarregado";
+		}));
+		assertEquals(1, loads.get());
+		assertEquals(1.0, registry.get("cache.l2.gets").tag("result", "miss").counter().count());
+	}
+
+	@Test
+	void loadsOncePerKeyUnderConcurrentMisses() throws Exception {
+		MultiLevelCache cache = new MultiLevelCache("pedidos", policy(null, null, false), null, executor, registry);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return cache.get("chave", () -> {
+					loads.incrementAndGet();
+					Thread.sleep(50);
+					return "valor";
+				});
+			}));
+		}
+		start.countDown();
+		for (Future<String> result : results) {
+			assertEquals("valor", result.get());
+		}
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void refreshesAheadServingCurrentValue() throws Exception {
+		MultiLevelCache cache = new MultiLevelCache("cardapios", policy(Duration.ofMillis(50), null, false), null,
+				executor, registry);
+		AtomicInteger version = new AtomicInteger();
+
+		assertEquals(1, cache.get("cardapio", version::incrementAndGet));
+		Thread.sleep(80);
+		assertEquals(1, cache.get("cardapio", version::incrementAndGet));
+
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		// O contador é incrementado logo depois de o valor novo entrar no L1
+		while (registry.get("cache.refreshes").tag("result", "success").counter().count() < 1) {
+			assertTrue(System.nanoTime() < deadline, "recarga não concluída");
+			Thread.sleep(5);
+		}
+		assertEquals(2, cache.get("cardapio", Integer.class));
+		assertEquals(1.0, registry.get("cache.refreshes").tag("result", "success").counter().count());
+	}
+
+	@Test
+	void evictDuringSlowReloadIsNotUndone() throws Exception {
+		CachePolicy policy = new CachePolicy(1_000L, null, Duration.ofMinutes(10), null, Duration.ofMillis(50), true,
+				null, CachePolicy.BUILT_IN.l2AllowedClasses(), false);
+		MultiLevelCache cache = new MultiLevelCache("cardapios", policy, store, executor, registry);
+		CountDownLatch reloadStarted = new CountDownLatch(1);
+		CountDownLatch releaseReload = new CountDownLatch(1);
+
+		assertEquals("v1", cache.get("cardapio", () -> "v1"));
+		Thread.sleep(80);
+		assertEquals("v1", cache.get("cardapio", () -> {
+			reloadStarted.countDown();
+			releaseReload.await();
+			return "lido-antes-do-evict";
+		}));
+		assertTrue(reloadStarted.await(5, TimeUnit.SECONDS));
+
+		cache.evict("cardapio");
+		releaseReload.countDown();
+
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (registry.get("cache.refreshes").tag("result", "discarded").counter().count() < 1) {
+			assertTrue(System.nanoTime() < deadline, "recarga não concluída");
+			Thread.sleep(5);
+		}
+		assertNull(cache.get("cardapio"));
+		assertTrue(store.values.isEmpty());
+	}
+
+	@Test
+	void boundsL1BySerializedWeight() {
+		MultiLevelCache cache = new MultiLevelCache("imagens", policy(null, DataSize.ofKilobytes(8), false), null,
+				executor, registry);
+		for (int i = 0; i < 64; i++) {
+			cache.put(i, new byte[1024]);
+		}
+		Cache<Object, ?> l1 = cache.getNativeCache();
+		l1.cleanUp();
+
+		assertTrue(l1.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 8 * 1024);
+		assertTrue(registry.get("cache.evictions").functionCounter().count() > 0);
+	}
+
+	@Test
+	void managerAppliesPoliciesAndRejectsInvalidOnes() {
+		CachePolicy declared = new CachePolicy(100L, null, null, null, null, null, null, null, true);
+		MultiLevelCacheManager manager = new MultiLevelCacheManager(
+				new MultiLevelCacheProperties(null, Map.of("restaurantes", declared), false), store, registry);
+
+		MultiLevelCache cache = (MultiLevelCache) manager.getCache("restaurantes");
+		assertNotNull(cache);
+		assertEquals(Duration.ofMinutes(10), cache.getPolicy().expireAfterWrite());
+		assertTrue(cache.isAllowNullValues());
+		assertNull(cache.get("ausente", () -> null));
+		assertNotNull(cache.get("ausente"));
+		assertNull(manager.getCache("nao-declarado"));
+		assertNotNull(registry.find("cache.hit.ratio").tag("cache", "restaurantes").gauge());
+		manager.destroy();
+
+		CachePolicy invalid = new CachePolicy(null, null, Duration.ofMinutes(1), null, Duration.ofMinutes(5),
+				null, null, null, null);
+		assertThrows(IllegalStateException.class, () -> new MultiLevelCacheManager(
+				new MultiLevelCacheProperties(null, Map.of("invalido", invalid), true), null, new SimpleMeterRegistry()));
+	}
+
+	@Test
+	void evictOnOneInstanceDropsTheKeyFromOtherInstancesL1() {
+		MultiLevelCacheProperties properties = new MultiLevelCacheProperties(null,
+				Map.of("restaurantes", policy(null, null, true)), false);
+		MultiLevelCacheManager nodeA = new MultiLevelCacheManager(properties, store, registry);
+		MultiLevelCacheManager nodeB = new MultiLevelCacheManager(properties, store, new SimpleMeterRegistry());
+		MultiLevelCache cacheA = (MultiLevelCache) nodeA.getCache("restaurantes");
+		MultiLevelCache cacheB = (MultiLevelCache) nodeB.getCache("restaurantes");
+
+		assertEquals("Cantina", cacheA.get(42L, () -> "Cantina"));
+		assertEquals("Cantina", cacheB.get(42L, () -> "Cantina"));
+		assertEquals("Bistrô", cacheB.get(7L, () -> "Bistrô"));
+		cacheA.evict(42L);
+
+		assertNull(cacheB.get(42L));
+		assertEquals("Bistrô", cacheB.get(7L, String.class));
+		cacheA.clear();
+		assertNull(cacheB.get(7L));
+		nodeA.destroy();
+		nodeB.destroy();
+	}
+
+	private static CachePolicy policy(Duration refreshAfterWrite, DataSize maximumWeight, boolean l2) {
+		return new CachePolicy(1_000L, maximumWeight, Duration.ofMinutes(10), null, refreshAfterWrite, l2, null,
+				CachePolicy.BUILT_IN.l2AllowedClasses(), false);
+	}
+
+	private static final class InMemoryStore implements CacheStore {
+
+		private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+		private final List<InvalidationListener> listeners = new ArrayList<>();
+
+		@Override
+		public byte[] get(String cacheName, String key) {
+			return values.get(cacheName + ":" + key);
+		}
+
+		@Override
+		public void put(String cacheName, String key, byte[] value, Duration timeToLive) {
+			values.put(cacheName + ":" + key, value);
+		}
+
+		@Override
+		public void evict(String cacheName, String key) {
+			values.remove(cacheName + ":" + key);
+			listeners.forEach(listener -> listener.invalidated(cacheName, key));
+		}
+
+		@Override
+		public void clear(String cacheName) {
+			values.keySet().removeIf(key -> key.startsWith(cacheName + ":"));
+			listeners.forEach(listener -> listener.invalidated(cacheName, null));
+		}
+
+		@Override
+		public void addInvalidationListener(InvalidationListener listener) {
+			listeners.add(listener);
+		}
+	}
+}
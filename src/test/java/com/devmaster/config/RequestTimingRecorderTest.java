@@ -0,0 +1,102 @@
+package com.devmaster.config;
+
+import com.devmaster.handler.StaticErrorResponses;
+import com.devmaster.util.RequestTiming;
+import com.devmaster.util.RequestTiming.Phase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingRecorderTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pedidos");
+
+	@AfterEach
+	void tearDown() {
+		RequestTiming.detach();
+	}
+
+	@Test
+	void disabledRecorderAllocatesNothing() {
+		RequestTimingRecorder recorder = new RequestTimingRecorder(registry, false, true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertNull(recorder.begin(request));
+		assertNull(RequestTiming.current());
+		assertSame(response, recorder.wrapResponse(response, null));
+		assertFalse(recorder.isServerTimingHeaderEnabled());
+		assertTrue(registry.getMeters().isEmpty());
+
+		// Métricas habilitadas, header não: resposta original
+		RequestTimingRecorder semHeader = new RequestTimingRecorder(registry, true, false);
+		RequestTiming timing = semHeader.begin(request);
+		assertSame(response, semHeader.wrapResponse(response, timing));
+	}
+
+	@Test
+	void directWritesGetTheHeaderBeforeCommit() throws IOException {
+		RequestTimingRecorder recorder = new RequestTimingRecorder(registry, true, true);
+		CommitCheckingResponse response = new CommitCheckingResponse();
+		RequestTiming timing = recorder.begin(request);
+		HttpServletResponse timed = recorder.wrapResponse(response, timing);
+
+		RequestTiming.enter(Phase.AUTH);
+		RequestTiming.exit(Phase.AUTH);
+		new StaticErrorResponses(new ObjectMapper()).writeUnauthorized(timed);
+		timed.flushBuffer();
+		recorder.end(request, timed, timing);
+
+		assertEquals(401, response.getStatus());
+		String header = response.getHeader(RequestTimingRecorder.SERVER_TIMING_HEADER);
+		assertNotNull(header);
+		assertTrue(header.startsWith("auth;dur="), header);
+		assertEquals(1, response.serverTimingHeaders);
+		assertEquals(1, registry.get(RequestTimingRecorder.PHASE_METRIC_NAME).tag("phase", "auth").timer().count());
+	}
+
+	@Test
+	void responsesWithoutBodyGetTheHeaderWhenTheFilterEnds() {
+		RequestTimingRecorder recorder = new RequestTimingRecorder(registry, true, true);
+		CommitCheckingResponse response = new CommitCheckingResponse();
+		RequestTiming timing = recorder.begin(request);
+		HttpServletResponse timed = recorder.wrapResponse(response, timing);
+
+		// Ex.: sendfile do Tomcat ou 304: o corpo não é escrito pela aplicação
+		timed.setStatus(304);
+		recorder.end(request, timed, timing);
+
+		assertTrue(response.getHeader(RequestTimingRecorder.SERVER_TIMING_HEADER).startsWith("total;dur="));
+		assertEquals(1, response.serverTimingHeaders);
+	}
+
+	/**
+	 * Falha se o header chegar depois do commit, quando o container já o teria descartado.
+	 */
+	private static final class CommitCheckingResponse extends MockHttpServletResponse {
+
+		private int serverTimingHeaders;
+
+		@Override
+		public void setHeader(String name, String value) {
+			if (RequestTimingRecorder.SERVER_TIMING_HEADER.equals(name)) {
+				assertFalse(isCommitted(), "Server-Timing escrito depois do commit");
+				serverTimingHeaders++;
+			}
+			super.setHeader(name, value);
+		}
+	}
+}
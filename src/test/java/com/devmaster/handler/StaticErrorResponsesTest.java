@@ -0,0 +1,53 @@
+package com.devmaster.handler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StaticErrorResponsesTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final StaticErrorResponses responses = new StaticErrorResponses(objectMapper);
+
+	@Test
+	void writesPreRenderedBodyAndHeaders() throws Exception {
+		MockHttpServletResponse unauthorized = new MockHttpServletResponse();
+		MockHttpServletResponse forbidden = new MockHttpServletResponse();
+
+		responses.writeUnauthorized(unauthorized);
+		responses.writeForbidden(forbidden);
+
+		assertEquals(401, unauthorized.getStatus());
+		assertEquals(MediaType.APPLICATION_JSON_VALUE, unauthorized.getContentType());
+		assertEquals(unauthorized.getContentAsByteArray().length, unauthorized.getContentLength());
+		assertEquals("Token inválido ou expirado. Faça login novamente.",
+				objectMapper.readTree(unauthorized.getContentAsByteArray()).get("message").asText());
+		assertEquals(403, forbidden.getStatus());
+		assertEquals("ACCESS_DENIED", objectMapper.readTree(forbidden.getContentAsByteArray()).get("description").asText());
+	}
+
+	@Test
+	void responseEntitiesShareTheRenderedBytes() throws Exception {
+		ResponseEntity<byte[]> unauthorized = responses.unauthorized();
+		MockHttpServletResponse written = new MockHttpServletResponse();
+		responses.writeUnauthorized(written);
+
+		assertEquals(HttpStatus.UNAUTHORIZED, unauthorized.getStatusCode());
+		assertEquals(MediaType.APPLICATION_JSON, unauthorized.getHeaders().getContentType());
+		assertEquals(unauthorized.getBody().length, unauthorized.getHeaders().getContentLength());
+		assertArrayEquals(written.getContentAsByteArray(), unauthorized.getBody());
+		assertSame(unauthorized.getBody(), responses.unauthorized().getBody());
+
+		JsonNode notFound = objectMapper.readTree(responses.notFound().getBody());
+		assertEquals("NOT_FOUND", notFound.get("description").asText());
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, responses.internalServerError().getStatusCode());
+	}
+}
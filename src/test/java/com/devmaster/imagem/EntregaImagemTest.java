@@ -0,0 +1,111 @@
+package com.devmaster.imagem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EntregaImagemTest {
+
+	private static final String CHAVE = "a".repeat(64);
+
+	@TempDir
+	Path diretorio;
+
+	private final EntregaImagem entrega = new EntregaImagem("public, max-age=31536000, immutable", DataSize.ofKilobytes(1));
+
+	@Test
+	void servesContentWithStrongEtagAndAnswersConditionalRequestsWith304() throws IOException {
+		VarianteImagem imagem = imagem(100);
+		MockHttpServletResponse resposta = entregar(imagem, get());
+		assertEquals(200, resposta.getStatus());
+		assertEquals("\"" + CHAVE + "\"", resposta.getHeader("ETag"));
+		assertEquals("public, max-age=31536000, immutable", resposta.getHeader("Cache-Control"));
+		assertEquals("image/jpeg", resposta.getContentType());
+		assertArrayEquals(Files.readAllBytes(imagem.arquivo()), resposta.getContentAsByteArray());
+
+		MockHttpServletRequest condicional = get();
+		condicional.addHeader("If-None-Match", "\"" + CHAVE + "\"");
+		resposta = entregar(imagem, condicional);
+		assertEquals(304, resposta.getStatus());
+		assertEquals(0, resposta.getContentAsByteArray().length);
+	}
+
+	@Test
+	void servesSingleRangesAndRejectsRangesPastTheEnd() throws IOException {
+		VarianteImagem imagem = imagem(100);
+		byte[] conteudo = Files.readAllBytes(imagem.arquivo());
+
+		MockHttpServletRequest parcial = get();
+		parcial.addHeader("Range", "bytes=10-19");
+		MockHttpServletResponse resposta = entregar(imagem, parcial);
+		assertEquals(206, resposta.getStatus());
+		assertEquals("bytes 10-19/100", resposta.getHeader("Content-Range"));
+		assertArrayEquals(Arrays.copyOfRange(conteudo, 10, 20), resposta.getContentAsByteArray());
+
+		MockHttpServletRequest fora = get();
+		fora.addHeader("Range", "bytes=100-");
+		resposta = entregar(imagem, fora);
+		assertEquals(416, resposta.getStatus());
+		assertEquals("bytes */100", resposta.getHeader("Content-Range"));
+
+		// If-Range de outro conteúdo e vários intervalos: conteúdo inteiro
+		MockHttpServletRequest desatualizado = get();
+		desatualizado.addHeader("Range", "bytes=0-9");
+		desatualizado.addHeader("If-Range", "\"outra\"");
+		assertEquals(200, entregar(imagem, desatualizado).getStatus());
+		MockHttpServletRequest varios = get();
+		varios.addHeader("Range", "bytes=0-9,20-29");
+		assertEquals(100, entregar(imagem, varios).getContentAsByteArray().length);
+	}
+
+	@Test
+	void handsLargeFilesToTomcatSendfile() throws IOException {
+		VarianteImagem imagem = imagem(4096);
+		MockHttpServletRequest request = get();
+		request.setAttribute(EntregaImagem.SENDFILE_SUPPORT, Boolean.TRUE);
+		request.addHeader("Range", "bytes=1000-");
+		MockHttpServletResponse resposta = entregar(imagem, request);
+		assertEquals(206, resposta.getStatus());
+		assertEquals(imagem.arquivo().toString(), request.getAttribute(EntregaImagem.SENDFILE_FILENAME));
+		assertEquals(1000L, request.getAttribute(EntregaImagem.SENDFILE_START));
+		assertEquals(4096L, request.getAttribute(EntregaImagem.SENDFILE_END));
+		assertEquals(3096, resposta.getContentLengthLong());
+		assertEquals(0, resposta.getContentAsByteArray().length);
+
+		MockHttpServletRequest head = new MockHttpServletRequest("HEAD", "/");
+		head.setAttribute(EntregaImagem.SENDFILE_SUPPORT, Boolean.TRUE);
+		resposta = entregar(imagem, head);
+		assertEquals(4096, resposta.getContentLengthLong());
+		assertNull(head.getAttribute(EntregaImagem.SENDFILE_FILENAME));
+	}
+
+	private MockHttpServletResponse entregar(VarianteImagem imagem, MockHttpServletRequest request) throws IOException {
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		entrega.entregar(imagem, request, resposta);
+		return resposta;
+	}
+
+	private VarianteImagem imagem(int tamanho) throws IOException {
+		byte[] conteudo = new byte[tamanho];
+		for (int i = 0; i < tamanho; i++) {
+			conteudo[i] = (byte) (i * 31);
+		}
+		Path arquivo = Files.write(diretorio.resolve(CHAVE + ".jpg"), conteudo);
+		return new VarianteImagem(CHAVE, "image/jpeg", tamanho, null, arquivo);
+	}
+
+	private static MockHttpServletRequest get() {
+		return new MockHttpServletRequest("GET", "/");
+	}
+}
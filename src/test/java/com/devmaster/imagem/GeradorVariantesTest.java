@@ -0,0 +1,195 @@
+package com.devmaster.imagem;
+
+import com.devmaster.handler.APIException;
+import com.devmaster.util.ImagemIngestao;
+import com.devmaster.util.ImagemProbe;
+import com.devmaster.util.ImagemRecebida;
+import com.devmaster.util.ImagemUtil.DimensoesImagem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeradorVariantesTest {
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void generatesEachVariantOnceAndServesItFromTheCache() throws IOException {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		GeradorVariantes gerador = gerador(cache(DataSize.ofMegabytes(16), registry), registry, 2, 8);
+		try (ImagemRecebida origem = imagem("jpeg", 3000, 2000)) {
+			Map<String, VarianteImagem> variantes = gerador.gerarTodas(origem);
+			assertEquals(Map.of(
+					"thumb", new DimensoesImagem(64, 43),
+					"media", new DimensoesImagem(1024, 683),
+					"icone", new DimensoesImagem(32, 21)),
+					Map.of(
+							"thumb", dimensoes(variantes.get("thumb"), ImagemProbe.JPEG),
+							"media", dimensoes(variantes.get("media"), ImagemProbe.JPEG),
+							"icone", dimensoes(variantes.get("icone"), ImagemProbe.PNG)));
+
+			VarianteImagem repetida = gerador.gerar(origem, "thumb");
+			assertEquals(variantes.get("thumb").chave(), repetida.chave());
+			assertEquals(1, registry.get(GeradorVariantes.METRIC_NAME).tag("variante", "thumb").timer().count());
+			assertEquals(repetida, gerador.obter(GeradorVariantes.hash(origem), "thumb"));
+		}
+	}
+
+	@Test
+	void reloadsTheDiskIndexAndEvictsLeastRecentlyUsed() throws IOException {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		GeradorVariantes gerador = gerador(cache(DataSize.ofMegabytes(16), registry), registry, 1, 8);
+		VarianteImagem media;
+		try (ImagemRecebida origem = imagem("png", 1600, 1200)) {
+			media = gerador.gerar(origem, "media");
+			gerador.gerar(origem, "thumb");
+		}
+		assertTrue(Files.exists(media.arquivo()));
+		Files.setLastModifiedTime(media.arquivo(), FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+		// Reinício com limite menor que a soma: a mais antiga (media) sai do disco
+		VarianteCache reaberto = cache(DataSize.ofBytes(Files.size(media.arquivo())), new SimpleMeterRegistry());
+		assertNull(reaberto.obter(media.chave()));
+		assertFalse(Files.exists(media.arquivo()));
+		assertEquals(1, Files.list(diretorio).flatMap(GeradorVariantesTest::listar).count());
+	}
+
+	@Test
+	void delaysDeletingEvictedFilesUntilInFlightDeliveriesOpenedThem() throws Exception {
+		VarianteCache cache = new VarianteCache(diretorio, DataSize.ofBytes(1000), DataSize.ofMegabytes(1),
+				DataSize.ofBytes(0), Duration.ofMillis(300), new SimpleMeterRegistry());
+		try {
+			VarianteImagem antiga = cache.armazenar("a".repeat(64), "image/jpeg", "jpg", ByteBuffer.allocate(600));
+			VarianteImagem devolvida = cache.armazenar("b".repeat(64), "image/jpeg", "jpg", ByteBuffer.allocate(600));
+			assertNull(cache.obter(antiga.chave()));
+			assertTrue(Files.exists(antiga.arquivo()), "arquivo apagado antes do prazo");
+
+			// Gerada de novo no prazo: a remoção agendada é cancelada
+			cache.armazenar(antiga.chave(), "image/jpeg", "jpg", ByteBuffer.allocate(600));
+			long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (Files.exists(devolvida.arquivo())) {
+				assertTrue(System.nanoTime() < prazo, "arquivo removido do LRU não foi apagado");
+				Thread.sleep(20);
+			}
+			Thread.sleep(400);
+			assertTrue(Files.exists(antiga.arquivo()));
+			assertEquals(antiga.chave(), cache.obter(antiga.chave()).chave());
+		} finally {
+			cache.shutdown();
+		}
+	}
+
+	@Test
+	void transfersCachedContentWithoutChangingIt() throws IOException {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		VarianteCache cache = cache(DataSize.ofMegabytes(16), registry);
+		GeradorVariantes gerador = gerador(cache, registry, 1, 8);
+		try (ImagemRecebida origem = imagem("jpeg", 2000, 1500)) {
+			VarianteImagem gerada = gerador.gerar(origem, "media");
+			assertFalse(gerada.emMemoria());
+
+			ByteArrayOutputStream destino = new ByteArrayOutputStream();
+			assertEquals(gerada.tamanho(), gerada.transferirPara(Channels.newChannel(destino)));
+			assertArrayEquals(Files.readAllBytes(gerada.arquivo()), destino.toByteArray());
+
+			destino.reset();
+			gerada.transferirPara(Channels.newChannel(destino), 10, 20);
+			assertEquals(20, destino.size());
+		}
+	}
+
+	@Test
+	void preservesColorsWhenReducing() throws IOException {
+		BufferedImage imagem = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < 500; y++) {
+			for (int x = 0; x < 1000; x++) {
+				imagem.setRGB(x, y, x < 500 ? 0x336699 : 0xCC8844);
+			}
+		}
+		ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ImageIO.write(imagem, "png", png);
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		ImagemVariante icone = new ImagemVariante("icone", 40, ImagemVariante.PNG, 1);
+		assertEquals(new DimensoesImagem(40, 20),
+				ImagemRedimensionador.redimensionar(new ByteArrayInputStream(png.toByteArray()), icone, 1_000_000, saida));
+
+		BufferedImage reduzida = ImageIO.read(new ByteArrayInputStream(saida.toByteArray()));
+		assertEquals(0x336699, reduzida.getRGB(5, 10) & 0xFFFFFF);
+		assertEquals(0xCC8844, reduzida.getRGB(35, 10) & 0xFFFFFF);
+	}
+
+	@Test
+	void rejectsUnknownVariantsAndUnsupportedConfiguration() throws IOException {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		GeradorVariantes gerador = gerador(cache(DataSize.ofMegabytes(1), registry), registry, 1, 1);
+		APIException naoEncontrada = assertThrows(APIException.class, () -> gerador.variante("gigante"));
+		assertEquals(HttpStatus.NOT_FOUND, naoEncontrada.getStatusException());
+		assertThrows(IllegalArgumentException.class, () -> ImagemVariante.parse("thumb:64:webp:0.8"));
+		assertThrows(IllegalArgumentException.class, () -> ImagemVariante.parse("thumb:64,thumb:128"));
+	}
+
+	private VarianteCache cache(DataSize maxDisco, SimpleMeterRegistry registry) throws IOException {
+		return new VarianteCache(diretorio, maxDisco, DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ZERO, registry);
+	}
+
+	private static GeradorVariantes gerador(VarianteCache cache, SimpleMeterRegistry registry, int threads, int fila) {
+		return new GeradorVariantes(cache, registry, "thumb:64:jpeg:0.7,media:1024:jpeg:0.85,icone:32:png:1",
+				threads, fila, Duration.ofSeconds(30), 50_000_000);
+	}
+
+	private static ImagemRecebida imagem(String formato, int largura, int altura) throws IOException {
+		BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < altura; y += 7) {
+			for (int x = 0; x < largura; x += 3) {
+				imagem.setRGB(x, y, x * 31 + y * 17);
+			}
+		}
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		ImageIO.write(imagem, formato, saida);
+		byte[] conteudo = saida.toByteArray();
+		return ImagemIngestao.receber(new ByteArrayInputStream(conteudo), conteudo.length, Long.MAX_VALUE);
+	}
+
+	private static DimensoesImagem dimensoes(VarianteImagem variante, String tipo) throws IOException {
+		assertNotNull(variante);
+		assertEquals(tipo, variante.tipo());
+		ImagemProbe.Resultado resultado = ImagemProbe.analisarCabecalho(variante.abrirStream());
+		assertEquals(tipo, resultado.tipo());
+		return resultado.dimensoes();
+	}
+
+	private static Stream<Path> listar(Path subdiretorio) {
+		try {
+			return Files.list(subdiretorio);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.devmaster.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledPreAuthorizeAuthorizationManagerTest {
+
+	interface Pedidos {
+
+		@PreAuthorize("hasRole('ADMIN')")
+		String cancelar();
+
+		@PreAuthorize("hasAnyRole('GERENTE', 'ROLE_ADMIN') or hasAuthority('pedidos:ler')")
+		String listar();
+
+		@PreAuthorize("isAuthenticated()")
+		String meus();
+
+		@PreAuthorize("#restauranteId == 42 and hasRole('GERENTE')")
+		String doRestaurante(long restauranteId);
+
+		String semAnotacao();
+	}
+
+	static class PedidosService implements Pedidos {
+
+		public String cancelar() {
+			return "cancelado";
+		}
+
+		public String listar() {
+			return "lista";
+		}
+
+		public String meus() {
+			return "meus";
+		}
+
+		public String doRestaurante(long restauranteId) {
+			return "restaurante " + restauranteId;
+		}
+
+		public String semAnotacao() {
+			return "livre";
+		}
+	}
+
+	private final Pedidos pedidos = proxy();
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void compilesRoleExpressions() {
+		var check = CompiledPreAuthorizeAuthorizationManager.compile("hasAnyRole('GERENTE', \"ROLE_ADMIN\") || hasAuthority('x')");
+
+		assertNotNull(check);
+		assertEquals(Role.GERENTE.mask() | Role.ADMIN.mask(), check.mask());
+		assertArrayEquals(new String[]{"ROLE_GERENTE", "ROLE_ADMIN", "x"}, check.authorities());
+		assertTrue(CompiledPreAuthorizeAuthorizationManager.compile("permitAll").permitAll());
+		assertTrue(CompiledPreAuthorizeAuthorizationManager.compile("isAuthenticated()").authenticated());
+		assertEquals(0, CompiledPreAuthorizeAuthorizationManager.compile("hasAuthority('ADMIN')").mask());
+	}
+
+	@Test
+	void leavesOtherExpressionsToSpel() {
+		assertNull(CompiledPreAuthorizeAuthorizationManager.compile("hasRole('ADMIN') and hasRole('GERENTE')"));
+		assertNull(CompiledPreAuthorizeAuthorizationManager.compile("hasRole(#role)"));
+		assertNull(CompiledPreAuthorizeAuthorizationManager.compile("@acesso.pode(authentication)"));
+		assertNull(CompiledPreAuthorizeAuthorizationManager.compile("hasRole('A', 'B')"));
+		assertNull(CompiledPreAuthorizeAuthorizationManager.compile("hasAnyRole('A',)"));
+		assertNull(CompiledPreAuthorizeAuthorizationManager.compile("!hasRole('A')"));
+	}
+
+	@Test
+	void authorizesUserContextPrincipal() {
+		authenticate("GERENTE");
+
+		assertThrows(AuthorizationDeniedException.class, pedidos::cancelar);
+		assertEquals("lista", pedidos.listar());
+		assertEquals("meus", pedidos.meus());
+		assertEquals("livre", pedidos.semAnotacao());
+
+		authenticate("ADMIN");
+		assertEquals("cancelado", pedidos.cancelar());
+		assertEquals("lista", pedidos.listar());
+	}
+
+	@Test
+	void authorizesOtherAuthentications() {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"servico", null, AuthorityUtils.createAuthorityList("pedidos:ler")));
+
+		assertThrows(AuthorizationDeniedException.class, pedidos::cancelar);
+		assertEquals("lista", pedidos.listar());
+
+		SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+				"chave", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+		assertThrows(AuthorizationDeniedException.class, pedidos::meus);
+	}
+
+	@Test
+	void fallsBackToSpel() {
+		authenticate("GERENTE");
+
+		assertEquals("restaurante 42", pedidos.doRestaurante(42));
+		assertThrows(AuthorizationDeniedException.class, () -> pedidos.doRestaurante(7));
+
+		authenticate("ADMIN");
+		assertThrows(AuthorizationDeniedException.class, () -> pedidos.doRestaurante(42));
+	}
+
+	@Test
+	void matchesSpelDecisions() {
+		Pedidos spel = proxy(spelManager());
+		for (String role : List.of("ADMIN", "GERENTE", "USER")) {
+			authenticate(role);
+			assertEquals(allowed(spel::cancelar), allowed(pedidos::cancelar), role);
+			assertEquals(allowed(spel::listar), allowed(pedidos::listar), role);
+			assertEquals(allowed(spel::meus), allowed(pedidos::meus), role);
+		}
+	}
+
+	private static boolean allowed(Runnable call) {
+		try {
+			call.run();
+			return true;
+		} catch (AuthorizationDeniedException e) {
+			return false;
+		}
+	}
+
+	private static void authenticate(String role) {
+		UserContext context = UserContext.from(TokenClaims.from(Map.of("username", "maria", "roles", List.of(role))));
+		Authentication authentication = new UsernamePasswordAuthenticationToken(
+				context, null, context.getRoleAuthorities().authorities());
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+	}
+
+	private static PreAuthorizeAuthorizationManager spelManager() {
+		PreAuthorizeAuthorizationManager spel = new PreAuthorizeAuthorizationManager();
+		spel.setExpressionHandler(new DefaultMethodSecurityExpressionHandler());
+		return spel;
+	}
+
+	private static Pedidos proxy() {
+		return proxy(AuthorizationManagerBeforeMethodInterceptor.preAuthorize(
+				new CompiledPreAuthorizeAuthorizationManager(spelManager())));
+	}
+
+	private static Pedidos proxy(PreAuthorizeAuthorizationManager manager) {
+		return proxy(AuthorizationManagerBeforeMethodInterceptor.preAuthorize(manager));
+	}
+
+	private static Pedidos proxy(AuthorizationManagerBeforeMethodInterceptor interceptor) {
+		ProxyFactory factory = new ProxyFactory(new PedidosService());
+		factory.addInterface(Pedidos.class);
+		factory.addAdvisor(interceptor);
+		return (Pedidos) factory.getProxy();
+	}
+}
@@ -0,0 +1,75 @@
+package com.devmaster.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwksKeySourceTest {
+
+	@Test
+	void refreshesOnUnknownKidAtMostOncePerInterval() throws Exception {
+		RSAKey atual = new RSAKeyGenerator(2048).keyID("atual").generate();
+		RSAKey nova = new RSAKeyGenerator(2048).keyID("nova").generate();
+		AtomicInteger downloads = new AtomicInteger();
+		AtomicReference<String> documento = new AtomicReference<>(jwks(atual));
+		RestTemplate restTemplate = new RestTemplate() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public <T> T getForObject(String url, Class<T> responseType, Object... uriVariables) {
+				downloads.incrementAndGet();
+				return (T) documento.get();
+			}
+		};
+
+		try (JwksKeySource keySource = new JwksKeySource(restTemplate, "https://auth.devmaster.test/jwks",
+				Duration.ofHours(1), Duration.ofMillis(500))) {
+			// Carga inicial em segundo plano; depois dela, consultas dentro do intervalo não vão à rede
+			long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (downloads.get() == 0 || keySource.get(kid("atual"), null).isEmpty()) {
+				assertTrue(System.nanoTime() < prazo, "JWKS inicial não carregado");
+				Thread.sleep(10);
+			}
+			assertEquals(1, downloads.get());
+
+			// Chave rotacionada logo após a carga: dentro do intervalo mínimo, sem rede
+			documento.set(jwks(atual, nova));
+			assertTrue(keySource.get(kid("nova"), null).isEmpty());
+			assertEquals(1, downloads.get());
+
+			Thread.sleep(550);
+			assertEquals(1, keySource.get(kid("nova"), null).size());
+			assertEquals(2, downloads.get());
+
+			// Outro kid desconhecido logo em seguida: rejeitado sem nova recarga
+			assertTrue(keySource.get(kid("desconhecida"), null).isEmpty());
+			assertEquals(2, downloads.get());
+		}
+	}
+
+	private static JWKSelector kid(String kid) {
+		return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+	}
+
+	private static String jwks(RSAKey... chaves) {
+		List<JWK> publicas = new ArrayList<>();
+		for (RSAKey chave : chaves) {
+			publicas.add(chave.toPublicJWK());
+		}
+		return new JWKSet(publicas).toString();
+	}
+}
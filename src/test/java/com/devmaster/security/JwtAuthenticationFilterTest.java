@@ -0,0 +1,152 @@
+package com.devmaster.security;
+
+import com.devmaster.config.RequestTimingRecorder;
+import com.devmaster.handler.APIException;
+import com.devmaster.handler.StaticErrorResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtAuthenticationFilterTest {
+
+	private static final String USER_ID = "3f1c2a7e-1111-4222-8333-444455556666";
+
+	private final CompletableFuture<TokenClaims> validation = new CompletableFuture<>();
+	private final List<Exception> resolved = new ArrayList<>();
+	private final AtomicInteger dispatches = new AtomicInteger();
+	private final List<Authentication> chainAuthentications = new ArrayList<>();
+	private final FilterChain chain = (req, res) -> chainAuthentications.add(
+			SecurityContextHolder.getContext().getAuthentication());
+
+	private JwtAuthenticationFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	@BeforeEach
+	void setUp() {
+		TokenValidationCache cache = new TokenValidationCache(true, 100, Duration.ofHours(1), Duration.ofHours(1),
+				new SimpleMeterRegistry());
+		JwtTokenValidator validator = new JwtTokenValidator(null, cache, null, null, null, new ObjectMapper(),
+				"http://auth-service", true) {
+			@Override
+			public CompletableFuture<TokenClaims> validateTokenAsync(String token) {
+				return validation;
+			}
+		};
+		HandlerExceptionResolver resolver = (req, res, handler, ex) -> {
+			resolved.add(ex);
+			res.setStatus(ex instanceof APIException api ? api.getStatusException().value() : 500);
+			return new ModelAndView();
+		};
+		filter = new JwtAuthenticationFilter(validator, resolver, new StaticErrorResponses(new ObjectMapper()),
+				new PublicRouteRegistry(), new RequestTimingRecorder(new SimpleMeterRegistry(), false, false),
+				true, Duration.ofSeconds(15));
+
+		request = new MockHttpServletRequest("GET", "/api/v1/pedidos");
+		request.setAsyncSupported(true);
+		request.addHeader("Authorization", "Bearer token");
+		response = new MockHttpServletResponse();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void successfulAsyncValidationDispatchesWithAuthentication() throws Exception {
+		suspend();
+
+		validation.complete(TokenClaims.from(Map.of("username", "maria", "userId", USER_ID, "roles", List.of("ADMIN"))));
+		assertEquals(1, dispatches.get());
+		redispatch();
+
+		assertEquals(1, chainAuthentications.size());
+		UserContext principal = assertInstanceOf(UserContext.class, chainAuthentications.get(0).getPrincipal());
+		assertEquals("maria", principal.getUsername());
+		assertTrue(principal.hasRole("ADMIN"));
+		assertTrue(resolved.isEmpty());
+		assertEquals(200, response.getStatus());
+	}
+
+	@Test
+	void timeoutAnswersExactlyOne503() throws Exception {
+		suspend();
+		AsyncListener listener = asyncContext().getListeners().get(0);
+
+		listener.onTimeout(new AsyncEvent(asyncContext()));
+		listener.onTimeout(new AsyncEvent(asyncContext()));
+		validation.complete(TokenClaims.from(Map.of("username", "maria", "roles", List.of("ADMIN"))));
+		assertEquals(1, dispatches.get());
+		redispatch();
+
+		assertEquals(1, resolved.size());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((APIException) resolved.get(0)).getStatusException());
+		assertEquals(503, response.getStatus());
+		assertTrue(chainAuthentications.isEmpty());
+	}
+
+	@Test
+	void validationErrorCompletesTheRequestOnce() throws Exception {
+		suspend();
+
+		validation.completeExceptionally(APIException.build(HttpStatus.UNAUTHORIZED, "Token inválido"));
+		asyncContext().getListeners().get(0).onTimeout(new AsyncEvent(asyncContext()));
+		assertEquals(1, dispatches.get());
+		redispatch();
+
+		// 401 pré-serializado, sem passar pelo resolver nem pelo restante da cadeia
+		assertEquals(401, response.getStatus());
+		assertTrue(response.getContentAsByteArray().length > 0);
+		assertTrue(resolved.isEmpty());
+		assertTrue(chainAuthentications.isEmpty());
+	}
+
+	private void suspend() throws Exception {
+		filter.doFilter(request, response, chain);
+		assertTrue(request.isAsyncStarted());
+		assertTrue(chainAuthentications.isEmpty());
+		asyncContext().addDispatchHandler(dispatches::incrementAndGet);
+	}
+
+	/**
+	 * Segunda passagem pelo filtro, como o container faz após {@code AsyncContext.dispatch()}.
+	 */
+	private void redispatch() throws Exception {
+		SecurityContextHolder.clearContext();
+		request.setAsyncStarted(false);
+		request.setDispatcherType(DispatcherType.ASYNC);
+		filter.doFilter(request, response, chain);
+		assertNull(request.getAttribute(JwtAuthenticationFilter.class.getName() + ".ASYNC_VALIDATION"));
+	}
+
+	private MockAsyncContext asyncContext() {
+		return (MockAsyncContext) request.getAsyncContext();
+	}
+}
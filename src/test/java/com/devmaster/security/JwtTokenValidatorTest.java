@@ -0,0 +1,210 @@
+package com.devmaster.security;
+
+import com.devmaster.handler.APIException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenValidatorTest {
+
+	private static final String SECRET = "segredo-de-teste-com-mais-de-32-bytes!";
+	private static final APIException UNAVAILABLE = APIException.build(HttpStatus.SERVICE_UNAVAILABLE,
+			"Serviço de autenticação indisponível");
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final TokenValidationCache cache = new TokenValidationCache(true, 100, Duration.ofMillis(50),
+			Duration.ofHours(1), registry);
+	private final List<AuthServiceClient> clients = new ArrayList<>();
+	private final List<LocalJwtVerifier> verifiers = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		clients.forEach(AuthServiceClient::shutdown);
+		verifiers.forEach(LocalJwtVerifier::shutdown);
+	}
+
+	@Test
+	void unavailableAuthServiceFallsBackToStaleValidation() throws Exception {
+		StubAuthServiceClient authService = stub(Map.of("valid", true, "username", "maria", "roles", List.of("ADMIN")));
+		JwtTokenValidator validator = validator(authService, verifier(""));
+		assertEquals("maria", validator.validateToken("token").username());
+
+		Thread.sleep(80);
+		authService.failure = UNAVAILABLE;
+		assertEquals("maria", validator.validateToken("token").username());
+		assertEquals("maria", validator.validateTokenAsync("token").join().username());
+		assertEquals(3, authService.calls.get());
+	}
+
+	@Test
+	void unavailableAuthServiceWithoutStaleEntryVerifiesLocally() throws JOSEException {
+		StubAuthServiceClient authService = stub(null);
+		authService.failure = UNAVAILABLE;
+		JwtTokenValidator validator = validator(authService, verifier(SECRET));
+
+		assertEquals("maria", validator.validateToken(token(SECRET)).username());
+		assertEquals("maria", validator.validateTokenAsync(token(SECRET)).join().username());
+		// Assinatura inválida na verificação local: token recusado, não 503
+		assertNull(validator.validateToken(token(SECRET.replace('s', 'x'))));
+		assertNull(validator.validateTokenAsync(token(SECRET.replace('s', 'x'))).join());
+	}
+
+	@Test
+	void unavailableAuthServiceWithoutFallbackRethrows503() {
+		StubAuthServiceClient authService = stub(null);
+		authService.failure = UNAVAILABLE;
+		JwtTokenValidator validator = validator(authService, verifier(""));
+
+		assertSame(UNAVAILABLE, assertThrows(APIException.class, () -> validator.validateToken("token")));
+		CompletionException async = assertThrows(CompletionException.class,
+				() -> validator.validateTokenAsync("token").join());
+		assertSame(UNAVAILABLE, async.getCause());
+	}
+
+	@Test
+	void rejectionByAuthServiceSkipsTheFallback() throws Exception {
+		StubAuthServiceClient authService = stub(Map.of("valid", true, "username", "maria", "roles", List.of("ADMIN")));
+		JwtTokenValidator validator = validator(authService, verifier(SECRET));
+		validator.validateToken("token");
+		Thread.sleep(80);
+
+		authService.failure = APIException.build(HttpStatus.UNAUTHORIZED, "Token inválido ou expirado");
+		APIException rejected = assertThrows(APIException.class, () -> validator.validateToken("token"));
+		assertEquals(HttpStatus.UNAUTHORIZED, rejected.getStatusException());
+	}
+
+	@Test
+	void openCircuitMapsTo503() {
+		CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+		circuitBreakers.circuitBreaker("auth-service").transitionToForcedOpenState();
+		AuthServiceClient authService = client(circuitBreakers, BulkheadRegistry.ofDefaults());
+		JwtTokenValidator validator = validator(authService, verifier(""));
+
+		assertUnavailable(validator);
+	}
+
+	@Test
+	void fullBulkheadMapsTo503() {
+		BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+				.maxConcurrentCalls(1)
+				.maxWaitDuration(Duration.ZERO)
+				.build());
+		bulkheads.bulkhead("auth-service").tryAcquirePermission();
+		AuthServiceClient authService = client(CircuitBreakerRegistry.ofDefaults(), bulkheads);
+		JwtTokenValidator validator = validator(authService, verifier(""));
+
+		assertUnavailable(validator);
+	}
+
+	private static void assertUnavailable(JwtTokenValidator validator) {
+		APIException sync = assertThrows(APIException.class, () -> validator.validateToken("token"));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, sync.getStatusException());
+		CompletionException async = assertThrows(CompletionException.class,
+				() -> validator.validateTokenAsync("token").join());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+				assertInstanceOf(APIException.class, async.getCause()).getStatusException());
+	}
+
+	private JwtTokenValidator validator(AuthServiceClient authService, LocalJwtVerifier verifier) {
+		return new JwtTokenValidator(authService, cache, new TokenValidationCoalescer(true, Duration.ofSeconds(5), registry),
+				verifier, null, new ObjectMapper(), "http://auth-service", true);
+	}
+
+	/**
+	 * Verificador no modo REMOTE: só é usado como fallback, e apenas com segredo configurado.
+	 */
+	private LocalJwtVerifier verifier(String secret) {
+		LocalJwtVerifier verifier = new LocalJwtVerifier(new RestTemplate(), JwtVerificationMode.REMOTE, "", secret, "", "",
+				Duration.ofSeconds(30), Duration.ofMinutes(5));
+		verifiers.add(verifier);
+		return verifier;
+	}
+
+	private AuthServiceClient client(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads) {
+		AuthServiceClient client = new AuthServiceClient(new RestTemplate(), WebClient.builder(), "http://localhost:1",
+				false, RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()), circuitBreakers, bulkheads,
+				TimeLimiterRegistry.ofDefaults());
+		clients.add(client);
+		return client;
+	}
+
+	private StubAuthServiceClient stub(Map<String, Object> response) {
+		StubAuthServiceClient client = new StubAuthServiceClient(response);
+		clients.add(client);
+		return client;
+	}
+
+	private static String token(String secret) throws JOSEException {
+		Instant agora = Instant.now();
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder()
+				.subject("maria")
+				.claim("roles", List.of("ADMIN"))
+				.issueTime(Date.from(agora))
+				.expirationTime(Date.from(agora.plusSeconds(300)))
+				.build());
+		jwt.sign(new MACSigner(secret));
+		return jwt.serialize();
+	}
+
+	/**
+	 * Serviço de autenticação simulado: responde {@code response} ou lança {@code failure}.
+	 */
+	private static final class StubAuthServiceClient extends AuthServiceClient {
+
+		private final Map<String, Object> response;
+		private final AtomicInteger calls = new AtomicInteger();
+		private volatile APIException failure;
+
+		StubAuthServiceClient(Map<String, Object> response) {
+			super(new RestTemplate(), WebClient.builder(), "http://localhost:1", false, RetryRegistry.ofDefaults(),
+					CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults());
+			this.response = response;
+		}
+
+		@Override
+		public Map<String, Object> validateToken(String token) {
+			calls.incrementAndGet();
+			if (failure != null) {
+				throw failure;
+			}
+			return response;
+		}
+
+		@Override
+		public Mono<Map<String, Object>> validateTokenAsync(String token) {
+			return Mono.fromSupplier(() -> validateToken(token));
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package com.devmaster.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalJwtVerifierTest {
+
+	private static final String ISSUER = "https://auth.devmaster.test";
+	private static final String AUDIENCE = "devmaster-api";
+	private static final String SECRET = "segredo-de-teste-com-mais-de-32-bytes!";
+
+	private static RSAKey rsa;
+	private static RSAKey outraRsa;
+	private static ECKey ec;
+
+	private final List<LocalJwtVerifier> verifiers = new ArrayList<>();
+
+	@BeforeAll
+	static void chaves() throws JOSEException {
+		rsa = new RSAKeyGenerator(2048).keyID("rsa-1").generate();
+		outraRsa = new RSAKeyGenerator(2048).keyID("rsa-1").generate();
+		ec = new ECKeyGenerator(Curve.P_256).keyID("ec-1").generate();
+	}
+
+	@AfterEach
+	void tearDown() {
+		verifiers.forEach(LocalJwtVerifier::shutdown);
+	}
+
+	@Test
+	void acceptsRs256AndEs256SignedByJwksKeys() throws JOSEException {
+		LocalJwtVerifier verifier = jwks();
+
+		assertEquals("maria", verifier.verify(token(JWSAlgorithm.RS256, new RSASSASigner(rsa), "rsa-1", c -> {
+		})).subject());
+		assertEquals("maria", verifier.verify(token(JWSAlgorithm.ES256, new ECDSASigner(ec), "ec-1", c -> {
+		})).subject());
+	}
+
+	@Test
+	void rejectsForeignSignaturesAndAlgorithmsOutsideTheJwksMode() throws JOSEException {
+		LocalJwtVerifier verifier = jwks();
+
+		// Mesmo kid, chave diferente
+		assertThrows(JwtException.class, () -> verifier.verify(
+				token(JWSAlgorithm.RS256, new RSASSASigner(outraRsa), "rsa-1", c -> {
+				})));
+		assertThrows(JwtException.class, () -> verifier.verify(
+				token(JWSAlgorithm.HS256, new MACSigner(SECRET), "rsa-1", c -> {
+				})));
+	}
+
+	@Test
+	void acceptsHs256WithTheSharedSecretOnly() throws JOSEException {
+		LocalJwtVerifier verifier = secret(SECRET);
+
+		assertEquals("maria", verifier.verify(token(JWSAlgorithm.HS256, new MACSigner(SECRET), null, c -> {
+		})).subject());
+		assertThrows(JwtException.class, () -> verifier.verify(
+				token(JWSAlgorithm.HS256, new MACSigner(SECRET.replace('s', 'x')), null, c -> {
+				})));
+		assertThrows(JwtException.class, () -> verifier.verify(
+				token(JWSAlgorithm.RS256, new RSASSASigner(rsa), "rsa-1", c -> {
+				})));
+	}
+
+	@Test
+	void rejectsExpiredNotYetValidAndForeignIssuerOrAudience() throws JOSEException {
+		LocalJwtVerifier verifier = secret(SECRET);
+		MACSigner signer = new MACSigner(SECRET);
+		Instant agora = Instant.now();
+
+		assertThrows(JwtException.class, () -> verifier.verify(token(JWSAlgorithm.HS256, signer, null,
+				c -> c.issueTime(Date.from(agora.minusSeconds(120))).expirationTime(Date.from(agora.minusSeconds(60))))));
+		assertThrows(JwtException.class, () -> verifier.verify(token(JWSAlgorithm.HS256, signer, null,
+				c -> c.notBeforeTime(Date.from(agora.plusSeconds(60))))));
+		assertThrows(JwtException.class, () -> verifier.verify(token(JWSAlgorithm.HS256, signer, null,
+				c -> c.issuer("https://outro.test"))));
+		assertThrows(JwtException.class, () -> verifier.verify(token(JWSAlgorithm.HS256, signer, null,
+				c -> c.audience("outra-api"))));
+		// Dentro do clock skew (30s)
+		assertEquals("maria", verifier.verify(token(JWSAlgorithm.HS256, signer, null,
+				c -> c.issueTime(Date.from(agora.minusSeconds(60))).expirationTime(Date.from(agora.minusSeconds(5)))))
+				.subject());
+	}
+
+	@Test
+	void rejectsHs256SecretShorterThan256Bits() {
+		assertThrows(IllegalStateException.class, () -> secret("curto-demais"));
+	}
+
+	private LocalJwtVerifier jwks() {
+		String documento = new JWKSet(List.of(rsa.toPublicJWK(), ec.toPublicJWK())).toString();
+		RestTemplate restTemplate = new RestTemplate() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public <T> T getForObject(String url, Class<T> responseType, Object... uriVariables) {
+				return (T) documento;
+			}
+		};
+		return registrar(new LocalJwtVerifier(restTemplate, JwtVerificationMode.LOCAL, "https://auth.devmaster.test/jwks",
+				"", ISSUER, AUDIENCE, Duration.ofSeconds(30), Duration.ofMinutes(5)));
+	}
+
+	private LocalJwtVerifier secret(String secret) {
+		return registrar(new LocalJwtVerifier(new RestTemplate(), JwtVerificationMode.LOCAL, "", secret, ISSUER, AUDIENCE,
+				Duration.ofSeconds(30), Duration.ofMinutes(5)));
+	}
+
+	private LocalJwtVerifier registrar(LocalJwtVerifier verifier) {
+		verifiers.add(verifier);
+		return verifier;
+	}
+
+	private static String token(JWSAlgorithm algoritmo, JWSSigner signer, String kid,
+								Consumer<JWTClaimsSet.Builder> ajuste) throws JOSEException {
+		Instant agora = Instant.now();
+		JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+				.subject("maria")
+				.issuer(ISSUER)
+				.audience(AUDIENCE)
+				.issueTime(Date.from(agora))
+				.expirationTime(Date.from(agora.plusSeconds(300)));
+		ajuste.accept(claims);
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(algoritmo).keyID(kid).build(), claims.build());
+		jwt.sign(signer);
+		return jwt.serialize();
+	}
+}
@@ -0,0 +1,158 @@
+package com.devmaster.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Propagação entre duas instâncias contra um PostgreSQL local, por exemplo:
+ * {@code REVOCATION_TEST_DATABASE_URL=jdbc:postgresql://localhost:5432/devmaster?user=postgres&password=postgres}
+ */
+@EnabledIfEnvironmentVariable(named = "REVOCATION_TEST_DATABASE_URL", matches = ".+")
+class PostgresRevocationBusTest {
+
+	private static final String USER_ID = "3f1c2a7e-1111-4222-8333-444455556666";
+
+	private final List<PostgresRevocationBus> buses = new ArrayList<>();
+	private String suffix;
+
+	@BeforeEach
+	void setUp() {
+		suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		buses.forEach(PostgresRevocationBus::stop);
+		try (Connection connection = dataSource("cleanup").getConnection();
+			 Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS revocation_test_" + suffix);
+		}
+	}
+
+	@Test
+	void propagatesRevocationToOtherNodeWithinMilliseconds() throws Exception {
+		Node a = start("node-a");
+		Node b = start("node-b");
+		await(b.bus()::isListening);
+
+		Instant published = Instant.now();
+		a.bus().publish(RevocationEvent.Type.TOKEN, TokenValidationCache.digest("token"));
+
+		await(() -> b.revocations().isRevoked("token", claims()));
+		long elapsed = Duration.between(published, Instant.now()).toMillis();
+		assertTrue(elapsed < 1_000, "propagação em " + elapsed + " ms");
+	}
+
+	@Test
+	void replaysRevocationsPublishedWhileNodeWasDown() throws Exception {
+		Node a = start("node-a");
+		a.bus().publish(RevocationEvent.Type.USER, USER_ID);
+
+		Node b = start("node-b");
+
+		await(() -> b.revocations().isRevoked("token", claims()));
+	}
+
+	@Test
+	void reconnectsAndReplaysAfterConnectionLoss() throws Exception {
+		Node a = start("node-a");
+		Node b = start("node-b");
+		await(b.bus()::isListening);
+
+		try (Connection connection = dataSource("admin").getConnection();
+			 PreparedStatement statement = connection.prepareStatement(
+					 "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?")) {
+			statement.setString(1, "node-b-" + suffix);
+			statement.execute();
+		}
+		a.bus().publish(RevocationEvent.Type.TOKEN, TokenValidationCache.digest("token"));
+
+		await(() -> b.revocations().isRevoked("token", claims()));
+		await(b.bus()::isListening);
+	}
+
+	@Test
+	void createsMissingTableOnceDatabaseBecomesReachable() throws Exception {
+		AtomicBoolean reachable = new AtomicBoolean(false);
+		DataSource flaky = new DelegatingDataSource(dataSource("node-b-" + suffix)) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (!reachable.get()) {
+					throw new SQLException("Connection refused");
+				}
+				return super.getConnection();
+			}
+		};
+		Node b = start("node-b", flaky, flaky);
+		Thread.sleep(300);
+		assertFalse(b.bus().isListening());
+
+		reachable.set(true);
+		await(b.bus()::isListening);
+		Node a = start("node-a");
+		a.bus().publish(RevocationEvent.Type.TOKEN, TokenValidationCache.digest("token"));
+
+		await(() -> b.revocations().isRevoked("token", claims()));
+	}
+
+	private record Node(PostgresRevocationBus bus, TokenRevocationList revocations) {
+	}
+
+	private Node start(String nodeId) {
+		return start(nodeId, dataSource(nodeId + "-" + suffix), dataSource(nodeId + "-listener-" + suffix));
+	}
+
+	private Node start(String nodeId, DataSource dataSource, DataSource listenerDataSource) {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		TokenValidationCache cache = new TokenValidationCache(true, 1_000, Duration.ofHours(1), Duration.ofHours(1), registry);
+		TokenRevocationList revocations = new TokenRevocationList(cache, Duration.ofHours(1), 1_000, registry);
+		PostgresRevocationBus bus = new PostgresRevocationBus(dataSource, listenerDataSource, revocations, registry,
+				"revocation_test_" + suffix, "revocation_test_" + suffix, nodeId, Duration.ofSeconds(30),
+				Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofHours(1), true);
+		bus.start();
+		buses.add(bus);
+		return new Node(bus, revocations);
+	}
+
+	private static PGSimpleDataSource dataSource(String applicationName) {
+		PGSimpleDataSource dataSource = new PGSimpleDataSource();
+		dataSource.setURL(System.getenv("REVOCATION_TEST_DATABASE_URL"));
+		dataSource.setApplicationName(applicationName);
+		return dataSource;
+	}
+
+	private static TokenClaims claims() {
+		return TokenClaims.from(Map.of("userId", USER_ID, "iat", Instant.now().minusSeconds(60).getEpochSecond()));
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condição não atendida em 10 s");
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.devmaster.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicRouteRegistryTest {
+
+	private final PublicRouteRegistry registry = new PublicRouteRegistry();
+
+	@Test
+	void matchesDefaultPublicRoutes() {
+		assertTrue(registry.matches("/public/auth/login"));
+		assertTrue(registry.matches("/public"));
+		assertTrue(registry.matches("/v1/cupons/public/BEMVINDO10"));
+		assertTrue(registry.matches("/v3/api-docs/swagger-config"));
+		assertTrue(registry.matches("/api-docs"));
+		assertTrue(registry.matches("/swagger-ui.html"));
+		assertTrue(registry.matches("/actuator/health"));
+	}
+
+	@Test
+	void rejectsProtectedRoutes() {
+		assertFalse(registry.matches("/"));
+		assertFalse(registry.matches("/publicity"));
+		assertFalse(registry.matches("/swagger-ui.htm"));
+		assertFalse(registry.matches("/v1/entregadores/public/1"));
+		assertFalse(registry.matches("/v1/cupons/1"));
+		assertFalse(registry.matches("/v3/api-doc"));
+	}
+
+	@Test
+	void ignoresContextPath() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/health");
+		request.setContextPath("/api");
+		assertTrue(registry.matches(request));
+
+		request.setRequestURI("/api/v1/restaurantes");
+		assertFalse(registry.matches(request));
+	}
+
+	@Test
+	void supportsSingleSegmentWildcard() {
+		PublicRouteRegistry custom = new PublicRouteRegistry(List.of("/v1/restaurantes/*/cardapio", "/v1/restaurantes/destaques/**"));
+		assertTrue(custom.matches("/v1/restaurantes/42/cardapio"));
+		assertTrue(custom.matches("/v1/restaurantes/destaques/cardapio"));
+		assertTrue(custom.matches("/v1/restaurantes/destaques/hoje"));
+		assertFalse(custom.matches("/v1/restaurantes/42/pedidos"));
+		assertFalse(custom.matches("/v1/restaurantes/42/cardapio/itens"));
+	}
+
+	@Test
+	void rejectsUnsupportedPatterns() {
+		assertThrows(IllegalArgumentException.class, () -> new PublicRouteRegistry(List.of("/v1/**/itens")));
+		assertThrows(IllegalArgumentException.class, () -> new PublicRouteRegistry(List.of("/v1/item*")));
+		assertThrows(IllegalArgumentException.class, () -> new PublicRouteRegistry(List.of("v1/itens")));
+	}
+}
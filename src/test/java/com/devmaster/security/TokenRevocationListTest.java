@@ -0,0 +1,96 @@
+package com.devmaster.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationListTest {
+
+	private static final String USER_ID = "3f1c2a7e-1111-4222-8333-444455556666";
+
+	private TokenValidationCache cache;
+	private TokenRevocationList revocations;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		cache = new TokenValidationCache(true, 1_000, Duration.ofHours(1), Duration.ofHours(1), registry);
+		revocations = new TokenRevocationList(cache, Duration.ofHours(24), 1_000, registry);
+	}
+
+	@Test
+	void revokedTokenIsRejectedAndEvictedFromCache() {
+		TokenClaims claims = claims(Instant.now());
+		cache.put("token-a", claims, null);
+		cache.put("token-b", claims, null);
+
+		revocations.revokeToken("token-a");
+
+		assertNull(cache.get("token-a"));
+		assertNotNull(cache.get("token-b"));
+		assertTrue(revocations.isRevoked("token-a", claims));
+		assertFalse(revocations.isRevoked("token-b", claims));
+	}
+
+	@Test
+	void revokedUserRejectsOnlyTokensIssuedBeforeRevocation() {
+		TokenClaims antigo = claims(Instant.now().minusSeconds(60));
+		cache.put("antigo", antigo, null);
+
+		RevocationEvent event = new RevocationEvent(7L, RevocationEvent.Type.USER, USER_ID, "node-b", Instant.now());
+		revocations.apply(event);
+
+		assertNull(cache.get("antigo"));
+		assertTrue(revocations.isRevoked("antigo", antigo));
+		assertFalse(revocations.isRevoked("novo", claims(event.createdAt().plusSeconds(5))));
+
+		// Replay de uma revogação mais antiga não reduz a janela
+		revocations.apply(new RevocationEvent(3L, RevocationEvent.Type.USER, USER_ID, "node-b",
+				event.createdAt().minusSeconds(120)));
+		assertTrue(revocations.isRevoked("antigo", antigo));
+	}
+
+	@Test
+	void cacheInvalidationDoesNotRevoke() {
+		TokenClaims claims = claims(Instant.now());
+		cache.put("token", claims, null);
+
+		revocations.invalidateCache(USER_ID);
+
+		assertNull(cache.get("token"));
+		assertFalse(revocations.isRevoked("token", claims));
+	}
+
+	@Test
+	void parsesNotificationPayload() {
+		RevocationEvent event = RevocationEvent.parse("42:TOKEN:1700000000123:node-a:abc:def");
+
+		assertEquals(42L, event.id());
+		assertEquals(RevocationEvent.Type.TOKEN, event.type());
+		assertEquals(Instant.ofEpochMilli(1700000000123L), event.createdAt());
+		assertEquals("node-a", event.origin());
+		assertEquals("abc:def", event.subject());
+		assertEquals("", RevocationEvent.parse("1:CACHE:0:node-a:").subject());
+		assertThrows(IllegalArgumentException.class, () -> RevocationEvent.parse("1:TOKEN:0"));
+	}
+
+	private static TokenClaims claims(Instant issuedAt) {
+		return TokenClaims.from(Map.of(
+				"userId", USER_ID,
+				"username", "maria",
+				"iat", issuedAt.getEpochSecond(),
+				"roles", List.of("USER")));
+	}
+}
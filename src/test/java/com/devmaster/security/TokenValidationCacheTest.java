@@ -0,0 +1,30 @@
+package com.devmaster.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenValidationCacheTest {
+
+	@Test
+	void staleEntryCountsAsMissAndStaysAvailableAsFallback() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		TokenValidationCache cache = new TokenValidationCache(true, 100, Duration.ofMillis(50), Duration.ofHours(1),
+				registry);
+		cache.put("token", TokenClaims.from(Map.of("sub", "maria")), null);
+
+		assertNotNull(cache.get("token"));
+		Thread.sleep(80);
+		assertNull(cache.get("token"));
+		assertNotNull(cache.getStale("token"));
+
+		assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+	}
+}
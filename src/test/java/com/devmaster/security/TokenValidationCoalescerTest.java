@@ -0,0 +1,150 @@
+package com.devmaster.security;
+
+import com.devmaster.handler.APIException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenValidationCoalescerTest {
+
+	private static final TokenClaims CLAIMS = TokenClaims.from(Map.of("sub", "maria"));
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallersShareSingleValidation() throws Exception {
+		TokenValidationCoalescer coalescer = new TokenValidationCoalescer(true, Duration.ofSeconds(5), registry);
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<TokenClaims> leader = executor.submit(() -> coalescer.execute("token", () -> {
+			calls.incrementAndGet();
+			started.countDown();
+			await(release);
+			return CLAIMS;
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		List<Future<TokenClaims>> waiters = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			waiters.add(executor.submit(() -> coalescer.execute("token", () -> {
+				calls.incrementAndGet();
+				return CLAIMS;
+			})));
+		}
+		awaitCoalesced(7);
+		release.countDown();
+
+		assertSame(CLAIMS, leader.get(5, TimeUnit.SECONDS));
+		for (Future<TokenClaims> waiter : waiters) {
+			assertSame(CLAIMS, waiter.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, calls.get());
+		assertEquals(0.0, registry.get("auth.token.validation.inflight").gauge().value());
+	}
+
+	@Test
+	void leaderFailureReachesEveryWaiter() throws Exception {
+		TokenValidationCoalescer coalescer = new TokenValidationCoalescer(true, Duration.ofSeconds(5), registry);
+		APIException failure = APIException.build(HttpStatus.SERVICE_UNAVAILABLE, "Serviço de autenticação indisponível");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<TokenClaims> leader = executor.submit(() -> coalescer.execute("token", () -> {
+			started.countDown();
+			await(release);
+			throw failure;
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		Future<TokenClaims> syncWaiter = executor.submit(() -> coalescer.execute("token", () -> CLAIMS));
+		CompletableFuture<TokenClaims> asyncWaiter = coalescer.executeAsync("token",
+				() -> CompletableFuture.completedFuture(CLAIMS));
+		awaitCoalesced(2);
+		release.countDown();
+
+		assertSame(failure, causeOf(leader));
+		assertSame(failure, causeOf(syncWaiter));
+		assertSame(failure, causeOf(asyncWaiter));
+	}
+
+	@Test
+	void asyncLeaderFailureReachesEveryWaiter() throws Exception {
+		TokenValidationCoalescer coalescer = new TokenValidationCoalescer(true, Duration.ofSeconds(5), registry);
+		APIException failure = APIException.build(HttpStatus.UNAUTHORIZED, "Token inválido");
+		CompletableFuture<TokenClaims> validation = new CompletableFuture<>();
+
+		CompletableFuture<TokenClaims> leader = coalescer.executeAsync("token", () -> validation);
+		CompletableFuture<TokenClaims> asyncWaiter = coalescer.executeAsync("token",
+				() -> CompletableFuture.completedFuture(CLAIMS));
+		Future<TokenClaims> syncWaiter = executor.submit(() -> coalescer.execute("token", () -> CLAIMS));
+		awaitCoalesced(2);
+		validation.completeExceptionally(failure);
+
+		assertSame(failure, causeOf(leader));
+		assertSame(failure, causeOf(asyncWaiter));
+		assertSame(failure, causeOf(syncWaiter));
+	}
+
+	@Test
+	void waiterTimeoutIsServiceUnavailable() throws Exception {
+		TokenValidationCoalescer coalescer = new TokenValidationCoalescer(true, Duration.ofMillis(50), registry);
+		CompletableFuture<TokenClaims> validation = new CompletableFuture<>();
+		coalescer.executeAsync("token", () -> validation);
+
+		APIException syncTimeout = assertThrows(APIException.class, () -> coalescer.execute("token", () -> CLAIMS));
+		Throwable asyncTimeout = causeOf(coalescer.executeAsync("token",
+				() -> CompletableFuture.completedFuture(CLAIMS)));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, syncTimeout.getStatusException());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((APIException) asyncTimeout).getStatusException());
+		assertEquals(2.0, registry.get("auth.token.validation.coalesced").counter().count());
+		validation.complete(CLAIMS);
+	}
+
+	private void awaitCoalesced(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (registry.get("auth.token.validation.coalesced").counter().count() < expected) {
+			assertTrue(System.nanoTime() < deadline, "chamadas não agrupadas");
+			Thread.sleep(5);
+		}
+	}
+
+	private static Throwable causeOf(Future<TokenClaims> future) {
+		ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		return e.getCause();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
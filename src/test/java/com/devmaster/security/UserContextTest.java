@@ -0,0 +1,98 @@
+package com.devmaster.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserContextTest {
+
+	private static final String USER_ID = "3f1c2a7e-1111-4222-8333-444455556666";
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void buildsContextFromClaims() {
+		UserContext context = UserContext.from(TokenClaims.from(Map.of(
+				"sub", "fallback",
+				"username", "maria",
+				"userId", USER_ID,
+				"restauranteId", "42",
+				"roles", List.of("GERENTE", "ROLE_RESTAURANTE"))));
+
+		assertEquals("maria", context.getName());
+		assertEquals(UUID.fromString(USER_ID), context.getUserId());
+		assertEquals(42L, context.getRestauranteId());
+		assertEquals(Set.of("ROLE_GERENTE", "ROLE_RESTAURANTE"), context.getRoles());
+		assertTrue(context.isGerente());
+		assertFalse(context.isAdmin());
+		assertFalse(context.isSuperAdmin());
+		assertTrue(context.hasRole("GERENTE"));
+		assertTrue(context.hasRole("ROLE_RESTAURANTE"));
+		assertTrue(context.hasRole("RESTAURANTE"));
+		assertFalse(context.hasRole("ROLE_ENTREGADOR"));
+	}
+
+	@Test
+	void ignoresInvalidUserIdAndTenant() {
+		UserContext context = UserContext.from(TokenClaims.from(Map.of(
+				"sub", "joao",
+				"userId", "não-é-uuid",
+				"restauranteId", "x",
+				"roles", "USER")));
+
+		assertEquals("joao", context.getName());
+		assertNull(context.getUserId());
+		assertNull(context.getRestauranteId());
+		assertTrue(context.hasRole(Role.USER));
+	}
+
+	@Test
+	void sharesRolesBetweenUsersWithSameRoleSet() {
+		UserContext first = UserContext.from(TokenClaims.from(Map.of("username", "a", "roles", List.of("ADMIN"))));
+		UserContext second = UserContext.from(TokenClaims.from(Map.of("username", "b", "roles", List.of("ADMIN"))));
+
+		assertSame(first.getRoleAuthorities(), second.getRoleAuthorities());
+	}
+
+	@Test
+	void securityServiceReadsUserContextPrincipal() {
+		UserContext context = UserContext.from(TokenClaims.from(Map.of(
+				"username", "maria",
+				"userId", USER_ID,
+				"restauranteId", 7,
+				"roles", List.of("ADMIN"))));
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				context, null, context.getRoleAuthorities().authorities()));
+		SecurityService securityService = new SecurityService();
+
+		assertSame(context, securityService.getUserContext());
+		assertEquals(UUID.fromString(USER_ID), securityService.getUsuarioAutenticado());
+		assertEquals(7L, securityService.getRestauranteId());
+		assertTrue(securityService.isAdmin());
+		assertFalse(securityService.isGerente());
+		assertTrue(securityService.hasRole("ROLE_ADMIN"));
+		assertFalse(securityService.hasRole("ADMIN"));
+		assertSame(context.getRoles(), securityService.getRoles());
+
+		// Mesma regra (match exato) quando o principal não é um UserContext
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				USER_ID, null, context.getRoleAuthorities().authorities()));
+		assertTrue(securityService.hasRole("ROLE_ADMIN"));
+		assertFalse(securityService.hasRole("ADMIN"));
+	}
+}
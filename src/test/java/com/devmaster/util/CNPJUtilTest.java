@@ -0,0 +1,96 @@
+package com.devmaster.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CNPJUtilTest {
+
+	@Test
+	void removesAndAppliesMaskLikeThePreviousImplementation() {
+		assertEquals("53429950000100", CNPJUtil.removerMascara("53.429.950/0001-00"));
+		assertEquals("SR7VA0TA000170", CNPJUtil.removerMascara("SR.7VA.0TA/0001-70"));
+		assertEquals("ab12", CNPJUtil.removerMascara(" a-b.1é2 "));
+		assertEquals("", CNPJUtil.removerMascara("./-"));
+		assertNull(CNPJUtil.removerMascara(null));
+		String semMascara = "53429950000100";
+		assertSame(semMascara, CNPJUtil.removerMascara(semMascara));
+
+		assertEquals("53.429.950/0001-00", CNPJUtil.aplicarMascara("53429950000100"));
+		assertEquals("SR.7VA.0TA/0001-70", CNPJUtil.aplicarMascara("SR7VA0TA000170"));
+		assertEquals("123", CNPJUtil.aplicarMascara("123"));
+		assertNull(CNPJUtil.aplicarMascara(null));
+	}
+
+	@Test
+	void validatesNumericAndAlphanumericCheckDigits() {
+		assertEquals(81, CNPJUtil.calcularDigitosVerificadores("112223330001"));
+		assertEquals(35, CNPJUtil.calcularDigitosVerificadores("12ABC34501DE"));
+		assertEquals(70, CNPJUtil.calcularDigitosVerificadores("SR7VA0TA0001"));
+		assertThrows(IllegalArgumentException.class, () -> CNPJUtil.calcularDigitosVerificadores("12ABC34501D"));
+		assertThrows(IllegalArgumentException.class, () -> CNPJUtil.calcularDigitosVerificadores("12ABC34501D-"));
+
+		assertTrue(CNPJUtil.isValido("11.222.333/0001-81"));
+		assertTrue(CNPJUtil.isValido("11222333000181"));
+		assertTrue(CNPJUtil.isValido("12.ABC.345/01DE-35"));
+		assertTrue(CNPJUtil.isValido("12.abc.345/01de-35"));
+		assertTrue(CNPJUtil.isValido("53.429.950/0001-00"));
+
+		assertFalse(CNPJUtil.isValido("11.222.333/0001-82"));
+		assertFalse(CNPJUtil.isValido("12.ABC.345/01DE-53"));
+		assertFalse(CNPJUtil.isValido("12.ABC.345/01DE-3A")); // dígito verificador alfabético
+		assertFalse(CNPJUtil.isValido("1122233300018"));
+		assertFalse(CNPJUtil.isValido("112223330001810"));
+		assertFalse(CNPJUtil.isValido("00.000.000/0000-00"));
+		assertFalse(CNPJUtil.isValido(""));
+		assertFalse(CNPJUtil.isValido(null));
+	}
+
+	@Test
+	void normalizesToUnmaskedUppercase() {
+		assertEquals("12ABC34501DE35", CNPJUtil.normalizar("12.abc.345/01de-35"));
+		assertEquals("11222333000181", CNPJUtil.normalizar(" 11.222.333/0001-81 "));
+		String canonico = "12ABC34501DE35";
+		assertSame(canonico, CNPJUtil.normalizar(canonico));
+		assertNull(CNPJUtil.normalizar("11222333000182"));
+		assertNull(CNPJUtil.normalizar(null));
+	}
+
+	@Test
+	void processesBatchesSequentiallyAndInParallel() {
+		Random random = new Random(42);
+		String alfabeto = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+		for (int tamanho : new int[]{10, CNPJUtil.LIMIAR_PARALELO * 2}) {
+			String[] cnpjs = new String[tamanho];
+			for (int i = 0; i < tamanho; i++) {
+				StringBuilder base = new StringBuilder();
+				for (int j = 0; j < 12; j++) {
+					base.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+				}
+				int digitos = CNPJUtil.calcularDigitosVerificadores(base);
+				// metade com dígitos errados, metade com máscara
+				String cnpj = base.toString() + String.format("%02d", i % 2 == 0 ? digitos : (digitos + 1) % 100);
+				cnpjs[i] = i % 4 < 2 ? cnpj : CNPJUtil.aplicarMascara(cnpj);
+			}
+
+			String[] normalizados = CNPJUtil.normalizarLote(cnpjs);
+			boolean[] validos = CNPJUtil.validarLote(cnpjs);
+			boolean[] esperado = new boolean[tamanho];
+			for (int i = 0; i < tamanho; i++) {
+				esperado[i] = i % 2 == 0;
+				assertEquals(esperado[i] ? CNPJUtil.removerMascara(cnpjs[i]) : null, normalizados[i]);
+			}
+			assertArrayEquals(esperado, validos);
+			assertArrayEquals(normalizados, Arrays.stream(cnpjs).parallel().map(CNPJUtil::normalizar).toArray(String[]::new));
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.devmaster.util;
+
+import com.devmaster.handler.APIException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImagemIngestaoTest {
+
+	private static final Path TEMPORARIOS = Path.of(System.getProperty("java.io.tmpdir"));
+
+	@Test
+	void keepsSmallImagesInMemoryAndSpoolsLargerOnesToTemporaryFile() throws IOException {
+		byte[] noLimite = png(ImagemIngestao.LIMITE_MEMORIA_BYTES);
+		byte[] acimaDoLimite = png(ImagemIngestao.LIMITE_MEMORIA_BYTES + 1);
+		Set<Path> antes = temporarios();
+
+		try (ImagemRecebida memoria = ImagemIngestao.receber(new ByteArrayInputStream(noLimite), -1, Long.MAX_VALUE);
+			 ImagemRecebida arquivo = ImagemIngestao.receber(new ByteArrayInputStream(acimaDoLimite), -1, Long.MAX_VALUE)) {
+			assertFalse(memoria.emArquivo());
+			assertTrue(arquivo.emArquivo());
+			assertEquals(ImagemProbe.PNG, arquivo.tipo());
+			assertEquals(40, arquivo.dimensoes().largura());
+			assertArrayEquals(acimaDoLimite, ler(arquivo));
+			assertEquals(1, novos(antes).size());
+		}
+		assertTrue(novos(antes).isEmpty(), "arquivo temporário não apagado no close()");
+	}
+
+	@Test
+	void enforcesSizeLimitWhileReadingEvenWhenDeclaredSizeLies() throws IOException {
+		byte[] grande = png(ImagemIngestao.LIMITE_MEMORIA_BYTES * 3);
+		ContadorInputStream conteudo = new ContadorInputStream(grande);
+		long limite = ImagemIngestao.LIMITE_MEMORIA_BYTES * 2L;
+		Set<Path> antes = temporarios();
+
+		APIException erro = assertThrows(APIException.class, () -> ImagemIngestao.receber(conteudo, 1_000, limite));
+
+		assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusException());
+		assertTrue(conteudo.lidos <= limite + ImagemIngestao.TAMANHO_BUFFER);
+		assertTrue(novos(antes).isEmpty(), "arquivo temporário não apagado após a falha");
+
+		MockMultipartFile mentiroso = new MockMultipartFile("imagem", "foto.png", "image/png", grande) {
+			@Override
+			public long getSize() {
+				return 1_000;
+			}
+
+			@Override
+			public InputStream getInputStream() {
+				return new ByteArrayInputStream(Arrays.copyOf(grande, (int) ImagemUtil.TAMANHO_MAXIMO_BYTES + 1));
+			}
+		};
+		assertEquals(HttpStatus.BAD_REQUEST,
+				assertThrows(APIException.class, () -> ImagemIngestao.receber(mentiroso)).getStatusException());
+		assertTrue(novos(antes).isEmpty());
+	}
+
+	@Test
+	void rejectsDeclaredTypeMismatchAfterFirstBlock() throws IOException {
+		byte[] png = png(ImagemIngestao.LIMITE_MEMORIA_BYTES * 2);
+		ContadorInputStream conteudo = new ContadorInputStream(png);
+		MockMultipartFile jpegDeclarado = new MockMultipartFile("imagem", "foto.jpg", "image/jpeg", png) {
+			@Override
+			public InputStream getInputStream() {
+				return conteudo;
+			}
+		};
+
+		APIException erro = assertThrows(APIException.class, () -> ImagemIngestao.receber(jpegDeclarado));
+
+		assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusException());
+		assertTrue(erro.getMessage().contains("não corresponde ao tipo declarado"));
+		assertEquals(ImagemIngestao.TAMANHO_BUFFER, conteudo.lidos);
+	}
+
+	@Test
+	void base64MatchesEncodingTheWholeUpload() throws IOException {
+		byte[] png = png(ImagemIngestao.LIMITE_MEMORIA_BYTES + 12_345);
+		MockMultipartFile upload = new MockMultipartFile("imagem", "foto.png", "image/png", png);
+
+		assertEquals(Base64.getEncoder().encodeToString(upload.getBytes()), ImagemIngestao.converterParaBase64(upload));
+		try (ImagemRecebida recebida = ImagemIngestao.receber(upload)) {
+			assertEquals(Base64.getEncoder().encodeToString(png), recebida.paraBase64());
+		}
+	}
+
+	/**
+	 * PNG válido completado com bytes após o IEND até {@code tamanho}.
+	 */
+	private static byte[] png(int tamanho) throws IOException {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "png", saida);
+		byte[] conteudo = Arrays.copyOf(saida.toByteArray(), tamanho);
+		for (int i = saida.size(); i < tamanho; i++) {
+			conteudo[i] = (byte) i;
+		}
+		return conteudo;
+	}
+
+	private static byte[] ler(ImagemRecebida imagem) throws IOException {
+		try (InputStream conteudo = imagem.abrirStream()) {
+			return conteudo.readAllBytes();
+		}
+	}
+
+	private static Set<Path> temporarios() throws IOException {
+		try (Stream<Path> arquivos = Files.list(TEMPORARIOS)) {
+			return arquivos.filter(arquivo -> arquivo.getFileName().toString().startsWith("devmaster-imagem-"))
+					.collect(Collectors.toSet());
+		}
+	}
+
+	private static Set<Path> novos(Set<Path> antes) throws IOException {
+		Set<Path> atuais = temporarios();
+		atuais.removeAll(antes);
+		return atuais;
+	}
+
+	/**
+	 * Conta os bytes entregues ao leitor.
+	 */
+	private static final class ContadorInputStream extends ByteArrayInputStream {
+
+		private long lidos;
+
+		ContadorInputStream(byte[] conteudo) {
+			super(conteudo);
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				lidos += n;
+			}
+			return n;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.devmaster.util;
+
+import com.devmaster.handler.APIException;
+import com.devmaster.util.ImagemUtil.DimensoesImagem;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImagemProbeTest {
+
+	@Test
+	void readsDimensionsFromImageIoEncodedFormats() throws IOException {
+		assertProbe(ImagemProbe.PNG, 321, 123, escrever("png", 321, 123));
+		assertProbe(ImagemProbe.GIF, 64, 48, escrever("gif", 64, 48));
+		assertProbe(ImagemProbe.JPEG, 640, 480, escrever("jpeg", 640, 480));
+	}
+
+	@Test
+	void skipsLargeJpegSegmentsAndReadsProgressiveFrames() throws IOException {
+		byte[] jpeg = escreverJpegProgressivo(800, 600);
+		assertProbe(ImagemProbe.JPEG, 800, 600, jpeg);
+
+		// APP1 de ~60 KB (EXIF) antes do SOF
+		byte[] app1 = new byte[60_000];
+		app1[0] = (byte) 0xFF;
+		app1[1] = (byte) 0xE1;
+		app1[2] = (byte) ((app1.length - 2) >> 8);
+		app1[3] = (byte) (app1.length - 2);
+		byte[] comExif = new byte[jpeg.length + app1.length];
+		System.arraycopy(jpeg, 0, comExif, 0, 2);
+		System.arraycopy(app1, 0, comExif, 2, app1.length);
+		System.arraycopy(jpeg, 2, comExif, 2 + app1.length, jpeg.length - 2);
+		assertProbe(ImagemProbe.JPEG, 800, 600, comExif);
+	}
+
+	@Test
+	void readsWebpChunks() throws IOException {
+		// VP8 (lossy): frame tag, start code 9D 01 2A, largura/altura em 14 bits
+		assertProbe(ImagemProbe.WEBP, 1024, 768, webp("VP8 ",
+				0x00, 0x00, 0x00, 0x9D, 0x01, 0x2A, 0x00, 0x04, 0x00, 0x03));
+		// VP8L (lossless): 0x2F + (largura - 1) e (altura - 1) em 14 bits
+		int bits = (300 - 1) | (200 - 1) << 14;
+		assertProbe(ImagemProbe.WEBP, 300, 200, webp("VP8L",
+				0x2F, bits & 0xFF, bits >> 8 & 0xFF, bits >> 16 & 0xFF, bits >> 24 & 0xFF));
+		// VP8X (estendido): flags + canvas (largura - 1) e (altura - 1) em 24 bits
+		assertProbe(ImagemProbe.WEBP, 20_000, 3, webp("VP8X",
+				0x10, 0x00, 0x00, 0x00, 0x1F, 0x4E, 0x00, 0x02, 0x00, 0x00));
+	}
+
+	@Test
+	void rejectsUnknownContentAndToleratesTruncatedHeaders() throws IOException {
+		assertNull(ImagemProbe.analisarCabecalho(new ByteArrayInputStream("não é uma imagem".getBytes())));
+		assertNull(ImagemProbe.analisarCabecalho(new ByteArrayInputStream(new byte[]{(byte) 0xFF, (byte) 0xD8})));
+
+		byte[] truncado = Arrays.copyOf(escrever("png", 10, 10), 16);
+		ImagemProbe.Resultado resultado = ImagemProbe.analisarCabecalho(new ByteArrayInputStream(truncado));
+		assertEquals(ImagemProbe.PNG, resultado.tipo());
+		assertNull(resultado.dimensoes());
+	}
+
+	@Test
+	void detectsDeclaredTypeMismatch() {
+		assertDoesNotThrow(() -> ImagemUtil.validarTipoConteudo("image/jpg", ImagemProbe.JPEG));
+		assertDoesNotThrow(() -> ImagemUtil.validarTipoConteudo("IMAGE/PNG", ImagemProbe.PNG));
+		assertThrows(APIException.class, () -> ImagemUtil.validarTipoConteudo("image/png", ImagemProbe.JPEG));
+		assertThrows(APIException.class, () -> ImagemUtil.validarTipoConteudo("image/svg+xml", ImagemProbe.PNG));
+	}
+
+	private static void assertProbe(String tipo, int largura, int altura, byte[] conteudo) throws IOException {
+		ImagemProbe.Resultado resultado = ImagemProbe.analisarCabecalho(new ByteArrayInputStream(conteudo));
+		assertEquals(new ImagemProbe.Resultado(tipo, new DimensoesImagem(largura, altura)), resultado);
+	}
+
+	private static byte[] webp(String chunk, int... dados) {
+		byte[] webp = new byte[20 + dados.length];
+		System.arraycopy("RIFF".getBytes(), 0, webp, 0, 4);
+		System.arraycopy("WEBP".getBytes(), 0, webp, 8, 4);
+		System.arraycopy(chunk.getBytes(), 0, webp, 12, 4);
+		for (int i = 0; i < dados.length; i++) {
+			webp[20 + i] = (byte) dados[i];
+		}
+		return webp;
+	}
+
+	private static byte[] escrever(String formato, int largura, int altura) throws IOException {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB), formato, saida);
+		return saida.toByteArray();
+	}
+
+	private static byte[] escreverJpegProgressivo(int largura, int altura) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		try (MemoryCacheImageOutputStream imagem = new MemoryCacheImageOutputStream(saida)) {
+			writer.setOutput(imagem);
+			writer.write(null, new IIOImage(new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB), null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return saida.toByteArray();
+	}
+}
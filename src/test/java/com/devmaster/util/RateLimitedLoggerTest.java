@@ -0,0 +1,44 @@
+package com.devmaster.util;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitedLoggerTest {
+
+	@Test
+	void suppressesMessagesBeyondTheWindowLimitAndReportsThemOnce() throws Exception {
+		Logger logger = (Logger) LoggerFactory.getLogger(RateLimitedLoggerTest.class);
+		ListAppender<ILoggingEvent> appender = new ListAppender<>();
+		appender.start();
+		logger.addAppender(appender);
+		RateLimitedLogger rateLimited = new RateLimitedLogger(logger, 3, Duration.ofMillis(200));
+
+		for (int i = 0; i < 10; i++) {
+			rateLimited.warn("Token recusado {}", i);
+		}
+		assertEquals(List.of("Token recusado 0", "Token recusado 1", "Token recusado 2"), messages(appender));
+
+		Thread.sleep(250);
+		rateLimited.warn("Token recusado {}", 10);
+		rateLimited.warn("Token recusado {}", 11);
+
+		List<String> messages = messages(appender);
+		assertEquals(6, messages.size());
+		assertEquals("7 mensagens semelhantes suprimidas nos últimos 200 ms", messages.get(3));
+		assertEquals("Token recusado 10", messages.get(4));
+		assertEquals("Token recusado 11", messages.get(5));
+		logger.detachAppender(appender);
+	}
+
+	private static List<String> messages(ListAppender<ILoggingEvent> appender) {
+		return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+	}
+}
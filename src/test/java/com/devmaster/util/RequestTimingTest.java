@@ -0,0 +1,63 @@
+package com.devmaster.util;
+
+import com.devmaster.util.RequestTiming.Phase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingTest {
+
+	@AfterEach
+	void tearDown() {
+		RequestTiming.detach();
+	}
+
+	@Test
+	void nestedCallsOfTheSamePhaseCountOnce() throws InterruptedException {
+		RequestTiming timing = RequestTiming.start();
+
+		RequestTiming.enter(Phase.SERVICE);
+		RequestTiming.enter(Phase.SERVICE); // service chamando outro service
+		Thread.sleep(5);
+		RequestTiming.exit(Phase.SERVICE);
+		assertEquals(0, timing.count(Phase.SERVICE));
+		RequestTiming.enter(Phase.DB);
+		RequestTiming.exit(Phase.DB);
+		RequestTiming.enter(Phase.DB);
+		RequestTiming.exit(Phase.DB);
+		RequestTiming.exit(Phase.SERVICE);
+
+		assertEquals(1, timing.count(Phase.SERVICE));
+		assertTrue(timing.elapsedNanos(Phase.SERVICE) >= 5_000_000);
+		assertEquals(2, timing.count(Phase.DB));
+		assertTrue(timing.elapsedNanos(Phase.DB) <= timing.elapsedNanos(Phase.SERVICE));
+
+		// exit sem enter é ignorado
+		RequestTiming.exit(Phase.AUTH);
+		assertEquals(0, timing.count(Phase.AUTH));
+
+		String header = timing.toServerTiming();
+		assertTrue(header.startsWith("service;dur="), header);
+		assertTrue(header.contains("db;dur="), header);
+		assertTrue(header.contains(";desc=\"2\""), header);
+		assertFalse(header.contains("auth"), header);
+		assertTrue(header.contains("total;dur="), header);
+
+		assertTrue(timing.finish());
+		assertFalse(timing.finish());
+	}
+
+	@Test
+	void withoutContextPhasesAreNoOps() {
+		assertNull(RequestTiming.current());
+
+		RequestTiming.enter(Phase.CONTROLLER);
+		RequestTiming.exit(Phase.CONTROLLER);
+
+		assertNull(RequestTiming.current());
+	}
+}